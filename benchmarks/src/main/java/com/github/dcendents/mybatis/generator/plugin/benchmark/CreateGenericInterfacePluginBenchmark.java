@@ -0,0 +1,66 @@
+package com.github.dcendents.mybatis.generator.plugin.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+import com.github.dcendents.mybatis.generator.plugin.client.CreateGenericInterfacePlugin;
+
+/**
+ * Cost of all the mapper hooks of one MyBatis3DynamicSql table, including the generation of its controller.
+ */
+public class CreateGenericInterfacePluginBenchmark extends SchemaBenchmark {
+
+	private CreateGenericInterfacePlugin plugin;
+	private List<List<Method>> mapperMethods;
+
+	@Setup
+	public void setup() {
+		createSchema("MyBatis3DynamicSql");
+
+		plugin = new CreateGenericInterfacePlugin();
+		plugin.setContext(schema.getContext());
+		plugin.getProperties().put(CreateGenericInterfacePlugin.INTERFACE, SyntheticSchema.BASE_PACKAGE + ".mapper.GenericMapper");
+		plugin.getProperties().put(CreateGenericInterfacePlugin.CONTROLLER_NS, SyntheticSchema.BASE_PACKAGE + ".controller");
+		plugin.getProperties().put(CreateGenericInterfacePlugin.CONTROLLER_BASE, SyntheticSchema.BASE_PACKAGE + ".controller.BaseController");
+		plugin.validate(new ArrayList<String>());
+
+		mapperMethods = new ArrayList<>(tables);
+		for (SyntheticIntrospectedTable table : schema.getTables()) {
+			mapperMethods.add(MapperFixtures.dynamicSqlMapperMethods(table));
+		}
+	}
+
+	@Benchmark
+	public List<Method> copyBaseline() {
+		return MapperFixtures.copy(mapperMethods.get(nextTableIndex()));
+	}
+
+	@Benchmark
+	public Interface mapperHooks() {
+		int index = nextTableIndex();
+		SyntheticIntrospectedTable table = schema.getTables().get(index);
+		Interface interfaze = new Interface(table.getMyBatis3JavaMapperType());
+
+		List<Method> methods = MapperFixtures.copy(mapperMethods.get(index));
+		plugin.clientCountByExampleMethodGenerated(methods.get(0), interfaze, table);
+		plugin.clientDeleteByExampleMethodGenerated(methods.get(1), interfaze, table);
+		plugin.clientDeleteByPrimaryKeyMethodGenerated(methods.get(2), interfaze, table);
+		plugin.clientInsertMethodGenerated(methods.get(3), interfaze, table);
+		plugin.clientInsertSelectiveMethodGenerated(methods.get(4), interfaze, table);
+		plugin.clientSelectByExampleWithBLOBsMethodGenerated(methods.get(5), interfaze, table);
+		plugin.clientSelectByPrimaryKeyMethodGenerated(methods.get(6), interfaze, table);
+		plugin.clientUpdateByExampleWithBLOBsMethodGenerated(methods.get(7), interfaze, table);
+		plugin.clientUpdateByExampleSelectiveMethodGenerated(methods.get(8), interfaze, table);
+		plugin.clientUpdateByPrimaryKeyWithBLOBsMethodGenerated(methods.get(9), interfaze, table);
+		plugin.clientUpdateByPrimaryKeySelectiveMethodGenerated(methods.get(10), interfaze, table);
+		plugin.clientGenerated(interfaze, table);
+
+		return interfaze;
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.github.dcendents.mybatis.generator.plugin.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+import com.github.dcendents.mybatis.generator.plugin.subpackage.CreateSubPackagePlugin;
+
+/**
+ * Cost of renaming the types of an annotated mapper method, which grows with the number of @Result lines.
+ */
+public class CreateSubPackagePluginBenchmark extends SchemaBenchmark {
+
+	private CreateSubPackagePlugin plugin;
+	private Interface interfaze;
+	private List<Method> selectByExampleMethods;
+
+	@Setup
+	public void setup() {
+		createSchema("MyBatis3");
+
+		plugin = new CreateSubPackagePlugin();
+		plugin.setContext(schema.getContext());
+		plugin.getProperties().put(CreateSubPackagePlugin.MODEL_PACKAGE_PROPERTY, "gen");
+		plugin.getProperties().put(CreateSubPackagePlugin.MODEL_CLASS_SUFFIX_PROPERTY, "Gen");
+		plugin.getProperties().put(CreateSubPackagePlugin.MAPPER_PACKAGE_PROPERTY, "gen");
+		plugin.getProperties().put(CreateSubPackagePlugin.MAPPER_CLASS_SUFFIX_PROPERTY, "Gen");
+		plugin.getProperties().put(CreateSubPackagePlugin.EXAMPLE_PACKAGE_PROPERTY, "filter");
+		plugin.validate(new ArrayList<String>());
+
+		interfaze = new Interface(SyntheticSchema.BASE_PACKAGE + ".mapper.Mapper");
+
+		// the methods are generated with the types renamed by the plugin
+		selectByExampleMethods = new ArrayList<>(tables);
+		for (SyntheticIntrospectedTable table : schema.getTables()) {
+			table.resetTypes();
+			plugin.initialized(table);
+			selectByExampleMethods.add(MapperFixtures.annotatedSelectByExample(table));
+		}
+	}
+
+	@Benchmark
+	public Method copyBaseline() {
+		return new Method(selectByExampleMethods.get(nextTableIndex()));
+	}
+
+	@Benchmark
+	public Method renameMethod() {
+		int index = nextTableIndex();
+		SyntheticIntrospectedTable table = schema.getTables().get(index);
+		table.resetTypes();
+		plugin.initialized(table);
+
+		Method method = new Method(selectByExampleMethods.get(index));
+		plugin.clientSelectByExampleWithBLOBsMethodGenerated(method, interfaze, table);
+		return method;
+	}
+
+}
@@ -0,0 +1,45 @@
+package com.github.dcendents.mybatis.generator.plugin.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.mybatis.generator.api.GeneratedJavaFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.dcendents.mybatis.generator.plugin.dynamic.sql.DynamicSqlPlugin;
+
+/**
+ * Cost of generating the DynamicSqlSupport class of one table, with and without formatting it to a String.
+ */
+public class DynamicSqlPluginBenchmark extends SchemaBenchmark {
+
+	private DynamicSqlPlugin plugin;
+
+	@Setup
+	public void setup() {
+		createSchema("MyBatis3");
+
+		plugin = new DynamicSqlPlugin();
+		plugin.setContext(schema.getContext());
+		plugin.getProperties().put(DynamicSqlPlugin.TABLE_CLASS_SUFFIX, "Table");
+		plugin.getProperties().put(DynamicSqlPlugin.ADD_ALIASED_COLUMNS, "true");
+		plugin.getProperties().put(DynamicSqlPlugin.ADD_TABLE_ALIAS, "true");
+		plugin.validate(new ArrayList<String>());
+	}
+
+	@Benchmark
+	public List<GeneratedJavaFile> generate() {
+		return plugin.contextGenerateAdditionalJavaFiles(schema.getTables().get(nextTableIndex()));
+	}
+
+	@Benchmark
+	public void generateAndFormat(Blackhole blackhole) {
+		for (GeneratedJavaFile file : plugin.contextGenerateAdditionalJavaFiles(schema.getTables().get(
+				nextTableIndex()))) {
+			blackhole.consume(file.getFormattedContent());
+		}
+	}
+
+}
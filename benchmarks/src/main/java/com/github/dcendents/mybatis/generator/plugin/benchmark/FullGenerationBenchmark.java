@@ -0,0 +1,154 @@
+package com.github.dcendents.mybatis.generator.plugin.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mybatis.generator.api.GeneratedJavaFile;
+import org.mybatis.generator.api.GeneratedXmlFile;
+import org.mybatis.generator.api.MyBatisGenerator;
+import org.mybatis.generator.config.Configuration;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.JDBCConnectionConfiguration;
+import org.mybatis.generator.config.PluginConfiguration;
+import org.mybatis.generator.config.TableConfiguration;
+import org.mybatis.generator.internal.DefaultShellCallback;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.dcendents.mybatis.generator.plugin.client.CreateGenericInterfacePlugin;
+import com.github.dcendents.mybatis.generator.plugin.dynamic.sql.DynamicSqlPlugin;
+import com.github.dcendents.mybatis.generator.plugin.rename.RenameExampleClassAndMethodsPlugin;
+import com.github.dcendents.mybatis.generator.plugin.subpackage.CreateSubPackagePlugin;
+
+/**
+ * Time of a complete generator run (introspection, generation and formatting, without writing the files) against an
+ * in memory H2 schema, with the plugins configured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FullGenerationBenchmark {
+
+	@Param({ "10", "100", "1000", "10000" })
+	public int tables;
+
+	@Param({ "5", "50", "500" })
+	public int columns;
+
+	@Param({ "MyBatis3", "MyBatis3DynamicSql" })
+	public String targetRuntime;
+
+	private String url;
+	private Connection keepAlive;
+
+	@Setup
+	public void createDatabase() throws SQLException {
+		url = String.format("jdbc:h2:mem:bench_%d_%d;DB_CLOSE_DELAY=-1", tables, columns);
+		keepAlive = DriverManager.getConnection(url, "sa", "");
+
+		try (Statement statement = keepAlive.createStatement()) {
+			statement.execute("create schema if not exists " + SyntheticSchema.SCHEMA);
+			for (int i = 0; i < tables; i++) {
+				StringBuilder sql = new StringBuilder("create table if not exists ").append(SyntheticSchema.SCHEMA)
+						.append('.').append(SyntheticSchema.tableName(i)).append(" (");
+				for (int j = 0; j < columns; j++) {
+					sql.append(j == 0 ? "" : ", ").append(SyntheticSchema.columnName(j)).append(' ').append(
+							SyntheticSchema.columnDefinition(j));
+				}
+				statement.execute(sql.append(')').toString());
+			}
+		}
+	}
+
+	@TearDown
+	public void dropDatabase() throws SQLException {
+		try (Statement statement = keepAlive.createStatement()) {
+			statement.execute("drop all objects");
+		}
+		keepAlive.close();
+	}
+
+	@Benchmark
+	public void generate(Blackhole blackhole) throws Exception {
+		List<String> warnings = new ArrayList<>();
+		MyBatisGenerator generator = new MyBatisGenerator(createConfiguration(), new DefaultShellCallback(true),
+				warnings);
+		generator.generate(null, null, null, false);
+
+		for (GeneratedJavaFile file : generator.getGeneratedJavaFiles()) {
+			blackhole.consume(file.getFormattedContent());
+		}
+		for (GeneratedXmlFile file : generator.getGeneratedXmlFiles()) {
+			blackhole.consume(file.getFormattedContent());
+		}
+		blackhole.consume(warnings);
+	}
+
+	private Configuration createConfiguration() {
+		Context context = SyntheticSchema.createContext(targetRuntime);
+
+		JDBCConnectionConfiguration jdbcConfiguration = new JDBCConnectionConfiguration();
+		jdbcConfiguration.setDriverClass("org.h2.Driver");
+		jdbcConfiguration.setConnectionURL(url);
+		jdbcConfiguration.setUserId("sa");
+		jdbcConfiguration.setPassword("");
+		context.setJdbcConnectionConfiguration(jdbcConfiguration);
+
+		context.addPluginConfiguration(plugin(CreateSubPackagePlugin.class.getName(),
+				CreateSubPackagePlugin.MODEL_PACKAGE_PROPERTY, "gen",
+				CreateSubPackagePlugin.MODEL_CLASS_SUFFIX_PROPERTY, "Gen",
+				CreateSubPackagePlugin.MAPPER_PACKAGE_PROPERTY, "gen",
+				CreateSubPackagePlugin.MAPPER_CLASS_SUFFIX_PROPERTY, "Gen",
+				CreateSubPackagePlugin.EXAMPLE_PACKAGE_PROPERTY, "filter"));
+		context.addPluginConfiguration(plugin(RenameExampleClassAndMethodsPlugin.class.getName(),
+				RenameExampleClassAndMethodsPlugin.CLASS_SEARCH_PROPERTY, "Example",
+				RenameExampleClassAndMethodsPlugin.CLASS_REPLACE_PROPERTY, "Filter",
+				RenameExampleClassAndMethodsPlugin.PARAM_SEARCH_PROPERTY, "example",
+				RenameExampleClassAndMethodsPlugin.PARAM_REPLACE_PROPERTY, "filter"));
+		context.addPluginConfiguration(plugin(DynamicSqlPlugin.class.getName(),
+				DynamicSqlPlugin.TABLE_CLASS_SUFFIX, "Table",
+				DynamicSqlPlugin.ADD_ALIASED_COLUMNS, "true"));
+		context.addPluginConfiguration(plugin(CreateGenericInterfacePlugin.class.getName(),
+				CreateGenericInterfacePlugin.INTERFACE, SyntheticSchema.BASE_PACKAGE + ".mapper.GenericMapper",
+				CreateGenericInterfacePlugin.CONTROLLER_NS, SyntheticSchema.BASE_PACKAGE + ".controller",
+				CreateGenericInterfacePlugin.CONTROLLER_BASE, SyntheticSchema.BASE_PACKAGE + ".controller.BaseController"));
+
+		TableConfiguration tableConfiguration = new TableConfiguration(context);
+		tableConfiguration.setSchema(SyntheticSchema.SCHEMA.toUpperCase());
+		tableConfiguration.setTableName("%");
+		context.addTableConfiguration(tableConfiguration);
+
+		Configuration configuration = new Configuration();
+		configuration.addContext(context);
+		return configuration;
+	}
+
+	private static PluginConfiguration plugin(String type, String... properties) {
+		PluginConfiguration configuration = new PluginConfiguration();
+		configuration.setConfigurationType(type);
+		for (int i = 0; i < properties.length; i += 2) {
+			configuration.addProperty(properties[i], properties[i + 1]);
+		}
+		return configuration;
+	}
+
+}
@@ -0,0 +1,169 @@
+package com.github.dcendents.mybatis.generator.plugin.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.Element;
+import org.mybatis.generator.api.dom.xml.TextElement;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+
+/**
+ * Builds mapper methods and xml elements shaped like the ones generated by MBG, to be passed to the plugin hooks.
+ */
+public final class MapperFixtures {
+
+	private MapperFixtures() {
+	}
+
+	/**
+	 * An annotated selectByExample method using the current types of the table, with one @Result line per column.
+	 *
+	 * @param table
+	 *            the table
+	 * @return the method
+	 */
+	public static Method annotatedSelectByExample(IntrospectedTable table) {
+		FullyQualifiedJavaType recordType = new FullyQualifiedJavaType(table.getBaseRecordType());
+		FullyQualifiedJavaType mapperType = new FullyQualifiedJavaType(table.getMyBatis3JavaMapperType());
+
+		FullyQualifiedJavaType returnType = FullyQualifiedJavaType.getNewListInstance();
+		returnType.addTypeArgument(recordType);
+
+		Method method = new Method("selectByExample");
+		method.setReturnType(returnType);
+		method.addParameter(new Parameter(new FullyQualifiedJavaType(table.getExampleType()), "example"));
+
+		method.addAnnotation(String.format("@SelectProvider(type=%sSqlProvider.class, method=\"selectByExample\")",
+				mapperType.getFullyQualifiedName()));
+		method.addAnnotation("@Results({");
+		List<IntrospectedColumn> columns = table.getAllColumns();
+		for (int i = 0; i < columns.size(); i++) {
+			IntrospectedColumn column = columns.get(i);
+			method.addAnnotation(String.format("    @Result(column=\"%s\", property=\"%s\", jdbcType=JdbcType.%s%s)%s",
+					column.getActualColumnName(), column.getJavaProperty(), column.getJdbcTypeName(),
+					i == 0 ? ", id=true" : "", i < columns.size() - 1 ? "," : ""));
+		}
+		method.addAnnotation("})");
+		method.addAnnotation(String.format("@ResultType(%s.class)", recordType.getFullyQualifiedName()));
+
+		return method;
+	}
+
+	/**
+	 * The update by example element using the table alias, like MBG generates it.
+	 *
+	 * @param table
+	 *            the table
+	 * @param selective
+	 *            true for updateByExampleSelective, false for updateByExample
+	 * @return the element
+	 */
+	public static XmlElement updateByExampleElement(IntrospectedTable table, boolean selective) {
+		String alias = table.getTableConfiguration().getAlias();
+		String prefix = alias == null ? "" : alias + ".";
+
+		XmlElement update = new XmlElement("update");
+		update.addAttribute(new Attribute("id", selective ? "updateByExampleSelective" : "updateByExample"));
+		update.addAttribute(new Attribute("parameterType", "map"));
+		update.addElement(new TextElement("update " + table.getAliasedFullyQualifiedTableNameAtRuntime()));
+
+		List<IntrospectedColumn> columns = table.getAllColumns();
+		if (selective) {
+			XmlElement set = new XmlElement("set");
+			for (IntrospectedColumn column : columns) {
+				XmlElement ifElement = new XmlElement("if");
+				ifElement.addAttribute(new Attribute("test", "record." + column.getJavaProperty() + " != null"));
+				ifElement.addElement(new TextElement(String.format("%s%s = #{record.%s,jdbcType=%s},", prefix,
+						column.getActualColumnName(), column.getJavaProperty(), column.getJdbcTypeName())));
+				set.addElement(ifElement);
+			}
+			update.addElement(set);
+		} else {
+			for (int i = 0; i < columns.size(); i++) {
+				IntrospectedColumn column = columns.get(i);
+				update.addElement(new TextElement(String.format("%s%s%s = #{record.%s,jdbcType=%s}%s", i == 0 ? "set " : "  ",
+						prefix, column.getActualColumnName(), column.getJavaProperty(), column.getJdbcTypeName(),
+						i < columns.size() - 1 ? "," : "")));
+			}
+		}
+
+		XmlElement ifElement = new XmlElement("if");
+		ifElement.addAttribute(new Attribute("test", "_parameter != null"));
+		XmlElement include = new XmlElement("include");
+		include.addAttribute(new Attribute("refid", "Update_By_Example_Where_Clause"));
+		ifElement.addElement(include);
+		update.addElement(ifElement);
+
+		return update;
+	}
+
+	/**
+	 * The methods of a MyBatis3DynamicSql mapper, in the order MBG generates them.
+	 *
+	 * @param table
+	 *            the table
+	 * @return the methods
+	 */
+	public static List<Method> dynamicSqlMapperMethods(IntrospectedTable table) {
+		FullyQualifiedJavaType recordType = new FullyQualifiedJavaType(table.getBaseRecordType());
+		FullyQualifiedJavaType idType = table.getPrimaryKeyColumns().get(0).getFullyQualifiedJavaType();
+		String record = recordType.getFullyQualifiedName();
+
+		List<Method> methods = new ArrayList<>();
+		methods.add(method("countByExample", "org.mybatis.dynamic.sql.select.QueryExpressionDSL<org.mybatis.dynamic.sql.select.MyBatis3SelectModelAdapter<java.lang.Long>>"));
+		methods.add(method("deleteByExample", "org.mybatis.dynamic.sql.delete.DeleteDSL<org.mybatis.dynamic.sql.delete.MyBatis3DeleteModelAdapter<java.lang.Integer>>"));
+		methods.add(method("deleteByPrimaryKey", "int", new Parameter(idType, "id_")));
+		methods.add(method("insert", "int", new Parameter(recordType, "record")));
+		methods.add(method("insertSelective", "int", new Parameter(recordType, "record")));
+		methods.add(method("selectByExample", "org.mybatis.dynamic.sql.select.QueryExpressionDSL<org.mybatis.dynamic.sql.select.MyBatis3SelectModelAdapter<java.util.List<" + record + ">>>"));
+		methods.add(method("selectByPrimaryKey", record, new Parameter(idType, "id_")));
+		methods.add(method("updateByExample", "org.mybatis.dynamic.sql.update.UpdateDSL<org.mybatis.dynamic.sql.update.MyBatis3UpdateModelAdapter<java.lang.Integer>>", new Parameter(recordType, "record")));
+		methods.add(method("updateByExampleSelective", "org.mybatis.dynamic.sql.update.UpdateDSL<org.mybatis.dynamic.sql.update.MyBatis3UpdateModelAdapter<java.lang.Integer>>", new Parameter(recordType, "record")));
+		methods.add(method("updateByPrimaryKey", "int", new Parameter(recordType, "record")));
+		methods.add(method("updateByPrimaryKeySelective", "int", new Parameter(recordType, "record")));
+
+		return methods;
+	}
+
+	private static Method method(String name, String returnType, Parameter... parameters) {
+		Method method = new Method(name);
+		method.setReturnType(new FullyQualifiedJavaType(returnType));
+		for (Parameter parameter : parameters) {
+			method.addParameter(parameter);
+		}
+		return method;
+	}
+
+	/**
+	 * The XmlElement copy constructor shares the child elements, the plugins replace them in place.
+	 *
+	 * @param element
+	 *            the element to copy
+	 * @return a deep copy of the element
+	 */
+	public static XmlElement deepCopy(XmlElement element) {
+		XmlElement copy = new XmlElement(element.getName());
+		for (Attribute attribute : element.getAttributes()) {
+			copy.addAttribute(attribute);
+		}
+		for (Element child : element.getElements()) {
+			copy.addElement(child instanceof XmlElement ? deepCopy((XmlElement) child) : child);
+		}
+		return copy;
+	}
+
+	public static List<Method> copy(List<Method> methods) {
+		List<Method> copies = new ArrayList<>(methods.size());
+		for (Method method : methods) {
+			copies.add(new Method(method));
+		}
+		return copies;
+	}
+
+}
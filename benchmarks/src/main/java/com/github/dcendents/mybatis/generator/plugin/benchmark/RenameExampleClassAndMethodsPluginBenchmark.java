@@ -0,0 +1,85 @@
+package com.github.dcendents.mybatis.generator.plugin.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.dcendents.mybatis.generator.plugin.rename.RenameExampleClassAndMethodsPlugin;
+
+/**
+ * Cost of renaming the example methods and removing the id columns from the update by example statements.
+ */
+public class RenameExampleClassAndMethodsPluginBenchmark extends SchemaBenchmark {
+
+	private RenameExampleClassAndMethodsPlugin plugin;
+	private Interface interfaze;
+	private List<Method> selectByExampleMethods;
+	private List<XmlElement> updateByExampleElements;
+	private List<XmlElement> updateByExampleSelectiveElements;
+
+	@Setup
+	public void setup() {
+		createSchema("MyBatis3");
+
+		plugin = new RenameExampleClassAndMethodsPlugin();
+		plugin.setContext(schema.getContext());
+		plugin.getProperties().put(RenameExampleClassAndMethodsPlugin.CLASS_SEARCH_PROPERTY, "Example");
+		plugin.getProperties().put(RenameExampleClassAndMethodsPlugin.CLASS_REPLACE_PROPERTY, "Filter");
+		plugin.getProperties().put(RenameExampleClassAndMethodsPlugin.PARAM_SEARCH_PROPERTY, "example");
+		plugin.getProperties().put(RenameExampleClassAndMethodsPlugin.PARAM_REPLACE_PROPERTY, "filter");
+		plugin.validate(new ArrayList<String>());
+
+		interfaze = new Interface(SyntheticSchema.BASE_PACKAGE + ".mapper.Mapper");
+
+		selectByExampleMethods = new ArrayList<>(tables);
+		updateByExampleElements = new ArrayList<>(tables);
+		updateByExampleSelectiveElements = new ArrayList<>(tables);
+		for (SyntheticIntrospectedTable table : schema.getTables()) {
+			selectByExampleMethods.add(MapperFixtures.annotatedSelectByExample(table));
+			updateByExampleElements.add(MapperFixtures.updateByExampleElement(table, false));
+			updateByExampleSelectiveElements.add(MapperFixtures.updateByExampleElement(table, true));
+		}
+	}
+
+	@Benchmark
+	public void copyBaseline(Blackhole blackhole) {
+		int index = nextTableIndex();
+		blackhole.consume(new Method(selectByExampleMethods.get(index)));
+		blackhole.consume(MapperFixtures.deepCopy(updateByExampleElements.get(index)));
+		blackhole.consume(MapperFixtures.deepCopy(updateByExampleSelectiveElements.get(index)));
+	}
+
+	@Benchmark
+	public void renameMethod(Blackhole blackhole) {
+		int index = nextTableIndex();
+		Method method = new Method(selectByExampleMethods.get(index));
+		blackhole.consume(plugin.clientSelectByExampleWithBLOBsMethodGenerated(method, interfaze, schema.getTables()
+				.get(index)));
+		blackhole.consume(method);
+	}
+
+	@Benchmark
+	public void updateByExample(Blackhole blackhole) {
+		int index = nextTableIndex();
+		XmlElement element = MapperFixtures.deepCopy(updateByExampleElements.get(index));
+		blackhole.consume(plugin.sqlMapUpdateByExampleWithoutBLOBsElementGenerated(element, schema.getTables().get(
+				index)));
+		blackhole.consume(element);
+	}
+
+	@Benchmark
+	public void updateByExampleSelective(Blackhole blackhole) {
+		int index = nextTableIndex();
+		XmlElement element = MapperFixtures.deepCopy(updateByExampleSelectiveElements.get(index));
+		blackhole.consume(plugin.sqlMapUpdateByExampleSelectiveElementGenerated(element, schema.getTables().get(
+				index)));
+		blackhole.consume(element);
+	}
+
+}
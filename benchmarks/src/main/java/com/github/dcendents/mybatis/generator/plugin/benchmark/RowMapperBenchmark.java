@@ -0,0 +1,280 @@
+package com.github.dcendents.mybatis.generator.plugin.benchmark;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.LocalCacheScope;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.mybatis.generator.api.MyBatisGenerator;
+import org.mybatis.generator.config.Configuration;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.JDBCConnectionConfiguration;
+import org.mybatis.generator.config.PluginConfiguration;
+import org.mybatis.generator.config.TableConfiguration;
+import org.mybatis.generator.internal.DefaultShellCallback;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.dcendents.mybatis.generator.plugin.client.RowMapperPlugin;
+
+/**
+ * Time of a select by example reading all the rows of an in memory H2 table, with the reflective result mapping of
+ * MyBatis and with the row mapper generated by the RowMapperPlugin.
+ * <p>
+ * The mapper, model and row mapper of the table are generated and compiled during the setup, the benchmark must run on
+ * a JDK. Both selects are invoked through reflection on the mapper proxy, the same constant overhead is included in
+ * both results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RowMapperBenchmark {
+
+	@Param({ "5", "50", "200" })
+	public int columns;
+
+	@Param({ "10", "1000" })
+	public int rows;
+
+	private static final String TABLE_NAME = SyntheticSchema.tableName(0).toUpperCase();
+	private static final String MAPPER_TYPE = SyntheticSchema.BASE_PACKAGE + ".mapper.Table00000Mapper";
+	private static final String EXAMPLE_TYPE = SyntheticSchema.BASE_PACKAGE + ".model.Table00000Example";
+
+	private Connection keepAlive;
+	private File directory;
+	private URLClassLoader classLoader;
+	private SqlSession session;
+
+	private Object mapper;
+	private Object example;
+	private java.lang.reflect.Method reflectiveSelect;
+	private java.lang.reflect.Method rowMapperSelect;
+
+	@Setup
+	public void setup() throws Exception {
+		String url = String.format("jdbc:h2:mem:rowmapper_%d_%d;DB_CLOSE_DELAY=-1", columns, rows);
+		keepAlive = DriverManager.getConnection(url, "sa", "");
+		createTable();
+
+		directory = Files.createTempDirectory("rowmapper-bench").toFile();
+		generate(url);
+		compile();
+
+		classLoader = new URLClassLoader(new URL[] { directory.toURI().toURL() }, getClass().getClassLoader());
+		Resources.setDefaultClassLoader(classLoader);
+		session = createSession(url);
+
+		Class<?> mapperType = classLoader.loadClass(MAPPER_TYPE);
+		Class<?> exampleType = classLoader.loadClass(EXAMPLE_TYPE);
+		mapper = session.getMapper(mapperType);
+		example = exampleType.newInstance();
+
+		// the tables with CLOB columns are read with the select including the BLOBs
+		for (java.lang.reflect.Method method : mapperType.getMethods()) {
+			if (method.getName().equals("selectByExampleWithBLOBs")) {
+				reflectiveSelect = method;
+			}
+		}
+		if (reflectiveSelect == null) {
+			reflectiveSelect = mapperType.getMethod("selectByExample", exampleType);
+		}
+		rowMapperSelect = mapperType.getMethod("selectByExampleWithRowMapper", exampleType);
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		session.close();
+		Resources.setDefaultClassLoader(null);
+		classLoader.close();
+		delete(directory);
+
+		try (Statement statement = keepAlive.createStatement()) {
+			statement.execute("drop all objects");
+		}
+		keepAlive.close();
+	}
+
+	@Benchmark
+	public Object reflectiveMapping() throws Exception {
+		return reflectiveSelect.invoke(mapper, example);
+	}
+
+	@Benchmark
+	public Object rowMapper() throws Exception {
+		return rowMapperSelect.invoke(mapper, example);
+	}
+
+	private void createTable() throws SQLException {
+		StringBuilder create = new StringBuilder("create table ").append(SyntheticSchema.SCHEMA).append('.').append(
+				TABLE_NAME).append(" (");
+		StringBuilder insert = new StringBuilder("insert into ").append(SyntheticSchema.SCHEMA).append('.').append(
+				TABLE_NAME).append(" values (");
+		for (int i = 0; i < columns; i++) {
+			create.append(i == 0 ? "" : ", ").append(SyntheticSchema.columnName(i)).append(' ').append(
+					SyntheticSchema.columnDefinition(i));
+			insert.append(i == 0 ? "?" : ", ?");
+		}
+
+		try (Statement statement = keepAlive.createStatement()) {
+			statement.execute("create schema if not exists " + SyntheticSchema.SCHEMA);
+			statement.execute(create.append(')').toString());
+		}
+
+		try (PreparedStatement statement = keepAlive.prepareStatement(insert.append(')').toString())) {
+			for (int row = 0; row < rows; row++) {
+				for (int i = 0; i < columns; i++) {
+					statement.setObject(i + 1, value(i, row));
+				}
+				statement.addBatch();
+			}
+			statement.executeBatch();
+		}
+	}
+
+	/**
+	 * @return the value of a column, one row out of ten only has nulls besides its key
+	 */
+	private static Object value(int column, int row) {
+		if (column == 0) {
+			return (long) row;
+		}
+		if (row % 10 == 9) {
+			return null;
+		}
+
+		String type = SyntheticSchema.columnDefinition(column);
+		if (type.startsWith("integer")) {
+			return row * column;
+		} else if (type.startsWith("timestamp")) {
+			return new Timestamp(1500000000000L + row * 1000L);
+		} else if (type.startsWith("decimal")) {
+			return BigDecimal.valueOf(row * column, 2);
+		} else if (type.startsWith("boolean")) {
+			return row % 2 == 0;
+		}
+		return String.format("value %d of column %d", row, column);
+	}
+
+	private void generate(String url) throws Exception {
+		Context context = SyntheticSchema.createContext("MyBatis3");
+		context.getJavaModelGeneratorConfiguration().setTargetProject(directory.getPath());
+		context.getSqlMapGeneratorConfiguration().setTargetProject(directory.getPath());
+		context.getJavaClientGeneratorConfiguration().setTargetProject(directory.getPath());
+		context.getJavaClientGeneratorConfiguration().setConfigurationType("XMLMAPPER");
+
+		JDBCConnectionConfiguration jdbcConfiguration = new JDBCConnectionConfiguration();
+		jdbcConfiguration.setDriverClass("org.h2.Driver");
+		jdbcConfiguration.setConnectionURL(url);
+		jdbcConfiguration.setUserId("sa");
+		jdbcConfiguration.setPassword("");
+		context.setJdbcConnectionConfiguration(jdbcConfiguration);
+
+		PluginConfiguration pluginConfiguration = new PluginConfiguration();
+		pluginConfiguration.setConfigurationType(RowMapperPlugin.class.getName());
+		context.addPluginConfiguration(pluginConfiguration);
+
+		TableConfiguration tableConfiguration = new TableConfiguration(context);
+		tableConfiguration.setSchema(SyntheticSchema.SCHEMA.toUpperCase());
+		tableConfiguration.setTableName(TABLE_NAME);
+		context.addTableConfiguration(tableConfiguration);
+
+		Configuration configuration = new Configuration();
+		configuration.addContext(context);
+
+		List<String> warnings = new ArrayList<>();
+		new MyBatisGenerator(configuration, new DefaultShellCallback(true), warnings).generate(null, null, null, true);
+	}
+
+	private void compile() {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		if (compiler == null) {
+			throw new IllegalStateException("The generated classes can only be compiled when running on a JDK");
+		}
+
+		List<String> arguments = new ArrayList<>();
+		arguments.add("-nowarn");
+		arguments.add("-classpath");
+		arguments.add(System.getProperty("java.class.path"));
+		arguments.add("-d");
+		arguments.add(directory.getPath());
+		addSources(directory, arguments);
+
+		if (compiler.run(null, null, null, arguments.toArray(new String[arguments.size()])) != 0) {
+			throw new IllegalStateException("The generated classes do not compile");
+		}
+	}
+
+	private SqlSession createSession(String url) throws IOException {
+		Environment environment = new Environment("bench", new JdbcTransactionFactory(), new PooledDataSource(
+				"org.h2.Driver", url, "sa", ""));
+		org.apache.ibatis.session.Configuration configuration = new org.apache.ibatis.session.Configuration(
+				environment);
+		// both selects run the same statement, the results must not be served from the session cache
+		configuration.setLocalCacheScope(LocalCacheScope.STATEMENT);
+
+		File mapperFile = new File(directory, MAPPER_TYPE.replace('.', File.separatorChar) + ".xml");
+		try (InputStream input = new FileInputStream(mapperFile)) {
+			new XMLMapperBuilder(input, configuration, mapperFile.getPath(), configuration.getSqlFragments()).parse();
+		}
+
+		return new SqlSessionFactoryBuilder().build(configuration).openSession();
+	}
+
+	private static void addSources(File folder, List<String> sources) {
+		for (File file : folder.listFiles()) {
+			if (file.isDirectory()) {
+				addSources(file, sources);
+			} else if (file.getName().endsWith(".java")) {
+				sources.add(file.getPath());
+			}
+		}
+	}
+
+	private static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+}
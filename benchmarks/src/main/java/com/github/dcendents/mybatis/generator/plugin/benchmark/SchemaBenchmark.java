@@ -0,0 +1,51 @@
+package com.github.dcendents.mybatis.generator.plugin.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Base class of the per hook benchmarks: each operation invokes the hooks for one table of the synthetic schema,
+ * cycling through all the tables.
+ * <p>
+ * The hooks modify the methods and elements they receive, so each operation works on a fresh copy of the fixtures. The
+ * {@code copyBaseline} benchmark of each class measures that copy alone and has to be subtracted from the results.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public abstract class SchemaBenchmark {
+
+	@Param({ "10", "100", "1000", "10000" })
+	public int tables;
+
+	@Param({ "5", "50", "500" })
+	public int columns;
+
+	protected SyntheticSchema schema;
+
+	private int nextTable;
+
+	protected void createSchema(String targetRuntime) {
+		schema = SyntheticSchema.of(targetRuntime, tables, columns);
+		nextTable = 0;
+	}
+
+	protected int nextTableIndex() {
+		int index = nextTable;
+		nextTable = (nextTable + 1) % tables;
+		return index;
+	}
+
+}
@@ -0,0 +1,36 @@
+package com.github.dcendents.mybatis.generator.plugin.benchmark;
+
+import org.mybatis.generator.codegen.mybatis3.IntrospectedTableMyBatis3Impl;
+import org.mybatis.generator.internal.rules.FlatModelRules;
+
+/**
+ * Introspected table built without a database connection.
+ * <p>
+ * The generated types are calculated the same way as {@link #initialize()} does, but without notifying the plugins so
+ * that each benchmark decides which plugin sees the table. The original types are kept to be restored before each
+ * invocation of plugins that rename them.
+ */
+public class SyntheticIntrospectedTable extends IntrospectedTableMyBatis3Impl {
+
+	private String originalBaseRecordType;
+	private String originalExampleType;
+	private String originalMapperType;
+
+	void calculateAttributes() {
+		calculateJavaClientAttributes();
+		calculateModelAttributes();
+		calculateXmlAttributes();
+		rules = new FlatModelRules(this);
+
+		originalBaseRecordType = getBaseRecordType();
+		originalExampleType = getExampleType();
+		originalMapperType = getMyBatis3JavaMapperType();
+	}
+
+	public void resetTypes() {
+		setBaseRecordType(originalBaseRecordType);
+		setExampleType(originalExampleType);
+		setMyBatis3JavaMapperType(originalMapperType);
+	}
+
+}
@@ -0,0 +1,175 @@
+package com.github.dcendents.mybatis.generator.plugin.benchmark;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import lombok.Getter;
+
+import org.mybatis.generator.api.FullyQualifiedTable;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.config.CommentGeneratorConfiguration;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.JavaClientGeneratorConfiguration;
+import org.mybatis.generator.config.JavaModelGeneratorConfiguration;
+import org.mybatis.generator.config.ModelType;
+import org.mybatis.generator.config.SqlMapGeneratorConfiguration;
+import org.mybatis.generator.config.TableConfiguration;
+import org.mybatis.generator.internal.util.JavaBeansUtil;
+
+/**
+ * In memory schema of generated tables and columns, used as fixture by the benchmarks.
+ */
+public final class SyntheticSchema {
+	public static final String SCHEMA = "bench";
+	public static final String BASE_PACKAGE = "com.github.dcendents.bench";
+	public static final String TARGET_PROJECT = "target/generated-bench";
+
+	private static final ColumnType[] COLUMN_TYPES = {
+			new ColumnType(Types.VARCHAR, "VARCHAR", "java.lang.String", "varchar(100)"),
+			new ColumnType(Types.INTEGER, "INTEGER", "java.lang.Integer", "integer"),
+			new ColumnType(Types.TIMESTAMP, "TIMESTAMP", "java.util.Date", "timestamp"),
+			new ColumnType(Types.DECIMAL, "DECIMAL", "java.math.BigDecimal", "decimal(18,4)"),
+			new ColumnType(Types.BOOLEAN, "BOOLEAN", "java.lang.Boolean", "boolean"),
+			new ColumnType(Types.CLOB, "CLOB", "java.lang.String", "clob") };
+
+	@Getter
+	private final Context context;
+	@Getter
+	private final List<SyntheticIntrospectedTable> tables;
+
+	private SyntheticSchema(Context context, List<SyntheticIntrospectedTable> tables) {
+		this.context = context;
+		this.tables = Collections.unmodifiableList(tables);
+	}
+
+	/**
+	 * Build a schema where every table has a bigint primary key followed by columns of various types.
+	 *
+	 * @param targetRuntime
+	 *            the target runtime of the context
+	 * @param tableCount
+	 *            the number of tables
+	 * @param columnCount
+	 *            the number of columns per table, including the primary key
+	 * @return the schema
+	 */
+	public static SyntheticSchema of(String targetRuntime, int tableCount, int columnCount) {
+		Context context = createContext(targetRuntime);
+
+		List<SyntheticIntrospectedTable> tables = new ArrayList<>(tableCount);
+		for (int i = 0; i < tableCount; i++) {
+			tables.add(createTable(context, tableName(i), columnCount));
+		}
+
+		return new SyntheticSchema(context, tables);
+	}
+
+	public static String tableName(int index) {
+		return String.format("table_%05d", index);
+	}
+
+	public static String columnName(int index) {
+		return index == 0 ? "id" : String.format("column_%03d", index);
+	}
+
+	/**
+	 * @param index
+	 *            the column index, 0 being the primary key
+	 * @return the SQL type used to create the column in a database
+	 */
+	public static String columnDefinition(int index) {
+		return index == 0 ? "bigint not null primary key" : COLUMN_TYPES[(index - 1) % COLUMN_TYPES.length].sqlType;
+	}
+
+	static Context createContext(String targetRuntime) {
+		Context context = new Context(ModelType.FLAT);
+		context.setId("bench");
+		context.setTargetRuntime(targetRuntime);
+
+		JavaModelGeneratorConfiguration modelConfiguration = new JavaModelGeneratorConfiguration();
+		modelConfiguration.setTargetPackage(BASE_PACKAGE + ".model");
+		modelConfiguration.setTargetProject(TARGET_PROJECT);
+		context.setJavaModelGeneratorConfiguration(modelConfiguration);
+
+		SqlMapGeneratorConfiguration sqlMapConfiguration = new SqlMapGeneratorConfiguration();
+		sqlMapConfiguration.setTargetPackage(BASE_PACKAGE + ".mapper");
+		sqlMapConfiguration.setTargetProject(TARGET_PROJECT);
+		context.setSqlMapGeneratorConfiguration(sqlMapConfiguration);
+
+		JavaClientGeneratorConfiguration clientConfiguration = new JavaClientGeneratorConfiguration();
+		clientConfiguration.setConfigurationType("MIXEDMAPPER");
+		clientConfiguration.setTargetPackage(BASE_PACKAGE + ".mapper");
+		clientConfiguration.setTargetProject(TARGET_PROJECT);
+		context.setJavaClientGeneratorConfiguration(clientConfiguration);
+
+		CommentGeneratorConfiguration commentConfiguration = new CommentGeneratorConfiguration();
+		commentConfiguration.addProperty("suppressAllComments", "false");
+		commentConfiguration.addProperty("suppressDate", "true");
+		context.setCommentGeneratorConfiguration(commentConfiguration);
+
+		return context;
+	}
+
+	private static SyntheticIntrospectedTable createTable(Context context, String tableName, int columnCount) {
+		String alias = "t" + tableName.substring(tableName.indexOf('_') + 1);
+
+		TableConfiguration tableConfiguration = new TableConfiguration(context);
+		tableConfiguration.setSchema(SCHEMA);
+		tableConfiguration.setTableName(tableName);
+		tableConfiguration.setAlias(alias);
+
+		FullyQualifiedTable fullyQualifiedTable = new FullyQualifiedTable(null, SCHEMA, tableName, null, alias, false,
+				null, null, null, false, null, context);
+
+		SyntheticIntrospectedTable table = new SyntheticIntrospectedTable();
+		table.setContext(context);
+		table.setTableConfiguration(tableConfiguration);
+		table.setFullyQualifiedTable(fullyQualifiedTable);
+
+		for (int i = 0; i < columnCount; i++) {
+			table.addColumn(createColumn(context, table, alias, i));
+		}
+		table.addPrimaryKeyColumn(columnName(0));
+
+		table.calculateAttributes();
+
+		return table;
+	}
+
+	private static IntrospectedColumn createColumn(Context context, SyntheticIntrospectedTable table, String alias,
+			int index) {
+		ColumnType type = index == 0 ? new ColumnType(Types.BIGINT, "BIGINT", "java.lang.Long", null)
+				: COLUMN_TYPES[(index - 1) % COLUMN_TYPES.length];
+
+		IntrospectedColumn column = new IntrospectedColumn();
+		column.setContext(context);
+		column.setIntrospectedTable(table);
+		column.setActualColumnName(columnName(index));
+		column.setJavaProperty(JavaBeansUtil.getCamelCaseString(columnName(index), false));
+		column.setJdbcType(type.jdbcType);
+		column.setJdbcTypeName(type.jdbcTypeName);
+		column.setFullyQualifiedJavaType(new FullyQualifiedJavaType(type.javaType));
+		column.setNullable(index != 0);
+		column.setTableAlias(alias);
+
+		return column;
+	}
+
+	private static final class ColumnType {
+		private final int jdbcType;
+		private final String jdbcTypeName;
+		private final String javaType;
+		private final String sqlType;
+
+		private ColumnType(int jdbcType, String jdbcTypeName, String javaType, String sqlType) {
+			this.jdbcType = jdbcType;
+			this.jdbcTypeName = jdbcTypeName;
+			this.javaType = javaType;
+			this.sqlType = sqlType;
+		}
+	}
+
+}
@@ -13,6 +13,8 @@ import org.mybatis.generator.api.dom.java.TopLevelClass;
 import org.mybatis.generator.api.dom.xml.Attribute;
 import org.mybatis.generator.api.dom.xml.XmlElement;
 
+import com.github.dcendents.mybatis.generator.plugin.table.TableMatcher;
+
 import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
 
 /**
@@ -23,7 +25,7 @@ public class AlterResultMapPlugin extends PluginAdapter {
 	public static final String TABLE_NAME = "fullyQualifiedTableName";
 	public static final String RESULT_MAP_ID = "resultMapId";
 
-	private String tableName;
+	private TableMatcher tableMatcher;
 	private String resultMapId;
 
 	static final String RESULT_MAP_ATTRIBUTE = "resultMap";
@@ -32,12 +34,14 @@ public class AlterResultMapPlugin extends PluginAdapter {
 
 	@Override
 	public boolean validate(List<String> warnings) {
-		tableName = properties.getProperty(TABLE_NAME);
+		String tableName = properties.getProperty(TABLE_NAME);
 		resultMapId = properties.getProperty(RESULT_MAP_ID);
 
 		String warning = "Property %s not set for plugin %s";
 		if (!stringHasValue(tableName)) {
 			warnings.add(String.format(warning, TABLE_NAME, this.getClass().getSimpleName()));
+		} else {
+			tableMatcher = TableMatcher.of(tableName);
 		}
 		if (!stringHasValue(resultMapId)) {
 			warnings.add(String.format(warning, RESULT_MAP_ID, this.getClass().getSimpleName()));
@@ -47,7 +51,7 @@ public class AlterResultMapPlugin extends PluginAdapter {
 	}
 
 	private boolean tableMatches(IntrospectedTable introspectedTable) {
-		return tableName.equals(introspectedTable.getFullyQualifiedTableNameAtRuntime());
+		return tableMatcher.matches(introspectedTable);
 	}
 
 	void renameResultMapAttribute(XmlElement element, IntrospectedTable introspectedTable) {
@@ -0,0 +1,228 @@
+package com.github.dcendents.mybatis.generator.plugin.client;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.NoArgsConstructor;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.mybatis.generator.api.GeneratedJavaFile;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.dom.DefaultJavaFormatter;
+import org.mybatis.generator.api.dom.java.Field;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.JavaVisibility;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.java.TopLevelClass;
+
+/**
+ * Mybatis generator plugin to create a batch facade for each mapper.
+ * <p>
+ * The generated class opens a session with the BATCH executor, applies insert, updateByPrimaryKey or
+ * deleteByPrimaryKey to every element of an Iterable, flushes the statements every <code>flushSize</code> elements
+ * and returns the sum of the update counts reported by the driver.
+ * <p>
+ * With the MyBatis3DynamicSql runtime, the methods taking a statement provider are ignored and the default methods
+ * taking the record or the key are used.
+ */
+@NoArgsConstructor
+public class BatchMapperPlugin extends PluginAdapter {
+	public static final String FLUSH_SIZE = "flushSize";
+	public static final String CLASS_SUFFIX = "classSuffix";
+
+	public static final int DEFAULT_FLUSH_SIZE = 1000;
+	public static final String DEFAULT_CLASS_SUFFIX = "Batch";
+
+	static final String[] BATCH_METHODS = { "insert", "updateByPrimaryKey", "deleteByPrimaryKey" };
+	static final String DYNAMIC_SQL_PACKAGE = "org.mybatis.dynamic.sql.";
+
+	private static final FullyQualifiedJavaType SQL_SESSION_FACTORY = new FullyQualifiedJavaType(
+			"org.apache.ibatis.session.SqlSessionFactory");
+
+	private int flushSize;
+	private String classSuffix;
+
+	private final Map<IntrospectedTable, TopLevelClass> batchClasses = Collections
+			.synchronizedMap(new HashMap<IntrospectedTable, TopLevelClass>());
+
+	@Override
+	public boolean validate(List<String> warnings) {
+		boolean valid = true;
+
+		flushSize = DEFAULT_FLUSH_SIZE;
+		String flushSizeString = properties.getProperty(FLUSH_SIZE);
+		if (!StringUtils.isBlank(flushSizeString)) {
+			flushSize = NumberUtils.toInt(flushSizeString.trim());
+			if (flushSize < 1) {
+				warnings.add(String.format("Property %s must be a positive number for plugin %s", FLUSH_SIZE, this
+						.getClass().getSimpleName()));
+				valid = false;
+			}
+		}
+
+		classSuffix = properties.getProperty(CLASS_SUFFIX);
+		if (StringUtils.isBlank(classSuffix)) {
+			classSuffix = DEFAULT_CLASS_SUFFIX;
+		}
+
+		return valid;
+	}
+
+	@Override
+	public boolean clientGenerated(Interface interfaze, IntrospectedTable introspectedTable) {
+		TopLevelClass batchClass = null;
+
+		for (String methodName : BATCH_METHODS) {
+			Method method = findMethod(interfaze, methodName);
+			if (method != null) {
+				if (batchClass == null) {
+					batchClass = createBatchClass(interfaze, introspectedTable);
+				}
+				addBatchMethod(batchClass, interfaze, introspectedTable, methodName, method.getParameters().get(0)
+						.getType());
+			}
+		}
+
+		if (batchClass != null) {
+			batchClasses.put(introspectedTable, batchClass);
+		}
+
+		return true;
+	}
+
+	@Override
+	public List<GeneratedJavaFile> contextGenerateAdditionalJavaFiles(IntrospectedTable introspectedTable) {
+		List<GeneratedJavaFile> files = new ArrayList<>();
+
+		TopLevelClass batchClass = batchClasses.remove(introspectedTable);
+		if (batchClass != null) {
+			files.add(new GeneratedJavaFile(batchClass, context.getJavaClientGeneratorConfiguration()
+					.getTargetProject(), new DefaultJavaFormatter()));
+		}
+
+		return files;
+	}
+
+	private Method findMethod(Interface interfaze, String methodName) {
+		for (Method method : interfaze.getMethods()) {
+			// composite keys without a key class are passed as several parameters, they are not supported
+			if (methodName.equals(method.getName()) && method.getParameters().size() == 1
+					&& !isStatementProvider(method.getParameters().get(0).getType())) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * The dynamic sql mappers overload the methods with an abstract method taking the rendered statement.
+	 */
+	private boolean isStatementProvider(FullyQualifiedJavaType type) {
+		return type.getPackageName().startsWith(DYNAMIC_SQL_PACKAGE);
+	}
+
+	TopLevelClass createBatchClass(Interface interfaze, IntrospectedTable introspectedTable) {
+		FullyQualifiedJavaType mapperType = interfaze.getType();
+		TopLevelClass batchClass = new TopLevelClass(mapperType.getFullyQualifiedNameWithoutTypeParameters()
+				+ classSuffix);
+		batchClass.setVisibility(JavaVisibility.PUBLIC);
+		batchClass.addImportedType(SQL_SESSION_FACTORY);
+		batchClass.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.session.SqlSession"));
+		batchClass.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.session.ExecutorType"));
+		batchClass.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.executor.BatchResult"));
+		batchClass.addImportedType(FullyQualifiedJavaType.getNewListInstance());
+		context.getCommentGenerator().addClassAnnotation(batchClass, introspectedTable, batchClass.getImportedTypes());
+
+		Field sessionFactory = new Field("sqlSessionFactory", SQL_SESSION_FACTORY);
+		sessionFactory.setVisibility(JavaVisibility.PRIVATE);
+		sessionFactory.setFinal(true);
+		batchClass.addField(sessionFactory);
+
+		Field flushSizeField = new Field("flushSize", FullyQualifiedJavaType.getIntInstance());
+		flushSizeField.setVisibility(JavaVisibility.PRIVATE);
+		flushSizeField.setFinal(true);
+		batchClass.addField(flushSizeField);
+
+		Method defaultConstructor = new Method(batchClass.getType().getShortName());
+		defaultConstructor.setConstructor(true);
+		defaultConstructor.setVisibility(JavaVisibility.PUBLIC);
+		defaultConstructor.addParameter(new Parameter(SQL_SESSION_FACTORY, "sqlSessionFactory"));
+		defaultConstructor.addBodyLine(String.format("this(sqlSessionFactory, %d);", flushSize));
+		batchClass.addMethod(defaultConstructor);
+
+		Method constructor = new Method(batchClass.getType().getShortName());
+		constructor.setConstructor(true);
+		constructor.setVisibility(JavaVisibility.PUBLIC);
+		constructor.addParameter(new Parameter(SQL_SESSION_FACTORY, "sqlSessionFactory"));
+		constructor.addParameter(new Parameter(FullyQualifiedJavaType.getIntInstance(), "flushSize"));
+		constructor.addBodyLine("this.sqlSessionFactory = sqlSessionFactory;");
+		constructor.addBodyLine("this.flushSize = flushSize;");
+		batchClass.addMethod(constructor);
+
+		// the drivers report SUCCESS_NO_INFO (-2) when the count of a batched statement is unknown
+		Method updateCount = new Method("updateCount");
+		updateCount.setVisibility(JavaVisibility.PRIVATE);
+		updateCount.setStatic(true);
+		updateCount.setReturnType(FullyQualifiedJavaType.getIntInstance());
+		FullyQualifiedJavaType results = FullyQualifiedJavaType.getNewListInstance();
+		results.addTypeArgument(new FullyQualifiedJavaType("org.apache.ibatis.executor.BatchResult"));
+		updateCount.addParameter(new Parameter(results, "results"));
+		updateCount.addBodyLine("int count = 0;");
+		updateCount.addBodyLine("for (BatchResult result : results) {");
+		updateCount.addBodyLine("for (int rows : result.getUpdateCounts()) {");
+		updateCount.addBodyLine("if (rows > 0) {");
+		updateCount.addBodyLine("count += rows;");
+		updateCount.addBodyLine("}");
+		updateCount.addBodyLine("}");
+		updateCount.addBodyLine("}");
+		updateCount.addBodyLine("return count;");
+		batchClass.addMethod(updateCount);
+
+		return batchClass;
+	}
+
+	void addBatchMethod(TopLevelClass batchClass, Interface interfaze, IntrospectedTable introspectedTable,
+			String methodName, FullyQualifiedJavaType parameterType) {
+		FullyQualifiedJavaType elementType = parameterType.isPrimitive() ? parameterType.getPrimitiveTypeWrapper()
+				: parameterType;
+		FullyQualifiedJavaType iterable = new FullyQualifiedJavaType("java.lang.Iterable");
+		iterable.addTypeArgument(elementType);
+		String mapper = interfaze.getType().getShortNameWithoutTypeArguments();
+
+		batchClass.addImportedType(elementType);
+		batchClass.addImportedType(interfaze.getType());
+
+		Method method = new Method(methodName);
+		method.setVisibility(JavaVisibility.PUBLIC);
+		method.setReturnType(FullyQualifiedJavaType.getIntInstance());
+		method.addParameter(new Parameter(iterable, "elements"));
+		context.getCommentGenerator().addGeneralMethodAnnotation(method, introspectedTable,
+				batchClass.getImportedTypes());
+
+		method.addBodyLine("try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH)) {");
+		method.addBodyLine(String.format("%1$s mapper = session.getMapper(%1$s.class);", mapper));
+		method.addBodyLine("int count = 0;");
+		method.addBodyLine("int pending = 0;");
+		method.addBodyLine(String.format("for (%s element : elements) {", elementType.getShortName()));
+		method.addBodyLine(String.format("mapper.%s(element);", methodName));
+		method.addBodyLine("if (++pending == flushSize) {");
+		method.addBodyLine("count += updateCount(session.flushStatements());");
+		method.addBodyLine("pending = 0;");
+		method.addBodyLine("}");
+		method.addBodyLine("}");
+		method.addBodyLine("count += updateCount(session.flushStatements());");
+		method.addBodyLine("session.commit();");
+		method.addBodyLine("return count;");
+		method.addBodyLine("}");
+
+		batchClass.addMethod(method);
+	}
+
+}
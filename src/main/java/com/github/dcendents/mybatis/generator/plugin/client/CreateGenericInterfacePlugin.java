@@ -23,6 +23,9 @@ import org.mybatis.generator.api.dom.java.TopLevelClass;
 
 import lombok.NoArgsConstructor;
 
+import com.github.dcendents.mybatis.generator.plugin.incremental.ContentIndex;
+import com.github.dcendents.mybatis.generator.plugin.incremental.FingerprintCache;
+
 /**
  * Mybatis generator plugin to create a generic interface for all mappers.
  */
@@ -47,6 +50,7 @@ public class CreateGenericInterfacePlugin extends PluginAdapter {
 	private FullyQualifiedJavaType genericId = new FullyQualifiedJavaType("V");
 
 	private FullyQualifiedJavaType genericModelList;
+	private FullyQualifiedJavaType genericIdCollection;
 	private FullyQualifiedJavaType longPrimitive;
 
 	private Set<String> methodsAdded;
@@ -56,6 +60,9 @@ public class CreateGenericInterfacePlugin extends PluginAdapter {
 	private Map<IntrospectedTable, FullyQualifiedJavaType> ids;
 	private Map<IntrospectedTable, TopLevelClass> controllers;
 
+	private final FingerprintCache fingerprints = new FingerprintCache();
+	private final ContentIndex contents = new ContentIndex();
+
 	private boolean suppressAllComments = false;
 	private String targetRuntime = "MyBatis3";
 
@@ -98,6 +105,8 @@ public class CreateGenericInterfacePlugin extends PluginAdapter {
 		}
 
 		init();
+		fingerprints.validate(context, properties, this.getClass().getSimpleName(), warnings);
+		contents.validate(context, properties, this.getClass().getSimpleName());
 
 		return true;
 	}
@@ -111,6 +120,9 @@ public class CreateGenericInterfacePlugin extends PluginAdapter {
 		genericModelList = FullyQualifiedJavaType.getNewListInstance();
 		genericModelList.addTypeArgument(genericModel);
 
+		genericIdCollection = new FullyQualifiedJavaType("java.util.Collection");
+		genericIdCollection.addTypeArgument(genericId);
+
 		longPrimitive = new FullyQualifiedJavaType("long");
 
 		FullyQualifiedJavaType className = new FullyQualifiedJavaType(interfaceName);
@@ -160,15 +172,25 @@ public class CreateGenericInterfacePlugin extends PluginAdapter {
 			models.add(genericInterfaceFileC);
 		}
 
+		models = contents.changed(models, fingerprints);
+		fingerprints.save();
+		contents.save();
+
 		return models;
 	}
 
+	private String modelName(IntrospectedTable introspectedTable) {
+		return models.containsKey(introspectedTable) ? models.get(introspectedTable).getShortName() : "somename";
+	}
+
+	private String controllerName(IntrospectedTable introspectedTable) {
+		return controllerNs + "." + modelName(introspectedTable) + "Controller";
+	}
+
 	private void generateClassForController(IntrospectedTable introspectedTable, Interface interfaze) { // table and
-		String modelName = models.containsKey(introspectedTable) ? models.get(introspectedTable).getShortName()
-				: "somename";
+		String modelName = modelName(introspectedTable);
 
-		FullyQualifiedJavaType controllerClass = new FullyQualifiedJavaType(
-				controllerNs + "." + modelName + "Controller");
+		FullyQualifiedJavaType controllerClass = new FullyQualifiedJavaType(controllerName(introspectedTable));
 		FullyQualifiedJavaType baseControlerType = new FullyQualifiedJavaType(controllerBase);
 		baseControlerType.addTypeArgument(models.get(introspectedTable));
 		baseControlerType.addTypeArgument(interfaze.getType());
@@ -245,7 +267,25 @@ public class CreateGenericInterfacePlugin extends PluginAdapter {
 
 		interfaze.addSuperInterface(type);
 
-		generateClassForController(introspectedTable, interfaze);
+		// methods added by other plugins, the generic interface has no id type for the dynamic sql runtime
+		for (Method method : interfaze.getMethods()) {
+			if (ExistsByExamplePlugin.EXISTS_BY_EXAMPLE.equals(method.getName())) {
+				addClientExistsByExample(method);
+			} else if (this.targetRuntime.equals("MyBatis3DynamicSql") || method.getParameters().size() != 1) {
+				continue;
+			} else if (SelectByPrimaryKeysPlugin.METHOD_NAME.equals(method.getName())) {
+				genericInterface.addImportedType(genericIdCollection);
+				addGenericMethod(method, genericModelList, genericIdCollection);
+			} else if (ExistsByExamplePlugin.EXISTS_BY_PRIMARY_KEY.equals(method.getName())) {
+				addGenericMethod(method, FullyQualifiedJavaType.getBooleanPrimitiveInstance(), genericId);
+			}
+		}
+
+		// the controller of an unchanged table is already up to date
+		if (!fingerprints.isEnabled() || !fingerprints.isUnchanged(introspectedTable, FingerprintCache.javaFile(context
+				.getJavaClientGeneratorConfiguration().getTargetProject(), controllerName(introspectedTable)))) {
+			generateClassForController(introspectedTable, interfaze);
+		}
 
 		return true;
 	}
@@ -369,6 +409,21 @@ public class CreateGenericInterfacePlugin extends PluginAdapter {
 
 	}
 
+	private void addClientExistsByExample(Method method) {
+		if (this.targetRuntime.equals("MyBatis3DynamicSql")) {
+			// org.mybatis.dynamic.sql.select.QueryExpressionDSL<org.mybatis.dynamic.sql.select.MyBatis3SelectModelAdapter<Boolean>>
+			FullyQualifiedJavaType type = new FullyQualifiedJavaType(
+					"org.mybatis.dynamic.sql.select.MyBatis3SelectModelAdapter");
+			type.addTypeArgument(new FullyQualifiedJavaType("Boolean"));
+			FullyQualifiedJavaType type1 = new FullyQualifiedJavaType(
+					"org.mybatis.dynamic.sql.select.QueryExpressionDSL");
+			type1.addTypeArgument(type);
+			addGenericMethod(method, type1, genericExample);
+		} else {
+			addGenericMethod(method, FullyQualifiedJavaType.getBooleanPrimitiveInstance(), genericExample);
+		}
+	}
+
 	@Override
 	public boolean clientDeleteByExampleMethodGenerated(Method method, Interface interfaze,
 			IntrospectedTable introspectedTable) {
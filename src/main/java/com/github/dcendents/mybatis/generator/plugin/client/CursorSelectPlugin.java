@@ -0,0 +1,281 @@
+package com.github.dcendents.mybatis.generator.plugin.client;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+
+import lombok.NoArgsConstructor;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.IntrospectedTable.TargetRuntime;
+import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.Document;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+
+/**
+ * Mybatis generator plugin to add streaming select methods, returning a MyBatis <code>Cursor</code> or passing the
+ * rows to a <code>ResultHandler</code>.
+ * <p>
+ * The rows are fetched from the database while the cursor is iterated, or pushed to the handler, with a forward only
+ * result set and the configured fetch size, instead of being materialized in a List. The MyBatis3 runtime gets
+ * <code>selectByExampleCursor</code> and <code>selectByExampleWithResultHandler</code> methods, the MyBatis3DynamicSql
+ * runtime gets the same methods built on <code>selectManyCursor</code> and <code>selectManyWithResultHandler</code>.
+ */
+@NoArgsConstructor
+public class CursorSelectPlugin extends PluginAdapter {
+	public static final String FETCH_SIZE = "fetchSize";
+	public static final String TABLE_FETCH_SIZE = "cursorFetchSize";
+
+	public static final int DEFAULT_FETCH_SIZE = 1000;
+
+	static final String METHOD_SUFFIX = "Cursor";
+	static final String RESULT_HANDLER_SUFFIX = "WithResultHandler";
+
+	private static final FullyQualifiedJavaType CURSOR = new FullyQualifiedJavaType("org.apache.ibatis.cursor.Cursor");
+	private static final FullyQualifiedJavaType RESULT_HANDLER = new FullyQualifiedJavaType(
+			"org.apache.ibatis.session.ResultHandler");
+
+	private int fetchSize;
+
+	private final Map<IntrospectedTable, List<XmlElement>> elementsToAdd = Collections
+			.synchronizedMap(new HashMap<IntrospectedTable, List<XmlElement>>());
+
+	@Override
+	public boolean validate(List<String> warnings) {
+		fetchSize = DEFAULT_FETCH_SIZE;
+		String fetchSizeString = properties.getProperty(FETCH_SIZE);
+		if (!StringUtils.isBlank(fetchSizeString)) {
+			fetchSize = NumberUtils.toInt(fetchSizeString.trim());
+			if (fetchSize < 1) {
+				warnings.add(String.format("Property %s must be a positive number for plugin %s", FETCH_SIZE, this
+						.getClass().getSimpleName()));
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the fetch size of the table, the <code>cursorFetchSize</code> property of the table configuration
+	 *         overrides the one of the plugin
+	 */
+	int fetchSize(IntrospectedTable introspectedTable) {
+		String tableFetchSize = introspectedTable.getTableConfigurationProperty(TABLE_FETCH_SIZE);
+		int size = NumberUtils.toInt(StringUtils.trim(tableFetchSize));
+		return size > 0 ? size : fetchSize;
+	}
+
+	@Override
+	public boolean clientSelectByExampleWithBLOBsMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3) {
+			addCursorMethod(method, interfaze, introspectedTable);
+			addResultHandlerMethod(method, interfaze, introspectedTable);
+		} else if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3_DSQL
+				&& "selectByExample".equals(method.getName())
+				&& !StringUtils.join(method.getBodyLines(), "").contains("selectDistinctWithMapper")) {
+			addDynamicSqlSelectByExample(method, interfaze);
+			addDynamicSqlResultHandlerSelectByExample(method, interfaze);
+		}
+		return true;
+	}
+
+	@Override
+	public boolean clientSelectByExampleWithoutBLOBsMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3) {
+			addCursorMethod(method, interfaze, introspectedTable);
+			addResultHandlerMethod(method, interfaze, introspectedTable);
+		}
+		return true;
+	}
+
+	@Override
+	public boolean clientBasicSelectManyMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		addCursorMethod(method, interfaze, introspectedTable);
+		addResultHandlerMethod(method, interfaze, introspectedTable);
+		return true;
+	}
+
+	@Override
+	public boolean sqlMapSelectByExampleWithoutBLOBsElementGenerated(XmlElement element,
+			IntrospectedTable introspectedTable) {
+		copyAndSaveElement(element, introspectedTable);
+		return true;
+	}
+
+	@Override
+	public boolean sqlMapSelectByExampleWithBLOBsElementGenerated(XmlElement element,
+			IntrospectedTable introspectedTable) {
+		copyAndSaveElement(element, introspectedTable);
+		return true;
+	}
+
+	@Override
+	public boolean sqlMapDocumentGenerated(Document document, IntrospectedTable introspectedTable) {
+		List<XmlElement> elements = elementsToAdd.remove(introspectedTable);
+		if (elements != null) {
+			for (XmlElement element : elements) {
+				document.getRootElement().addElement(element);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Copy the method with a Cursor return type, the fetch size and result set type are set with the Options
+	 * annotation. They are ignored by MyBatis for statements defined in xml, where they are set on the element.
+	 */
+	private void addCursorMethod(Method method, Interface interfaze, IntrospectedTable introspectedTable) {
+		FullyQualifiedJavaType returnType = new FullyQualifiedJavaType(CURSOR.getFullyQualifiedName());
+		returnType.addTypeArgument(method.getReturnType().getTypeArguments().get(0));
+
+		Method cursorMethod = new Method(method);
+		cursorMethod.setName(method.getName() + METHOD_SUFFIX);
+		cursorMethod.setReturnType(returnType);
+		copyAnnotations(method, cursorMethod, interfaze, introspectedTable);
+
+		interfaze.addImportedType(CURSOR);
+		interfaze.addMethod(cursorMethod);
+	}
+
+	/**
+	 * Copy the method with a ResultHandler parameter. The method gets its own name: MyBatis maps overloaded methods
+	 * to the same statement, which would not have the fetch size.
+	 */
+	private void addResultHandlerMethod(Method method, Interface interfaze, IntrospectedTable introspectedTable) {
+		FullyQualifiedJavaType handlerType = new FullyQualifiedJavaType(RESULT_HANDLER.getFullyQualifiedName());
+		handlerType.addTypeArgument(method.getReturnType().getTypeArguments().get(0));
+
+		Method handlerMethod = new Method(method);
+		handlerMethod.setName(method.getName() + RESULT_HANDLER_SUFFIX);
+		handlerMethod.setReturnType(null);
+		handlerMethod.addParameter(new Parameter(handlerType, "handler"));
+		copyAnnotations(method, handlerMethod, interfaze, introspectedTable);
+
+		interfaze.addImportedType(RESULT_HANDLER);
+		interfaze.addMethod(handlerMethod);
+	}
+
+	private void copyAnnotations(Method method, Method copy, Interface interfaze, IntrospectedTable introspectedTable) {
+		copy.getAnnotations().clear();
+		for (String annotation : resultMapAnnotations(method, interfaze)) {
+			copy.addAnnotation(annotation);
+		}
+		if (!method.getAnnotations().isEmpty()) {
+			interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.Options"));
+			interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.mapping.ResultSetType"));
+			copy.addAnnotation(String.format("@Options(fetchSize=%d, resultSetType=ResultSetType.FORWARD_ONLY)",
+					fetchSize(introspectedTable)));
+		}
+	}
+
+	/**
+	 * A named result map can only be declared once: the Results annotation of the copied method is replaced by a
+	 * reference to it. The Options of the copied method, if any, are replaced by the streaming ones.
+	 */
+	private List<String> resultMapAnnotations(Method method, Interface interfaze) {
+		List<String> annotations = new ArrayList<>(method.getAnnotations());
+
+		boolean inResultsAnnotation = false;
+		String resultMapId = null;
+		for (Iterator<String> iterator = annotations.iterator(); iterator.hasNext();) {
+			String annotation = iterator.next();
+			if (inResultsAnnotation) {
+				inResultsAnnotation = !annotation.equals("})");
+				iterator.remove();
+			} else if (annotation.startsWith("@Results(id=\"")) {
+				inResultsAnnotation = true;
+				iterator.remove();
+				int startIndex = annotation.indexOf('"') + 1;
+				resultMapId = annotation.substring(startIndex, annotation.indexOf('"', startIndex));
+			} else if (annotation.startsWith("@Options(")) {
+				iterator.remove();
+			}
+		}
+
+		if (resultMapId != null) {
+			interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.ResultMap"));
+			annotations.add(String.format("@ResultMap(\"%s\")", resultMapId));
+		}
+		return annotations;
+	}
+
+	private void addDynamicSqlSelectByExample(Method method, Interface interfaze) {
+		Method cursorMethod = new Method(method);
+		cursorMethod.setName(method.getName() + METHOD_SUFFIX);
+		cursorMethod.setReturnType(new FullyQualifiedJavaType(method.getReturnType().getShortName()
+				.replace("<List<", "<Cursor<")));
+		for (int i = 0; i < cursorMethod.getBodyLines().size(); i++) {
+			cursorMethod.getBodyLines().set(i,
+					cursorMethod.getBodyLines().get(i).replace("this::selectMany", "this::selectManyCursor"));
+		}
+
+		interfaze.addImportedType(CURSOR);
+		interfaze.addMethod(cursorMethod);
+	}
+
+	/**
+	 * The select is executed by a function passing the statement and the handler to selectManyWithResultHandler.
+	 */
+	private void addDynamicSqlResultHandlerSelectByExample(Method method, Interface interfaze) {
+		FullyQualifiedJavaType handlerType = new FullyQualifiedJavaType(RESULT_HANDLER.getFullyQualifiedName());
+		handlerType.addTypeArgument(method.getReturnType().getTypeArguments().get(0).getTypeArguments().get(0)
+				.getTypeArguments().get(0));
+
+		Method handlerMethod = new Method(method);
+		handlerMethod.setName(method.getName() + RESULT_HANDLER_SUFFIX);
+		handlerMethod.setReturnType(new FullyQualifiedJavaType(method.getReturnType().getShortName()
+				.replaceFirst("<List<.*>>>$", "<Void>>")));
+		handlerMethod.addParameter(new Parameter(handlerType, "handler"));
+		for (int i = 0; i < handlerMethod.getBodyLines().size(); i++) {
+			handlerMethod.getBodyLines().set(i, handlerMethod.getBodyLines().get(i).replace("this::selectMany",
+					"selectStatement -> { selectManyWithResultHandler(selectStatement, handler); return null; }"));
+		}
+
+		interfaze.addImportedType(RESULT_HANDLER);
+		interfaze.addMethod(handlerMethod);
+	}
+
+	private void copyAndSaveElement(XmlElement element, IntrospectedTable introspectedTable) {
+		if (introspectedTable.getTargetRuntime() != TargetRuntime.MYBATIS3) {
+			return;
+		}
+
+		List<XmlElement> elements = elementsToAdd.get(introspectedTable);
+		if (elements == null) {
+			elements = new ArrayList<>();
+			elementsToAdd.put(introspectedTable, elements);
+		}
+
+		for (String suffix : new String[] { METHOD_SUFFIX, RESULT_HANDLER_SUFFIX }) {
+			XmlElement streamingElement = new XmlElement(element);
+			List<Attribute> attributes = streamingElement.getAttributes();
+			for (ListIterator<Attribute> iterator = attributes.listIterator(); iterator.hasNext();) {
+				Attribute attribute = iterator.next();
+				if ("id".equals(attribute.getName())) {
+					iterator.set(new Attribute("id", attribute.getValue() + suffix));
+				} else if ("fetchSize".equals(attribute.getName()) || "resultSetType".equals(attribute.getName())) {
+					// set by another plugin on the copied element, MyBatis rejects duplicate attributes
+					iterator.remove();
+				}
+			}
+			streamingElement.addAttribute(new Attribute("fetchSize", String.valueOf(fetchSize(introspectedTable))));
+			streamingElement.addAttribute(new Attribute("resultSetType", "FORWARD_ONLY"));
+			elements.add(streamingElement);
+		}
+	}
+
+}
@@ -0,0 +1,269 @@
+package com.github.dcendents.mybatis.generator.plugin.client;
+
+import static com.github.dcendents.mybatis.generator.plugin.client.MapperSupport.dynamicSqlSupportType;
+import static com.github.dcendents.mybatis.generator.plugin.client.MapperSupport.isAnnotatedMapper;
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getAliasedEscapedColumnName;
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getParameterClause;
+
+import java.util.Arrays;
+import java.util.List;
+
+import lombok.NoArgsConstructor;
+
+import org.apache.commons.lang3.StringUtils;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.IntrospectedTable.TargetRuntime;
+import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.Document;
+import org.mybatis.generator.api.dom.xml.TextElement;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.internal.util.JavaBeansUtil;
+
+/**
+ * Mybatis generator plugin to add existence checks to the generated mappers.
+ * <p>
+ * The <code>existsByExample</code> method stops at the first matching row instead of counting all of them like
+ * <code>countByExample(example) &gt; 0</code> does, the <code>existsByPrimaryKey</code> method does not read the
+ * columns of the record. Supports the MyBatis3 (xml mapper) and MyBatis3DynamicSql target runtimes.
+ */
+@NoArgsConstructor
+public class ExistsByExamplePlugin extends PluginAdapter {
+	public static final String PAGINATION_DIALECT = "paginationDialect";
+
+	public static final String EXISTS_BY_EXAMPLE = "existsByExample";
+	public static final String EXISTS_BY_PRIMARY_KEY = "existsByPrimaryKey";
+	static final String EXISTS_METHOD_NAME = "exists";
+
+	private PaginationDialect dialect;
+
+	@Override
+	public boolean validate(List<String> warnings) {
+		String dialectName = properties.getProperty(PAGINATION_DIALECT);
+		dialect = PaginationDialect.of(dialectName);
+
+		if (StringUtils.isBlank(dialectName)) {
+			warnings.add(String.format("Property %s not set for plugin %s", PAGINATION_DIALECT, this.getClass()
+					.getSimpleName()));
+			return false;
+		}
+		if (dialect == null) {
+			warnings.add(String.format("Property %s must be one of %s for plugin %s", PAGINATION_DIALECT,
+					Arrays.toString(PaginationDialect.values()), this.getClass().getSimpleName()));
+			return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Wrap a select statement to count at most one of its rows, the result is 0 or 1 and is read as a boolean.
+	 *
+	 * @param select
+	 *            the select statement
+	 * @return the existence query
+	 */
+	String existsQuery(String select) {
+		StringBuilder query = new StringBuilder("select count(*) from (").append(select);
+		if (dialect.requiresOrderBy()) {
+			query.append(" order by (select null)");
+		}
+		return query.append(' ').append(dialect.clause("1", "0")).append(") existing_row").toString();
+	}
+
+	@Override
+	public boolean clientCountByExampleMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3_DSQL) {
+			addDynamicSqlExistsByExample(interfaze, introspectedTable);
+		} else if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3 && !isAnnotatedMapper(context)) {
+			addMethod(EXISTS_BY_EXAMPLE, method, interfaze, introspectedTable);
+		}
+		return true;
+	}
+
+	@Override
+	public boolean clientSelectByPrimaryKeyMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		// the dynamic sql runtime also reports selectDistinctByExample through this hook
+		if (!"selectByPrimaryKey".equals(method.getName()) || introspectedTable.getPrimaryKeyColumns().isEmpty()) {
+			return true;
+		}
+
+		if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3_DSQL) {
+			addDynamicSqlExistsByPrimaryKey(method, interfaze, introspectedTable);
+		} else if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3 && !isAnnotatedMapper(context)) {
+			addMethod(EXISTS_BY_PRIMARY_KEY, method, interfaze, introspectedTable);
+		}
+		return true;
+	}
+
+	/**
+	 * Add a method returning a boolean with the parameters of the given method.
+	 */
+	private void addMethod(String name, Method source, Interface interfaze, IntrospectedTable introspectedTable) {
+		Method method = new Method(name);
+		method.setReturnType(FullyQualifiedJavaType.getBooleanPrimitiveInstance());
+		for (Parameter parameter : source.getParameters()) {
+			method.addParameter(parameter);
+		}
+		context.getCommentGenerator().addGeneralMethodAnnotation(method, introspectedTable, interfaze.getImportedTypes());
+		interfaze.addMethod(method);
+	}
+
+	private void addDynamicSqlExistsByExample(Interface interfaze, IntrospectedTable introspectedTable) {
+		FullyQualifiedJavaType providerType = new FullyQualifiedJavaType(
+				"org.mybatis.dynamic.sql.select.render.SelectStatementProvider");
+		FullyQualifiedJavaType adapterType = new FullyQualifiedJavaType(
+				"org.mybatis.dynamic.sql.select.MyBatis3SelectModelAdapter");
+		adapterType.addTypeArgument(new FullyQualifiedJavaType("java.lang.Boolean"));
+		FullyQualifiedJavaType dslType = new FullyQualifiedJavaType("org.mybatis.dynamic.sql.select.QueryExpressionDSL");
+		dslType.addTypeArgument(adapterType);
+		FullyQualifiedJavaType supportType = dynamicSqlSupportType(interfaze, introspectedTable);
+
+		interfaze.addImportedType(providerType);
+		interfaze.addImportedType(dslType);
+		interfaze.addImportedType(supportType);
+		interfaze.addImportedType(new FullyQualifiedJavaType("java.util.Map"));
+		interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.SelectProvider"));
+		interfaze.addImportedType(new FullyQualifiedJavaType("org.mybatis.dynamic.sql.select.SelectDSL"));
+		interfaze.addImportedType(new FullyQualifiedJavaType("org.mybatis.dynamic.sql.util.SqlProviderAdapter"));
+
+		Method exists = new Method(EXISTS_METHOD_NAME);
+		exists.setReturnType(FullyQualifiedJavaType.getBooleanPrimitiveInstance());
+		exists.addParameter(new Parameter(providerType, "selectStatement"));
+		context.getCommentGenerator().addGeneralMethodAnnotation(exists, introspectedTable,
+				interfaze.getImportedTypes());
+		exists.addAnnotation("@SelectProvider(type=SqlProviderAdapter.class, method=\"select\")");
+		interfaze.addMethod(exists);
+
+		List<IntrospectedColumn> columns = introspectedTable.getPrimaryKeyColumns().isEmpty() ? introspectedTable
+				.getAllColumns() : introspectedTable.getPrimaryKeyColumns();
+		String support = supportType.getShortName();
+
+		Method method = new Method(EXISTS_BY_EXAMPLE);
+		method.setDefault(true);
+		method.setReturnType(dslType);
+		context.getCommentGenerator().addGeneralMethodAnnotation(method, introspectedTable, interfaze.getImportedTypes());
+		method.addBodyLine("return SelectDSL.selectWithMapper(selectStatement -> exists(new SelectStatementProvider() {");
+		method.addBodyLine("@Override");
+		method.addBodyLine("public Map<String, Object> getParameters() {");
+		method.addBodyLine("return selectStatement.getParameters();");
+		method.addBodyLine("}");
+		method.addBodyLine("");
+		method.addBodyLine("@Override");
+		method.addBodyLine("public String getSelectStatement() {");
+		method.addBodyLine(String.format("return \"%s\";",
+				existsQuery("\" + selectStatement.getSelectStatement() + \"")));
+		method.addBodyLine("}");
+		method.addBodyLine(String.format("}), %s.%s).from(%s.%s);", support, columns.get(0).getJavaProperty(),
+				support, JavaBeansUtil.getValidPropertyName(introspectedTable.getFullyQualifiedTable()
+						.getDomainObjectName())));
+		interfaze.addMethod(method);
+	}
+
+	private void addDynamicSqlExistsByPrimaryKey(Method selectByPrimaryKey, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		FullyQualifiedJavaType supportType = dynamicSqlSupportType(interfaze, introspectedTable);
+		interfaze.addImportedType(supportType);
+		interfaze.addImportedType(new FullyQualifiedJavaType("org.mybatis.dynamic.sql.SqlBuilder"));
+
+		Method method = new Method(EXISTS_BY_PRIMARY_KEY);
+		method.setDefault(true);
+		method.setReturnType(FullyQualifiedJavaType.getBooleanPrimitiveInstance());
+		for (Parameter parameter : selectByPrimaryKey.getParameters()) {
+			method.addParameter(parameter);
+		}
+		context.getCommentGenerator().addGeneralMethodAnnotation(method, introspectedTable, interfaze.getImportedTypes());
+
+		// the parameters of selectByPrimaryKey are the key columns, in the same order
+		List<IntrospectedColumn> keys = introspectedTable.getPrimaryKeyColumns();
+		String support = supportType.getShortName();
+		StringBuilder statement = new StringBuilder("return existsByExample()");
+		for (int i = 0; i < keys.size() && i < method.getParameters().size(); i++) {
+			statement.append(String.format(".%s(%s.%s, SqlBuilder.isEqualTo(%s))", i == 0 ? "where" : "and",
+					support, keys.get(i).getJavaProperty(), method.getParameters().get(i).getName()));
+		}
+		statement.append(".build().execute();");
+		method.addBodyLine(statement.toString());
+		interfaze.addMethod(method);
+	}
+
+	@Override
+	public boolean sqlMapDocumentGenerated(Document document, IntrospectedTable introspectedTable) {
+		if (introspectedTable.getTargetRuntime() != TargetRuntime.MYBATIS3 || isAnnotatedMapper(context)) {
+			return true;
+		}
+
+		if (introspectedTable.getRules().generateCountByExample()) {
+			document.getRootElement().addElement(existsByExampleElement(introspectedTable));
+		}
+		if (introspectedTable.getRules().generateSelectByPrimaryKey()
+				&& !introspectedTable.getPrimaryKeyColumns().isEmpty()) {
+			document.getRootElement().addElement(existsByPrimaryKeyElement(introspectedTable));
+		}
+
+		return true;
+	}
+
+	private XmlElement existsByExampleElement(IntrospectedTable introspectedTable) {
+		XmlElement element = new XmlElement("select");
+		element.addAttribute(new Attribute("id", EXISTS_BY_EXAMPLE));
+		element.addAttribute(new Attribute("parameterType", introspectedTable.getExampleType()));
+		element.addAttribute(new Attribute("resultType", "boolean"));
+		context.getCommentGenerator().addComment(element);
+
+		element.addElement(new TextElement("select count(*) from ("));
+		element.addElement(new TextElement("select 1 as found from "
+				+ introspectedTable.getAliasedFullyQualifiedTableNameAtRuntime()));
+		XmlElement ifExample = new XmlElement("if");
+		ifExample.addAttribute(new Attribute("test", "_parameter != null"));
+		XmlElement where = new XmlElement("include");
+		where.addAttribute(new Attribute("refid", introspectedTable.getExampleWhereClauseId()));
+		ifExample.addElement(where);
+		element.addElement(ifExample);
+		if (dialect.requiresOrderBy()) {
+			element.addElement(new TextElement("order by (select null)"));
+		}
+		element.addElement(new TextElement(dialect.clause("1", "0")));
+		element.addElement(new TextElement(") existing_row"));
+
+		return element;
+	}
+
+	/**
+	 * The primary key matches at most one row, there is no need to limit the count.
+	 */
+	private XmlElement existsByPrimaryKeyElement(IntrospectedTable introspectedTable) {
+		List<IntrospectedColumn> keys = introspectedTable.getPrimaryKeyColumns();
+		String parameterType;
+		if (introspectedTable.getRules().generatePrimaryKeyClass()) {
+			parameterType = introspectedTable.getPrimaryKeyType();
+		} else if (keys.size() > 1) {
+			parameterType = "map";
+		} else {
+			parameterType = keys.get(0).getFullyQualifiedJavaType().toString();
+		}
+
+		XmlElement element = new XmlElement("select");
+		element.addAttribute(new Attribute("id", EXISTS_BY_PRIMARY_KEY));
+		element.addAttribute(new Attribute("parameterType", parameterType));
+		element.addAttribute(new Attribute("resultType", "boolean"));
+		context.getCommentGenerator().addComment(element);
+
+		element.addElement(new TextElement("select count(*)"));
+		element.addElement(new TextElement("from " + introspectedTable.getAliasedFullyQualifiedTableNameAtRuntime()));
+		for (int i = 0; i < keys.size(); i++) {
+			element.addElement(new TextElement(String.format("%s %s = %s", i == 0 ? "where" : "and",
+					getAliasedEscapedColumnName(keys.get(i)), getParameterClause(keys.get(i)))));
+		}
+
+		return element;
+	}
+
+}
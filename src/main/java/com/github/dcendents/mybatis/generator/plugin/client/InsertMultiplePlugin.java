@@ -0,0 +1,259 @@
+package com.github.dcendents.mybatis.generator.plugin.client;
+
+import static com.github.dcendents.mybatis.generator.plugin.client.MapperSupport.dynamicSqlSupportType;
+import static com.github.dcendents.mybatis.generator.plugin.client.MapperSupport.isAnnotatedMapper;
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getEscapedColumnName;
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getParameterClause;
+import static org.mybatis.generator.internal.util.StringUtility.escapeStringForJava;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.NoArgsConstructor;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.IntrospectedTable.TargetRuntime;
+import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.Document;
+import org.mybatis.generator.api.dom.xml.TextElement;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.internal.util.JavaBeansUtil;
+
+/**
+ * Mybatis generator plugin to add a multi-row insert to the generated mappers.
+ * <p>
+ * The <code>insertMultiple(List)</code> default method splits the records in chunks and inserts each chunk with a
+ * single statement, so a statement never binds more than the configured number of rows or parameters. Supports the
+ * MyBatis3 (xml or annotated mapper) and MyBatis3DynamicSql target runtimes.
+ */
+@NoArgsConstructor
+public class InsertMultiplePlugin extends PluginAdapter {
+	public static final String MAX_ROWS = "maxRowsPerStatement";
+	public static final String MAX_PARAMETERS = "maxParametersPerStatement";
+
+	public static final int DEFAULT_MAX_ROWS = 500;
+	public static final int DEFAULT_MAX_PARAMETERS = 2000;
+
+	static final String METHOD_NAME = "insertMultiple";
+	static final String CHUNK_METHOD_NAME = "insertMultipleChunk";
+
+	private int maxRows;
+	private int maxParameters;
+
+	@Override
+	public boolean validate(List<String> warnings) {
+		boolean valid = true;
+
+		maxRows = DEFAULT_MAX_ROWS;
+		String maxRowsString = properties.getProperty(MAX_ROWS);
+		if (!StringUtils.isBlank(maxRowsString)) {
+			maxRows = NumberUtils.toInt(maxRowsString.trim());
+			if (maxRows < 1) {
+				warnings.add(String.format("Property %s must be a positive number for plugin %s", MAX_ROWS, this
+						.getClass().getSimpleName()));
+				valid = false;
+			}
+		}
+
+		maxParameters = DEFAULT_MAX_PARAMETERS;
+		String maxParametersString = properties.getProperty(MAX_PARAMETERS);
+		if (!StringUtils.isBlank(maxParametersString)) {
+			maxParameters = NumberUtils.toInt(maxParametersString.trim());
+			if (maxParameters < 1) {
+				warnings.add(String.format("Property %s must be a positive number for plugin %s", MAX_PARAMETERS,
+						this.getClass().getSimpleName()));
+				valid = false;
+			}
+		}
+
+		return valid;
+	}
+
+	/**
+	 * @return the columns set by the insert statement, identity and generated columns are left to the database
+	 */
+	List<IntrospectedColumn> insertColumns(IntrospectedTable introspectedTable) {
+		List<IntrospectedColumn> columns = new ArrayList<>();
+		for (IntrospectedColumn column : introspectedTable.getAllColumns()) {
+			if (!column.isIdentity() && !column.isGeneratedAlways()) {
+				columns.add(column);
+			}
+		}
+		return columns;
+	}
+
+	/**
+	 * @return the number of rows per statement, so both the rows and parameters limits are respected
+	 */
+	int rowsPerStatement(int columnCount) {
+		return Math.max(1, Math.min(maxRows, maxParameters / Math.max(1, columnCount)));
+	}
+
+	@Override
+	public boolean clientInsertMethodGenerated(Method method, Interface interfaze, IntrospectedTable introspectedTable) {
+		List<IntrospectedColumn> columns = insertColumns(introspectedTable);
+		if (columns.isEmpty()) {
+			return true;
+		}
+
+		FullyQualifiedJavaType recordType = introspectedTable.getRules().calculateAllFieldsClass();
+		FullyQualifiedJavaType listType = FullyQualifiedJavaType.getNewListInstance();
+		listType.addTypeArgument(recordType);
+		interfaze.addImportedType(listType);
+		interfaze.addImportedType(recordType);
+
+		if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3_DSQL) {
+			addDynamicSqlMethods(interfaze, introspectedTable, recordType, listType, columns);
+		} else if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3) {
+			addMethods(interfaze, introspectedTable, listType, columns);
+		}
+
+		return true;
+	}
+
+	private void addMethods(Interface interfaze, IntrospectedTable introspectedTable, FullyQualifiedJavaType listType,
+			List<IntrospectedColumn> columns) {
+		FullyQualifiedJavaType param = new FullyQualifiedJavaType("org.apache.ibatis.annotations.Param"); //$NON-NLS-1$
+		interfaze.addImportedType(param);
+
+		Method chunk = new Method(CHUNK_METHOD_NAME);
+		chunk.setReturnType(FullyQualifiedJavaType.getIntInstance());
+		Parameter records = new Parameter(listType, "records"); //$NON-NLS-1$
+		records.addAnnotation("@Param(\"records\")"); //$NON-NLS-1$
+		chunk.addParameter(records);
+		context.getCommentGenerator().addGeneralMethodAnnotation(chunk, introspectedTable, interfaze.getImportedTypes());
+
+		if (isAnnotatedMapper(context)) {
+			interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.Insert")); //$NON-NLS-1$
+			chunk.addAnnotation("@Insert({"); //$NON-NLS-1$
+			chunk.addAnnotation("    \"<script>\","); //$NON-NLS-1$
+			for (String line : insertLines(introspectedTable, columns)) {
+				chunk.addAnnotation(String.format("    \"%s\",", escapeStringForJava(line))); //$NON-NLS-1$
+			}
+			chunk.addAnnotation("    \"</script>\""); //$NON-NLS-1$
+			chunk.addAnnotation("})"); //$NON-NLS-1$
+		}
+
+		interfaze.addMethod(chunk);
+		interfaze.addMethod(chunkingMethod(introspectedTable, interfaze, listType, columns.size(),
+				CHUNK_METHOD_NAME + "(records.subList(i, Math.min(i + rows, records.size())))")); //$NON-NLS-1$
+	}
+
+	private void addDynamicSqlMethods(Interface interfaze, IntrospectedTable introspectedTable,
+			FullyQualifiedJavaType recordType, FullyQualifiedJavaType listType, List<IntrospectedColumn> columns) {
+		FullyQualifiedJavaType providerType = new FullyQualifiedJavaType(
+				"org.mybatis.dynamic.sql.insert.render.MultiRowInsertStatementProvider"); //$NON-NLS-1$
+		providerType.addTypeArgument(recordType);
+		FullyQualifiedJavaType supportType = dynamicSqlSupportType(interfaze, introspectedTable);
+
+		interfaze.addImportedType(providerType);
+		interfaze.addImportedType(supportType);
+		interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.InsertProvider")); //$NON-NLS-1$
+		interfaze.addImportedType(new FullyQualifiedJavaType("org.mybatis.dynamic.sql.SqlBuilder")); //$NON-NLS-1$
+		interfaze.addImportedType(new FullyQualifiedJavaType("org.mybatis.dynamic.sql.render.RenderingStrategy")); //$NON-NLS-1$
+		interfaze.addImportedType(new FullyQualifiedJavaType("org.mybatis.dynamic.sql.util.SqlProviderAdapter")); //$NON-NLS-1$
+
+		Method chunk = new Method(CHUNK_METHOD_NAME);
+		chunk.setReturnType(FullyQualifiedJavaType.getIntInstance());
+		chunk.addParameter(new Parameter(providerType, "multipleInsertStatement")); //$NON-NLS-1$
+		context.getCommentGenerator().addGeneralMethodAnnotation(chunk, introspectedTable, interfaze.getImportedTypes());
+		chunk.addAnnotation("@InsertProvider(type=SqlProviderAdapter.class, method=\"insertMultiple\")"); //$NON-NLS-1$
+		interfaze.addMethod(chunk);
+
+		String support = supportType.getShortName();
+		StringBuilder statement = new StringBuilder(CHUNK_METHOD_NAME);
+		statement.append("(SqlBuilder.insertMultiple(records.subList(i, Math.min(i + rows, records.size())))"); //$NON-NLS-1$
+		statement.append(String.format(".into(%s.%s)", support, tableFieldName(introspectedTable))); //$NON-NLS-1$
+		for (IntrospectedColumn column : columns) {
+			statement.append(String.format(".map(%s.%s).toProperty(\"%s\")", support, column.getJavaProperty(), //$NON-NLS-1$
+					column.getJavaProperty()));
+		}
+		statement.append(".build().render(RenderingStrategy.MYBATIS3))"); //$NON-NLS-1$
+
+		interfaze.addMethod(chunkingMethod(introspectedTable, interfaze, listType, columns.size(), statement.toString()));
+	}
+
+	private Method chunkingMethod(IntrospectedTable introspectedTable, Interface interfaze,
+			FullyQualifiedJavaType listType, int columnCount, String chunkStatement) {
+		Method method = new Method(METHOD_NAME);
+		method.setDefault(true);
+		method.setReturnType(FullyQualifiedJavaType.getIntInstance());
+		method.addParameter(new Parameter(listType, "records")); //$NON-NLS-1$
+		context.getCommentGenerator().addGeneralMethodAnnotation(method, introspectedTable, interfaze.getImportedTypes());
+
+		method.addBodyLine(String.format("int rows = %d;", rowsPerStatement(columnCount))); //$NON-NLS-1$
+		method.addBodyLine("int count = 0;"); //$NON-NLS-1$
+		method.addBodyLine("for (int i = 0; i < records.size(); i += rows) {"); //$NON-NLS-1$
+		method.addBodyLine(String.format("count += %s;", chunkStatement)); //$NON-NLS-1$
+		method.addBodyLine("}"); //$NON-NLS-1$
+		method.addBodyLine("return count;"); //$NON-NLS-1$
+		return method;
+	}
+
+	private String tableFieldName(IntrospectedTable introspectedTable) {
+		return JavaBeansUtil.getValidPropertyName(introspectedTable.getFullyQualifiedTable().getDomainObjectName());
+	}
+
+	/**
+	 * @return the lines of the insert statement, a foreach over the records adds one VALUES row per record
+	 */
+	List<String> insertLines(IntrospectedTable introspectedTable, List<IntrospectedColumn> columns) {
+		StringBuilder columnList = new StringBuilder();
+		StringBuilder valueList = new StringBuilder();
+		for (IntrospectedColumn column : columns) {
+			if (columnList.length() > 0) {
+				columnList.append(", "); //$NON-NLS-1$
+				valueList.append(", "); //$NON-NLS-1$
+			}
+			columnList.append(getEscapedColumnName(column));
+			valueList.append(getParameterClause(column, "record.")); //$NON-NLS-1$
+		}
+
+		List<String> lines = new ArrayList<>();
+		lines.add(String.format("insert into %s (%s)", //$NON-NLS-1$
+				introspectedTable.getFullyQualifiedTableNameAtRuntime(), columnList));
+		lines.add("values"); //$NON-NLS-1$
+		lines.add("<foreach collection=\"records\" item=\"record\" separator=\",\">"); //$NON-NLS-1$
+		lines.add(String.format("(%s)", valueList)); //$NON-NLS-1$
+		lines.add("</foreach>"); //$NON-NLS-1$
+		return lines;
+	}
+
+	@Override
+	public boolean sqlMapDocumentGenerated(Document document, IntrospectedTable introspectedTable) {
+		List<IntrospectedColumn> columns = insertColumns(introspectedTable);
+		if (introspectedTable.getTargetRuntime() != TargetRuntime.MYBATIS3 || columns.isEmpty()
+				|| isAnnotatedMapper(context)) {
+			return true;
+		}
+
+		XmlElement element = new XmlElement("insert"); //$NON-NLS-1$
+		element.addAttribute(new Attribute("id", CHUNK_METHOD_NAME)); //$NON-NLS-1$
+		element.addAttribute(new Attribute("parameterType", "map")); //$NON-NLS-1$ //$NON-NLS-2$
+		context.getCommentGenerator().addComment(element);
+
+		List<String> lines = insertLines(introspectedTable, columns);
+		element.addElement(new TextElement(lines.get(0)));
+		element.addElement(new TextElement(lines.get(1)));
+
+		XmlElement foreach = new XmlElement("foreach"); //$NON-NLS-1$
+		foreach.addAttribute(new Attribute("collection", "records")); //$NON-NLS-1$ //$NON-NLS-2$
+		foreach.addAttribute(new Attribute("item", "record")); //$NON-NLS-1$ //$NON-NLS-2$
+		foreach.addAttribute(new Attribute("separator", ",")); //$NON-NLS-1$ //$NON-NLS-2$
+		foreach.addElement(new TextElement(lines.get(3)));
+		element.addElement(foreach);
+
+		document.getRootElement().addElement(element);
+
+		return true;
+	}
+
+}
@@ -0,0 +1,329 @@
+package com.github.dcendents.mybatis.generator.plugin.client;
+
+import static com.github.dcendents.mybatis.generator.plugin.client.MapperSupport.dynamicSqlSupportType;
+import static com.github.dcendents.mybatis.generator.plugin.client.MapperSupport.isAnnotatedMapper;
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getAliasedEscapedColumnName;
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getParameterClause;
+
+import java.util.Arrays;
+import java.util.List;
+
+import lombok.NoArgsConstructor;
+
+import org.apache.commons.lang3.StringUtils;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.IntrospectedTable.TargetRuntime;
+import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.Document;
+import org.mybatis.generator.api.dom.xml.TextElement;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.internal.util.JavaBeansUtil;
+
+/**
+ * Mybatis generator plugin to add keyset (seek) pagination methods to the generated mappers.
+ * <p>
+ * The <code>selectPageAfter</code> method returns the rows following the given record in primary key order, the
+ * database seeks directly to the key instead of reading and discarding the rows of the previous pages. Supports the
+ * MyBatis3 (xml mapper) and MyBatis3DynamicSql target runtimes, tables without primary key are ignored.
+ */
+@NoArgsConstructor
+public class KeysetPaginationPlugin extends PluginAdapter {
+	public static final String PAGINATION_DIALECT = "paginationDialect";
+
+	static final String METHOD_NAME = "selectPageAfter";
+	static final String LIMIT_METHOD_NAME = "selectManyWithLimit";
+
+	private PaginationDialect dialect;
+
+	@Override
+	public boolean validate(List<String> warnings) {
+		String dialectName = properties.getProperty(PAGINATION_DIALECT);
+		dialect = PaginationDialect.of(dialectName);
+
+		if (StringUtils.isBlank(dialectName)) {
+			warnings.add(String.format("Property %s not set for plugin %s", PAGINATION_DIALECT, this.getClass()
+					.getSimpleName()));
+			return false;
+		}
+		if (dialect == null) {
+			warnings.add(String.format("Property %s must be one of %s for plugin %s", PAGINATION_DIALECT,
+					Arrays.toString(PaginationDialect.values()), this.getClass().getSimpleName()));
+			return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * @return the type of the records returned by the base result map
+	 */
+	FullyQualifiedJavaType recordType(IntrospectedTable introspectedTable) {
+		if (introspectedTable.getRules().generateBaseRecordClass()) {
+			return new FullyQualifiedJavaType(introspectedTable.getBaseRecordType());
+		}
+		return new FullyQualifiedJavaType(introspectedTable.getPrimaryKeyType());
+	}
+
+	@Override
+	public boolean clientSelectByExampleWithoutBLOBsMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3
+				&& !introspectedTable.getPrimaryKeyColumns().isEmpty() && !isAnnotatedMapper(context)) {
+			addMethod(method, interfaze, introspectedTable);
+		}
+		return true;
+	}
+
+	@Override
+	public boolean clientSelectByExampleWithBLOBsMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		// the dynamic sql runtime reports selectByExample and selectDistinctByExample through this hook
+		if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3_DSQL
+				&& !introspectedTable.getPrimaryKeyColumns().isEmpty()
+				&& "selectByExample".equals(method.getName())
+				&& !StringUtils.join(method.getBodyLines(), "").contains("selectDistinctWithMapper")) {
+			addDynamicSqlMethods(method, interfaze, introspectedTable);
+		}
+		return true;
+	}
+
+	private void addMethod(Method selectByExample, Interface interfaze, IntrospectedTable introspectedTable) {
+		FullyQualifiedJavaType recordType = recordType(introspectedTable);
+		FullyQualifiedJavaType listType = FullyQualifiedJavaType.getNewListInstance();
+		listType.addTypeArgument(recordType);
+		FullyQualifiedJavaType exampleType = selectByExample.getParameters().get(0).getType();
+
+		interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.Param"));
+		interfaze.addImportedType(listType);
+		interfaze.addImportedType(recordType);
+
+		Method method = new Method(METHOD_NAME);
+		method.setReturnType(listType);
+		Parameter lastKey = new Parameter(recordType, "lastKey");
+		lastKey.addAnnotation("@Param(\"lastKey\")");
+		method.addParameter(lastKey);
+		Parameter limit = new Parameter(FullyQualifiedJavaType.getIntInstance(), "limit");
+		limit.addAnnotation("@Param(\"limit\")");
+		method.addParameter(limit);
+		Parameter example = new Parameter(exampleType, "example");
+		example.addAnnotation("@Param(\"example\")");
+		method.addParameter(example);
+		context.getCommentGenerator().addGeneralMethodAnnotation(method, introspectedTable, interfaze.getImportedTypes());
+
+		interfaze.addMethod(method);
+	}
+
+	private void addDynamicSqlMethods(Method selectByExample, Interface interfaze, IntrospectedTable introspectedTable) {
+		FullyQualifiedJavaType recordType = recordType(introspectedTable);
+		FullyQualifiedJavaType listType = FullyQualifiedJavaType.getNewListInstance();
+		listType.addTypeArgument(recordType);
+		FullyQualifiedJavaType providerType = new FullyQualifiedJavaType(
+				"org.mybatis.dynamic.sql.select.render.SelectStatementProvider");
+		FullyQualifiedJavaType criterionType = new FullyQualifiedJavaType("org.mybatis.dynamic.sql.SqlCriterion");
+		FullyQualifiedJavaType supportType = dynamicSqlSupportType(interfaze, introspectedTable);
+
+		interfaze.addImportedType(listType);
+		interfaze.addImportedType(recordType);
+		interfaze.addImportedType(providerType);
+		interfaze.addImportedType(criterionType);
+		interfaze.addImportedType(supportType);
+		interfaze.addImportedType(new FullyQualifiedJavaType("java.util.ArrayList"));
+		interfaze.addImportedType(new FullyQualifiedJavaType("java.util.Arrays"));
+		interfaze.addImportedType(new FullyQualifiedJavaType("java.util.Map"));
+		interfaze.addImportedType(new FullyQualifiedJavaType("java.util.function.Function"));
+		interfaze.addImportedType(new FullyQualifiedJavaType("org.mybatis.dynamic.sql.SqlBuilder"));
+
+		FullyQualifiedJavaType functionType = new FullyQualifiedJavaType("java.util.function.Function");
+		functionType.addTypeArgument(providerType);
+		functionType.addTypeArgument(listType);
+
+		Method limitMethod = new Method(LIMIT_METHOD_NAME);
+		limitMethod.setDefault(true);
+		limitMethod.setReturnType(functionType);
+		limitMethod.addParameter(new Parameter(FullyQualifiedJavaType.getIntInstance(), "limit"));
+		context.getCommentGenerator().addGeneralMethodAnnotation(limitMethod, introspectedTable,
+				interfaze.getImportedTypes());
+		limitMethod.addBodyLine("return selectStatement -> selectMany(new SelectStatementProvider() {");
+		limitMethod.addBodyLine("@Override");
+		limitMethod.addBodyLine("public Map<String, Object> getParameters() {");
+		limitMethod.addBodyLine("return selectStatement.getParameters();");
+		limitMethod.addBodyLine("}");
+		limitMethod.addBodyLine("");
+		limitMethod.addBodyLine("@Override");
+		limitMethod.addBodyLine("public String getSelectStatement() {");
+		limitMethod.addBodyLine(String.format("return selectStatement.getSelectStatement() + %s;",
+				dialect.javaClause("limit", "0")));
+		limitMethod.addBodyLine("}");
+		limitMethod.addBodyLine("});");
+		interfaze.addMethod(limitMethod);
+
+		Method method = new Method(METHOD_NAME);
+		method.setDefault(true);
+		method.setReturnType(listType);
+		method.addParameter(new Parameter(recordType, "lastKey"));
+		method.addParameter(new Parameter(FullyQualifiedJavaType.getIntInstance(), "limit"));
+		method.addParameter(new Parameter(new FullyQualifiedJavaType("SqlCriterion<?>"), "criteria", true));
+		context.getCommentGenerator().addGeneralMethodAnnotation(method, introspectedTable, interfaze.getImportedTypes());
+
+		// reuse the select list of selectByExample, only the mapper function is replaced
+		StringBuilder select = new StringBuilder();
+		for (String line : selectByExample.getBodyLines()) {
+			select.append(line.trim());
+		}
+		method.addBodyLine(String.format("%s select = %s", selectByExample.getReturnType().getShortName(),
+				StringUtils.removeStart(select.toString(), "return ").replace("this::selectMany",
+						LIMIT_METHOD_NAME + "(limit)")));
+
+		List<IntrospectedColumn> keys = introspectedTable.getPrimaryKeyColumns();
+		String support = supportType.getShortName();
+		StringBuilder orderBy = new StringBuilder();
+		for (IntrospectedColumn key : keys) {
+			orderBy.append(orderBy.length() == 0 ? "" : ", ").append(support).append('.')
+					.append(key.getJavaProperty());
+		}
+		String end = String.format(".orderBy(%s).build().execute();", orderBy);
+		IntrospectedColumn first = keys.get(0);
+
+		method.addBodyLine("if (lastKey == null) {");
+		method.addBodyLine(String.format("return select.where(%s.%s, SqlBuilder.isNotNull(), criteria)%s", support,
+				first.getJavaProperty(), end));
+		method.addBodyLine("}");
+		if (keys.size() == 1) {
+			method.addBodyLine(String.format("return select.where(%s.%s, SqlBuilder.isGreaterThan(lastKey.%s()), criteria)%s",
+					support, first.getJavaProperty(), getter(first), end));
+		} else {
+			method.addBodyLine("List<SqlCriterion<?>> subCriteria = new ArrayList<>();");
+			method.addBodyLine(String.format("subCriteria.add(%s);", keyCriterion(support, keys, 0)));
+			method.addBodyLine("subCriteria.addAll(Arrays.asList(criteria));");
+			method.addBodyLine(String.format(
+					"return select.where(%s.%s, SqlBuilder.isGreaterThanOrEqualTo(lastKey.%s()), subCriteria.toArray(new SqlCriterion<?>[0]))%s",
+					support, first.getJavaProperty(), getter(first), end));
+		}
+		interfaze.addMethod(method);
+	}
+
+	/**
+	 * The lexicographic comparison <code>(a, b, c) &gt; (x, y, z)</code> is expanded to
+	 * <code>a &gt;= x and (a &gt; x or (b &gt;= y and (b &gt; y or c &gt; z)))</code>, the leading
+	 * <code>a &gt;= x</code> being the condition of the where clause.
+	 */
+	private String keyCriterion(String support, List<IntrospectedColumn> keys, int index) {
+		IntrospectedColumn key = keys.get(index);
+		String column = support + "." + key.getJavaProperty();
+		String value = "lastKey." + getter(key) + "()";
+
+		if (index == keys.size() - 1) {
+			return String.format("SqlBuilder.or(%s, SqlBuilder.isGreaterThan(%s))", column, value);
+		}
+
+		String next = keyCriterion(support, keys, index + 1);
+		if (index == 0) {
+			// the greater than or equal condition of the first column is the where clause
+			return String.format("SqlBuilder.and(%s, SqlBuilder.isGreaterThan(%s), %s)", column, value, next);
+		}
+		return String.format("SqlBuilder.or(%s, SqlBuilder.isGreaterThanOrEqualTo(%s), SqlBuilder.and(%s, "
+				+ "SqlBuilder.isGreaterThan(%s), %s))", column, value, column, value, next);
+	}
+
+	private String getter(IntrospectedColumn column) {
+		return JavaBeansUtil.getGetterMethodName(column.getJavaProperty(), column.getFullyQualifiedJavaType());
+	}
+
+	/**
+	 * @return the keyset predicate, a row value comparison when supported by the database
+	 */
+	String keyPredicate(List<IntrospectedColumn> keys) {
+		if (keys.size() == 1) {
+			return String.format("%s &gt; %s", getAliasedEscapedColumnName(keys.get(0)),
+					getParameterClause(keys.get(0), "lastKey."));
+		}
+
+		if (dialect.supportsRowValues()) {
+			StringBuilder columns = new StringBuilder();
+			StringBuilder values = new StringBuilder();
+			for (IntrospectedColumn key : keys) {
+				columns.append(columns.length() == 0 ? "" : ", ").append(getAliasedEscapedColumnName(key));
+				values.append(values.length() == 0 ? "" : ", ").append(getParameterClause(key, "lastKey."));
+			}
+			return String.format("(%s) &gt; (%s)", columns, values);
+		}
+
+		return expandedKeyPredicate(keys, 0);
+	}
+
+	private String expandedKeyPredicate(List<IntrospectedColumn> keys, int index) {
+		IntrospectedColumn key = keys.get(index);
+		String column = getAliasedEscapedColumnName(key);
+		String value = getParameterClause(key, "lastKey.");
+
+		if (index == keys.size() - 1) {
+			return String.format("%s &gt; %s", column, value);
+		}
+		return String.format("(%s &gt; %s or (%s = %s and %s))", column, value, column, value,
+				expandedKeyPredicate(keys, index + 1));
+	}
+
+	@Override
+	public boolean sqlMapDocumentGenerated(Document document, IntrospectedTable introspectedTable) {
+		List<IntrospectedColumn> keys = introspectedTable.getPrimaryKeyColumns();
+		if (introspectedTable.getTargetRuntime() != TargetRuntime.MYBATIS3 || keys.isEmpty()
+				|| isAnnotatedMapper(context) || !introspectedTable.getRules().generateSelectByExampleWithoutBLOBs()) {
+			return true;
+		}
+
+		XmlElement element = new XmlElement("select");
+		element.addAttribute(new Attribute("id", METHOD_NAME));
+		element.addAttribute(new Attribute("parameterType", "map"));
+		element.addAttribute(new Attribute("resultMap", introspectedTable.getBaseResultMapId()));
+		context.getCommentGenerator().addComment(element);
+
+		element.addElement(new TextElement("select"));
+		XmlElement distinct = new XmlElement("if");
+		distinct.addAttribute(new Attribute("test", "example != null and example.distinct"));
+		distinct.addElement(new TextElement("distinct"));
+		element.addElement(distinct);
+		XmlElement columns = new XmlElement("include");
+		columns.addAttribute(new Attribute("refid", introspectedTable.getBaseColumnListId()));
+		element.addElement(columns);
+		element.addElement(new TextElement("from " + introspectedTable.getAliasedFullyQualifiedTableNameAtRuntime()));
+
+		// the example where clause is a where element of its own: strip its keyword and group its ored criteria
+		XmlElement where = new XmlElement("trim");
+		where.addAttribute(new Attribute("prefix", "where"));
+		where.addAttribute(new Attribute("prefixOverrides", "AND "));
+		XmlElement ifExample = new XmlElement("if");
+		ifExample.addAttribute(new Attribute("test", "example != null"));
+		XmlElement exampleGroup = new XmlElement("trim");
+		exampleGroup.addAttribute(new Attribute("prefix", "("));
+		exampleGroup.addAttribute(new Attribute("suffix", ")"));
+		exampleGroup.addAttribute(new Attribute("prefixOverrides", "WHERE "));
+		XmlElement exampleWhere = new XmlElement("include");
+		exampleWhere.addAttribute(new Attribute("refid", introspectedTable.getMyBatis3UpdateByExampleWhereClauseId()));
+		exampleGroup.addElement(exampleWhere);
+		ifExample.addElement(exampleGroup);
+		where.addElement(ifExample);
+		XmlElement ifLastKey = new XmlElement("if");
+		ifLastKey.addAttribute(new Attribute("test", "lastKey != null"));
+		ifLastKey.addElement(new TextElement("and " + keyPredicate(keys)));
+		where.addElement(ifLastKey);
+		element.addElement(where);
+
+		StringBuilder orderBy = new StringBuilder();
+		for (IntrospectedColumn key : keys) {
+			orderBy.append(orderBy.length() == 0 ? "order by " : ", ").append(getAliasedEscapedColumnName(key));
+		}
+		element.addElement(new TextElement(orderBy.toString()));
+		element.addElement(new TextElement(dialect.clause("#{limit}", "0")));
+
+		document.getRootElement().addElement(element);
+
+		return true;
+	}
+
+}
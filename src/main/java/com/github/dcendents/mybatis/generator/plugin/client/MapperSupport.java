@@ -0,0 +1,44 @@
+package com.github.dcendents.mybatis.generator.plugin.client;
+
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.config.Context;
+
+/**
+ * Helpers shared by the plugins adding methods to the generated mappers.
+ */
+public final class MapperSupport {
+
+	private static final String ANNOTATED_MAPPER = "ANNOTATEDMAPPER";
+
+	private MapperSupport() {
+	}
+
+	/**
+	 * @param context
+	 *            the generator context
+	 * @return true if the java client of the context is an annotated mapper, without xml mapper
+	 */
+	public static boolean isAnnotatedMapper(Context context) {
+		return context.getJavaClientGeneratorConfiguration() != null
+				&& ANNOTATED_MAPPER.equals(context.getJavaClientGeneratorConfiguration().getConfigurationType());
+	}
+
+	/**
+	 * Get the <code>DynamicSqlSupport</code> class generated next to the mapper by the MyBatis3DynamicSql runtime.
+	 *
+	 * @param interfaze
+	 *            the mapper
+	 * @param introspectedTable
+	 *            the table of the mapper
+	 * @return the support class type
+	 */
+	public static FullyQualifiedJavaType dynamicSqlSupportType(Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		FullyQualifiedJavaType recordType = new FullyQualifiedJavaType(introspectedTable.getBaseRecordType());
+		return new FullyQualifiedJavaType(interfaze.getType().getPackageName() + "."
+				+ recordType.getShortNameWithoutTypeArguments() + "DynamicSqlSupport");
+	}
+
+}
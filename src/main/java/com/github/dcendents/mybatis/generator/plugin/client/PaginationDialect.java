@@ -0,0 +1,83 @@
+package com.github.dcendents.mybatis.generator.plugin.client;
+
+import java.util.Locale;
+
+/**
+ * The SQL syntax used to push a limit and offset down to the database.
+ */
+public enum PaginationDialect {
+	POSTGRESQL(false), MYSQL(false), H2(false), ORACLE(true), SQLSERVER(true);
+
+	private final boolean offsetFetch;
+
+	private PaginationDialect(boolean offsetFetch) {
+		this.offsetFetch = offsetFetch;
+	}
+
+	/**
+	 * @param name
+	 *            the dialect name, case insensitive
+	 * @return the dialect or null if unknown
+	 */
+	public static PaginationDialect of(String name) {
+		if (name == null) {
+			return null;
+		}
+
+		try {
+			return valueOf(name.trim().toUpperCase(Locale.ENGLISH));
+		} catch (IllegalArgumentException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * SQL Server only accepts OFFSET/FETCH after an ORDER BY clause.
+	 *
+	 * @return true if the statement needs an ORDER BY clause
+	 */
+	public boolean requiresOrderBy() {
+		return this == SQLSERVER;
+	}
+
+	/**
+	 * Oracle and SQL Server do not support row value comparisons such as <code>(a, b) &gt; (?, ?)</code>.
+	 *
+	 * @return true if row values can be compared
+	 */
+	public boolean supportsRowValues() {
+		return !offsetFetch;
+	}
+
+	/**
+	 * Build the pagination clause with the given expressions.
+	 *
+	 * @param limit
+	 *            the limit expression
+	 * @param offset
+	 *            the offset expression
+	 * @return the SQL clause
+	 */
+	public String clause(String limit, String offset) {
+		if (offsetFetch) {
+			return String.format("offset %s rows fetch next %s rows only", offset, limit);
+		}
+		return String.format("limit %s offset %s", limit, offset);
+	}
+
+	/**
+	 * Build a java expression appending the pagination clause to a statement, with the given java expressions for the
+	 * limit and offset.
+	 *
+	 * @param limit
+	 *            the java expression of the limit
+	 * @param offset
+	 *            the java expression of the offset
+	 * @return the java expression of the clause, starting with a space
+	 */
+	public String javaClause(String limit, String offset) {
+		String expression = "\" " + clause("\" + " + limit + " + \"", "\" + " + offset + " + \"") + "\"";
+		return expression.endsWith(" + \"\"") ? expression.substring(0, expression.length() - 5) : expression;
+	}
+
+}
@@ -16,33 +16,46 @@
 package com.github.dcendents.mybatis.generator.plugin.client;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.commons.lang3.StringUtils;
 import org.mybatis.dynamic.sql.BasicColumn;
 import org.mybatis.dynamic.sql.select.SelectDSL;
 import org.mybatis.generator.api.FullyQualifiedTable;
 import org.mybatis.generator.api.IntrospectedTable;
 import org.mybatis.generator.api.IntrospectedTable.TargetRuntime;
 import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.dom.java.Field;
 import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
 import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.JavaVisibility;
 import org.mybatis.generator.api.dom.java.Method;
 import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.java.TopLevelClass;
 import org.mybatis.generator.api.dom.xml.Attribute;
 import org.mybatis.generator.api.dom.xml.Document;
+import org.mybatis.generator.api.dom.xml.TextElement;
 import org.mybatis.generator.api.dom.xml.XmlElement;
 
 /**
  * This plugin will add selectByExample methods that include rowBounds
  * parameters to the generated mapper interface.  This plugin is only
  * valid for MyBatis3.
+ * <p>
+ * When a pagination dialect is configured, the row bounds are pushed down
+ * to the database as a limit and offset clause instead of skipping the
+ * rows in memory.
  * 
  * @author Jeff Butler
  */
 public class RowBoundsAndCustomSelectPlugin extends PluginAdapter {
+    public static final String PAGINATION_DIALECT = "paginationDialect"; //$NON-NLS-1$
+
+    private PaginationDialect dialect;
 
     private FullyQualifiedJavaType rowBounds =
             new FullyQualifiedJavaType("org.apache.ibatis.session.RowBounds"); //$NON-NLS-1$
@@ -53,8 +66,22 @@ public class RowBoundsAndCustomSelectPlugin extends PluginAdapter {
     
     private Map<FullyQualifiedTable, List<XmlElement>> elementsToAdd = new HashMap<>();
 
+    /**
+     * @return the number of tables with copied elements waiting for their document
+     */
+    int pendingTables() {
+        return elementsToAdd.size();
+    }
+
     @Override
     public boolean validate(List<String> warnings) {
+        String dialectName = properties.getProperty(PAGINATION_DIALECT);
+        dialect = PaginationDialect.of(dialectName);
+        if (dialect == null && StringUtils.isNotBlank(dialectName)) {
+            warnings.add(String.format("Property %s must be one of %s for plugin %s", PAGINATION_DIALECT, //$NON-NLS-1$
+                    Arrays.toString(PaginationDialect.values()), this.getClass().getSimpleName()));
+            return false;
+        }
         return true;
     }
 
@@ -62,7 +89,7 @@ public class RowBoundsAndCustomSelectPlugin extends PluginAdapter {
     public boolean clientSelectByExampleWithBLOBsMethodGenerated(Method method,
             Interface interfaze, IntrospectedTable introspectedTable) {
         if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3) {
-            copyAndAddMethod(method, interfaze);
+            addRowBoundsMethod(method, interfaze);
         } else if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3_DSQL) {
             copyAndAddSelectByExampleMethodForDSQL(method, interfaze);
         }
@@ -74,7 +101,7 @@ public class RowBoundsAndCustomSelectPlugin extends PluginAdapter {
             Method method, Interface interfaze,
             IntrospectedTable introspectedTable) {
         if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3) {
-            copyAndAddMethod(method, interfaze);
+            addRowBoundsMethod(method, interfaze);
         }
         return true;
     }
@@ -83,7 +110,7 @@ public class RowBoundsAndCustomSelectPlugin extends PluginAdapter {
     public boolean sqlMapSelectByExampleWithoutBLOBsElementGenerated(
             XmlElement element, IntrospectedTable introspectedTable) {
         if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3) {
-            copyAndSaveElement(element, introspectedTable.getFullyQualifiedTable());
+            addRowBoundsElement(element, introspectedTable.getFullyQualifiedTable());
         }
         return true;
     }
@@ -92,19 +119,47 @@ public class RowBoundsAndCustomSelectPlugin extends PluginAdapter {
     public boolean sqlMapSelectByExampleWithBLOBsElementGenerated(
             XmlElement element, IntrospectedTable introspectedTable) {
         if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3) {
-            copyAndSaveElement(element, introspectedTable.getFullyQualifiedTable());
+            addRowBoundsElement(element, introspectedTable.getFullyQualifiedTable());
+        }
+        return true;
+    }
+
+    @Override
+    public boolean modelExampleClassGenerated(TopLevelClass topLevelClass,
+            IntrospectedTable introspectedTable) {
+        if (dialect != null && introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3) {
+            addPaginationFields(topLevelClass);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean providerSelectByExampleWithBLOBsMethodGenerated(Method method,
+            TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
+        if (dialect != null) {
+            addProviderPagination(method);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean providerSelectByExampleWithoutBLOBsMethodGenerated(Method method,
+            TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
+        if (dialect != null) {
+            addProviderPagination(method);
         }
         return true;
     }
 
     /**
      * We'll override this method and add any new elements generated by
-     * previous calls.
+     * previous calls. The elements are only needed for this document, so
+     * they are released as soon as they are added.
      */
     @Override
     public boolean sqlMapDocumentGenerated(Document document,
             IntrospectedTable introspectedTable) {
-        List<XmlElement> elements = elementsToAdd.get(introspectedTable.getFullyQualifiedTable());
+        List<XmlElement> elements = elementsToAdd.remove(introspectedTable.getFullyQualifiedTable());
         if (elements != null) {
             for (XmlElement element : elements) {
                 document.getRootElement().addElement(element);
@@ -134,11 +189,162 @@ public class RowBoundsAndCustomSelectPlugin extends PluginAdapter {
         method.setDefault(true);
         method.setReturnType(returnType);
         method.addParameter(new Parameter(rowBounds, "rowBounds")); //$NON-NLS-1$
-        method.addBodyLine("return selectStatement -> selectManyWithRowbounds(selectStatement, rowBounds);"); //$NON-NLS-1$
+        if (dialect != null) {
+            addPaginatedSelectMany(method, interfaze);
+        } else {
+            method.addBodyLine("return selectStatement -> selectManyWithRowbounds(selectStatement, rowBounds);"); //$NON-NLS-1$
+        }
         context.getCommentGenerator().addGeneralMethodAnnotation(method, introspectedTable, interfaze.getImportedTypes());
         interfaze.addMethod(method);
     }
 
+    /**
+     * The rendered statement is wrapped to append the pagination clause,
+     * the row bounds are not passed to MyBatis so no row is skipped in memory.
+     */
+    private void addPaginatedSelectMany(Method method, Interface interfaze) {
+        interfaze.addImportedType(new FullyQualifiedJavaType("java.util.Map")); //$NON-NLS-1$
+
+        method.addBodyLine("return selectStatement -> {"); //$NON-NLS-1$
+        method.addBodyLine("if (rowBounds.getOffset() == RowBounds.NO_ROW_OFFSET && rowBounds.getLimit() == RowBounds.NO_ROW_LIMIT) {"); //$NON-NLS-1$
+        method.addBodyLine("return selectMany(selectStatement);"); //$NON-NLS-1$
+        method.addBodyLine("}"); //$NON-NLS-1$
+        method.addBodyLine("String select = selectStatement.getSelectStatement();"); //$NON-NLS-1$
+        if (dialect.requiresOrderBy()) {
+            method.addBodyLine("if (!select.toLowerCase().contains(\" order by \")) {"); //$NON-NLS-1$
+            method.addBodyLine("select += \" order by (select null)\";"); //$NON-NLS-1$
+            method.addBodyLine("}"); //$NON-NLS-1$
+        }
+        method.addBodyLine(String.format("String statement = select + %s;", //$NON-NLS-1$
+                dialect.javaClause("rowBounds.getLimit()", "rowBounds.getOffset()"))); //$NON-NLS-1$ //$NON-NLS-2$
+        method.addBodyLine("return selectMany(new SelectStatementProvider() {"); //$NON-NLS-1$
+        method.addBodyLine("@Override"); //$NON-NLS-1$
+        method.addBodyLine("public Map<String, Object> getParameters() {"); //$NON-NLS-1$
+        method.addBodyLine("return selectStatement.getParameters();"); //$NON-NLS-1$
+        method.addBodyLine("}"); //$NON-NLS-1$
+        method.addBodyLine(""); //$NON-NLS-1$
+        method.addBodyLine("@Override"); //$NON-NLS-1$
+        method.addBodyLine("public String getSelectStatement() {"); //$NON-NLS-1$
+        method.addBodyLine("return statement;"); //$NON-NLS-1$
+        method.addBodyLine("}"); //$NON-NLS-1$
+        method.addBodyLine("});"); //$NON-NLS-1$
+        method.addBodyLine("};"); //$NON-NLS-1$
+    }
+
+    private void addRowBoundsMethod(Method method, Interface interfaze) {
+        if (dialect != null) {
+            addPaginatedMethod(method, interfaze);
+        } else {
+            copyAndAddMethod(method, interfaze);
+        }
+    }
+
+    private void addRowBoundsElement(XmlElement element, FullyQualifiedTable fqt) {
+        if (dialect != null) {
+            addPagination(element);
+        } else {
+            copyAndSaveElement(element, fqt);
+        }
+    }
+
+    /**
+     * Add a default method setting the row bounds as the limit and offset
+     * of the example, they are restored once the select is done.
+     */
+    private void addPaginatedMethod(Method method, Interface interfaze) {
+        Method newMethod = new Method(method);
+        newMethod.getAnnotations().clear();
+        newMethod.setName(method.getName() + "WithRowbounds"); //$NON-NLS-1$
+        newMethod.setDefault(true);
+        newMethod.addParameter(new Parameter(rowBounds, "rowBounds")); //$NON-NLS-1$
+
+        String example = method.getParameters().get(0).getName();
+        newMethod.addBodyLine(String.format("Integer limit = %s.getLimit();", example)); //$NON-NLS-1$
+        newMethod.addBodyLine(String.format("int offset = %s.getOffset();", example)); //$NON-NLS-1$
+        newMethod.addBodyLine(String.format("%s.setLimit(rowBounds.getOffset() == RowBounds.NO_ROW_OFFSET && rowBounds.getLimit() == RowBounds.NO_ROW_LIMIT ? null : rowBounds.getLimit());", example)); //$NON-NLS-1$
+        newMethod.addBodyLine(String.format("%s.setOffset(rowBounds.getOffset());", example)); //$NON-NLS-1$
+        newMethod.addBodyLine("try {"); //$NON-NLS-1$
+        newMethod.addBodyLine(String.format("return %s(%s);", method.getName(), example)); //$NON-NLS-1$
+        newMethod.addBodyLine("} finally {"); //$NON-NLS-1$
+        newMethod.addBodyLine(String.format("%s.setLimit(limit);", example)); //$NON-NLS-1$
+        newMethod.addBodyLine(String.format("%s.setOffset(offset);", example)); //$NON-NLS-1$
+        newMethod.addBodyLine("}"); //$NON-NLS-1$
+
+        interfaze.addMethod(newMethod);
+        interfaze.addImportedType(rowBounds);
+    }
+
+    private void addPagination(XmlElement element) {
+        XmlElement ifElement = new XmlElement("if"); //$NON-NLS-1$
+        ifElement.addAttribute(new Attribute("test", "limit != null")); //$NON-NLS-1$ //$NON-NLS-2$
+        if (dialect.requiresOrderBy()) {
+            XmlElement orderBy = new XmlElement("if"); //$NON-NLS-1$
+            orderBy.addAttribute(new Attribute("test", "orderByClause == null")); //$NON-NLS-1$ //$NON-NLS-2$
+            orderBy.addElement(new TextElement("order by (select null)")); //$NON-NLS-1$
+            ifElement.addElement(orderBy);
+        }
+        ifElement.addElement(new TextElement(dialect.clause("#{limit}", "#{offset}"))); //$NON-NLS-1$ //$NON-NLS-2$
+        element.addElement(ifElement);
+    }
+
+    private void addProviderPagination(Method method) {
+        List<String> bodyLines = method.getBodyLines();
+        int index = bodyLines.indexOf("return sql.toString();"); //$NON-NLS-1$
+        if (index < 0) {
+            return;
+        }
+
+        String example = method.getParameters().get(0).getName();
+        List<String> lines = new ArrayList<>();
+        lines.add("String statement = sql.toString();"); //$NON-NLS-1$
+        lines.add(String.format("if (%1$s != null && %1$s.getLimit() != null) {", example)); //$NON-NLS-1$
+        if (dialect.requiresOrderBy()) {
+            lines.add(String.format("if (%s.getOrderByClause() == null) {", example)); //$NON-NLS-1$
+            lines.add("statement += \" order by (select null)\";"); //$NON-NLS-1$
+            lines.add("}"); //$NON-NLS-1$
+        }
+        lines.add(String.format("statement += %s;", //$NON-NLS-1$
+                dialect.javaClause(example + ".getLimit()", example + ".getOffset()"))); //$NON-NLS-1$ //$NON-NLS-2$
+        lines.add("}"); //$NON-NLS-1$
+        lines.add("return statement;"); //$NON-NLS-1$
+
+        bodyLines.remove(index);
+        bodyLines.addAll(index, lines);
+    }
+
+    private void addPaginationFields(TopLevelClass topLevelClass) {
+        Field limit = new Field("limit", FullyQualifiedJavaType.getIntInstance().getPrimitiveTypeWrapper()); //$NON-NLS-1$
+        limit.setVisibility(JavaVisibility.PROTECTED);
+        topLevelClass.addField(limit);
+
+        Field offset = new Field("offset", FullyQualifiedJavaType.getIntInstance()); //$NON-NLS-1$
+        offset.setVisibility(JavaVisibility.PROTECTED);
+        topLevelClass.addField(offset);
+
+        for (Field field : Arrays.asList(limit, offset)) {
+            String property = StringUtils.capitalize(field.getName());
+
+            Method setter = new Method("set" + property); //$NON-NLS-1$
+            setter.setVisibility(JavaVisibility.PUBLIC);
+            setter.addParameter(new Parameter(field.getType(), field.getName()));
+            setter.addBodyLine(String.format("this.%1$s = %1$s;", field.getName())); //$NON-NLS-1$
+            topLevelClass.addMethod(setter);
+
+            Method getter = new Method("get" + property); //$NON-NLS-1$
+            getter.setVisibility(JavaVisibility.PUBLIC);
+            getter.setReturnType(field.getType());
+            getter.addBodyLine(String.format("return %s;", field.getName())); //$NON-NLS-1$
+            topLevelClass.addMethod(getter);
+        }
+
+        for (Method method : topLevelClass.getMethods()) {
+            if ("clear".equals(method.getName())) { //$NON-NLS-1$
+                method.addBodyLine("limit = null;"); //$NON-NLS-1$
+                method.addBodyLine("offset = 0;"); //$NON-NLS-1$
+            }
+        }
+    }
+
     /**
      * Use the method copy constructor to create a new method, then
      * add the rowBounds parameter.
@@ -0,0 +1,481 @@
+package com.github.dcendents.mybatis.generator.plugin.client;
+
+import static com.github.dcendents.mybatis.generator.plugin.client.MapperSupport.isAnnotatedMapper;
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getRenamedColumnNameForResultMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.NoArgsConstructor;
+
+import org.apache.commons.lang3.StringUtils;
+import org.mybatis.generator.api.GeneratedJavaFile;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.IntrospectedTable.TargetRuntime;
+import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.dom.DefaultJavaFormatter;
+import org.mybatis.generator.api.dom.java.Field;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.InnerClass;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.JavaVisibility;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.java.TopLevelClass;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.Document;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.internal.util.JavaBeansUtil;
+
+import com.github.dcendents.mybatis.generator.plugin.model.DirtyTrackingModelPlugin;
+
+/**
+ * Mybatis generator plugin to read the rows of the select by example queries without reflection.
+ * <p>
+ * A <code>RowMapper</code> class is generated next to each mapper: a TypeHandler building the record from the result
+ * set by column index, calling the setters directly. The <code>selectByExampleWithRowMapper</code> method runs the
+ * same query as <code>selectByExample</code> with a result map holding a single property, the whole record read by the
+ * row mapper, instead of one reflective property set per column. Only the models holding all the columns of their
+ * table are supported, with the MyBatis3 (xml mapper) and MyBatis3DynamicSql target runtimes.
+ * <p>
+ * The records of the tables tracked by the {@link DirtyTrackingModelPlugin} are cleared once mapped.
+ */
+@NoArgsConstructor
+public class RowMapperPlugin extends PluginAdapter {
+	public static final String CLASS_SUFFIX = "classSuffix";
+
+	public static final String DEFAULT_CLASS_SUFFIX = "RowMapper";
+
+	static final String METHOD_NAME = "selectByExampleWithRowMapper";
+	static final String ROWS_METHOD_NAME = "selectByExampleRows";
+	static final String DSQL_METHOD_NAME = "selectManyWithRowMapper";
+	static final String DSQL_ROWS_METHOD_NAME = "selectManyRows";
+	static final String RESULT_MAP_ID = "RowMapperResultMap";
+	static final String ROW_CLASS_NAME = "Row";
+	static final String ROW_PROPERTY = "record";
+
+	private static final FullyQualifiedJavaType RESULT_HANDLER = new FullyQualifiedJavaType(
+			"org.apache.ibatis.session.ResultHandler");
+	private static final FullyQualifiedJavaType RESULT_SET = new FullyQualifiedJavaType("java.sql.ResultSet");
+	private static final FullyQualifiedJavaType SQL_EXCEPTION = new FullyQualifiedJavaType("java.sql.SQLException");
+
+	/**
+	 * The ResultSet getters of the wrapper types, a null value is detected with <code>wasNull()</code>.
+	 */
+	private static final Map<String, String> PRIMITIVE_GETTERS = new HashMap<>();
+	/**
+	 * The ResultSet getters of the types read as is, null values included.
+	 */
+	private static final Map<String, String> OBJECT_GETTERS = new HashMap<>();
+
+	static {
+		PRIMITIVE_GETTERS.put("java.lang.Boolean", "getBoolean");
+		PRIMITIVE_GETTERS.put("java.lang.Byte", "getByte");
+		PRIMITIVE_GETTERS.put("java.lang.Short", "getShort");
+		PRIMITIVE_GETTERS.put("java.lang.Integer", "getInt");
+		PRIMITIVE_GETTERS.put("java.lang.Long", "getLong");
+		PRIMITIVE_GETTERS.put("java.lang.Float", "getFloat");
+		PRIMITIVE_GETTERS.put("java.lang.Double", "getDouble");
+
+		OBJECT_GETTERS.put("java.lang.String", "getString");
+		OBJECT_GETTERS.put("java.math.BigDecimal", "getBigDecimal");
+		OBJECT_GETTERS.put("byte[]", "getBytes");
+		OBJECT_GETTERS.put("java.sql.Date", "getDate");
+		OBJECT_GETTERS.put("java.sql.Time", "getTime");
+		OBJECT_GETTERS.put("java.sql.Timestamp", "getTimestamp");
+		OBJECT_GETTERS.put("java.lang.Object", "getObject");
+	}
+
+	private String classSuffix;
+
+	private final Map<IntrospectedTable, XmlElement> elementsToAdd = Collections
+			.synchronizedMap(new HashMap<IntrospectedTable, XmlElement>());
+	private final Map<IntrospectedTable, TopLevelClass> rowMapperClasses = Collections
+			.synchronizedMap(new HashMap<IntrospectedTable, TopLevelClass>());
+
+	@Override
+	public boolean validate(List<String> warnings) {
+		classSuffix = properties.getProperty(CLASS_SUFFIX);
+		if (StringUtils.isBlank(classSuffix)) {
+			classSuffix = DEFAULT_CLASS_SUFFIX;
+		}
+		return true;
+	}
+
+	/**
+	 * @return true if the record class holds all the columns, the row mapper creates a single object per row
+	 */
+	boolean isSupported(IntrospectedTable introspectedTable) {
+		return introspectedTable.getBaseRecordType().equals(
+				introspectedTable.getRules().calculateAllFieldsClass().getFullyQualifiedName());
+	}
+
+	FullyQualifiedJavaType rowMapperType(IntrospectedTable introspectedTable) {
+		FullyQualifiedJavaType mapperType = new FullyQualifiedJavaType(introspectedTable.getMyBatis3JavaMapperType());
+		FullyQualifiedJavaType recordType = new FullyQualifiedJavaType(introspectedTable.getBaseRecordType());
+		return new FullyQualifiedJavaType(mapperType.getPackageName() + "." + recordType.getShortName() + classSuffix);
+	}
+
+	private FullyQualifiedJavaType rowType(IntrospectedTable introspectedTable) {
+		return new FullyQualifiedJavaType(rowMapperType(introspectedTable).getFullyQualifiedName() + "."
+				+ ROW_CLASS_NAME);
+	}
+
+	@Override
+	public boolean clientSelectByExampleWithBLOBsMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		if (!isSupported(introspectedTable)) {
+			return true;
+		}
+
+		if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3 && !isAnnotatedMapper(context)) {
+			addXmlMapperMethods(method, interfaze, introspectedTable);
+		} else if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3_DSQL
+				&& "selectByExample".equals(method.getName())
+				&& !StringUtils.join(method.getBodyLines(), "").contains("selectDistinctWithMapper")) {
+			addDynamicSqlMethods(method, interfaze, introspectedTable);
+		}
+		return true;
+	}
+
+	@Override
+	public boolean clientSelectByExampleWithoutBLOBsMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		// the query without BLOBs does not select all the columns of the record
+		if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3 && !isAnnotatedMapper(context)
+				&& !introspectedTable.hasBLOBColumns() && isSupported(introspectedTable)) {
+			addXmlMapperMethods(method, interfaze, introspectedTable);
+		}
+		return true;
+	}
+
+	@Override
+	public boolean sqlMapSelectByExampleWithBLOBsElementGenerated(XmlElement element,
+			IntrospectedTable introspectedTable) {
+		copyAndSaveElement(element, introspectedTable);
+		return true;
+	}
+
+	@Override
+	public boolean sqlMapSelectByExampleWithoutBLOBsElementGenerated(XmlElement element,
+			IntrospectedTable introspectedTable) {
+		if (!introspectedTable.hasBLOBColumns()) {
+			copyAndSaveElement(element, introspectedTable);
+		}
+		return true;
+	}
+
+	@Override
+	public boolean sqlMapDocumentGenerated(Document document, IntrospectedTable introspectedTable) {
+		XmlElement element = elementsToAdd.remove(introspectedTable);
+		if (element != null) {
+			XmlElement resultMap = new XmlElement("resultMap");
+			resultMap.addAttribute(new Attribute("id", RESULT_MAP_ID));
+			resultMap.addAttribute(new Attribute("type", rowMapperType(introspectedTable).getFullyQualifiedName()
+					+ "$" + ROW_CLASS_NAME));
+			resultMap.addAttribute(new Attribute("autoMapping", "false"));
+			context.getCommentGenerator().addComment(resultMap);
+
+			XmlElement result = new XmlElement("result");
+			result.addAttribute(new Attribute("column", getRenamedColumnNameForResultMap(introspectedTable
+					.getAllColumns().get(0))));
+			result.addAttribute(new Attribute("property", ROW_PROPERTY));
+			result.addAttribute(new Attribute("javaType", introspectedTable.getBaseRecordType()));
+			result.addAttribute(new Attribute("typeHandler", rowMapperType(introspectedTable)
+					.getFullyQualifiedName()));
+			resultMap.addElement(result);
+
+			document.getRootElement().addElement(resultMap);
+			document.getRootElement().addElement(element);
+		}
+		return true;
+	}
+
+	@Override
+	public List<GeneratedJavaFile> contextGenerateAdditionalJavaFiles(IntrospectedTable introspectedTable) {
+		List<GeneratedJavaFile> files = new ArrayList<>();
+
+		TopLevelClass rowMapperClass = rowMapperClasses.remove(introspectedTable);
+		if (rowMapperClass != null) {
+			files.add(new GeneratedJavaFile(rowMapperClass, context.getJavaClientGeneratorConfiguration()
+					.getTargetProject(), new DefaultJavaFormatter()));
+		}
+
+		return files;
+	}
+
+	private void copyAndSaveElement(XmlElement element, IntrospectedTable introspectedTable) {
+		if (introspectedTable.getTargetRuntime() != TargetRuntime.MYBATIS3 || isAnnotatedMapper(context)
+				|| !isSupported(introspectedTable)) {
+			return;
+		}
+
+		XmlElement rowsElement = new XmlElement(element);
+		List<Attribute> attributes = rowsElement.getAttributes();
+		for (int i = 0; i < attributes.size(); i++) {
+			if ("id".equals(attributes.get(i).getName())) {
+				attributes.set(i, new Attribute("id", ROWS_METHOD_NAME));
+			} else if ("resultMap".equals(attributes.get(i).getName())) {
+				attributes.set(i, new Attribute("resultMap", RESULT_MAP_ID));
+			}
+		}
+		elementsToAdd.put(introspectedTable, rowsElement);
+	}
+
+	/**
+	 * The rows are pushed to a ResultHandler collecting the records, MyBatis does not build a List of holders.
+	 */
+	private void addXmlMapperMethods(Method method, Interface interfaze, IntrospectedTable introspectedTable) {
+		FullyQualifiedJavaType rowType = rowType(introspectedTable);
+		FullyQualifiedJavaType handlerType = new FullyQualifiedJavaType(RESULT_HANDLER.getFullyQualifiedName());
+		handlerType.addTypeArgument(rowType);
+
+		Method rowsMethod = new Method(method);
+		rowsMethod.setName(ROWS_METHOD_NAME);
+		rowsMethod.setReturnType(null);
+		rowsMethod.addParameter(new Parameter(handlerType, "handler"));
+
+		Method rowMapperMethod = new Method(method);
+		rowMapperMethod.setName(METHOD_NAME);
+		rowMapperMethod.setDefault(true);
+		addCollectLines(rowMapperMethod, introspectedTable, String.format("%s(%s, ", ROWS_METHOD_NAME, method
+				.getParameters().get(0).getName()));
+
+		interfaze.addImportedType(RESULT_HANDLER);
+		interfaze.addImportedType(rowType);
+		interfaze.addImportedType(FullyQualifiedJavaType.getNewArrayListInstance());
+		interfaze.addMethod(rowsMethod);
+		interfaze.addMethod(rowMapperMethod);
+
+		rowMapperClasses.put(introspectedTable, createRowMapperClass(introspectedTable));
+	}
+
+	/**
+	 * The select statement built by the DSL is executed by selectManyWithRowMapper instead of selectMany.
+	 */
+	private void addDynamicSqlMethods(Method method, Interface interfaze, IntrospectedTable introspectedTable) {
+		FullyQualifiedJavaType rowType = rowType(introspectedTable);
+		FullyQualifiedJavaType recordType = new FullyQualifiedJavaType(introspectedTable.getBaseRecordType());
+		FullyQualifiedJavaType handlerType = new FullyQualifiedJavaType(RESULT_HANDLER.getFullyQualifiedName());
+		handlerType.addTypeArgument(rowType);
+		FullyQualifiedJavaType statementType = new FullyQualifiedJavaType(
+				"org.mybatis.dynamic.sql.select.render.SelectStatementProvider");
+		FullyQualifiedJavaType listType = FullyQualifiedJavaType.getNewListInstance();
+		listType.addTypeArgument(recordType);
+
+		Method rowsMethod = new Method(DSQL_ROWS_METHOD_NAME);
+		rowsMethod.addParameter(new Parameter(statementType, "selectStatement"));
+		rowsMethod.addParameter(new Parameter(handlerType, "handler"));
+		context.getCommentGenerator().addGeneralMethodAnnotation(rowsMethod, introspectedTable,
+				interfaze.getImportedTypes());
+		rowsMethod.addAnnotation("@SelectProvider(type=SqlProviderAdapter.class, method=\"select\")");
+		rowsMethod.addAnnotation(String.format("@Results(id=\"%s%s\", value={", recordType.getShortName(),
+				RESULT_MAP_ID));
+		rowsMethod.addAnnotation(String.format("    @Result(column=\"%s\", property=\"%s\", javaType=%s.class, "
+				+ "typeHandler=%s.class)", introspectedTable.getAllColumns().get(0).getActualColumnName(),
+				ROW_PROPERTY, recordType.getShortName(), rowMapperType(introspectedTable).getShortName()));
+		rowsMethod.addAnnotation("})");
+
+		Method rowMapperMethod = new Method(DSQL_METHOD_NAME);
+		rowMapperMethod.setDefault(true);
+		rowMapperMethod.setReturnType(listType);
+		rowMapperMethod.addParameter(new Parameter(statementType, "selectStatement"));
+		context.getCommentGenerator().addGeneralMethodAnnotation(rowMapperMethod, introspectedTable,
+				interfaze.getImportedTypes());
+		addCollectLines(rowMapperMethod, introspectedTable, String.format("%s(selectStatement, ",
+				DSQL_ROWS_METHOD_NAME));
+
+		Method selectMethod = new Method(method);
+		selectMethod.setName(METHOD_NAME);
+		for (int i = 0; i < selectMethod.getBodyLines().size(); i++) {
+			selectMethod.getBodyLines().set(i, selectMethod.getBodyLines().get(i).replace("this::selectMany",
+					"this::" + DSQL_METHOD_NAME));
+		}
+
+		interfaze.addImportedType(RESULT_HANDLER);
+		interfaze.addImportedType(rowType);
+		interfaze.addImportedType(rowMapperType(introspectedTable));
+		interfaze.addImportedType(statementType);
+		interfaze.addImportedType(FullyQualifiedJavaType.getNewArrayListInstance());
+		interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.Result"));
+		interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.Results"));
+		interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.SelectProvider"));
+		interfaze.addImportedType(new FullyQualifiedJavaType("org.mybatis.dynamic.sql.util.SqlProviderAdapter"));
+		interfaze.addMethod(rowsMethod);
+		interfaze.addMethod(rowMapperMethod);
+		interfaze.addMethod(selectMethod);
+
+		rowMapperClasses.put(introspectedTable, createRowMapperClass(introspectedTable));
+	}
+
+	private void addCollectLines(Method method, IntrospectedTable introspectedTable, String call) {
+		String recordType = new FullyQualifiedJavaType(introspectedTable.getBaseRecordType()).getShortName();
+		method.getBodyLines().clear();
+		method.addBodyLine(String.format("List<%s> records = new ArrayList<>();", recordType));
+		method.addBodyLine(call + "context -> records.add(context.getResultObject().getRecord()));");
+		method.addBodyLine("return records;");
+	}
+
+	TopLevelClass createRowMapperClass(IntrospectedTable introspectedTable) {
+		FullyQualifiedJavaType recordType = new FullyQualifiedJavaType(introspectedTable.getBaseRecordType());
+		FullyQualifiedJavaType handlerType = new FullyQualifiedJavaType("org.apache.ibatis.type.TypeHandler");
+		handlerType.addTypeArgument(recordType);
+
+		TopLevelClass rowMapperClass = new TopLevelClass(rowMapperType(introspectedTable));
+		rowMapperClass.setVisibility(JavaVisibility.PUBLIC);
+		rowMapperClass.addSuperInterface(handlerType);
+		rowMapperClass.addImportedType(handlerType);
+		rowMapperClass.addImportedType(recordType);
+		rowMapperClass.addImportedType(RESULT_SET);
+		rowMapperClass.addImportedType(SQL_EXCEPTION);
+		rowMapperClass.addImportedType(new FullyQualifiedJavaType("java.sql.CallableStatement"));
+		rowMapperClass.addImportedType(new FullyQualifiedJavaType("java.sql.PreparedStatement"));
+		rowMapperClass.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.type.JdbcType"));
+		context.getCommentGenerator().addClassAnnotation(rowMapperClass, introspectedTable,
+				rowMapperClass.getImportedTypes());
+
+		Method map = new Method("map");
+		map.setVisibility(JavaVisibility.PUBLIC);
+		map.setStatic(true);
+		map.setReturnType(recordType);
+		map.addParameter(new Parameter(RESULT_SET, "rs"));
+		map.addParameter(new Parameter(FullyQualifiedJavaType.getIntInstance(), "first"));
+		map.addException(SQL_EXCEPTION);
+		map.addBodyLine(String.format("%1$s record = new %1$s();", recordType.getShortName()));
+		List<IntrospectedColumn> columns = introspectedTable.getAllColumns();
+		for (int i = 0; i < columns.size(); i++) {
+			addMapLines(rowMapperClass, map, columns.get(i), i == 0 ? "first" : "first + " + i);
+		}
+		if (Boolean.TRUE.equals(introspectedTable.getAttribute(DirtyTrackingModelPlugin.TRACKED_ATTRIBUTE))) {
+			// the setters marked the columns as dirty
+			map.addBodyLine("record.clearDirty();");
+		}
+		map.addBodyLine("return record;");
+		rowMapperClass.addMethod(map);
+
+		Method setParameter = new Method("setParameter");
+		setParameter.setVisibility(JavaVisibility.PUBLIC);
+		setParameter.addAnnotation("@Override");
+		setParameter.addParameter(new Parameter(new FullyQualifiedJavaType("java.sql.PreparedStatement"), "ps"));
+		setParameter.addParameter(new Parameter(FullyQualifiedJavaType.getIntInstance(), "i"));
+		setParameter.addParameter(new Parameter(recordType, "parameter"));
+		setParameter.addParameter(new Parameter(new FullyQualifiedJavaType("org.apache.ibatis.type.JdbcType"),
+				"jdbcType"));
+		setParameter.addException(SQL_EXCEPTION);
+		addUnsupportedLine(setParameter, rowMapperClass);
+		rowMapperClass.addMethod(setParameter);
+
+		Method byName = new Method("getResult");
+		byName.setVisibility(JavaVisibility.PUBLIC);
+		byName.addAnnotation("@Override");
+		byName.setReturnType(recordType);
+		byName.addParameter(new Parameter(RESULT_SET, "rs"));
+		byName.addParameter(new Parameter(FullyQualifiedJavaType.getStringInstance(), "columnName"));
+		byName.addException(SQL_EXCEPTION);
+		byName.addBodyLine("return map(rs, rs.findColumn(columnName));");
+		rowMapperClass.addMethod(byName);
+
+		Method byIndex = new Method("getResult");
+		byIndex.setVisibility(JavaVisibility.PUBLIC);
+		byIndex.addAnnotation("@Override");
+		byIndex.setReturnType(recordType);
+		byIndex.addParameter(new Parameter(RESULT_SET, "rs"));
+		byIndex.addParameter(new Parameter(FullyQualifiedJavaType.getIntInstance(), "columnIndex"));
+		byIndex.addException(SQL_EXCEPTION);
+		byIndex.addBodyLine("return map(rs, columnIndex);");
+		rowMapperClass.addMethod(byIndex);
+
+		Method callable = new Method("getResult");
+		callable.setVisibility(JavaVisibility.PUBLIC);
+		callable.addAnnotation("@Override");
+		callable.setReturnType(recordType);
+		callable.addParameter(new Parameter(new FullyQualifiedJavaType("java.sql.CallableStatement"), "cs"));
+		callable.addParameter(new Parameter(FullyQualifiedJavaType.getIntInstance(), "columnIndex"));
+		callable.addException(SQL_EXCEPTION);
+		addUnsupportedLine(callable, rowMapperClass);
+		rowMapperClass.addMethod(callable);
+
+		rowMapperClass.addInnerClass(createRowClass(recordType));
+
+		return rowMapperClass;
+	}
+
+	private void addUnsupportedLine(Method method, TopLevelClass rowMapperClass) {
+		method.addBodyLine(String.format("throw new UnsupportedOperationException(\"%s only reads result sets\");",
+				rowMapperClass.getType().getShortName()));
+	}
+
+	/**
+	 * The columns with a type handler configured are read by an instance of the handler, created with its no argument
+	 * constructor.
+	 */
+	private void addMapLines(TopLevelClass rowMapperClass, Method map, IntrospectedColumn column, String index) {
+		String property = column.getJavaProperty();
+		String setter = JavaBeansUtil.getSetterMethodName(property);
+		FullyQualifiedJavaType type = column.getFullyQualifiedJavaType();
+		String typeName = type.getFullyQualifiedName();
+
+		if (StringUtils.isNotBlank(column.getTypeHandler())) {
+			FullyQualifiedJavaType handler = new FullyQualifiedJavaType(column.getTypeHandler());
+			Field field = new Field(property + "Handler", handler);
+			field.setVisibility(JavaVisibility.PRIVATE);
+			field.setStatic(true);
+			field.setFinal(true);
+			field.setInitializationString(String.format("new %s()", handler.getShortName()));
+			rowMapperClass.addImportedType(handler);
+			rowMapperClass.addField(field);
+			map.addBodyLine(String.format("record.%s(%s.getResult(rs, %s));", setter, field.getName(), index));
+		} else if (type.isPrimitive()) {
+			map.addBodyLine(String.format("record.%s(rs.%s(%s));", setter, PRIMITIVE_GETTERS.get(type
+					.getPrimitiveTypeWrapper().getFullyQualifiedName()), index));
+		} else if (PRIMITIVE_GETTERS.containsKey(typeName)) {
+			String value = property + "Value";
+			// getInt returns an int, getBoolean a boolean...
+			String primitive = StringUtils.uncapitalize(PRIMITIVE_GETTERS.get(typeName).substring(3));
+			map.addBodyLine(String.format("%s %s = rs.%s(%s);", primitive, value, PRIMITIVE_GETTERS.get(typeName),
+					index));
+			map.addBodyLine(String.format("record.%s(rs.wasNull() ? null : %s);", setter, value));
+		} else if (OBJECT_GETTERS.containsKey(typeName)) {
+			map.addBodyLine(String.format("record.%s(rs.%s(%s));", setter, OBJECT_GETTERS.get(typeName), index));
+		} else if ("java.util.Date".equals(typeName)) {
+			// read as a timestamp like the DateTypeHandler of MyBatis
+			String value = property + "Value";
+			map.addBodyLine(String.format("java.sql.Timestamp %s = rs.getTimestamp(%s);", value, index));
+			map.addBodyLine(String.format("record.%s(%s == null ? null : new java.util.Date(%s.getTime()));", setter,
+					value, value));
+		} else {
+			rowMapperClass.addImportedType(type);
+			map.addBodyLine(String.format("record.%s(rs.getObject(%s, %s.class));", setter, index, type
+					.getShortNameWithoutTypeArguments()));
+		}
+	}
+
+	private InnerClass createRowClass(FullyQualifiedJavaType recordType) {
+		InnerClass rowClass = new InnerClass(ROW_CLASS_NAME);
+		rowClass.setVisibility(JavaVisibility.PUBLIC);
+		rowClass.setStatic(true);
+
+		Field field = new Field(ROW_PROPERTY, recordType);
+		field.setVisibility(JavaVisibility.PRIVATE);
+		rowClass.addField(field);
+
+		Method getter = new Method(JavaBeansUtil.getGetterMethodName(ROW_PROPERTY, recordType));
+		getter.setVisibility(JavaVisibility.PUBLIC);
+		getter.setReturnType(recordType);
+		getter.addBodyLine(String.format("return %s;", ROW_PROPERTY));
+		rowClass.addMethod(getter);
+
+		Method setter = new Method(JavaBeansUtil.getSetterMethodName(ROW_PROPERTY));
+		setter.setVisibility(JavaVisibility.PUBLIC);
+		setter.addParameter(new Parameter(recordType, ROW_PROPERTY));
+		setter.addBodyLine(String.format("this.%1$s = %1$s;", ROW_PROPERTY));
+		rowClass.addMethod(setter);
+
+		return rowClass;
+	}
+
+}
@@ -0,0 +1,318 @@
+package com.github.dcendents.mybatis.generator.plugin.client;
+
+import static com.github.dcendents.mybatis.generator.plugin.client.MapperSupport.dynamicSqlSupportType;
+import static com.github.dcendents.mybatis.generator.plugin.client.MapperSupport.isAnnotatedMapper;
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getAliasedEscapedColumnName;
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getParameterClause;
+
+import java.util.List;
+
+import lombok.NoArgsConstructor;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.IntrospectedTable.TargetRuntime;
+import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.Document;
+import org.mybatis.generator.api.dom.xml.TextElement;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.internal.util.JavaBeansUtil;
+
+/**
+ * Mybatis generator plugin to add a batch primary key lookup to the generated mappers.
+ * <p>
+ * The <code>selectByPrimaryKeys(Collection)</code> default method removes the duplicated keys, splits them in chunks
+ * and selects each chunk with a single statement, so a statement never has more than the configured number of keys.
+ * Supports the MyBatis3 (xml mapper) and MyBatis3DynamicSql target runtimes.
+ */
+@NoArgsConstructor
+public class SelectByPrimaryKeysPlugin extends PluginAdapter {
+	public static final String MAX_IN_LIST_SIZE = "maxInListSize";
+	public static final String ROW_VALUES = "useRowValues";
+
+	public static final int DEFAULT_MAX_IN_LIST_SIZE = 1000;
+
+	static final String METHOD_NAME = "selectByPrimaryKeys";
+	static final String CHUNK_METHOD_NAME = "selectByPrimaryKeysChunk";
+
+	private int maxInListSize;
+	private boolean rowValues;
+
+	@Override
+	public boolean validate(List<String> warnings) {
+		maxInListSize = DEFAULT_MAX_IN_LIST_SIZE;
+		String maxInListSizeString = properties.getProperty(MAX_IN_LIST_SIZE);
+		if (!StringUtils.isBlank(maxInListSizeString)) {
+			maxInListSize = NumberUtils.toInt(maxInListSizeString.trim());
+			if (maxInListSize < 1) {
+				warnings.add(String.format("Property %s must be a positive number for plugin %s", MAX_IN_LIST_SIZE,
+						this.getClass().getSimpleName()));
+				return false;
+			}
+		}
+
+		rowValues = Boolean.parseBoolean(StringUtils.trim(properties.getProperty(ROW_VALUES)));
+
+		return true;
+	}
+
+	/**
+	 * @return the type of the keys: the parameter of selectByPrimaryKey, or the record when the columns of a
+	 *         composite key are passed as several parameters
+	 */
+	FullyQualifiedJavaType keyType(Method selectByPrimaryKey, FullyQualifiedJavaType recordType) {
+		if (selectByPrimaryKey.getParameters().size() != 1) {
+			return recordType;
+		}
+		FullyQualifiedJavaType type = selectByPrimaryKey.getParameters().get(0).getType();
+		return type.isPrimitive() ? type.getPrimitiveTypeWrapper() : type;
+	}
+
+	/**
+	 * @return true if the keys are the values of the single primary key column
+	 */
+	private boolean isScalarKey(Method selectByPrimaryKey, IntrospectedTable introspectedTable) {
+		return selectByPrimaryKey.getParameters().size() == 1 && introspectedTable.getPrimaryKeyColumns().size() == 1
+				&& !introspectedTable.getRules().generatePrimaryKeyClass();
+	}
+
+	@Override
+	public boolean clientSelectByPrimaryKeyMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		// the dynamic sql runtime also reports selectDistinctByExample through this hook
+		if (!"selectByPrimaryKey".equals(method.getName()) || introspectedTable.getPrimaryKeyColumns().isEmpty()) {
+			return true;
+		}
+
+		if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3_DSQL) {
+			addDynamicSqlMethod(method, interfaze, introspectedTable);
+		} else if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3 && !isAnnotatedMapper(context)) {
+			addMethods(method, interfaze, introspectedTable);
+		}
+		return true;
+	}
+
+	private void addMethods(Method selectByPrimaryKey, Interface interfaze, IntrospectedTable introspectedTable) {
+		FullyQualifiedJavaType recordType = selectByPrimaryKey.getReturnType();
+		FullyQualifiedJavaType keyType = keyType(selectByPrimaryKey, recordType);
+		FullyQualifiedJavaType listType = FullyQualifiedJavaType.getNewListInstance();
+		listType.addTypeArgument(recordType);
+		FullyQualifiedJavaType keyListType = FullyQualifiedJavaType.getNewListInstance();
+		keyListType.addTypeArgument(keyType);
+
+		interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.Param"));
+		interfaze.addImportedType(listType);
+		interfaze.addImportedType(keyType);
+
+		Method chunk = new Method(CHUNK_METHOD_NAME);
+		chunk.setReturnType(listType);
+		Parameter keys = new Parameter(keyListType, "keys");
+		keys.addAnnotation("@Param(\"keys\")");
+		chunk.addParameter(keys);
+		context.getCommentGenerator().addGeneralMethodAnnotation(chunk, introspectedTable, interfaze.getImportedTypes());
+		interfaze.addMethod(chunk);
+
+		interfaze.addMethod(chunkingMethod(interfaze, introspectedTable, recordType, keyType,
+				String.format("records.addAll(%s(chunk));", CHUNK_METHOD_NAME)));
+	}
+
+	private void addDynamicSqlMethod(Method selectByPrimaryKey, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		FullyQualifiedJavaType recordType = new FullyQualifiedJavaType(introspectedTable.getBaseRecordType());
+		FullyQualifiedJavaType keyType = keyType(selectByPrimaryKey, recordType);
+		FullyQualifiedJavaType supportType = dynamicSqlSupportType(interfaze, introspectedTable);
+		interfaze.addImportedType(supportType);
+		interfaze.addImportedType(new FullyQualifiedJavaType("org.mybatis.dynamic.sql.SqlBuilder"));
+
+		List<IntrospectedColumn> keys = introspectedTable.getPrimaryKeyColumns();
+		String support = supportType.getShortName();
+		String statement;
+		if (keys.size() == 1) {
+			String value = isScalarKey(selectByPrimaryKey, introspectedTable) ? "chunk" : null;
+			if (value == null) {
+				// the keys are objects, collect the values of the key column
+				interfaze.addImportedType(new FullyQualifiedJavaType("java.util.stream.Collectors"));
+				value = String.format("chunk.stream().map(%s::%s).collect(Collectors.toList())",
+						keyType.getShortNameWithoutTypeArguments(), getter(keys.get(0)));
+			}
+			statement = String.format("records.addAll(selectByExample().where(%s.%s, SqlBuilder.isIn(%s)).build()"
+					+ ".execute());", support, keys.get(0).getJavaProperty(), value);
+		} else {
+			statement = compositeKeyStatement(interfaze, support, keyType, keys);
+		}
+
+		interfaze.addMethod(chunkingMethod(interfaze, introspectedTable, recordType, keyType, statement));
+	}
+
+	/**
+	 * The keys are matched with <code>(a = ? and b = ?) or (a = ? and b = ?)</code>: the conditions on the first
+	 * key are the where clause, the other keys are ored sub criteria.
+	 */
+	private String compositeKeyStatement(Interface interfaze, String support, FullyQualifiedJavaType keyType,
+			List<IntrospectedColumn> keys) {
+		interfaze.addImportedType(new FullyQualifiedJavaType("java.util.ArrayList"));
+		interfaze.addImportedType(new FullyQualifiedJavaType("org.mybatis.dynamic.sql.SqlCriterion"));
+
+		StringBuilder statement = new StringBuilder();
+		statement.append("List<SqlCriterion<?>> criteria = new ArrayList<>();\n");
+		for (int i = 1; i < keys.size(); i++) {
+			statement.append(String.format(
+					"criteria.add(SqlBuilder.and(%s.%s, SqlBuilder.isEqualTo(chunk.get(0).%s())));\n", support,
+					keys.get(i).getJavaProperty(), getter(keys.get(i))));
+		}
+
+		// the conditions on the other columns of a key are nested in the one on its first column
+		String otherKey = "";
+		for (int i = keys.size() - 1; i > 0; i--) {
+			otherKey = String.format("SqlBuilder.and(%s.%s, SqlBuilder.isEqualTo(key.%s())%s)", support, keys.get(i)
+					.getJavaProperty(), getter(keys.get(i)), otherKey.isEmpty() ? "" : ", " + otherKey);
+		}
+		String first = support + "." + keys.get(0).getJavaProperty();
+
+		statement.append(String.format("for (%s key : chunk.subList(1, chunk.size())) {\n", keyType.getShortName()));
+		statement.append(String.format("criteria.add(SqlBuilder.or(%s, SqlBuilder.isEqualTo(key.%s()), %s));\n",
+				first, getter(keys.get(0)), otherKey));
+		statement.append("}\n");
+		statement.append(String.format("records.addAll(selectByExample().where(%s, SqlBuilder.isEqualTo(chunk.get(0)"
+				+ ".%s()), criteria.toArray(new SqlCriterion<?>[0])).build().execute());", first,
+				getter(keys.get(0))));
+		return statement.toString();
+	}
+
+	private Method chunkingMethod(Interface interfaze, IntrospectedTable introspectedTable,
+			FullyQualifiedJavaType recordType, FullyQualifiedJavaType keyType, String chunkStatement) {
+		FullyQualifiedJavaType listType = FullyQualifiedJavaType.getNewListInstance();
+		listType.addTypeArgument(recordType);
+		FullyQualifiedJavaType collectionType = new FullyQualifiedJavaType("java.util.Collection");
+		collectionType.addTypeArgument(keyType);
+
+		interfaze.addImportedType(listType);
+		interfaze.addImportedType(recordType);
+		interfaze.addImportedType(keyType);
+		interfaze.addImportedType(collectionType);
+		interfaze.addImportedType(new FullyQualifiedJavaType("java.util.ArrayList"));
+		interfaze.addImportedType(new FullyQualifiedJavaType("java.util.LinkedHashSet"));
+
+		Method method = new Method(METHOD_NAME);
+		method.setDefault(true);
+		method.setReturnType(listType);
+		method.addParameter(new Parameter(collectionType, "keys"));
+		context.getCommentGenerator().addGeneralMethodAnnotation(method, introspectedTable, interfaze.getImportedTypes());
+
+		String key = keyType.getShortName();
+		method.addBodyLine(String.format("List<%s> distinctKeys = new ArrayList<>(new LinkedHashSet<>(keys));", key));
+		method.addBodyLine(String.format("List<%s> records = new ArrayList<>(distinctKeys.size());",
+				recordType.getShortName()));
+		method.addBodyLine(String.format("for (int i = 0; i < distinctKeys.size(); i += %d) {", maxInListSize));
+		method.addBodyLine(String.format("List<%s> chunk = distinctKeys.subList(i, Math.min(i + %d, distinctKeys.size()));",
+				key, maxInListSize));
+		for (String line : chunkStatement.split("\n")) {
+			method.addBodyLine(line);
+		}
+		method.addBodyLine("}");
+		method.addBodyLine("return records;");
+		return method;
+	}
+
+	private String getter(IntrospectedColumn column) {
+		return JavaBeansUtil.getGetterMethodName(column.getJavaProperty(), column.getFullyQualifiedJavaType());
+	}
+
+	/**
+	 * Add the where clause matching the keys of the <code>keys</code> collection, with a row value in list when
+	 * enabled and the key has several columns.
+	 */
+	void addKeysCondition(XmlElement element, IntrospectedTable introspectedTable, boolean scalarKey) {
+		List<IntrospectedColumn> keys = introspectedTable.getPrimaryKeyColumns();
+
+		XmlElement foreach = new XmlElement("foreach");
+		foreach.addAttribute(new Attribute("collection", "keys"));
+		foreach.addAttribute(new Attribute("item", "key"));
+		foreach.addAttribute(new Attribute("open", "("));
+
+		if (keys.size() == 1) {
+			IntrospectedColumn key = keys.get(0);
+			element.addElement(new TextElement(String.format("where %s in", getAliasedEscapedColumnName(key))));
+			foreach.addAttribute(new Attribute("separator", ","));
+			foreach.addElement(new TextElement(scalarKey ? scalarParameterClause(key)
+					: getParameterClause(key, "key.")));
+		} else if (rowValues) {
+			StringBuilder columns = new StringBuilder();
+			StringBuilder values = new StringBuilder();
+			for (IntrospectedColumn key : keys) {
+				String separator = columns.length() == 0 ? "" : ", ";
+				columns.append(separator).append(getAliasedEscapedColumnName(key));
+				values.append(separator).append(getParameterClause(key, "key."));
+			}
+			element.addElement(new TextElement(String.format("where (%s) in", columns)));
+			foreach.addAttribute(new Attribute("separator", ","));
+			foreach.addElement(new TextElement(String.format("(%s)", values)));
+		} else {
+			StringBuilder conditions = new StringBuilder();
+			for (IntrospectedColumn key : keys) {
+				conditions.append(conditions.length() == 0 ? "" : " and ").append(getAliasedEscapedColumnName(key))
+						.append(" = ").append(getParameterClause(key, "key."));
+			}
+			element.addElement(new TextElement("where"));
+			foreach.addAttribute(new Attribute("separator", "or"));
+			foreach.addElement(new TextElement(String.format("(%s)", conditions)));
+		}
+
+		foreach.addAttribute(new Attribute("close", ")"));
+		element.addElement(foreach);
+	}
+
+	private String scalarParameterClause(IntrospectedColumn column) {
+		StringBuilder sb = new StringBuilder("#{key,jdbcType=").append(column.getJdbcTypeName());
+		if (StringUtils.isNotBlank(column.getTypeHandler())) {
+			sb.append(",typeHandler=").append(column.getTypeHandler());
+		}
+		return sb.append('}').toString();
+	}
+
+	@Override
+	public boolean sqlMapDocumentGenerated(Document document, IntrospectedTable introspectedTable) {
+		if (introspectedTable.getTargetRuntime() != TargetRuntime.MYBATIS3
+				|| introspectedTable.getPrimaryKeyColumns().isEmpty() || isAnnotatedMapper(context)
+				|| !introspectedTable.getRules().generateSelectByPrimaryKey()) {
+			return true;
+		}
+
+		boolean withBLOBs = introspectedTable.getRules().generateResultMapWithBLOBs();
+
+		XmlElement element = new XmlElement("select");
+		element.addAttribute(new Attribute("id", CHUNK_METHOD_NAME));
+		element.addAttribute(new Attribute("parameterType", "map"));
+		element.addAttribute(new Attribute("resultMap", withBLOBs ? introspectedTable.getResultMapWithBLOBsId()
+				: introspectedTable.getBaseResultMapId()));
+		context.getCommentGenerator().addComment(element);
+
+		element.addElement(new TextElement("select"));
+		XmlElement columns = new XmlElement("include");
+		columns.addAttribute(new Attribute("refid", introspectedTable.getBaseColumnListId()));
+		element.addElement(columns);
+		if (withBLOBs) {
+			element.addElement(new TextElement(","));
+			XmlElement blobColumns = new XmlElement("include");
+			blobColumns.addAttribute(new Attribute("refid", introspectedTable.getBlobColumnListId()));
+			element.addElement(blobColumns);
+		}
+		element.addElement(new TextElement("from " + introspectedTable.getAliasedFullyQualifiedTableNameAtRuntime()));
+
+		boolean scalarKey = introspectedTable.getPrimaryKeyColumns().size() == 1
+				&& !introspectedTable.getRules().generatePrimaryKeyClass();
+		addKeysCondition(element, introspectedTable, scalarKey);
+
+		document.getRootElement().addElement(element);
+
+		return true;
+	}
+
+}
@@ -0,0 +1,240 @@
+package com.github.dcendents.mybatis.generator.plugin.client;
+
+import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import lombok.NoArgsConstructor;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+
+import com.github.dcendents.mybatis.generator.plugin.table.TableMatcher;
+
+/**
+ * Mybatis generator plugin to set the fetch size, timeout and result set type of the generated select statements.
+ * <p>
+ * The options are added as attributes of the select elements of xml mappers and with an Options annotation on the
+ * select methods of annotated mappers. The plugin can be configured several times to tune the tables differently.
+ */
+@NoArgsConstructor
+public class StatementOptionsPlugin extends PluginAdapter {
+	public static final String TABLE_NAME = "fullyQualifiedTableName";
+	public static final String FETCH_SIZE = "fetchSize";
+	public static final String TIMEOUT = "timeout";
+	public static final String RESULT_SET_TYPE = "resultSetType";
+
+	static final List<String> RESULT_SET_TYPES = Arrays.asList("DEFAULT", "FORWARD_ONLY", "SCROLL_INSENSITIVE",
+			"SCROLL_SENSITIVE");
+
+	private TableMatcher tableMatcher;
+	private Integer fetchSize;
+	private Integer timeout;
+	private String resultSetType;
+
+	@Override
+	public boolean validate(List<String> warnings) {
+		boolean valid = true;
+
+		String tableName = properties.getProperty(TABLE_NAME);
+		if (!stringHasValue(tableName)) {
+			warnings.add(String.format("Property %s not set for plugin %s", TABLE_NAME, this.getClass()
+					.getSimpleName()));
+			valid = false;
+		} else {
+			tableMatcher = TableMatcher.of(tableName);
+		}
+
+		fetchSize = positiveNumber(FETCH_SIZE, warnings);
+		timeout = positiveNumber(TIMEOUT, warnings);
+		valid &= fetchSize == null || fetchSize > 0;
+		valid &= timeout == null || timeout > 0;
+
+		resultSetType = properties.getProperty(RESULT_SET_TYPE);
+		if (stringHasValue(resultSetType)) {
+			resultSetType = resultSetType.trim();
+			if (!RESULT_SET_TYPES.contains(resultSetType)) {
+				warnings.add(String.format("Property %s must be one of %s for plugin %s", RESULT_SET_TYPE,
+						RESULT_SET_TYPES, this.getClass().getSimpleName()));
+				valid = false;
+			}
+		} else {
+			resultSetType = null;
+		}
+
+		if (fetchSize == null && timeout == null && resultSetType == null) {
+			warnings.add(String.format("Property %s, %s or %s must be set for plugin %s", FETCH_SIZE, TIMEOUT,
+					RESULT_SET_TYPE, this.getClass().getSimpleName()));
+			valid = false;
+		}
+
+		return valid;
+	}
+
+	/**
+	 * @return the value of the property, null if not set and 0 if invalid
+	 */
+	private Integer positiveNumber(String property, List<String> warnings) {
+		String value = properties.getProperty(property);
+		if (!stringHasValue(value)) {
+			return null;
+		}
+
+		int number = NumberUtils.toInt(value.trim());
+		if (number < 1) {
+			warnings.add(String.format("Property %s must be a positive number for plugin %s", property, this
+					.getClass().getSimpleName()));
+			return 0;
+		}
+		return number;
+	}
+
+	private boolean tableMatches(IntrospectedTable introspectedTable) {
+		return tableMatcher.matches(introspectedTable);
+	}
+
+	@Override
+	public boolean sqlMapSelectByExampleWithoutBLOBsElementGenerated(XmlElement element,
+			IntrospectedTable introspectedTable) {
+		addAttributes(element, introspectedTable);
+		return true;
+	}
+
+	@Override
+	public boolean sqlMapSelectByExampleWithBLOBsElementGenerated(XmlElement element,
+			IntrospectedTable introspectedTable) {
+		addAttributes(element, introspectedTable);
+		return true;
+	}
+
+	@Override
+	public boolean sqlMapSelectByPrimaryKeyElementGenerated(XmlElement element, IntrospectedTable introspectedTable) {
+		addAttributes(element, introspectedTable);
+		return true;
+	}
+
+	@Override
+	public boolean sqlMapSelectAllElementGenerated(XmlElement element, IntrospectedTable introspectedTable) {
+		addAttributes(element, introspectedTable);
+		return true;
+	}
+
+	@Override
+	public boolean clientSelectByExampleWithoutBLOBsMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		addOptions(method, interfaze, introspectedTable);
+		return true;
+	}
+
+	@Override
+	public boolean clientSelectByExampleWithBLOBsMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		addOptions(method, interfaze, introspectedTable);
+		return true;
+	}
+
+	@Override
+	public boolean clientSelectByPrimaryKeyMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		addOptions(method, interfaze, introspectedTable);
+		return true;
+	}
+
+	@Override
+	public boolean clientSelectAllMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		addOptions(method, interfaze, introspectedTable);
+		return true;
+	}
+
+	@Override
+	public boolean clientBasicSelectManyMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		addOptions(method, interfaze, introspectedTable);
+		return true;
+	}
+
+	@Override
+	public boolean clientBasicSelectOneMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		addOptions(method, interfaze, introspectedTable);
+		return true;
+	}
+
+	/**
+	 * Attributes already set, by another configuration of the plugin matching the same table, are kept.
+	 */
+	void addAttributes(XmlElement element, IntrospectedTable introspectedTable) {
+		if (!tableMatches(introspectedTable)) {
+			return;
+		}
+
+		List<String> names = new ArrayList<>();
+		for (Attribute attribute : element.getAttributes()) {
+			names.add(attribute.getName());
+		}
+
+		if (fetchSize != null && !names.contains(FETCH_SIZE)) {
+			element.addAttribute(new Attribute(FETCH_SIZE, fetchSize.toString()));
+		}
+		if (timeout != null && !names.contains(TIMEOUT)) {
+			element.addAttribute(new Attribute(TIMEOUT, timeout.toString()));
+		}
+		if (resultSetType != null && !names.contains(RESULT_SET_TYPE)) {
+			element.addAttribute(new Attribute(RESULT_SET_TYPE, resultSetType));
+		}
+	}
+
+	/**
+	 * Only the methods defining their statement with annotations get the Options annotation: MyBatis ignores it for
+	 * the statements defined in xml and the default methods of the dynamic sql runtime do not define any statement.
+	 * As for the xml attributes, options already set are kept.
+	 */
+	void addOptions(Method method, Interface interfaze, IntrospectedTable introspectedTable) {
+		if (method.isDefault() || method.getAnnotations().isEmpty() || !tableMatches(introspectedTable)) {
+			return;
+		}
+
+		List<String> annotations = method.getAnnotations();
+		int index = -1;
+		for (int i = 0; i < annotations.size(); i++) {
+			if (annotations.get(i).startsWith("@Options(")) {
+				index = i;
+			}
+		}
+		String existing = index < 0 ? "" : annotations.get(index);
+
+		List<String> options = new ArrayList<>();
+		if (fetchSize != null && !existing.contains(FETCH_SIZE + "=")) {
+			options.add(String.format("fetchSize=%d", fetchSize));
+		}
+		if (timeout != null && !existing.contains(TIMEOUT + "=")) {
+			options.add(String.format("timeout=%d", timeout));
+		}
+		if (resultSetType != null && !existing.contains(RESULT_SET_TYPE + "=")) {
+			interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.mapping.ResultSetType"));
+			options.add(String.format("resultSetType=ResultSetType.%s", resultSetType));
+		}
+		if (options.isEmpty()) {
+			return;
+		}
+
+		if (index < 0) {
+			interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.Options"));
+			method.addAnnotation(String.format("@Options(%s)", StringUtils.join(options, ", ")));
+		} else {
+			annotations.set(index, String.format("%s, %s)", existing.substring(0, existing.lastIndexOf(')')),
+					StringUtils.join(options, ", ")));
+		}
+	}
+
+}
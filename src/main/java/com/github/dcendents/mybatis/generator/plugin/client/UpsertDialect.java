@@ -0,0 +1,50 @@
+package com.github.dcendents.mybatis.generator.plugin.client;
+
+import java.util.Locale;
+
+/**
+ * The SQL syntax used to insert a row or update it when its key already exists.
+ */
+public enum UpsertDialect {
+	/**
+	 * <code>insert ... on conflict (key) do update</code>.
+	 */
+	POSTGRESQL,
+	/**
+	 * <code>insert ... on duplicate key update</code>, the conflict is detected on any unique key of the table.
+	 */
+	MYSQL,
+	/**
+	 * The standard <code>merge</code> statement with a <code>values</code> source, for SQL Server, H2 and DB2.
+	 */
+	MERGE,
+	/**
+	 * The <code>merge</code> statement with a <code>select ... from dual</code> source.
+	 */
+	ORACLE;
+
+	/**
+	 * @param name
+	 *            the dialect name, case insensitive
+	 * @return the dialect or null if unknown
+	 */
+	public static UpsertDialect of(String name) {
+		if (name == null) {
+			return null;
+		}
+
+		try {
+			return valueOf(name.trim().toUpperCase(Locale.ENGLISH));
+		} catch (IllegalArgumentException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * @return true if the statement is a merge
+	 */
+	public boolean isMerge() {
+		return this == MERGE || this == ORACLE;
+	}
+
+}
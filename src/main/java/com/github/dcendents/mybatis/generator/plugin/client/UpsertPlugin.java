@@ -0,0 +1,379 @@
+package com.github.dcendents.mybatis.generator.plugin.client;
+
+import static com.github.dcendents.mybatis.generator.plugin.client.MapperSupport.isAnnotatedMapper;
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getEscapedColumnName;
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getParameterClause;
+import static org.mybatis.generator.internal.util.StringUtility.escapeStringForJava;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import lombok.NoArgsConstructor;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.IntrospectedTable.TargetRuntime;
+import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.Document;
+import org.mybatis.generator.api.dom.xml.Element;
+import org.mybatis.generator.api.dom.xml.TextElement;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.internal.util.JavaBeansUtil;
+
+/**
+ * Mybatis generator plugin to add upsert (insert or update) methods to the generated mappers.
+ * <p>
+ * The <code>upsert</code> and <code>upsertMultiple</code> methods insert the records, or update the rows already
+ * having the same key, in a single statement per chunk of records instead of a select followed by an insert or an
+ * update per record. The key is the primary key of the table, or the columns listed in the
+ * <code>upsertKeyColumns</code> property of the table configuration. Supports the MyBatis3 (xml or annotated
+ * mapper) and MyBatis3DynamicSql target runtimes, the statement is a script annotation when there is no xml mapper.
+ * <p>
+ * The records passed to <code>upsertMultiple</code> are deduplicated by key, the last record of a key is upserted.
+ * The records with a null key value are not deduplicated.
+ */
+@NoArgsConstructor
+public class UpsertPlugin extends PluginAdapter {
+	public static final String UPSERT_DIALECT = "upsertDialect";
+	public static final String MAX_ROWS = "maxRowsPerStatement";
+	public static final String MAX_PARAMETERS = "maxParametersPerStatement";
+	public static final String TABLE_KEY_COLUMNS = "upsertKeyColumns";
+
+	public static final int DEFAULT_MAX_ROWS = 500;
+	public static final int DEFAULT_MAX_PARAMETERS = 2000;
+
+	static final String METHOD_NAME = "upsert";
+	static final String MULTIPLE_METHOD_NAME = "upsertMultiple";
+	static final String CHUNK_METHOD_NAME = "upsertMultipleChunk";
+
+	private UpsertDialect dialect;
+	private int maxRows;
+	private int maxParameters;
+
+	@Override
+	public boolean validate(List<String> warnings) {
+		boolean valid = true;
+
+		String dialectName = properties.getProperty(UPSERT_DIALECT);
+		dialect = UpsertDialect.of(dialectName);
+		if (StringUtils.isBlank(dialectName)) {
+			warnings.add(String.format("Property %s not set for plugin %s", UPSERT_DIALECT, this.getClass()
+					.getSimpleName()));
+			valid = false;
+		} else if (dialect == null) {
+			warnings.add(String.format("Property %s must be one of %s for plugin %s", UPSERT_DIALECT,
+					Arrays.toString(UpsertDialect.values()), this.getClass().getSimpleName()));
+			valid = false;
+		}
+
+		maxRows = DEFAULT_MAX_ROWS;
+		String maxRowsString = properties.getProperty(MAX_ROWS);
+		if (!StringUtils.isBlank(maxRowsString)) {
+			maxRows = NumberUtils.toInt(maxRowsString.trim());
+			if (maxRows < 1) {
+				warnings.add(String.format("Property %s must be a positive number for plugin %s", MAX_ROWS, this
+						.getClass().getSimpleName()));
+				valid = false;
+			}
+		}
+
+		maxParameters = DEFAULT_MAX_PARAMETERS;
+		String maxParametersString = properties.getProperty(MAX_PARAMETERS);
+		if (!StringUtils.isBlank(maxParametersString)) {
+			maxParameters = NumberUtils.toInt(maxParametersString.trim());
+			if (maxParameters < 1) {
+				warnings.add(String.format("Property %s must be a positive number for plugin %s", MAX_PARAMETERS,
+						this.getClass().getSimpleName()));
+				valid = false;
+			}
+		}
+
+		return valid;
+	}
+
+	/**
+	 * @return the number of rows per statement, so both the rows and parameters limits are respected
+	 */
+	int rowsPerStatement(int columnCount) {
+		return Math.max(1, Math.min(maxRows, maxParameters / Math.max(1, columnCount)));
+	}
+
+	/**
+	 * @return the key columns, empty when the table has no primary key or a configured column does not exist
+	 */
+	List<IntrospectedColumn> keyColumns(IntrospectedTable introspectedTable) {
+		String keyColumns = introspectedTable.getTableConfigurationProperty(TABLE_KEY_COLUMNS);
+		if (StringUtils.isBlank(keyColumns)) {
+			return introspectedTable.getPrimaryKeyColumns();
+		}
+
+		List<IntrospectedColumn> keys = new ArrayList<>();
+		for (String name : keyColumns.split(",")) {
+			IntrospectedColumn key = null;
+			for (IntrospectedColumn column : introspectedTable.getAllColumns()) {
+				if (column.getActualColumnName().equalsIgnoreCase(name.trim())) {
+					key = column;
+				}
+			}
+			if (key == null) {
+				return new ArrayList<>();
+			}
+			keys.add(key);
+		}
+		return keys;
+	}
+
+	/**
+	 * @return the columns set by the statement, identity and generated columns are left to the database so a table
+	 *         keyed by an identity column needs the <code>upsertKeyColumns</code> property
+	 */
+	List<IntrospectedColumn> upsertColumns(IntrospectedTable introspectedTable) {
+		List<IntrospectedColumn> columns = new ArrayList<>();
+		for (IntrospectedColumn column : introspectedTable.getAllColumns()) {
+			if (!column.isIdentity() && !column.isGeneratedAlways()) {
+				columns.add(column);
+			}
+		}
+		return columns;
+	}
+
+	@Override
+	public boolean clientInsertMethodGenerated(Method method, Interface interfaze, IntrospectedTable introspectedTable) {
+		if (introspectedTable.getTargetRuntime() != TargetRuntime.MYBATIS3
+				&& introspectedTable.getTargetRuntime() != TargetRuntime.MYBATIS3_DSQL) {
+			return true;
+		}
+		List<IntrospectedColumn> keys = keyColumns(introspectedTable);
+		List<IntrospectedColumn> columns = upsertColumns(introspectedTable);
+		if (keys.isEmpty() || !columns.containsAll(keys)) {
+			return true;
+		}
+
+		FullyQualifiedJavaType recordType = introspectedTable.getRules().calculateAllFieldsClass();
+		FullyQualifiedJavaType listType = FullyQualifiedJavaType.getNewListInstance();
+		listType.addTypeArgument(recordType);
+		interfaze.addImportedType(listType);
+		interfaze.addImportedType(recordType);
+		interfaze.addImportedType(new FullyQualifiedJavaType("java.util.ArrayList"));
+		interfaze.addImportedType(new FullyQualifiedJavaType("java.util.Collections"));
+		interfaze.addImportedType(new FullyQualifiedJavaType("java.util.LinkedHashMap"));
+		interfaze.addImportedType(new FullyQualifiedJavaType("java.util.Map"));
+		if (keys.size() > 1) {
+			interfaze.addImportedType(new FullyQualifiedJavaType("java.util.Arrays"));
+		}
+		interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.Param"));
+
+		Method chunk = new Method(CHUNK_METHOD_NAME);
+		chunk.setReturnType(FullyQualifiedJavaType.getIntInstance());
+		Parameter records = new Parameter(listType, "records");
+		records.addAnnotation("@Param(\"records\")");
+		chunk.addParameter(records);
+		context.getCommentGenerator().addGeneralMethodAnnotation(chunk, introspectedTable, interfaze.getImportedTypes());
+
+		// the dynamic sql builders cannot express an upsert, the statement is a script as for annotated mappers
+		if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3_DSQL || isAnnotatedMapper(context)) {
+			interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.Insert"));
+			chunk.addAnnotation("@Insert({");
+			chunk.addAnnotation("    \"<script>\",");
+			for (Element element : upsertElement(introspectedTable, keys, columns).getElements()) {
+				for (String line : element.getFormattedContent(0).split("\\r?\\n")) {
+					chunk.addAnnotation(String.format("    \"%s\",", escapeStringForJava(line.trim())));
+				}
+			}
+			chunk.addAnnotation("    \"</script>\"");
+			chunk.addAnnotation("})");
+		}
+		interfaze.addMethod(chunk);
+
+		Method upsert = new Method(METHOD_NAME);
+		upsert.setDefault(true);
+		upsert.setReturnType(FullyQualifiedJavaType.getIntInstance());
+		upsert.addParameter(new Parameter(recordType, "record"));
+		context.getCommentGenerator().addGeneralMethodAnnotation(upsert, introspectedTable,
+				interfaze.getImportedTypes());
+		upsert.addBodyLine(String.format("return %s(Collections.singletonList(record));", CHUNK_METHOD_NAME));
+		interfaze.addMethod(upsert);
+
+		Method upsertMultiple = new Method(MULTIPLE_METHOD_NAME);
+		upsertMultiple.setDefault(true);
+		upsertMultiple.setReturnType(FullyQualifiedJavaType.getIntInstance());
+		upsertMultiple.addParameter(new Parameter(listType, "records"));
+		context.getCommentGenerator().addGeneralMethodAnnotation(upsertMultiple, introspectedTable,
+				interfaze.getImportedTypes());
+		// a statement cannot update the same row twice, only the last record of each key is kept
+		String recordName = recordType.getShortName();
+		upsertMultiple.addBodyLine(String.format("Map<Object, %1$s> unique = new LinkedHashMap<>();", recordName));
+		upsertMultiple.addBodyLine(String.format("for (%s record : records) {", recordName));
+		String nullKey = nullKeyCondition(keys);
+		if (nullKey == null) {
+			upsertMultiple.addBodyLine(String.format("unique.put(%s, record);", keyExpression(keys)));
+		} else {
+			// null key values never match an existing row, such records are passed through unchanged
+			upsertMultiple.addBodyLine(String.format("%s key = %s;", keys.size() == 1 ? "Object" : "List<Object>",
+					keyExpression(keys)));
+			upsertMultiple.addBodyLine(String.format("unique.put(%s ? new Object() : key, record);", nullKey));
+		}
+		upsertMultiple.addBodyLine("}");
+		upsertMultiple.addBodyLine(String.format("List<%s> distinct = new ArrayList<>(unique.values());", recordName));
+		upsertMultiple.addBodyLine(String.format("int rows = %d;", rowsPerStatement(columns.size())));
+		upsertMultiple.addBodyLine("int count = 0;");
+		upsertMultiple.addBodyLine("for (int i = 0; i < distinct.size(); i += rows) {");
+		upsertMultiple.addBodyLine(String.format(
+				"count += %s(distinct.subList(i, Math.min(i + rows, distinct.size())));", CHUNK_METHOD_NAME));
+		upsertMultiple.addBodyLine("}");
+		upsertMultiple.addBodyLine("return count;");
+		interfaze.addMethod(upsertMultiple);
+
+		return true;
+	}
+
+	/**
+	 * @return the expression reading the key of a record, a list of the values when the key has several columns
+	 */
+	private String keyExpression(List<IntrospectedColumn> keys) {
+		StringBuilder values = new StringBuilder();
+		for (IntrospectedColumn key : keys) {
+			values.append(values.length() == 0 ? "" : ", ").append("record.").append(
+					JavaBeansUtil.getGetterMethodName(key.getJavaProperty(), key.getFullyQualifiedJavaType())).append(
+					"()");
+		}
+		return keys.size() == 1 ? values.toString() : String.format("Arrays.asList(%s)", values);
+	}
+
+	/**
+	 * @return the condition testing whether the <code>key</code> of a record holds a null value, null when all the
+	 *         key columns are primitives
+	 */
+	private String nullKeyCondition(List<IntrospectedColumn> keys) {
+		for (IntrospectedColumn key : keys) {
+			if (!key.getFullyQualifiedJavaType().isPrimitive()) {
+				return keys.size() == 1 ? "key == null" : "key.contains(null)";
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Build the upsert statement of the records of the <code>records</code> list.
+	 */
+	XmlElement upsertElement(IntrospectedTable introspectedTable, List<IntrospectedColumn> keys,
+			List<IntrospectedColumn> columns) {
+		List<IntrospectedColumn> updateColumns = new ArrayList<>(columns);
+		updateColumns.removeAll(keys);
+
+		StringBuilder columnList = new StringBuilder();
+		StringBuilder valueList = new StringBuilder();
+		StringBuilder selectList = new StringBuilder();
+		StringBuilder sourceList = new StringBuilder();
+		for (IntrospectedColumn column : columns) {
+			String separator = columnList.length() == 0 ? "" : ", ";
+			String name = getEscapedColumnName(column);
+			columnList.append(separator).append(name);
+			valueList.append(separator).append(getParameterClause(column, "record."));
+			selectList.append(separator).append(getParameterClause(column, "record.")).append(" as ").append(name);
+			sourceList.append(separator).append("source.").append(name);
+		}
+
+		XmlElement element = new XmlElement("insert");
+		element.addAttribute(new Attribute("id", CHUNK_METHOD_NAME));
+		element.addAttribute(new Attribute("parameterType", "map"));
+
+		XmlElement foreach = new XmlElement("foreach");
+		foreach.addAttribute(new Attribute("collection", "records"));
+		foreach.addAttribute(new Attribute("item", "record"));
+		foreach.addAttribute(new Attribute("separator", dialect == UpsertDialect.ORACLE ? "union all" : ","));
+
+		String table = introspectedTable.getFullyQualifiedTableNameAtRuntime();
+		if (!dialect.isMerge()) {
+			element.addElement(new TextElement(String.format("insert into %s (%s)", table, columnList)));
+			element.addElement(new TextElement("values"));
+			foreach.addElement(new TextElement(String.format("(%s)", valueList)));
+			element.addElement(foreach);
+			element.addElement(new TextElement(conflictClause(keys, updateColumns)));
+			return element;
+		}
+
+		element.addElement(new TextElement(String.format("merge into %s target", table)));
+		if (dialect == UpsertDialect.ORACLE) {
+			element.addElement(new TextElement("using ("));
+			foreach.addElement(new TextElement(String.format("select %s from dual", selectList)));
+			element.addElement(foreach);
+			element.addElement(new TextElement(") source"));
+		} else {
+			element.addElement(new TextElement("using (values"));
+			foreach.addElement(new TextElement(String.format("(%s)", valueList)));
+			element.addElement(foreach);
+			element.addElement(new TextElement(String.format(") as source (%s)", columnList)));
+		}
+
+		StringBuilder on = new StringBuilder();
+		for (IntrospectedColumn key : keys) {
+			String name = getEscapedColumnName(key);
+			on.append(on.length() == 0 ? "" : " and ").append("target.").append(name).append(" = source.")
+					.append(name);
+		}
+		element.addElement(new TextElement(String.format("on (%s)", on)));
+		if (!updateColumns.isEmpty()) {
+			element.addElement(new TextElement("when matched then update set " + assignments(updateColumns,
+					"%1$s = source.%1$s")));
+		}
+		// SQL Server requires the merge statement to be terminated
+		element.addElement(new TextElement(String.format("when not matched then insert (%s) values (%s)%s",
+				columnList, sourceList, dialect == UpsertDialect.MERGE ? ";" : "")));
+		return element;
+	}
+
+	private String conflictClause(List<IntrospectedColumn> keys, List<IntrospectedColumn> updateColumns) {
+		if (dialect == UpsertDialect.MYSQL) {
+			// a table made of its key only still needs an assignment
+			return "on duplicate key update " + assignments(updateColumns.isEmpty() ? keys : updateColumns,
+					"%1$s = values(%1$s)");
+		}
+
+		StringBuilder keyList = new StringBuilder();
+		for (IntrospectedColumn key : keys) {
+			keyList.append(keyList.length() == 0 ? "" : ", ").append(getEscapedColumnName(key));
+		}
+		if (updateColumns.isEmpty()) {
+			return String.format("on conflict (%s) do nothing", keyList);
+		}
+		return String.format("on conflict (%s) do update set %s", keyList, assignments(updateColumns,
+				"%1$s = excluded.%1$s"));
+	}
+
+	private String assignments(List<IntrospectedColumn> columns, String format) {
+		StringBuilder assignments = new StringBuilder();
+		for (IntrospectedColumn column : columns) {
+			assignments.append(assignments.length() == 0 ? "" : ", ").append(
+					String.format(format, getEscapedColumnName(column)));
+		}
+		return assignments.toString();
+	}
+
+	@Override
+	public boolean sqlMapDocumentGenerated(Document document, IntrospectedTable introspectedTable) {
+		if (introspectedTable.getTargetRuntime() != TargetRuntime.MYBATIS3 || isAnnotatedMapper(context)) {
+			return true;
+		}
+		List<IntrospectedColumn> keys = keyColumns(introspectedTable);
+		List<IntrospectedColumn> columns = upsertColumns(introspectedTable);
+		if (keys.isEmpty() || !columns.containsAll(keys) || !introspectedTable.getRules().generateInsert()) {
+			return true;
+		}
+
+		XmlElement element = upsertElement(introspectedTable, keys, columns);
+		context.getCommentGenerator().addComment(element);
+		document.getRootElement().addElement(element);
+
+		return true;
+	}
+
+}
@@ -2,18 +2,31 @@ package com.github.dcendents.mybatis.generator.plugin.dynamic.sql;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import lombok.NoArgsConstructor;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.mybatis.generator.api.GeneratedJavaFile;
 import org.mybatis.generator.api.IntrospectedTable;
 import org.mybatis.generator.api.PluginAdapter;
 import org.mybatis.generator.api.dom.DefaultJavaFormatter;
 import org.mybatis.generator.api.dom.java.CompilationUnit;
 
+import com.github.dcendents.mybatis.generator.plugin.incremental.ContentIndex;
+import com.github.dcendents.mybatis.generator.plugin.incremental.FingerprintCache;
+
 /**
  * Mybatis generator plugin to add dynamic sql table definitions.
+ * <p>
+ * When parallel generation is enabled, the support classes are generated on a fork-join pool while the generator
+ * processes the next tables, and are all returned at the end of the context in the order of the tables.
+ * <p>
+ * When incremental mode is enabled, the support classes of the tables that did not change since the previous run are
+ * not generated. When write avoidance is enabled, the support classes identical to the files on disk are not written.
  */
 @NoArgsConstructor
 public class DynamicSqlPlugin extends PluginAdapter {
@@ -21,6 +34,8 @@ public class DynamicSqlPlugin extends PluginAdapter {
 	public static final String ADD_ALIASED_COLUMNS = "addAliasedColumns";
 	public static final String ADD_TABLE_ALIAS = "addTableAlias";
 	public static final String TABLE_ALIAS_FIELD_NAME = "tableAliasFieldName";
+	public static final String PARALLEL_GENERATION = "parallelGeneration";
+	public static final String GENERATION_THREADS = "generationThreads";
 
 	public static final String DEFAULT_TABLE_ALIAS_FIELD = "tableAlias";
 
@@ -28,6 +43,14 @@ public class DynamicSqlPlugin extends PluginAdapter {
 	private boolean addAliasedColumns;
 	private boolean addTableAlias;
 	private String tableAliasFieldName;
+	private boolean parallelGeneration;
+	private int generationThreads;
+
+	private final FingerprintCache fingerprints = new FingerprintCache();
+	private final ContentIndex contents = new ContentIndex();
+
+	private ForkJoinPool pool;
+	private final List<ForkJoinTask<CompilationUnit>> pendingUnits = new ArrayList<>();
 
 	@Override
 	public boolean validate(List<String> warnings) {
@@ -35,6 +58,8 @@ public class DynamicSqlPlugin extends PluginAdapter {
 		String addAliasedColumnsString = properties.getProperty(ADD_ALIASED_COLUMNS);
 		String addTableAliasString = properties.getProperty(ADD_TABLE_ALIAS);
 		tableAliasFieldName = properties.getProperty(TABLE_ALIAS_FIELD_NAME);
+		String parallelGenerationString = properties.getProperty(PARALLEL_GENERATION);
+		String generationThreadsString = properties.getProperty(GENERATION_THREADS);
 
 		tableClassSuffix = tableClassSuffix == null ? "" : tableClassSuffix.trim();
 		addAliasedColumns = Boolean.parseBoolean(addAliasedColumnsString);
@@ -42,24 +67,79 @@ public class DynamicSqlPlugin extends PluginAdapter {
 		if (StringUtils.isBlank(tableAliasFieldName)) {
 			tableAliasFieldName = DEFAULT_TABLE_ALIAS_FIELD;
 		}
+		parallelGeneration = Boolean.parseBoolean(parallelGenerationString);
+
+		boolean valid = true;
+		generationThreads = Runtime.getRuntime().availableProcessors();
+		if (!StringUtils.isBlank(generationThreadsString)) {
+			generationThreads = NumberUtils.toInt(generationThreadsString.trim());
+			if (generationThreads < 1) {
+				warnings.add(String.format("Property %s must be a positive number for plugin %s", GENERATION_THREADS,
+						this.getClass().getSimpleName()));
+				valid = false;
+			}
+		}
 
-		return true;
+		fingerprints.validate(context, properties, this.getClass().getSimpleName(), warnings);
+		contents.validate(context, properties, this.getClass().getSimpleName());
+
+		return valid;
 	}
 
 	@Override
 	public List<GeneratedJavaFile> contextGenerateAdditionalJavaFiles(IntrospectedTable introspectedTable) {
 		List<GeneratedJavaFile> models = new ArrayList<>();
 
-		CompilationUnit unit = DynamicSqlSupportClassGenerator
-				.of(introspectedTable, context.getCommentGenerator(), tableClassSuffix, addAliasedColumns, addTableAlias, tableAliasFieldName, properties)
-				.generate();
+		final DynamicSqlSupportClassGenerator generator = DynamicSqlSupportClassGenerator
+				.of(introspectedTable, context.getCommentGenerator(), tableClassSuffix, addAliasedColumns, addTableAlias, tableAliasFieldName, properties);
+
+		if (fingerprints.isEnabled() && fingerprints.isUnchanged(introspectedTable, FingerprintCache.javaFile(context
+				.getJavaClientGeneratorConfiguration().getTargetProject(), generator.calculateClassName()))) {
+			return models;
+		}
+
+		if (parallelGeneration) {
+			if (pool == null) {
+				pool = new ForkJoinPool(generationThreads);
+			}
+			pendingUnits.add(pool.submit(new Callable<CompilationUnit>() {
+				@Override
+				public CompilationUnit call() {
+					return generator.generate();
+				}
+			}));
+		} else {
+			models.add(createJavaFile(generator.generate()));
+		}
 
-		GeneratedJavaFile dynamicSqlModel =
-				new GeneratedJavaFile(unit, context.getJavaClientGeneratorConfiguration().getTargetProject(), new DefaultJavaFormatter());
+		return contents.changed(models, fingerprints);
+	}
 
-		models.add(dynamicSqlModel);
+	@Override
+	public List<GeneratedJavaFile> contextGenerateAdditionalJavaFiles() {
+		List<GeneratedJavaFile> models = new ArrayList<>();
+
+		try {
+			for (ForkJoinTask<CompilationUnit> unit : pendingUnits) {
+				models.add(createJavaFile(unit.join()));
+			}
+		} finally {
+			pendingUnits.clear();
+			if (pool != null) {
+				pool.shutdown();
+				pool = null;
+			}
+		}
+
+		models = contents.changed(models, fingerprints);
+		fingerprints.save();
+		contents.save();
 
 		return models;
 	}
 
+	private GeneratedJavaFile createJavaFile(CompilationUnit unit) {
+		return new GeneratedJavaFile(unit, context.getJavaClientGeneratorConfiguration().getTargetProject(), new DefaultJavaFormatter());
+	}
+
 }
@@ -36,6 +36,11 @@ import org.mybatis.generator.internal.util.JavaBeansUtil;
 import org.mybatis.generator.internal.util.StringUtility;
 
 public class DynamicSqlSupportClassGenerator {
+	public static final String ALL_COLUMNS = "ALL_COLUMNS"; //$NON-NLS-1$
+	public static final String NON_BLOB_COLUMNS = "NON_BLOB_COLUMNS"; //$NON-NLS-1$
+	public static final String ALL_COLUMN_NAMES = "ALL_COLUMN_NAMES"; //$NON-NLS-1$
+	public static final String NON_BLOB_COLUMN_NAMES = "NON_BLOB_COLUMN_NAMES"; //$NON-NLS-1$
+
 	private IntrospectedTable introspectedTable;
 	private CommentGenerator commentGenerator;
 
@@ -65,10 +70,12 @@ public class DynamicSqlSupportClassGenerator {
 			handleColumn(topLevelClass, innerClass, column, tableField.getName());
 		}
 
+		handleSelectLists(topLevelClass);
+
 		return topLevelClass;
 	}
 
-	private String calculateClassName() {
+	String calculateClassName() {
 		FullyQualifiedJavaType mapperType = new FullyQualifiedJavaType(introspectedTable.getMyBatis3JavaMapperType());
 		FullyQualifiedJavaType recordType = new FullyQualifiedJavaType(introspectedTable.getBaseRecordType());
 
@@ -194,6 +201,60 @@ public class DynamicSqlSupportClassGenerator {
 		innerClass.addField(field);
 	}
 
+	/**
+	 * Add the select lists and column names as constants, declared after the columns they reference. Queries can use
+	 * them as is instead of building a new select list on every call.
+	 */
+	private void handleSelectLists(TopLevelClass topLevelClass) {
+		FullyQualifiedJavaType columnsType = new FullyQualifiedJavaType("org.mybatis.dynamic.sql.BasicColumn[]"); //$NON-NLS-1$
+		FullyQualifiedJavaType namesType = FullyQualifiedJavaType.getNewListInstance();
+		namesType.addTypeArgument(FullyQualifiedJavaType.getStringInstance());
+
+		topLevelClass.addImportedType(new FullyQualifiedJavaType("org.mybatis.dynamic.sql.BasicColumn")); //$NON-NLS-1$
+		topLevelClass.addImportedType(namesType);
+		topLevelClass.addImportedType(new FullyQualifiedJavaType("java.util.Arrays")); //$NON-NLS-1$
+		topLevelClass.addImportedType(new FullyQualifiedJavaType("java.util.Collections")); //$NON-NLS-1$
+
+		List<IntrospectedColumn> allColumns = introspectedTable.getAllColumns();
+		List<IntrospectedColumn> nonBlobColumns = introspectedTable.getNonBLOBColumns();
+
+		addConstant(topLevelClass, ALL_COLUMNS, columnsType, calculateSelectList(allColumns));
+		addConstant(topLevelClass, NON_BLOB_COLUMNS, columnsType, calculateSelectList(nonBlobColumns));
+		addConstant(topLevelClass, ALL_COLUMN_NAMES, namesType, calculateColumnNames(allColumns));
+		addConstant(topLevelClass, NON_BLOB_COLUMN_NAMES, namesType, calculateColumnNames(nonBlobColumns));
+	}
+
+	private void addConstant(TopLevelClass topLevelClass, String fieldName, FullyQualifiedJavaType fieldType, String initializationString) {
+		Field field = new Field(fieldName, fieldType);
+		field.setVisibility(JavaVisibility.PUBLIC);
+		field.setStatic(true);
+		field.setFinal(true);
+		field.setInitializationString(initializationString);
+		commentGenerator.addFieldAnnotation(field, introspectedTable, topLevelClass.getImportedTypes());
+		topLevelClass.addField(field);
+	}
+
+	private String calculateSelectList(List<IntrospectedColumn> columns) {
+		StringBuilder initializationString = new StringBuilder("new BasicColumn[] {"); //$NON-NLS-1$
+		for (int i = 0; i < columns.size(); i++) {
+			initializationString.append(i == 0 ? " " : ", ").append(columns.get(i).getJavaProperty()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return initializationString.append(" }").toString(); //$NON-NLS-1$
+	}
+
+	private String calculateColumnNames(List<IntrospectedColumn> columns) {
+		if (columns.isEmpty()) {
+			return "Collections.<String> emptyList()"; //$NON-NLS-1$
+		}
+
+		StringBuilder initializationString = new StringBuilder("Collections.unmodifiableList(Arrays.asList("); //$NON-NLS-1$
+		for (int i = 0; i < columns.size(); i++) {
+			initializationString.append(i == 0 ? "\"" : ", \"") //$NON-NLS-1$ //$NON-NLS-2$
+					.append(escapeStringForJava(columns.get(i).getActualColumnName())).append('"');
+		}
+		return initializationString.append("))").toString(); //$NON-NLS-1$
+	}
+
 	private FullyQualifiedJavaType calculateFieldType(IntrospectedColumn column) {
 		FullyQualifiedJavaType typeParameter;
 		if (column.getFullyQualifiedJavaType().isPrimitive()) {
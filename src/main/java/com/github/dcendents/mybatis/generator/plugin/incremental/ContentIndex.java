@@ -0,0 +1,209 @@
+package com.github.dcendents.mybatis.generator.plugin.incremental;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.commons.lang3.StringUtils;
+import org.mybatis.generator.api.GeneratedJavaFile;
+import org.mybatis.generator.config.Context;
+
+/**
+ * On-disk index of the content hash of every file generated by a plugin, used to drop the files whose content did not
+ * change so they are not written again.
+ * <p>
+ * An unchanged file keeps its timestamp, which lets the incremental compilation of the build skip it. A file is only
+ * considered unchanged when the hash of the file on disk matches the generated content: the disk hash is recorded
+ * with the size and timestamp of the file once verified, and the file is read and hashed again whenever its size or
+ * timestamp differ. The index is saved before the generator writes the files, a file that failed to be written or was
+ * edited is therefore written again on the next run. Delete the index file to write all the files.
+ */
+@NoArgsConstructor
+@Slf4j
+public class ContentIndex {
+	public static final String SKIP_UNCHANGED_FILES = "skipUnchangedFiles";
+	public static final String INDEX_FILE = "contentIndexFile";
+
+	private static final String SEPARATOR = ",";
+
+	@Getter
+	private boolean enabled;
+	@Getter(AccessLevel.PACKAGE)
+	private File indexFile;
+
+	private Properties hashes = new Properties();
+
+	/**
+	 * Read the write avoidance properties of a plugin and load the index of the previous run.
+	 *
+	 * @param context
+	 *            the generator context
+	 * @param properties
+	 *            the plugin properties
+	 * @param pluginName
+	 *            the plugin name, used for the default index file name
+	 */
+	public void validate(Context context, Properties properties, String pluginName) {
+		enabled = Boolean.parseBoolean(properties.getProperty(SKIP_UNCHANGED_FILES));
+		hashes = new Properties();
+
+		if (enabled) {
+			String indexFileName = properties.getProperty(INDEX_FILE);
+			if (StringUtils.isBlank(indexFileName)) {
+				String targetProject = context.getJavaModelGeneratorConfiguration().getTargetProject();
+				indexFile = new File(new File(targetProject, FingerprintCache.DEFAULT_CACHE_DIRECTORY),
+						pluginName + "-" + context.getId() + "-content.properties");
+			} else {
+				indexFile = new File(indexFileName.trim());
+			}
+
+			load();
+		}
+	}
+
+	/**
+	 * Record the content of the generated files and keep only the ones that differ from the file on disk.
+	 *
+	 * @param files
+	 *            the generated files
+	 * @return the files to write, the same list when write avoidance is disabled
+	 */
+	public List<GeneratedJavaFile> changed(List<GeneratedJavaFile> files) {
+		if (!enabled) {
+			return files;
+		}
+
+		List<GeneratedJavaFile> changed = new ArrayList<>(files.size());
+		for (GeneratedJavaFile file : files) {
+			if (!isUnchanged(file)) {
+				changed.add(file);
+			}
+		}
+
+		return changed;
+	}
+
+	/**
+	 * Record the content of the generated files and keep only the ones that differ from the file on disk, the files
+	 * left as is are confirmed in the fingerprint cache so they are not considered outdated on the next run.
+	 *
+	 * @param files
+	 *            the generated files
+	 * @param fingerprints
+	 *            the fingerprint cache of the plugin
+	 * @return the files to write, the same list when write avoidance is disabled
+	 */
+	public List<GeneratedJavaFile> changed(List<GeneratedJavaFile> files, FingerprintCache fingerprints) {
+		List<GeneratedJavaFile> changed = changed(files);
+		if (changed.size() < files.size()) {
+			// the changed files are in the order of the generated files
+			int next = 0;
+			for (GeneratedJavaFile file : files) {
+				if (next < changed.size() && changed.get(next) == file) {
+					next++;
+				} else {
+					fingerprints.confirm(targetFile(file));
+				}
+			}
+		}
+
+		return changed;
+	}
+
+	private synchronized boolean isUnchanged(GeneratedJavaFile file) {
+		File target = targetFile(file);
+		String key = target.getPath().replace(File.separatorChar, '/');
+
+		String encoding = file.getFileEncoding();
+		Charset charset = StringUtils.isBlank(encoding) ? Charset.defaultCharset() : Charset.forName(encoding);
+		byte[] content = file.getFormattedContent().getBytes(charset);
+
+		String entry = hash(content) + SEPARATOR + content.length;
+		boolean unchanged = target.isFile() && target.length() == content.length
+				&& entry.equals(diskEntry(key, target));
+		// the timestamp is only recorded for a file verified on disk, a file to write is hashed again on the next run
+		hashes.setProperty(key, unchanged ? entry + SEPARATOR + target.lastModified() : entry);
+		log.debug("file [{}] unchanged: {}", key, unchanged);
+
+		return unchanged;
+	}
+
+	private String diskEntry(String key, File target) {
+		String[] recorded = StringUtils.split(hashes.getProperty(key, ""), SEPARATOR);
+		if (recorded.length == 3 && recorded[1].equals(String.valueOf(target.length()))
+				&& recorded[2].equals(String.valueOf(target.lastModified()))) {
+			// verified by a previous run and not modified since
+			return recorded[0] + SEPARATOR + recorded[1];
+		}
+
+		try {
+			byte[] disk = Files.readAllBytes(target.toPath());
+			return hash(disk) + SEPARATOR + disk.length;
+		} catch (IOException ex) {
+			log.debug("Could not read the file {}, it will be written", target, ex);
+			return null;
+		}
+	}
+
+	/**
+	 * Store the index, the entries of the files not generated during this run are kept.
+	 */
+	public synchronized void save() {
+		if (!enabled) {
+			return;
+		}
+
+		try {
+			File parent = indexFile.getAbsoluteFile().getParentFile();
+			if (parent != null) {
+				Files.createDirectories(parent.toPath());
+			}
+			try (OutputStream out = Files.newOutputStream(indexFile.toPath())) {
+				hashes.store(out, "mybatis-generator-plugins generated file hashes");
+			}
+		} catch (IOException ex) {
+			log.warn("Could not write the content index file {}", indexFile, ex);
+		}
+	}
+
+	private void load() {
+		if (!indexFile.isFile()) {
+			return;
+		}
+
+		try (InputStream in = Files.newInputStream(indexFile.toPath())) {
+			hashes.load(in);
+		} catch (IOException ex) {
+			log.warn("Could not read the content index file {}, all files will be written", indexFile, ex);
+			hashes = new Properties();
+		}
+	}
+
+	static File targetFile(GeneratedJavaFile file) {
+		return FingerprintCache.targetFile(file.getTargetProject(), file.getTargetPackage(), file.getFileName());
+	}
+
+	static String hash(byte[] content) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return String.format("%064x", new BigInteger(1, digest.digest(content)));
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
@@ -0,0 +1,398 @@
+package com.github.dcendents.mybatis.generator.plugin.incremental;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.config.CommentGeneratorConfiguration;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.JavaClientGeneratorConfiguration;
+import org.mybatis.generator.config.JavaModelGeneratorConfiguration;
+import org.mybatis.generator.config.JavaTypeResolverConfiguration;
+import org.mybatis.generator.config.PluginConfiguration;
+import org.mybatis.generator.config.SqlMapGeneratorConfiguration;
+
+/**
+ * On-disk cache of a fingerprint per generated file, used by the plugins to skip the artifacts of the tables that did
+ * not change since the previous run.
+ * <p>
+ * The fingerprint covers the table name and alias, every column (name, jdbc type, java type, type handler, size,
+ * nullability, primary key), the types computed for the table, the table properties, the configuration of the context
+ * generators and the properties of every plugin of the context. A file is only skipped when it still exists and was
+ * modified after its fingerprint was recorded, the cache is saved before the generator writes the files so a file that
+ * failed to be written is generated again on the next run. Delete the cache file to force a full regeneration.
+ */
+@NoArgsConstructor
+@Slf4j
+public class FingerprintCache {
+	public static final String INCREMENTAL = "incremental";
+	public static final String CACHE_FILE = "incrementalCacheFile";
+
+	static final String DEFAULT_CACHE_DIRECTORY = ".mybatis-generator";
+	/**
+	 * The recorded timestamps are rounded down to the coarsest file system timestamp resolution (FAT).
+	 */
+	static final long TIMESTAMP_RESOLUTION = 2000L;
+
+	private static final String SEPARATOR = "|";
+	private static final String TIMESTAMP_SEPARATOR = ",";
+
+	@Getter
+	private boolean enabled;
+	@Getter(AccessLevel.PACKAGE)
+	private File cacheFile;
+
+	private String settings;
+	private Properties previous = new Properties();
+	private Properties current = new Properties();
+
+	private final Map<IntrospectedTable, String> fingerprints = Collections
+			.synchronizedMap(new WeakHashMap<IntrospectedTable, String>());
+
+	/**
+	 * Read the incremental properties of a plugin and load the fingerprints of the previous run.
+	 *
+	 * @param context
+	 *            the generator context
+	 * @param properties
+	 *            the plugin properties
+	 * @param pluginName
+	 *            the plugin name, used for the default cache file name
+	 * @param warnings
+	 *            the generator warnings, incremental mode is turned off with a warning when the plugin configurations
+	 *            of the context cannot be read
+	 */
+	public void validate(Context context, Properties properties, String pluginName, List<String> warnings) {
+		enabled = Boolean.parseBoolean(properties.getProperty(INCREMENTAL));
+		previous = new Properties();
+		current = new Properties();
+		fingerprints.clear();
+
+		if (enabled) {
+			String cacheFileName = properties.getProperty(CACHE_FILE);
+			if (StringUtils.isBlank(cacheFileName)) {
+				String targetProject = context.getJavaModelGeneratorConfiguration().getTargetProject();
+				cacheFile = new File(new File(targetProject, DEFAULT_CACHE_DIRECTORY),
+						pluginName + "-" + context.getId() + ".properties");
+			} else {
+				cacheFile = new File(cacheFileName.trim());
+			}
+
+			List<PluginConfiguration> plugins = pluginConfigurations(context);
+			if (plugins == null) {
+				// without the other plugins the fingerprint would not see their configuration changes
+				warnings.add(String.format("The plugin configurations of context %s cannot be read, property %s "
+						+ "ignored for plugin %s", context.getId(), INCREMENTAL, pluginName));
+				disable();
+				return;
+			}
+
+			settings = settings(context, properties, plugins);
+			load();
+		}
+	}
+
+	/**
+	 * Turn the incremental mode off, every file is generated and the cache file is left untouched.
+	 */
+	public void disable() {
+		enabled = false;
+	}
+
+	/**
+	 * Check if a file generated for the table is up to date, recording the new fingerprint of the table for this file.
+	 *
+	 * @param introspectedTable
+	 *            the table
+	 * @param output
+	 *            the file generated for the table
+	 * @return true when incremental mode is enabled, the table did not change and the file was written after its
+	 *         fingerprint was recorded
+	 */
+	public boolean isUnchanged(IntrospectedTable introspectedTable, File output) {
+		if (!enabled) {
+			return false;
+		}
+
+		String fingerprint = fingerprints.get(introspectedTable);
+		if (fingerprint == null) {
+			fingerprint = fingerprint(introspectedTable, settings);
+			fingerprints.put(introspectedTable, fingerprint);
+		}
+
+		String key = key(output);
+		String entry = previous.getProperty(key);
+		boolean unchanged = false;
+		if (entry != null && entry.startsWith(fingerprint + TIMESTAMP_SEPARATOR)) {
+			long recordedAt = NumberUtils.toLong(entry.substring(fingerprint.length() + 1), Long.MAX_VALUE);
+			unchanged = output.isFile() && output.lastModified() >= recordedAt;
+		}
+
+		synchronized (this) {
+			// the timestamp of a file to generate is only known when the cache is saved
+			current.setProperty(key, unchanged ? entry : fingerprint);
+		}
+		log.debug("file [{}] of table [{}] unchanged: {}", key, introspectedTable.getFullyQualifiedTableNameAtRuntime(),
+				unchanged);
+
+		return unchanged;
+	}
+
+	/**
+	 * Record that a file generated for a changed table is already identical on disk and will not be written, so it is
+	 * not considered outdated on the next run.
+	 *
+	 * @param output
+	 *            the file left as is
+	 */
+	public synchronized void confirm(File output) {
+		if (!enabled || !output.isFile()) {
+			return;
+		}
+
+		String key = key(output);
+		String entry = current.getProperty(key);
+		if (entry != null && !entry.contains(TIMESTAMP_SEPARATOR)) {
+			current.setProperty(key, entry + TIMESTAMP_SEPARATOR + output.lastModified());
+		}
+	}
+
+	/**
+	 * Store the fingerprints of the files seen during this run, the files no longer generated are dropped.
+	 * <p>
+	 * The generator writes the files after the plugins are done, the files to generate are recorded with the current
+	 * time: a file that is not written by this run keeps an older timestamp and is generated again on the next run.
+	 */
+	public synchronized void save() {
+		if (!enabled) {
+			return;
+		}
+
+		String recordedAt = String.valueOf(System.currentTimeMillis() / TIMESTAMP_RESOLUTION * TIMESTAMP_RESOLUTION);
+		Properties entries = new Properties();
+		for (String key : current.stringPropertyNames()) {
+			String entry = current.getProperty(key);
+			entries.setProperty(key, entry.contains(TIMESTAMP_SEPARATOR) ? entry : entry + TIMESTAMP_SEPARATOR
+					+ recordedAt);
+		}
+
+		try {
+			File parent = cacheFile.getAbsoluteFile().getParentFile();
+			if (parent != null) {
+				Files.createDirectories(parent.toPath());
+			}
+			try (OutputStream out = Files.newOutputStream(cacheFile.toPath())) {
+				entries.store(out, "mybatis-generator-plugins file fingerprints");
+			}
+		} catch (IOException ex) {
+			log.warn("Could not write the fingerprint cache file {}", cacheFile, ex);
+		}
+	}
+
+	private void load() {
+		if (!cacheFile.isFile()) {
+			return;
+		}
+
+		try (InputStream in = Files.newInputStream(cacheFile.toPath())) {
+			previous.load(in);
+		} catch (IOException ex) {
+			log.warn("Could not read the fingerprint cache file {}, all tables will be generated", cacheFile, ex);
+			previous = new Properties();
+		}
+	}
+
+	/**
+	 * Compute the file the generator writes for a java type.
+	 *
+	 * @param targetProject
+	 *            the target project of the generator
+	 * @param type
+	 *            the fully qualified name of the type
+	 * @return the java file
+	 */
+	public static File javaFile(String targetProject, String type) {
+		FullyQualifiedJavaType javaType = new FullyQualifiedJavaType(type);
+		return targetFile(targetProject, javaType.getPackageName(), javaType.getShortNameWithoutTypeArguments()
+				+ ".java");
+	}
+
+	/**
+	 * Compute the file the generator writes for a generated file.
+	 *
+	 * @param targetProject
+	 *            the target project of the file
+	 * @param targetPackage
+	 *            the package of the file
+	 * @param fileName
+	 *            the name of the file
+	 * @return the file
+	 */
+	public static File targetFile(String targetProject, String targetPackage, String fileName) {
+		File directory = new File(targetProject);
+		if (StringUtils.isNotBlank(targetPackage)) {
+			directory = new File(directory, targetPackage.replace('.', File.separatorChar));
+		}
+
+		return new File(directory, fileName);
+	}
+
+	/**
+	 * Check that a plugin is configured after all the other plugins of the context, the plugins configured after a
+	 * plugin vetoing a file never see it.
+	 *
+	 * @param context
+	 *            the generator context
+	 * @param pluginClass
+	 *            the plugin class
+	 * @return true when the plugin is the last one, false when the plugin configurations cannot be read
+	 */
+	public static boolean isLastPlugin(Context context, Class<?> pluginClass) {
+		List<PluginConfiguration> configurations = pluginConfigurations(context);
+		return configurations != null && !configurations.isEmpty()
+				&& pluginClass.getName().equals(configurations.get(configurations.size() - 1).getConfigurationType());
+	}
+
+	/**
+	 * The context does not expose its plugin configurations, they are read from its field.
+	 *
+	 * @return the plugin configurations, null when they cannot be read
+	 */
+	@SuppressWarnings("unchecked")
+	static List<PluginConfiguration> pluginConfigurations(Context context) {
+		try {
+			Field field = Context.class.getDeclaredField("pluginConfigurations");
+			field.setAccessible(true);
+			Object configurations = field.get(context);
+			if (configurations instanceof List) {
+				return (List<PluginConfiguration>) configurations;
+			}
+		} catch (ReflectiveOperationException | RuntimeException ex) {
+			log.warn("Could not read the plugin configurations of the context", ex);
+		}
+
+		return null;
+	}
+
+	static String key(File output) {
+		return output.getPath().replace(File.separatorChar, '/');
+	}
+
+	static String settings(Context context, Properties properties, List<PluginConfiguration> plugins) {
+		StringBuilder sb = new StringBuilder(String.valueOf(context.getTargetRuntime()));
+		append(sb, properties);
+		append(sb, context.getProperties());
+
+		JavaModelGeneratorConfiguration model = context.getJavaModelGeneratorConfiguration();
+		if (model != null) {
+			sb.append(SEPARATOR).append(model.getTargetProject()).append(',').append(model.getTargetPackage());
+			append(sb, model.getProperties());
+		}
+		SqlMapGeneratorConfiguration sqlMap = context.getSqlMapGeneratorConfiguration();
+		if (sqlMap != null) {
+			sb.append(SEPARATOR).append(sqlMap.getTargetProject()).append(',').append(sqlMap.getTargetPackage());
+			append(sb, sqlMap.getProperties());
+		}
+		JavaClientGeneratorConfiguration client = context.getJavaClientGeneratorConfiguration();
+		if (client != null) {
+			sb.append(SEPARATOR).append(client.getTargetProject()).append(',').append(client.getTargetPackage());
+			sb.append(',').append(client.getConfigurationType());
+			append(sb, client.getProperties());
+		}
+		CommentGeneratorConfiguration comments = context.getCommentGeneratorConfiguration();
+		if (comments != null) {
+			sb.append(SEPARATOR).append(comments.getConfigurationType());
+			append(sb, comments.getProperties());
+		}
+		JavaTypeResolverConfiguration typeResolver = context.getJavaTypeResolverConfiguration();
+		if (typeResolver != null) {
+			sb.append(SEPARATOR).append(typeResolver.getConfigurationType());
+			append(sb, typeResolver.getProperties());
+		}
+
+		for (PluginConfiguration plugin : plugins) {
+			sb.append(SEPARATOR).append(plugin.getConfigurationType());
+			append(sb, plugin.getProperties());
+		}
+
+		return sb.toString();
+	}
+
+	private static void append(StringBuilder sb, Properties properties) {
+		if (properties == null) {
+			return;
+		}
+
+		Map<String, String> sorted = new TreeMap<>();
+		for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+			sorted.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+		}
+		for (Map.Entry<String, String> entry : sorted.entrySet()) {
+			sb.append(SEPARATOR).append(entry.getKey()).append('=').append(entry.getValue());
+		}
+	}
+
+	static String fingerprint(IntrospectedTable introspectedTable, String settings) {
+		StringBuilder sb = new StringBuilder(settings);
+		sb.append(SEPARATOR).append(introspectedTable.getFullyQualifiedTableNameAtRuntime());
+		if (introspectedTable.getFullyQualifiedTable() != null) {
+			sb.append(SEPARATOR).append(introspectedTable.getFullyQualifiedTable().getAlias());
+		}
+		// the types computed for the table include the renames of the other plugins
+		sb.append(SEPARATOR).append(introspectedTable.getBaseRecordType());
+		sb.append(',').append(introspectedTable.getPrimaryKeyType());
+		sb.append(',').append(introspectedTable.getRecordWithBLOBsType());
+		sb.append(',').append(introspectedTable.getExampleType());
+		sb.append(',').append(introspectedTable.getMyBatis3JavaMapperType());
+		sb.append(',').append(introspectedTable.getMyBatis3XmlMapperPackage());
+		sb.append(',').append(introspectedTable.getMyBatis3XmlMapperFileName());
+		if (introspectedTable.getTableConfiguration() != null) {
+			append(sb, introspectedTable.getTableConfiguration().getProperties());
+		}
+
+		for (IntrospectedColumn column : introspectedTable.getAllColumns()) {
+			sb.append(SEPARATOR).append(column.getActualColumnName());
+			sb.append(',').append(column.getJdbcTypeName());
+			sb.append(',').append(column.getFullyQualifiedJavaType());
+			sb.append(',').append(column.getTypeHandler());
+			sb.append(',').append(column.getJavaProperty());
+			sb.append(',').append(column.getLength());
+			sb.append(',').append(column.getScale());
+			sb.append(',').append(column.isNullable());
+			sb.append(',').append(column.isIdentity());
+			sb.append(',').append(introspectedTable.getPrimaryKeyColumns().contains(column));
+		}
+
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			byte[] hash = digest.digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+			return String.format("%064x", new BigInteger(1, hash));
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
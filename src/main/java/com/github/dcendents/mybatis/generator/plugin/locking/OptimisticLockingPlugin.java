@@ -1,44 +1,87 @@
 package com.github.dcendents.mybatis.generator.plugin.locking;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import lombok.NoArgsConstructor;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.mybatis.generator.api.IntrospectedColumn;
 import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.IntrospectedTable.TargetRuntime;
 import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
 import org.mybatis.generator.api.dom.java.Interface;
 import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
 import org.mybatis.generator.api.dom.java.TopLevelClass;
+import org.mybatis.generator.internal.util.JavaBeansUtil;
 
+import com.github.dcendents.mybatis.generator.plugin.table.TableMatcher;
+
+import static com.github.dcendents.mybatis.generator.plugin.client.MapperSupport.dynamicSqlSupportType;
 import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
 
 /**
  * Mybatis generator plugin to add update statements with optimistic locking.
+ * <p>
+ * The update sets the lock column in SQL, incrementing numeric columns by default, so a concurrent update of the
+ * same version fails the check. A batch variant updates a list of records and returns the ones that failed the
+ * check, it uses a single round-trip per <code>batchSize</code> records when the mapper belongs to a session with
+ * the BATCH executor.
+ * <p>
+ * With the MyBatis3DynamicSql target runtime the update is built with the <code>UpdateDSL</code> and the columns of
+ * the generated support class, a selective variant only sets the non null fields of the record.
  */
 @NoArgsConstructor
 public class OptimisticLockingPlugin extends PluginAdapter {
 	public static final String TABLE_NAME = "fullyQualifiedTableName";
 	public static final String LOCK_COLUMN = "lockColumn";
 	public static final String LOCK_COLUMN_FUNCTION = "lockColumnFunction";
+	public static final String LOCK_COLUMN_UPDATE = "lockColumnUpdate";
+	public static final String BATCH_SIZE = "batchSize";
+
+	public static final int DEFAULT_BATCH_SIZE = 1000;
 
-	private String tableName;
+	private TableMatcher tableMatcher;
 	private String lockColumn;
 	private String lockColumnFunction;
+	private String lockColumnUpdate;
+	private int batchSize;
+	private List<String> warnings = new ArrayList<>();
+	private final Set<String> neverUpdatedTables = new HashSet<>();
 
 	static final String METHOD_SUFFIX = "WithOptimisticLocking";
+	static final String DYNAMIC_SQL_METHOD_NAME = "updateByPrimaryKey" + METHOD_SUFFIX;
+	static final String DYNAMIC_SQL_SELECTIVE_METHOD_NAME = "updateByPrimaryKeySelective" + METHOD_SUFFIX;
+	static final String BATCH_METHOD_SUFFIX = "Batch";
+	static final String FLUSH_METHOD_NAME = "flushStatements";
+
+	private static final List<String> NUMERIC_TYPES = Arrays.asList("int", "long", "short", "java.lang.Integer",
+			"java.lang.Long", "java.lang.Short", "java.math.BigInteger", "java.math.BigDecimal");
 
 	@Override
 	public boolean validate(List<String> warnings) {
-		tableName = properties.getProperty(TABLE_NAME);
+		// the type of the lock column is only known once the tables are introspected, it is checked by the hooks
+		this.warnings = warnings;
+		neverUpdatedTables.clear();
+
+		String tableName = properties.getProperty(TABLE_NAME);
 		lockColumn = properties.getProperty(LOCK_COLUMN);
 		lockColumnFunction = properties.getProperty(LOCK_COLUMN_FUNCTION);
+		lockColumnUpdate = properties.getProperty(LOCK_COLUMN_UPDATE);
 
 		String warning = "Property %s not set for plugin %s";
 		if (!stringHasValue(tableName)) {
 			warnings.add(String.format(warning, TABLE_NAME, this.getClass().getSimpleName()));
+		} else {
+			tableMatcher = TableMatcher.of(tableName);
 		}
 		if (!stringHasValue(lockColumn)) {
 			warnings.add(String.format(warning, LOCK_COLUMN, this.getClass().getSimpleName()));
@@ -48,25 +91,122 @@ public class OptimisticLockingPlugin extends PluginAdapter {
 			lockColumnFunction = lockColumn;
 		}
 
-		return stringHasValue(tableName) && stringHasValue(lockColumn);
+		boolean validBatchSize = true;
+		batchSize = DEFAULT_BATCH_SIZE;
+		String batchSizeString = properties.getProperty(BATCH_SIZE);
+		if (!StringUtils.isBlank(batchSizeString)) {
+			batchSize = NumberUtils.toInt(batchSizeString.trim());
+			if (batchSize < 1) {
+				warnings.add(String.format("Property %s must be a positive number for plugin %s", BATCH_SIZE, this
+						.getClass().getSimpleName()));
+				validBatchSize = false;
+			}
+		}
+
+		return stringHasValue(tableName) && stringHasValue(lockColumn) && validBatchSize;
 	}
 
 	boolean tableMatches(IntrospectedTable introspectedTable) {
-		return tableName.equals(introspectedTable.getFullyQualifiedTableNameAtRuntime())
-				|| Pattern.matches(tableName, introspectedTable.getFullyQualifiedTableNameAtRuntime());
+		return tableMatcher.matches(introspectedTable);
 	}
 
 	@Override
 	public boolean clientUpdateByPrimaryKeyWithoutBLOBsMethodGenerated(Method method, Interface interfaze, IntrospectedTable introspectedTable) {
-		if (tableMatches(introspectedTable)) {
+		if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3_DSQL) {
+			addDynamicSqlMethods(interfaze, introspectedTable);
+		} else if (tableMatches(introspectedTable)) {
 			Method withLock = addMethod(method, introspectedTable);
 			interfaze.addMethod(withLock);
+			if (withLock.getParameters().size() == 1) {
+				addBatchMethods(withLock, interfaze, introspectedTable);
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	public boolean clientUpdateByPrimaryKeyWithBLOBsMethodGenerated(Method method, Interface interfaze, IntrospectedTable introspectedTable) {
+		// the dynamic sql runtime reports its single updateByPrimaryKey method through this hook
+		if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3_DSQL) {
+			addDynamicSqlMethods(interfaze, introspectedTable);
 		}
 
 		return true;
 	}
 
-	
+	void addDynamicSqlMethods(Interface interfaze, IntrospectedTable introspectedTable) {
+		IntrospectedColumn lock = getColumn(introspectedTable);
+		if (!tableMatches(introspectedTable) || lock == null || introspectedTable.getPrimaryKeyColumns().isEmpty()) {
+			return;
+		}
+		for (Method method : interfaze.getMethods()) {
+			if (DYNAMIC_SQL_METHOD_NAME.equals(method.getName())) {
+				return;
+			}
+		}
+
+		FullyQualifiedJavaType recordType = new FullyQualifiedJavaType(introspectedTable.getBaseRecordType());
+		FullyQualifiedJavaType supportType = dynamicSqlSupportType(interfaze, introspectedTable);
+		interfaze.addImportedType(recordType);
+		interfaze.addImportedType(supportType);
+		interfaze.addImportedType(new FullyQualifiedJavaType("org.mybatis.dynamic.sql.SqlBuilder"));
+		interfaze.addImportedType(new FullyQualifiedJavaType("org.mybatis.dynamic.sql.update.UpdateDSL"));
+
+		Method withLock = dynamicSqlMethod(DYNAMIC_SQL_METHOD_NAME, "equalTo", recordType, supportType, lock,
+				interfaze, introspectedTable);
+		interfaze.addMethod(withLock);
+		interfaze.addMethod(dynamicSqlMethod(DYNAMIC_SQL_SELECTIVE_METHOD_NAME, "equalToWhenPresent", recordType,
+				supportType, lock, interfaze, introspectedTable));
+		addBatchMethods(withLock, interfaze, introspectedTable);
+	}
+
+	/**
+	 * The lock column function is a raw SQL fragment, it cannot be applied to the column of the where clause of the
+	 * dsl, the lock column is compared directly.
+	 */
+	private Method dynamicSqlMethod(String name, String setter, FullyQualifiedJavaType recordType,
+			FullyQualifiedJavaType supportType, IntrospectedColumn lock, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		String support = supportType.getShortName();
+		String update = checkedLockColumnUpdate(lock, introspectedTable);
+
+		Method method = new Method(name);
+		method.setDefault(true);
+		method.setReturnType(FullyQualifiedJavaType.getIntInstance());
+		method.addParameter(new Parameter(recordType, "record"));
+		context.getCommentGenerator().addGeneralMethodAnnotation(method, introspectedTable, interfaze.getImportedTypes());
+
+		method.addBodyLine(String.format("return UpdateDSL.updateWithMapper(this::update, %s.%s)", support,
+				JavaBeansUtil.getValidPropertyName(introspectedTable.getFullyQualifiedTable().getDomainObjectName())));
+		for (IntrospectedColumn column : introspectedTable.getNonPrimaryKeyColumns()) {
+			if (column.isGeneratedAlways()) {
+				continue;
+			}
+			if (column == lock && update != null) {
+				method.addBodyLine(String.format(".set(%s.%s).equalToConstant(\"%s\")", support,
+						column.getJavaProperty(), update));
+			} else {
+				method.addBodyLine(String.format(".set(%s.%s).%s(record::%s)", support, column.getJavaProperty(),
+						setter, getter(column)));
+			}
+		}
+
+		List<IntrospectedColumn> conditions = new ArrayList<>(introspectedTable.getPrimaryKeyColumns());
+		conditions.add(lock);
+		for (int i = 0; i < conditions.size(); i++) {
+			IntrospectedColumn column = conditions.get(i);
+			method.addBodyLine(String.format(".%s(%s.%s, SqlBuilder.isEqualTo(record::%s))", i == 0 ? "where" : "and",
+					support, column.getJavaProperty(), getter(column)));
+		}
+		method.addBodyLine(".build()");
+		method.addBodyLine(".execute();");
+		return method;
+	}
+
+	private String getter(IntrospectedColumn column) {
+		return JavaBeansUtil.getGetterMethodName(column.getJavaProperty(), column.getFullyQualifiedJavaType());
+	}
 
 	Method addMethod(Method method, IntrospectedTable introspectedTable) {
 		IntrospectedColumn column = getColumn(introspectedTable);
@@ -76,7 +216,15 @@ public class OptimisticLockingPlugin extends PluginAdapter {
 
 		withLock.getAnnotations().clear();
 
+		String update = checkedLockColumnUpdate(column, introspectedTable);
+		Pattern assignment = Pattern.compile("(\\W" + Pattern.quote(lockColumn) + " = )#\\{[^}]*\\}");
+
 		for (String line : method.getAnnotations()) {
+			Matcher matcher = assignment.matcher(line);
+			if (update != null && matcher.find()) {
+				line = matcher.replaceFirst("$1" + Matcher.quoteReplacement(update));
+			}
+
 			if (line.matches("\\s*\".*\"\\s*")) {
 				withLock.getAnnotations().add(line + ",");
 
@@ -91,6 +239,143 @@ public class OptimisticLockingPlugin extends PluginAdapter {
 		return withLock;
 	}
 
+	/**
+	 * @return the expression assigned to the lock column, null to keep the value of the record
+	 */
+	String lockColumnUpdate(IntrospectedColumn column) {
+		if (!StringUtils.isBlank(lockColumnUpdate)) {
+			return lockColumnUpdate;
+		}
+		if (column != null && column.getFullyQualifiedJavaType() != null
+				&& NUMERIC_TYPES.contains(column.getFullyQualifiedJavaType().getFullyQualifiedName())) {
+			return lockColumn + " + 1";
+		}
+		return null;
+	}
+
+	/**
+	 * @return the expression assigned to the lock column, a warning is reported once per table when the lock column
+	 *         is never updated
+	 */
+	private String checkedLockColumnUpdate(IntrospectedColumn column, IntrospectedTable introspectedTable) {
+		String update = lockColumnUpdate(column);
+		String tableName = introspectedTable.getFullyQualifiedTableNameAtRuntime();
+		if (update == null && neverUpdatedTables.add(tableName)) {
+			warnings.add(String.format("Column %s of table %s is not numeric and property %s is not set for plugin %s, "
+					+ "the lock column is never updated", lockColumn, tableName, LOCK_COLUMN_UPDATE, this.getClass()
+					.getSimpleName()));
+		}
+		return update;
+	}
+
+	/**
+	 * Add a default method applying the optimistic locking update to a list of records. With the BATCH executor the
+	 * update returns a placeholder and the counts are read from the flushed statements, with the other executors the
+	 * update returns the count directly. The generated javadoc states that the pending statements of the session are
+	 * flushed and their results discarded.
+	 */
+	void addBatchMethods(Method withLock, Interface interfaze, IntrospectedTable introspectedTable) {
+		FullyQualifiedJavaType recordType = withLock.getParameters().get(0).getType();
+		FullyQualifiedJavaType listType = FullyQualifiedJavaType.getNewListInstance();
+		listType.addTypeArgument(recordType);
+		FullyQualifiedJavaType batchResult = new FullyQualifiedJavaType("org.apache.ibatis.executor.BatchResult");
+		FullyQualifiedJavaType batchResults = FullyQualifiedJavaType.getNewListInstance();
+		batchResults.addTypeArgument(batchResult);
+
+		interfaze.addImportedType(listType);
+		interfaze.addImportedType(batchResult);
+		interfaze.addImportedType(new FullyQualifiedJavaType("java.util.ArrayList"));
+		interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.Flush"));
+
+		boolean hasFlush = false;
+		for (Method method : interfaze.getMethods()) {
+			hasFlush |= FLUSH_METHOD_NAME.equals(method.getName());
+		}
+		if (!hasFlush) {
+			Method flush = new Method(FLUSH_METHOD_NAME);
+			flush.setReturnType(batchResults);
+			context.getCommentGenerator().addGeneralMethodAnnotation(flush, introspectedTable,
+					interfaze.getImportedTypes());
+			flush.addAnnotation("@Flush");
+			interfaze.addMethod(flush);
+		}
+
+		String record = recordType.getShortName();
+		Method method = new Method(withLock.getName() + BATCH_METHOD_SUFFIX);
+		method.setDefault(true);
+		method.setReturnType(listType);
+		method.addParameter(new Parameter(listType, "records"));
+		method.addJavaDocLine("/**");
+		method.addJavaDocLine(" * Updates the records with optimistic locking.");
+		method.addJavaDocLine(" * <p>");
+		method.addJavaDocLine(" * With the BATCH executor this method flushes the statements of the session and");
+		method.addJavaDocLine(" * only reads the results of its own updates, the results of the statements pending");
+		method.addJavaDocLine(String.format(" * before the call are discarded: flush them with {@link #%s()} first",
+				FLUSH_METHOD_NAME));
+		method.addJavaDocLine(" * if their counts are needed.");
+		method.addJavaDocLine(" *");
+		method.addJavaDocLine(" * @return the records failing the version check");
+		method.addJavaDocLine(" */");
+		context.getCommentGenerator().addGeneralMethodAnnotation(method, introspectedTable, interfaze.getImportedTypes());
+
+		if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3_DSQL) {
+			addDynamicSqlBatchBody(method, withLock, record);
+			interfaze.addMethod(method);
+			return;
+		}
+
+		method.addBodyLine(String.format("List<%s> conflicts = new ArrayList<>();", record));
+		method.addBodyLine(String.format("for (int i = 0; i < records.size(); i += %d) {", batchSize));
+		method.addBodyLine(String.format("for (%s record : records.subList(i, Math.min(i + %d, records.size()))) {",
+				record, batchSize));
+		method.addBodyLine(String.format("if (%s(record) == 0) {", withLock.getName()));
+		method.addBodyLine("conflicts.add(record);");
+		method.addBodyLine("}");
+		method.addBodyLine("}");
+		method.addBodyLine(String.format("for (BatchResult result : %s()) {", FLUSH_METHOD_NAME));
+		method.addBodyLine(String.format("if (result.getMappedStatement().getId().endsWith(\".%s\")) {",
+				withLock.getName()));
+		method.addBodyLine("int[] counts = result.getUpdateCounts();");
+		method.addBodyLine("for (int j = 0; j < counts.length; j++) {");
+		method.addBodyLine("if (counts[j] == 0) {");
+		method.addBodyLine(String.format("conflicts.add((%s) result.getParameterObjects().get(j));", record));
+		method.addBodyLine("}");
+		method.addBodyLine("}");
+		method.addBodyLine("}");
+		method.addBodyLine("}");
+		method.addBodyLine("}");
+		method.addBodyLine("return conflicts;");
+		interfaze.addMethod(method);
+	}
+
+	/**
+	 * The dynamic sql statements are passed to the shared <code>update</code> method with a statement provider as
+	 * parameter, the counts are matched to the records by position after flushing the pending statements.
+	 */
+	private void addDynamicSqlBatchBody(Method method, Method withLock, String record) {
+		method.addBodyLine(String.format("List<%s> conflicts = new ArrayList<>();", record));
+		method.addBodyLine(String.format("%s();", FLUSH_METHOD_NAME));
+		method.addBodyLine(String.format("for (int i = 0; i < records.size(); i += %d) {", batchSize));
+		method.addBodyLine(String.format("List<%s> chunk = records.subList(i, Math.min(i + %d, records.size()));",
+				record, batchSize));
+		method.addBodyLine(String.format("for (%s record : chunk) {", record));
+		method.addBodyLine(String.format("if (%s(record) == 0) {", withLock.getName()));
+		method.addBodyLine("conflicts.add(record);");
+		method.addBodyLine("}");
+		method.addBodyLine("}");
+		method.addBodyLine("int index = 0;");
+		method.addBodyLine(String.format("for (BatchResult result : %s()) {", FLUSH_METHOD_NAME));
+		method.addBodyLine("for (int count : result.getUpdateCounts()) {");
+		method.addBodyLine("if (count == 0) {");
+		method.addBodyLine("conflicts.add(chunk.get(index));");
+		method.addBodyLine("}");
+		method.addBodyLine("index++;");
+		method.addBodyLine("}");
+		method.addBodyLine("}");
+		method.addBodyLine("}");
+		method.addBodyLine("return conflicts;");
+	}
+
 	IntrospectedColumn getColumn(IntrospectedTable introspectedTable) {
 		for (IntrospectedColumn column : introspectedTable.getAllColumns()) {
 			if (lockColumn.equals(column.getActualColumnName())) {
@@ -1,7 +1,6 @@
 package com.github.dcendents.mybatis.generator.plugin.model;
 
 import java.util.List;
-import java.util.regex.Pattern;
 
 import lombok.NoArgsConstructor;
 
@@ -10,6 +9,8 @@ import org.mybatis.generator.api.PluginAdapter;
 import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
 import org.mybatis.generator.api.dom.java.TopLevelClass;
 
+import com.github.dcendents.mybatis.generator.plugin.table.TableMatcher;
+
 import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
 
 /**
@@ -20,17 +21,19 @@ public class AlterModelPlugin extends PluginAdapter {
 	public static final String TABLE_NAME = "fullyQualifiedTableName";
 	public static final String ADD_INTERFACES = "addInterfaces";
 
-	private String tableName;
+	private TableMatcher tableMatcher;
 	private String[] addInterfaces;
 
 	@Override
 	public boolean validate(List<String> warnings) {
-		tableName = properties.getProperty(TABLE_NAME);
+		String tableName = properties.getProperty(TABLE_NAME);
 		String interfacesString = properties.getProperty(ADD_INTERFACES);
 
 		String warning = "Property %s not set for plugin %s";
 		if (!stringHasValue(tableName)) {
 			warnings.add(String.format(warning, TABLE_NAME, this.getClass().getSimpleName()));
+		} else {
+			tableMatcher = TableMatcher.of(tableName);
 		}
 		if (!stringHasValue(interfacesString)) {
 			warnings.add(String.format(warning, ADD_INTERFACES, this.getClass().getSimpleName()));
@@ -42,8 +45,7 @@ public class AlterModelPlugin extends PluginAdapter {
 	}
 
 	private boolean tableMatches(IntrospectedTable introspectedTable) {
-		return tableName.equals(introspectedTable.getFullyQualifiedTableNameAtRuntime())
-				|| Pattern.matches(tableName, introspectedTable.getFullyQualifiedTableNameAtRuntime());
+		return tableMatcher.matches(introspectedTable);
 	}
 
 	@Override
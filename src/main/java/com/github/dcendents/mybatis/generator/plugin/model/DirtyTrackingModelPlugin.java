@@ -0,0 +1,373 @@
+package com.github.dcendents.mybatis.generator.plugin.model;
+
+import static com.github.dcendents.mybatis.generator.plugin.client.MapperSupport.dynamicSqlSupportType;
+import static com.github.dcendents.mybatis.generator.plugin.client.MapperSupport.isAnnotatedMapper;
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getEscapedColumnName;
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getParameterClause;
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getRenamedColumnNameForResultMap;
+import static org.mybatis.generator.internal.util.StringUtility.escapeStringForJava;
+import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.NoArgsConstructor;
+
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.IntrospectedTable.TargetRuntime;
+import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.dom.java.Field;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.JavaVisibility;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.java.TopLevelClass;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.Document;
+import org.mybatis.generator.api.dom.xml.TextElement;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.internal.util.JavaBeansUtil;
+
+import com.github.dcendents.mybatis.generator.plugin.table.TableMatcher;
+
+/**
+ * Mybatis generator plugin to track the modified columns of the generated models.
+ * <p>
+ * The setters of the non key columns mark their column as dirty in a bit mask, the
+ * <code>updateChangedByPrimaryKey</code> mapper method only sets the dirty columns, null values included, and clears
+ * the mask once the row is updated. Only the models holding all the columns of their table are supported (no
+ * primary key or BLOBs classes), with the MyBatis3 (xml mapper) and MyBatis3DynamicSql target runtimes.
+ * <p>
+ * MyBatis fills the loaded records through their setters. The result maps of the table end with an extra mapping of
+ * the first key column to a private setter clearing the mask: MyBatis applies the mappings in order, so the records
+ * are clean once loaded.
+ */
+@NoArgsConstructor
+public class DirtyTrackingModelPlugin extends PluginAdapter {
+	public static final String TABLE_NAME = "fullyQualifiedTableName";
+
+	/**
+	 * The attribute set to true on the tracked tables, for the plugins generating code that loads their records.
+	 */
+	public static final String TRACKED_ATTRIBUTE = DirtyTrackingModelPlugin.class.getName() + ".tracked";
+
+	static final String FIELD_NAME = "dirtyColumns";
+	static final String METHOD_NAME = "updateChangedByPrimaryKey";
+	static final String STATEMENT_METHOD_NAME = "updateChangedByPrimaryKeyStatement";
+	static final String LOADED_PROPERTY = "dirtyColumnsLoaded";
+
+	/**
+	 * The number of columns tracked with a long, a BitSet is used beyond.
+	 */
+	static final int MASK_SIZE = 64;
+
+	private TableMatcher tableMatcher;
+
+	@Override
+	public boolean validate(List<String> warnings) {
+		String tableName = properties.getProperty(TABLE_NAME);
+
+		if (!stringHasValue(tableName)) {
+			warnings.add(String.format("Property %s not set for plugin %s", TABLE_NAME, this.getClass()
+					.getSimpleName()));
+			return false;
+		}
+		tableMatcher = TableMatcher.of(tableName);
+
+		return true;
+	}
+
+	/**
+	 * @return true if the model of the table is tracked: the table matches, has a primary key and other columns, and
+	 *         its base record holds all the columns
+	 */
+	boolean isTracked(IntrospectedTable introspectedTable) {
+		return tableMatcher.matches(introspectedTable)
+				&& !introspectedTable.getPrimaryKeyColumns().isEmpty()
+				&& !trackedColumns(introspectedTable).isEmpty()
+				&& introspectedTable.getBaseRecordType().equals(
+						introspectedTable.getRules().calculateAllFieldsClass().getFullyQualifiedName());
+	}
+
+	/**
+	 * @return the tracked columns, their position is their index in the mask
+	 */
+	List<IntrospectedColumn> trackedColumns(IntrospectedTable introspectedTable) {
+		List<IntrospectedColumn> columns = new ArrayList<>();
+		for (IntrospectedColumn column : introspectedTable.getNonPrimaryKeyColumns()) {
+			if (!column.isGeneratedAlways()) {
+				columns.add(column);
+			}
+		}
+		return columns;
+	}
+
+	private boolean isBitSet(IntrospectedTable introspectedTable) {
+		return trackedColumns(introspectedTable).size() > MASK_SIZE;
+	}
+
+	@Override
+	public void initialized(IntrospectedTable introspectedTable) {
+		if (isTracked(introspectedTable)) {
+			introspectedTable.setAttribute(TRACKED_ATTRIBUTE, Boolean.TRUE);
+		}
+	}
+
+	@Override
+	public boolean modelBaseRecordClassGenerated(TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
+		if (!isTracked(introspectedTable)) {
+			return true;
+		}
+
+		boolean bitSet = isBitSet(introspectedTable);
+		FullyQualifiedJavaType bitSetType = new FullyQualifiedJavaType("java.util.BitSet");
+
+		Field field = new Field(FIELD_NAME, bitSet ? bitSetType : new FullyQualifiedJavaType("long"));
+		field.setVisibility(JavaVisibility.PRIVATE);
+		if (bitSet) {
+			topLevelClass.addImportedType(bitSetType);
+			field.setFinal(true);
+			field.setInitializationString("new BitSet()");
+		}
+		context.getCommentGenerator().addFieldComment(field, introspectedTable);
+		topLevelClass.addField(field);
+
+		Method hasDirty = new Method("hasDirtyColumns");
+		hasDirty.setVisibility(JavaVisibility.PUBLIC);
+		hasDirty.setReturnType(FullyQualifiedJavaType.getBooleanPrimitiveInstance());
+		hasDirty.addBodyLine(bitSet ? "return !dirtyColumns.isEmpty();" : "return dirtyColumns != 0;");
+		context.getCommentGenerator().addGeneralMethodComment(hasDirty, introspectedTable);
+		topLevelClass.addMethod(hasDirty);
+
+		Method isDirty = new Method("isDirtyColumn");
+		isDirty.setVisibility(JavaVisibility.PUBLIC);
+		isDirty.setReturnType(FullyQualifiedJavaType.getBooleanPrimitiveInstance());
+		isDirty.addParameter(new Parameter(FullyQualifiedJavaType.getIntInstance(), "index"));
+		isDirty.addBodyLine(bitSet ? "return dirtyColumns.get(index);" : "return (dirtyColumns & 1L << index) != 0;");
+		context.getCommentGenerator().addGeneralMethodComment(isDirty, introspectedTable);
+		topLevelClass.addMethod(isDirty);
+
+		Method clear = new Method("clearDirty");
+		clear.setVisibility(JavaVisibility.PUBLIC);
+		clear.addBodyLine(bitSet ? "dirtyColumns.clear();" : "dirtyColumns = 0;");
+		context.getCommentGenerator().addGeneralMethodComment(clear, introspectedTable);
+		topLevelClass.addMethod(clear);
+
+		// only called by MyBatis, after the setters of the loaded columns
+		Method loaded = new Method(JavaBeansUtil.getSetterMethodName(LOADED_PROPERTY));
+		loaded.setVisibility(JavaVisibility.PRIVATE);
+		loaded.addParameter(new Parameter(FullyQualifiedJavaType.getObjectInstance(), "key"));
+		loaded.addBodyLine("clearDirty();");
+		context.getCommentGenerator().addGeneralMethodComment(loaded, introspectedTable);
+		topLevelClass.addMethod(loaded);
+
+		return true;
+	}
+
+	@Override
+	public boolean modelSetterMethodGenerated(Method method, TopLevelClass topLevelClass,
+			IntrospectedColumn introspectedColumn, IntrospectedTable introspectedTable, ModelClassType modelClassType) {
+		if (modelClassType != ModelClassType.BASE_RECORD || !isTracked(introspectedTable)) {
+			return true;
+		}
+
+		int index = trackedColumns(introspectedTable).indexOf(introspectedColumn);
+		if (index >= 0) {
+			method.addBodyLine(isBitSet(introspectedTable) ? String.format("dirtyColumns.set(%d);", index) : String
+					.format("dirtyColumns |= 1L << %d;", index));
+		}
+
+		return true;
+	}
+
+	@Override
+	public boolean sqlMapResultMapWithoutBLOBsElementGenerated(XmlElement element, IntrospectedTable introspectedTable) {
+		addLoadedResult(element, introspectedTable);
+		return true;
+	}
+
+	/**
+	 * The result map with BLOBs extends the base one when both are generated, MyBatis appends the mappings of the base
+	 * result map: the extra mapping is only added to the base result map to remain the last one.
+	 */
+	@Override
+	public boolean sqlMapResultMapWithBLOBsElementGenerated(XmlElement element, IntrospectedTable introspectedTable) {
+		if (!introspectedTable.getRules().generateBaseResultMap()) {
+			addLoadedResult(element, introspectedTable);
+		}
+		return true;
+	}
+
+	private void addLoadedResult(XmlElement element, IntrospectedTable introspectedTable) {
+		if (introspectedTable.getTargetRuntime() != TargetRuntime.MYBATIS3 || isAnnotatedMapper(context)
+				|| !isTracked(introspectedTable)) {
+			return;
+		}
+
+		XmlElement result = new XmlElement("result");
+		result.addAttribute(new Attribute("column", getRenamedColumnNameForResultMap(introspectedTable
+				.getPrimaryKeyColumns().get(0))));
+		result.addAttribute(new Attribute("property", LOADED_PROPERTY));
+		element.addElement(result);
+	}
+
+	/**
+	 * The other select methods of the dynamic sql mappers reference the result map declared on this method.
+	 */
+	@Override
+	public boolean clientBasicSelectManyMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		if (introspectedTable.getTargetRuntime() != TargetRuntime.MYBATIS3_DSQL || !isTracked(introspectedTable)) {
+			return true;
+		}
+
+		List<String> annotations = method.getAnnotations();
+		boolean inResultsAnnotation = false;
+		for (int i = 0; i < annotations.size(); i++) {
+			if (annotations.get(i).startsWith("@Results(")) {
+				inResultsAnnotation = true;
+			} else if (inResultsAnnotation && annotations.get(i).equals("})")) {
+				annotations.set(i - 1, annotations.get(i - 1) + ",");
+				annotations.add(i, String.format("    @Result(column=\"%s\", property=\"%s\", javaType=Object.class)",
+						escapeStringForJava(getRenamedColumnNameForResultMap(introspectedTable
+								.getPrimaryKeyColumns().get(0))), LOADED_PROPERTY));
+				break;
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	public boolean clientUpdateByPrimaryKeySelectiveMethodGenerated(Method method, Interface interfaze,
+			IntrospectedTable introspectedTable) {
+		if (!isTracked(introspectedTable)) {
+			return true;
+		}
+
+		FullyQualifiedJavaType recordType = new FullyQualifiedJavaType(introspectedTable.getBaseRecordType());
+		interfaze.addImportedType(recordType);
+
+		if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3_DSQL) {
+			interfaze.addMethod(dynamicSqlMethod(interfaze, introspectedTable, recordType));
+		} else if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3 && !isAnnotatedMapper(context)) {
+			Method statement = new Method(STATEMENT_METHOD_NAME);
+			statement.setReturnType(FullyQualifiedJavaType.getIntInstance());
+			statement.addParameter(new Parameter(recordType, "record"));
+			context.getCommentGenerator().addGeneralMethodAnnotation(statement, introspectedTable,
+					interfaze.getImportedTypes());
+			interfaze.addMethod(statement);
+
+			Method update = updateMethod(interfaze, introspectedTable, recordType);
+			update.addBodyLine(String.format("int rows = %s(record);", STATEMENT_METHOD_NAME));
+			addClearDirty(update);
+			interfaze.addMethod(update);
+		}
+
+		return true;
+	}
+
+	private Method updateMethod(Interface interfaze, IntrospectedTable introspectedTable,
+			FullyQualifiedJavaType recordType) {
+		Method method = new Method(METHOD_NAME);
+		method.setDefault(true);
+		method.setReturnType(FullyQualifiedJavaType.getIntInstance());
+		method.addParameter(new Parameter(recordType, "record"));
+		context.getCommentGenerator().addGeneralMethodAnnotation(method, introspectedTable, interfaze.getImportedTypes());
+
+		// without dirty column the set clause would be empty
+		method.addBodyLine("if (!record.hasDirtyColumns()) {");
+		method.addBodyLine("return 0;");
+		method.addBodyLine("}");
+		return method;
+	}
+
+	/**
+	 * The batch executor returns a placeholder instead of the count, the caller clears the mask after the flush.
+	 */
+	private void addClearDirty(Method method) {
+		method.addBodyLine("if (rows > 0) {");
+		method.addBodyLine("record.clearDirty();");
+		method.addBodyLine("}");
+		method.addBodyLine("return rows;");
+	}
+
+	private Method dynamicSqlMethod(Interface interfaze, IntrospectedTable introspectedTable,
+			FullyQualifiedJavaType recordType) {
+		FullyQualifiedJavaType supportType = dynamicSqlSupportType(interfaze, introspectedTable);
+		FullyQualifiedJavaType adapterType = new FullyQualifiedJavaType(
+				"org.mybatis.dynamic.sql.update.MyBatis3UpdateModelAdapter");
+		adapterType.addTypeArgument(new FullyQualifiedJavaType("java.lang.Integer"));
+		FullyQualifiedJavaType dslType = new FullyQualifiedJavaType("org.mybatis.dynamic.sql.update.UpdateDSL");
+		dslType.addTypeArgument(adapterType);
+		interfaze.addImportedType(supportType);
+		interfaze.addImportedType(dslType);
+		interfaze.addImportedType(new FullyQualifiedJavaType("org.mybatis.dynamic.sql.SqlBuilder"));
+
+		String support = supportType.getShortName();
+		Method method = updateMethod(interfaze, introspectedTable, recordType);
+		method.addBodyLine(String.format("%s update = UpdateDSL.updateWithMapper(this::update, %s.%s);",
+				dslType.getShortName(), support, JavaBeansUtil.getValidPropertyName(introspectedTable
+						.getFullyQualifiedTable().getDomainObjectName())));
+		List<IntrospectedColumn> columns = trackedColumns(introspectedTable);
+		for (int i = 0; i < columns.size(); i++) {
+			IntrospectedColumn column = columns.get(i);
+			method.addBodyLine(String.format("if (record.isDirtyColumn(%d)) {", i));
+			method.addBodyLine(String.format("update.set(%s.%s).equalTo(record::%s);", support,
+					column.getJavaProperty(), getter(column)));
+			method.addBodyLine("}");
+		}
+
+		StringBuilder where = new StringBuilder("int rows = update");
+		List<IntrospectedColumn> keys = introspectedTable.getPrimaryKeyColumns();
+		for (int i = 0; i < keys.size(); i++) {
+			where.append(String.format(".%s(%s.%s, SqlBuilder.isEqualTo(record::%s))", i == 0 ? "where" : "and",
+					support, keys.get(i).getJavaProperty(), getter(keys.get(i))));
+		}
+		method.addBodyLine(where.append(".build().execute();").toString());
+		addClearDirty(method);
+		return method;
+	}
+
+	private String getter(IntrospectedColumn column) {
+		return JavaBeansUtil.getGetterMethodName(column.getJavaProperty(), column.getFullyQualifiedJavaType());
+	}
+
+	@Override
+	public boolean sqlMapDocumentGenerated(Document document, IntrospectedTable introspectedTable) {
+		if (introspectedTable.getTargetRuntime() != TargetRuntime.MYBATIS3 || isAnnotatedMapper(context)
+				|| !isTracked(introspectedTable)) {
+			return true;
+		}
+
+		XmlElement element = new XmlElement("update");
+		element.addAttribute(new Attribute("id", STATEMENT_METHOD_NAME));
+		element.addAttribute(new Attribute("parameterType", introspectedTable.getBaseRecordType()));
+		context.getCommentGenerator().addComment(element);
+
+		element.addElement(new TextElement("update " + introspectedTable.getFullyQualifiedTableNameAtRuntime()));
+		XmlElement set = new XmlElement("set");
+		List<IntrospectedColumn> columns = trackedColumns(introspectedTable);
+		for (int i = 0; i < columns.size(); i++) {
+			XmlElement ifDirty = new XmlElement("if");
+			ifDirty.addAttribute(new Attribute("test", String.format("_parameter.isDirtyColumn(%d)", i)));
+			ifDirty.addElement(new TextElement(String.format("%s = %s,", getEscapedColumnName(columns.get(i)),
+					getParameterClause(columns.get(i)))));
+			set.addElement(ifDirty);
+		}
+		element.addElement(set);
+
+		List<IntrospectedColumn> keys = introspectedTable.getPrimaryKeyColumns();
+		for (int i = 0; i < keys.size(); i++) {
+			element.addElement(new TextElement(String.format("%s %s = %s", i == 0 ? "where" : "and",
+					getEscapedColumnName(keys.get(i)), getParameterClause(keys.get(i)))));
+		}
+
+		document.getRootElement().addElement(element);
+
+		return true;
+	}
+
+}
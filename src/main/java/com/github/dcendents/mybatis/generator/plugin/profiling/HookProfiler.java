@@ -0,0 +1,207 @@
+package com.github.dcendents.mybatis.generator.plugin.profiling;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.mybatis.generator.api.Plugin;
+import org.mybatis.generator.config.Context;
+
+/**
+ * Records the call count, cumulative wall time and allocated bytes of every hook of the instrumented plugins.
+ * <p>
+ * A single profiler is shared by all the plugins of a context, so the report covers all of them. Allocated bytes are
+ * only available on JVMs exposing the per thread allocation counter, they are reported as 0 otherwise.
+ */
+@Slf4j
+public class HookProfiler {
+
+	private static final Map<Context, HookProfiler> PROFILERS = Collections
+			.synchronizedMap(new WeakHashMap<Context, HookProfiler>());
+
+	private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+	private static final Method ALLOCATED_BYTES = allocatedBytesMethod();
+
+	private final Map<String, HookStatistics> statistics = new LinkedHashMap<>();
+
+	/**
+	 * Get the profiler shared by the plugins of the given context.
+	 *
+	 * @param context
+	 *            the generator context
+	 * @return the profiler
+	 */
+	public static HookProfiler of(Context context) {
+		synchronized (PROFILERS) {
+			HookProfiler profiler = PROFILERS.get(context);
+			if (profiler == null) {
+				profiler = new HookProfiler();
+				PROFILERS.put(context, profiler);
+			}
+			return profiler;
+		}
+	}
+
+	private static Method allocatedBytesMethod() {
+		try {
+			Class<?> beanClass = Class.forName("com.sun.management.ThreadMXBean");
+			if (beanClass.isInstance(THREAD_BEAN)) {
+				Method method = beanClass.getMethod("getThreadAllocatedBytes", long.class);
+				method.setAccessible(true);
+				return method;
+			}
+		} catch (ReflectiveOperationException | RuntimeException ex) {
+			log.debug("thread allocated bytes not available", ex);
+		}
+		return null;
+	}
+
+	static long allocatedBytes() {
+		if (ALLOCATED_BYTES != null) {
+			try {
+				return (Long) ALLOCATED_BYTES.invoke(THREAD_BEAN, Thread.currentThread().getId());
+			} catch (ReflectiveOperationException | RuntimeException ex) {
+				log.debug("could not read thread allocated bytes", ex);
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Wrap a plugin so that all its hooks are measured.
+	 *
+	 * @param plugin
+	 *            the plugin to measure
+	 * @param name
+	 *            the name of the plugin in the report
+	 * @return the instrumented plugin
+	 */
+	public Plugin instrument(final Plugin plugin, final String name) {
+		InvocationHandler handler = new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				if (method.getDeclaringClass() == Object.class) {
+					return method.invoke(plugin, args);
+				}
+
+				long bytes = allocatedBytes();
+				long start = System.nanoTime();
+				try {
+					return method.invoke(plugin, args);
+				} catch (InvocationTargetException ex) {
+					throw ex.getCause();
+				} finally {
+					record(name, hookName(method), System.nanoTime() - start, allocatedBytes() - bytes);
+				}
+			}
+		};
+
+		return (Plugin) Proxy.newProxyInstance(Plugin.class.getClassLoader(), new Class<?>[] { Plugin.class }, handler);
+	}
+
+	/**
+	 * @return the name of the hook with the simple names of its parameter types, to tell the overloads apart, e.g.
+	 *         <code>initialized(IntrospectedTable)</code>
+	 */
+	static String hookName(Method method) {
+		StringBuilder sb = new StringBuilder(method.getName()).append('(');
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		for (int i = 0; i < parameterTypes.length; i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append(parameterTypes[i].getSimpleName());
+		}
+		return sb.append(')').toString();
+	}
+
+	void record(String plugin, String hook, long nanos, long bytes) {
+		String key = plugin + "#" + hook;
+		HookStatistics hookStatistics;
+		synchronized (statistics) {
+			hookStatistics = statistics.get(key);
+			if (hookStatistics == null) {
+				hookStatistics = new HookStatistics(plugin, hook);
+				statistics.put(key, hookStatistics);
+			}
+		}
+		hookStatistics.record(nanos, bytes);
+	}
+
+	/**
+	 * @return the statistics of every hook called so far, in the order of their first call
+	 */
+	public List<HookStatistics> getStatistics() {
+		synchronized (statistics) {
+			return new ArrayList<>(statistics.values());
+		}
+	}
+
+	/**
+	 * Write the report, in json if the file name ends with {@code .json} and in csv otherwise.
+	 *
+	 * @param reportFile
+	 *            the report file
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	public void writeReport(File reportFile) throws IOException {
+		File parent = reportFile.getAbsoluteFile().getParentFile();
+		if (parent != null) {
+			Files.createDirectories(parent.toPath());
+		}
+
+		try (Writer writer = Files.newBufferedWriter(reportFile.toPath(), StandardCharsets.UTF_8)) {
+			if (reportFile.getName().endsWith(".json")) {
+				writeJson(writer);
+			} else {
+				writeCsv(writer);
+			}
+		}
+	}
+
+	void writeCsv(Writer writer) throws IOException {
+		writer.write("plugin,hook,calls,wallTimeNanos,allocatedBytes\n");
+		for (HookStatistics hook : getStatistics()) {
+			writer.write(String.format("%s,%s,%d,%d,%d%n", hook.getPlugin(), csvValue(hook.getHook()), hook.getCalls(),
+					hook.getWallTimeNanos(), hook.getAllocatedBytes()));
+		}
+	}
+
+	private static String csvValue(String value) {
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+			return value;
+		}
+		return "\"" + value.replace("\"", "\"\"") + "\"";
+	}
+
+	void writeJson(Writer writer) throws IOException {
+		writer.write("[");
+		String separator = "\n";
+		for (HookStatistics hook : getStatistics()) {
+			writer.write(separator);
+			writer.write(String.format(
+					"  {\"plugin\": \"%s\", \"hook\": \"%s\", \"calls\": %d, \"wallTimeNanos\": %d, \"allocatedBytes\": %d}",
+					hook.getPlugin(), hook.getHook(), hook.getCalls(), hook.getWallTimeNanos(), hook.getAllocatedBytes()));
+			separator = ",\n";
+		}
+		writer.write("\n]\n");
+	}
+
+}
@@ -0,0 +1,28 @@
+package com.github.dcendents.mybatis.generator.plugin.profiling;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Accumulated measures of one hook of one plugin.
+ */
+@RequiredArgsConstructor
+@Getter
+public class HookStatistics {
+
+	private final String plugin;
+	private final String hook;
+
+	private long calls;
+	private long wallTimeNanos;
+	private long allocatedBytes;
+
+	synchronized void record(long nanos, long bytes) {
+		calls++;
+		wallTimeNanos += nanos;
+		if (bytes > 0) {
+			allocatedBytes += bytes;
+		}
+	}
+
+}
@@ -0,0 +1,101 @@
+package com.github.dcendents.mybatis.generator.plugin.profiling;
+
+import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.mybatis.generator.api.GeneratedXmlFile;
+import org.mybatis.generator.api.Plugin;
+import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.config.PluginConfiguration;
+import org.mybatis.generator.internal.ObjectFactory;
+import org.mybatis.generator.internal.PluginAggregator;
+
+/**
+ * Mybatis generator plugin to measure the hooks of another plugin.
+ * <p>
+ * The measured plugin is created with all the properties not used by this plugin and takes its place in the plugin
+ * chain. The report of all the measured plugins of the context is written at the end of the context.
+ */
+@NoArgsConstructor
+@Slf4j
+public class ProfilingPlugin extends PluginAdapter {
+	public static final String PLUGIN = "plugin";
+	public static final String REPORT_FILE = "reportFile";
+
+	static final String DEFAULT_REPORT_DIRECTORY = ".mybatis-generator";
+
+	private HookProfiler profiler;
+	private File reportFile;
+
+	@Override
+	public boolean validate(List<String> warnings) {
+		String pluginClassName = properties.getProperty(PLUGIN);
+
+		if (!stringHasValue(pluginClassName)) {
+			warnings.add(String.format("Property %s not set for plugin %s", PLUGIN, this.getClass().getSimpleName()));
+			return false;
+		}
+		if (!(context.getPlugins() instanceof PluginAggregator)) {
+			warnings.add(String.format("Plugins of the context cannot be instrumented by plugin %s", this.getClass()
+					.getSimpleName()));
+			return false;
+		}
+
+		PluginConfiguration configuration = new PluginConfiguration();
+		configuration.setConfigurationType(pluginClassName.trim());
+		for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+			String key = (String) entry.getKey();
+			if (!PLUGIN.equals(key) && !REPORT_FILE.equals(key)) {
+				configuration.addProperty(key, (String) entry.getValue());
+			}
+		}
+
+		Plugin plugin;
+		try {
+			plugin = ObjectFactory.createPlugin(context, configuration);
+		} catch (RuntimeException ex) {
+			warnings.add(String.format("Could not create plugin %s in plugin %s", pluginClassName, this.getClass()
+					.getSimpleName()));
+			return false;
+		}
+		if (!plugin.validate(warnings)) {
+			return false;
+		}
+
+		String reportFileName = properties.getProperty(REPORT_FILE);
+		if (stringHasValue(reportFileName)) {
+			reportFile = new File(reportFileName.trim());
+		} else {
+			reportFile = new File(new File(context.getJavaModelGeneratorConfiguration().getTargetProject(),
+					DEFAULT_REPORT_DIRECTORY), "profile-" + context.getId() + ".csv");
+		}
+
+		profiler = HookProfiler.of(context);
+		((PluginAggregator) context.getPlugins()).addPlugin(profiler.instrument(plugin, plugin.getClass()
+				.getSimpleName()));
+
+		return true;
+	}
+
+	/**
+	 * Last hook called for the context, write the report of all the plugins measured so far.
+	 */
+	@Override
+	public List<GeneratedXmlFile> contextGenerateAdditionalXmlFiles() {
+		try {
+			profiler.writeReport(reportFile);
+		} catch (IOException ex) {
+			log.warn("Could not write the profiling report {}", reportFile, ex);
+		}
+
+		return super.contextGenerateAdditionalXmlFiles();
+	}
+
+}
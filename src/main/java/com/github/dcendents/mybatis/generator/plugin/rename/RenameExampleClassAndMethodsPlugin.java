@@ -42,6 +42,9 @@ public class RenameExampleClassAndMethodsPlugin extends PluginAdapter {
 	private String parameterReplaceString;
 	private Pattern parameterPattern;
 
+	private IntrospectedTable idColumnsTable;
+	private Pattern idColumnsPattern;
+
 	@Override
 	public boolean validate(List<String> warnings) {
 
@@ -136,6 +139,25 @@ public class RenameExampleClassAndMethodsPlugin extends PluginAdapter {
 	 *            the element
 	 */
 	void removeIdColumns(IntrospectedTable introspectedTable, XmlElement element) {
+		// the update statements of a table are processed one after the other, compile its matcher only once
+		if (introspectedTable != idColumnsTable) {
+			idColumnsPattern = compileUpdates(idColumnUpdates(introspectedTable));
+			idColumnsTable = introspectedTable;
+		}
+
+		if (idColumnsPattern != null) {
+			removeIdColumns(idColumnsPattern, element, null, -1);
+		}
+	}
+
+	/**
+	 * Build the set clause fragments of the id columns of the table.
+	 *
+	 * @param introspectedTable
+	 *            the table
+	 * @return the set clause fragments
+	 */
+	List<String> idColumnUpdates(IntrospectedTable introspectedTable) {
 		List<String> updates = new ArrayList<>();
 
 		String alias = introspectedTable.getTableConfiguration().getAlias();
@@ -154,9 +176,30 @@ public class RenameExampleClassAndMethodsPlugin extends PluginAdapter {
 			updates.add(update);
 		}
 
-		if (!updates.isEmpty()) {
-			removeIdColumns(updates, element, null, -1);
+		return updates;
+	}
+
+	/**
+	 * Compile the set clause fragments into a single pattern matching any of them.
+	 *
+	 * @param updates
+	 *            the set clause fragments
+	 * @return the pattern, null if there is nothing to match
+	 */
+	static Pattern compileUpdates(List<String> updates) {
+		if (updates == null || updates.isEmpty()) {
+			return null;
 		}
+
+		StringBuilder regex = new StringBuilder();
+		for (String update : updates) {
+			if (regex.length() > 0) {
+				regex.append('|');
+			}
+			regex.append(Pattern.quote(update));
+		}
+
+		return Pattern.compile(regex.toString());
 	}
 
 	/**
@@ -164,7 +207,7 @@ public class RenameExampleClassAndMethodsPlugin extends PluginAdapter {
 	 * id column.
 	 *
 	 * @param updates
-	 *            the update statements
+	 *            the pattern of the update statements
 	 * @param element
 	 *            the element
 	 * @param parent
@@ -172,17 +215,19 @@ public class RenameExampleClassAndMethodsPlugin extends PluginAdapter {
 	 * @param index
 	 *            the index of the element in the parent list
 	 */
-	void removeIdColumns(List<String> updates, Element element, XmlElement parent, int index) {
-		log.debug("element type: {}", element.getClass().getSimpleName());
-		log.debug("element: {}", element.getFormattedContent(0));
+	void removeIdColumns(Pattern updates, Element element, XmlElement parent, int index) {
+		if (log.isDebugEnabled()) {
+			log.debug("element type: {}", element.getClass().getSimpleName());
+			log.debug("element: {}", element.getFormattedContent(0));
+		}
 
 		if (element instanceof TextElement) {
 			TextElement textElement = (TextElement) element;
-			for (String update : updates) {
-				if (textElement.getContent().contains(update)) {
-					TextElement newElement = new TextElement(textElement.getContent().replace(update, ""));
-					parent.getElements().set(index, newElement);
-				}
+			Matcher matcher = updates.matcher(textElement.getContent());
+			if (matcher.find()) {
+				// all the id columns of the text are removed at once
+				TextElement newElement = new TextElement(matcher.replaceAll(""));
+				parent.getElements().set(index, newElement);
 			}
 		} else if (element instanceof XmlElement) {
 			XmlElement xmlElement = (XmlElement) element;
@@ -2,9 +2,10 @@ package com.github.dcendents.mybatis.generator.plugin.subpackage;
 
 import java.util.List;
 
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.mybatis.generator.api.GeneratedJavaFile;
+import org.mybatis.generator.api.GeneratedXmlFile;
 import org.mybatis.generator.api.IntrospectedTable;
 import org.mybatis.generator.api.PluginAdapter;
 import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
@@ -16,10 +17,16 @@ import org.mybatis.generator.api.dom.xml.Attribute;
 import org.mybatis.generator.api.dom.xml.Document;
 import org.mybatis.generator.api.dom.xml.XmlElement;
 
+import com.github.dcendents.mybatis.generator.plugin.incremental.FingerprintCache;
+
 /**
  * Mybatis generator plugin to rename the generated files (extensible design).
+ * <p>
+ * When incremental mode is enabled, the files of the tables that did not change since the previous run are not
+ * written again. The files are skipped by vetoing them and the plugins configured after this one never see a vetoed
+ * file, so incremental mode requires this plugin to be the last plugin of the context: it is disabled with a warning
+ * otherwise.
  */
-@AllArgsConstructor
 @Slf4j
 public class CreateSubPackagePlugin extends PluginAdapter {
 	public static final String MODEL_PACKAGE_PROPERTY = "modelSubPackage";
@@ -36,10 +43,19 @@ public class CreateSubPackagePlugin extends PluginAdapter {
 	private RenameProperties mapperProperties;
 	private RenameProperties exampleProperties;
 
+	private final FingerprintCache fingerprints = new FingerprintCache();
+
+	private TypeRewriter annotationRewriter = TypeRewriter.of();
+
 	public CreateSubPackagePlugin() {
-		modelProperties = new RenameProperties();
-		mapperProperties = new RenameProperties();
-		exampleProperties = new RenameProperties();
+		this(new RenameProperties(), new RenameProperties(), new RenameProperties());
+	}
+
+	public CreateSubPackagePlugin(RenameProperties modelProperties, RenameProperties mapperProperties,
+			RenameProperties exampleProperties) {
+		this.modelProperties = modelProperties;
+		this.mapperProperties = mapperProperties;
+		this.exampleProperties = exampleProperties;
 	}
 
 	@Override
@@ -50,6 +66,12 @@ public class CreateSubPackagePlugin extends PluginAdapter {
 				properties.getProperty(MAPPER_CLASS_SUFFIX_PROPERTY));
 		exampleProperties.validate(properties.getProperty(EXAMPLE_PACKAGE_PROPERTY),
 				properties.getProperty(EXAMPLE_CLASS_SUFFIX_PROPERTY));
+		fingerprints.validate(context, properties, this.getClass().getSimpleName(), warnings);
+		if (fingerprints.isEnabled() && !FingerprintCache.isLastPlugin(context, this.getClass())) {
+			warnings.add(String.format("Property %s requires plugin %s to be the last plugin of the context, ignored",
+					FingerprintCache.INCREMENTAL, this.getClass().getSimpleName()));
+			fingerprints.disable();
+		}
 
 		return modelProperties.isEnabled() || mapperProperties.isEnabled() || exampleProperties.isEnabled();
 	}
@@ -60,6 +82,9 @@ public class CreateSubPackagePlugin extends PluginAdapter {
 		introspectedTable.setMyBatis3JavaMapperType(mapperProperties.setTypes(introspectedTable
 				.getMyBatis3JavaMapperType()));
 		introspectedTable.setExampleType(exampleProperties.setTypes(introspectedTable.getExampleType()));
+
+		// the model and mapper types of this table are replaced in one pass over the annotation lines
+		annotationRewriter = TypeRewriter.of(modelProperties, mapperProperties);
 	}
 
 	/**
@@ -86,8 +111,7 @@ public class CreateSubPackagePlugin extends PluginAdapter {
 			}
 		}
 
-		modelProperties.renameAnnotations(method.getAnnotations());
-		mapperProperties.renameAnnotations(method.getAnnotations());
+		annotationRewriter.rewrite(method.getAnnotations());
 
 		return true;
 	}
@@ -165,7 +189,9 @@ public class CreateSubPackagePlugin extends PluginAdapter {
 			interfaze.addImportedType(modelType);
 		}
 
-		return true;
+		return !fingerprints.isEnabled() || !fingerprints.isUnchanged(introspectedTable, FingerprintCache.javaFile(
+				context.getJavaClientGeneratorConfiguration().getTargetProject(),
+				introspectedTable.getMyBatis3JavaMapperType()));
 	}
 
 	@Override
@@ -233,6 +259,39 @@ public class CreateSubPackagePlugin extends PluginAdapter {
 		if (modelProperties.isEnabled()) {
 			topLevelClass.setAbstract(true);
 		}
-		return true;
+		return isGenerated(introspectedTable, topLevelClass);
+	}
+
+	@Override
+	public boolean modelPrimaryKeyClassGenerated(TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
+		return isGenerated(introspectedTable, topLevelClass);
+	}
+
+	@Override
+	public boolean modelRecordWithBLOBsClassGenerated(TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
+		return isGenerated(introspectedTable, topLevelClass);
+	}
+
+	@Override
+	public boolean modelExampleClassGenerated(TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
+		return isGenerated(introspectedTable, topLevelClass);
+	}
+
+	@Override
+	public boolean sqlMapGenerated(GeneratedXmlFile sqlMap, IntrospectedTable introspectedTable) {
+		return !fingerprints.isEnabled() || !fingerprints.isUnchanged(introspectedTable, FingerprintCache.targetFile(
+				sqlMap.getTargetProject(), sqlMap.getTargetPackage(), sqlMap.getFileName()));
+	}
+
+	private boolean isGenerated(IntrospectedTable introspectedTable, TopLevelClass topLevelClass) {
+		return !fingerprints.isEnabled() || !fingerprints.isUnchanged(introspectedTable, FingerprintCache.javaFile(
+				context.getJavaModelGeneratorConfiguration().getTargetProject(),
+				topLevelClass.getType().getFullyQualifiedName()));
+	}
+
+	@Override
+	public List<GeneratedJavaFile> contextGenerateAdditionalJavaFiles() {
+		fingerprints.save();
+		return super.contextGenerateAdditionalJavaFiles();
 	}
 }
@@ -28,6 +28,13 @@ public class RenameProperties {
 	private String originalType;
 	private String newType;
 
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private TypeRewriter annotationRewriter;
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private String rewrittenType;
+
 	public void validate(String theSubPpackage, String theClassSuffix) {
 		enabled = theSubPpackage != null || theClassSuffix != null;
 
@@ -75,15 +82,12 @@ public class RenameProperties {
 	}
 
 	public void renameAnnotations(List<String> lines) {
-		if (lines != null) {
-			for (int i = 0; i < lines.size(); i++) {
-				String line = lines.get(i);
-				while (line.contains(newType)) {
-					line = line.replace(newType, originalType);
-					log.debug("set new annotation line: [{}] -> [{}]", lines.get(i), line);
-					lines.set(i, line);
-				}
-			}
+		// the automaton is only rebuilt when the types change
+		String key = enabled + ":" + newType + ":" + originalType;
+		if (annotationRewriter == null || !key.equals(rewrittenType)) {
+			annotationRewriter = TypeRewriter.of(this);
+			rewrittenType = key;
 		}
+		annotationRewriter.rewrite(lines);
 	}
 }
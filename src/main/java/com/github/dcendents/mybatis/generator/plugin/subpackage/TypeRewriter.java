@@ -0,0 +1,206 @@
+package com.github.dcendents.mybatis.generator.plugin.subpackage;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replaces the new types of several {@link RenameProperties} by their original types in a single pass over the text.
+ * <p>
+ * The types are compiled once in an Aho-Corasick automaton, the transitions of a node are kept in sorted arrays of
+ * primitive chars and looked up with a binary search so scanning the text does not box each character. When several types match at the same position the longest
+ * one wins, and the text is returned as is (no copy) when nothing matches.
+ */
+@Slf4j
+public final class TypeRewriter {
+
+	private static final class Node {
+		private static final char[] NO_KEYS = new char[0];
+		private static final Node[] NO_CHILDREN = new Node[0];
+
+		/** sorted characters of the transitions, the children are at the same index. */
+		private char[] keys = NO_KEYS;
+		private Node[] children = NO_CHILDREN;
+		private final int depth;
+		private Node fail;
+		/** type ending at this node, if any. */
+		private String type;
+		/** next node on the fail chain that ends a type. */
+		private Node output;
+
+		private Node(int depth) {
+			this.depth = depth;
+		}
+
+		private Node child(char c) {
+			int index = Arrays.binarySearch(keys, c);
+			return index >= 0 ? children[index] : null;
+		}
+
+		private Node addChild(char c) {
+			int index = Arrays.binarySearch(keys, c);
+			if (index >= 0) {
+				return children[index];
+			}
+
+			int insertion = -index - 1;
+			char[] newKeys = new char[keys.length + 1];
+			Node[] newChildren = new Node[children.length + 1];
+			System.arraycopy(keys, 0, newKeys, 0, insertion);
+			System.arraycopy(children, 0, newChildren, 0, insertion);
+			System.arraycopy(keys, insertion, newKeys, insertion + 1, keys.length - insertion);
+			System.arraycopy(children, insertion, newChildren, insertion + 1, children.length - insertion);
+			newKeys[insertion] = c;
+			newChildren[insertion] = new Node(depth + 1);
+			keys = newKeys;
+			children = newChildren;
+			return newChildren[insertion];
+		}
+	}
+
+	private final Node root = new Node(0);
+	private final Map<String, String> replacements = new HashMap<>();
+
+	private TypeRewriter() {
+		super();
+	}
+
+	/**
+	 * Build the rewriter for the enabled properties.
+	 *
+	 * @param properties
+	 *            the rename properties, with their types set
+	 * @return the rewriter
+	 */
+	public static TypeRewriter of(RenameProperties... properties) {
+		TypeRewriter rewriter = new TypeRewriter();
+		for (RenameProperties property : properties) {
+			if (property.isEnabled() && property.getNewType() != null && !property.getNewType().isEmpty()) {
+				rewriter.add(property.getNewType(), property.getOriginalType());
+			}
+		}
+		rewriter.link();
+		return rewriter;
+	}
+
+	private void add(String type, String replacement) {
+		Node node = root;
+		for (int i = 0; i < type.length(); i++) {
+			node = node.addChild(type.charAt(i));
+		}
+		node.type = type;
+		replacements.put(type, replacement);
+	}
+
+	private void link() {
+		Queue<Node> queue = new ArrayDeque<>();
+		for (Node child : root.children) {
+			child.fail = root;
+			queue.add(child);
+		}
+
+		while (!queue.isEmpty()) {
+			Node node = queue.remove();
+			for (int i = 0; i < node.keys.length; i++) {
+				Node child = node.children[i];
+				child.fail = transition(node.fail, node.keys[i]);
+				child.output = child.fail.type != null ? child.fail : child.fail.output;
+				queue.add(child);
+			}
+		}
+	}
+
+	private Node transition(Node from, char c) {
+		Node node = from;
+		while (true) {
+			Node child = node.child(c);
+			if (child != null) {
+				return child;
+			}
+			if (node == root) {
+				return root;
+			}
+			node = node.fail;
+		}
+	}
+
+	/**
+	 * Replace all the new types in the text.
+	 *
+	 * @param text
+	 *            the text
+	 * @return the rewritten text, the same instance if no type was found
+	 */
+	public String rewrite(String text) {
+		if (text == null || replacements.isEmpty()) {
+			return text;
+		}
+
+		StringBuilder sb = null;
+		int copied = 0;
+		int pendingStart = -1;
+		String pendingType = null;
+
+		Node node = root;
+		for (int i = 0; i < text.length(); i++) {
+			node = transition(node, text.charAt(i));
+
+			// no match can start at or before the pending one anymore
+			if (pendingType != null && i + 1 - node.depth > pendingStart) {
+				if (sb == null) {
+					sb = new StringBuilder(text.length());
+				}
+				sb.append(text, copied, pendingStart).append(replacements.get(pendingType));
+				copied = pendingStart + pendingType.length();
+				pendingType = null;
+			}
+
+			for (Node match = node.type != null ? node : node.output; match != null; match = match.output) {
+				int start = i + 1 - match.depth;
+				if (start >= copied && (pendingType == null || start < pendingStart
+						|| (start == pendingStart && match.depth > pendingType.length()))) {
+					pendingStart = start;
+					pendingType = match.type;
+				}
+			}
+		}
+
+		if (pendingType != null) {
+			if (sb == null) {
+				sb = new StringBuilder(text.length());
+			}
+			sb.append(text, copied, pendingStart).append(replacements.get(pendingType));
+			copied = pendingStart + pendingType.length();
+		}
+
+		if (sb == null) {
+			return text;
+		}
+		return sb.append(text, copied, text.length()).toString();
+	}
+
+	/**
+	 * Replace all the new types in each line, only the modified lines are set in the list.
+	 *
+	 * @param lines
+	 *            the lines
+	 */
+	public void rewrite(List<String> lines) {
+		if (lines != null) {
+			for (int i = 0; i < lines.size(); i++) {
+				String line = lines.get(i);
+				String newLine = rewrite(line);
+				if (newLine != line) {
+					log.debug("set new annotation line: [{}] -> [{}]", line, newLine);
+					lines.set(i, newLine);
+				}
+			}
+		}
+	}
+
+}
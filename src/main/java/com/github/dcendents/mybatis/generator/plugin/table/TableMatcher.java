@@ -0,0 +1,86 @@
+package com.github.dcendents.mybatis.generator.plugin.table;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import org.mybatis.generator.api.IntrospectedTable;
+
+/**
+ * Matches tables against a fullyQualifiedTableName plugin property, either the exact table name or a regex expression.
+ * <p>
+ * Matchers are shared by all the plugins configured with the same expression: the regex is compiled once and the
+ * result is remembered for each introspected table.
+ */
+public final class TableMatcher {
+
+	private static final ConcurrentMap<String, TableMatcher> MATCHERS = new ConcurrentHashMap<>();
+
+	@Getter
+	private final String expression;
+	@Getter(AccessLevel.PACKAGE)
+	private final Pattern pattern;
+
+	private final Map<IntrospectedTable, Boolean> matches = Collections
+			.synchronizedMap(new WeakHashMap<IntrospectedTable, Boolean>());
+
+	private TableMatcher(String expression) {
+		this.expression = expression;
+		this.pattern = compile(expression);
+	}
+
+	private static Pattern compile(String expression) {
+		try {
+			return Pattern.compile(expression);
+		} catch (PatternSyntaxException ex) {
+			// not a regex, only the exact table name will match
+			return null;
+		}
+	}
+
+	/**
+	 * Get the shared matcher for the given expression.
+	 *
+	 * @param expression
+	 *            the table name or regex expression
+	 * @return the matcher
+	 */
+	public static TableMatcher of(String expression) {
+		TableMatcher matcher = MATCHERS.get(expression);
+		if (matcher == null) {
+			matcher = new TableMatcher(expression);
+			TableMatcher existing = MATCHERS.putIfAbsent(expression, matcher);
+			if (existing != null) {
+				matcher = existing;
+			}
+		}
+
+		return matcher;
+	}
+
+	public boolean matches(IntrospectedTable introspectedTable) {
+		Boolean match = matches.get(introspectedTable);
+		if (match == null) {
+			match = matches(introspectedTable.getFullyQualifiedTableNameAtRuntime());
+			matches.put(introspectedTable, match);
+		}
+
+		return match;
+	}
+
+	public boolean matches(String tableName) {
+		if (tableName == null) {
+			return false;
+		}
+
+		return expression.equals(tableName) || (pattern != null && pattern.matcher(tableName).matches());
+	}
+
+}
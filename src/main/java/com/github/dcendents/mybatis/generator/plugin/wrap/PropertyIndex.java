@@ -0,0 +1,134 @@
+package com.github.dcendents.mybatis.generator.plugin.wrap;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+
+/**
+ * The public getters and setters of a java bean, collected with a single scan of its methods.
+ * <p>
+ * The index is built once per class and shared by all the plugins, so resolving the getter or the setter of a
+ * property is a lookup instead of a reflective call that throws when the method does not exist.
+ */
+final class PropertyIndex {
+
+	private static final Map<Class<?>, PropertyIndex> INDEXES = Collections
+			.synchronizedMap(new WeakHashMap<Class<?>, PropertyIndex>());
+
+	private final Set<String> getters = new HashSet<>();
+	private final Map<String, Set<String>> setters = new HashMap<>();
+
+	private PropertyIndex(Class<?> type) {
+		for (Method method : type.getMethods()) {
+			String name = method.getName();
+			Class<?>[] parameterTypes = method.getParameterTypes();
+			Class<?> returnType = method.getReturnType();
+
+			if (parameterTypes.length == 0 && name.startsWith("get") && returnType != void.class) {
+				getters.add(name);
+			} else if (parameterTypes.length == 0 && name.startsWith("is")
+					&& (returnType == boolean.class || returnType == Boolean.class)) {
+				getters.add(name);
+			} else if (parameterTypes.length == 1 && name.startsWith("set")) {
+				Set<String> types = setters.get(name);
+				if (types == null) {
+					types = new HashSet<>();
+					setters.put(name, types);
+				}
+				// a primitive parameter also accepts its wrapper type, the call is auto-unboxed
+				types.add(parameterTypes[0].getName());
+				types.add(ClassUtils.primitiveToWrapper(parameterTypes[0]).getName());
+			}
+		}
+	}
+
+	/**
+	 * Get the index of the given class, it is only built on first use.
+	 *
+	 * @param type
+	 *            the java bean class
+	 * @return the index
+	 */
+	static PropertyIndex of(Class<?> type) {
+		synchronized (INDEXES) {
+			PropertyIndex index = INDEXES.get(type);
+			if (index == null) {
+				index = new PropertyIndex(type);
+				INDEXES.put(type, index);
+			}
+			return index;
+		}
+	}
+
+	boolean hasGetter(String getterName) {
+		return getters.contains(getterName);
+	}
+
+	boolean hasSetter(String setterName) {
+		return setters.containsKey(setterName);
+	}
+
+	/**
+	 * Resolve the getter of the bean to call for a property of the given type. A boolean property accepts both the
+	 * <code>is</code> and <code>get</code> variants since the bean may use the primitive or the object type.
+	 *
+	 * @param propertyName
+	 *            the name of the property
+	 * @param type
+	 *            the type of the property
+	 * @return the getter name or null if the bean has no matching getter
+	 */
+	String getterOf(String propertyName, FullyQualifiedJavaType type) {
+		String capitalized = StringUtils.capitalize(propertyName);
+		boolean primitiveBoolean = type.isPrimitive() && type.getShortName().equals("boolean");
+
+		String getterName = (primitiveBoolean ? "is" : "get") + capitalized;
+		if (hasGetter(getterName)) {
+			return getterName;
+		}
+
+		// Check for possibility of boolean mismatch field (Boolean/boolean)
+		if (primitiveBoolean && hasGetter("get" + capitalized)) {
+			return "get" + capitalized;
+		} else if (!type.isPrimitive() && type.getFullyQualifiedName().equals("java.lang.Boolean")
+				&& hasGetter("is" + capitalized)) {
+			return "is" + capitalized;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Resolve the setter of the bean to call for a property of the given type. The parameter of the setter must have
+	 * the type of the property, or its primitive or wrapper counterpart since the call is auto-boxed.
+	 *
+	 * @param propertyName
+	 *            the name of the property
+	 * @param type
+	 *            the type of the property
+	 * @return the setter name or null if the bean has no matching setter
+	 */
+	String setterOf(String propertyName, FullyQualifiedJavaType type) {
+		String setterName = "set" + StringUtils.capitalize(propertyName);
+		Set<String> types = setters.get(setterName);
+		if (types == null) {
+			return null;
+		}
+
+		if (types.contains(type.getFullyQualifiedNameWithoutTypeParameters())
+				|| (type.isPrimitive() && types.contains(type.getPrimitiveTypeWrapper().getFullyQualifiedName()))) {
+			return setterName;
+		}
+
+		return null;
+	}
+
+}
@@ -2,11 +2,13 @@ package com.github.dcendents.mybatis.generator.plugin.wrap;
 
 import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -22,6 +24,8 @@ import org.mybatis.generator.api.dom.java.JavaVisibility;
 import org.mybatis.generator.api.dom.java.Method;
 import org.mybatis.generator.api.dom.java.TopLevelClass;
 
+import com.github.dcendents.mybatis.generator.plugin.table.TableMatcher;
+
 @NoArgsConstructor
 public class WrapObjectPlugin extends PluginAdapter {
 	public static final String TABLE_NAME = "fullyQualifiedTableName";
@@ -30,42 +34,92 @@ public class WrapObjectPlugin extends PluginAdapter {
 	public static final String INCLUDES = "includes";
 	public static final String EXCLUDES = "excludes";
 
-	private String tableName;
-	private Class<?> objectClass;
+	/**
+	 * A table to wrapped class mapping, the wrapped properties are tracked per mapping.
+	 */
+	static final class WrappedObject {
+		private final TableMatcher tableMatcher;
+		private final Class<?> objectClass;
+		private final PropertyIndex propertyIndex;
+		private final String objectFieldName;
+
+		private final Set<String> gettersToWrap = new HashSet<>();
+		private final Set<String> settersToWrap = new HashSet<>();
+		private final Map<String, String> wrappedGetters = new HashMap<>();
+
+		private WrappedObject(String tableName, Class<?> objectClass, String objectFieldName) {
+			this.tableMatcher = TableMatcher.of(tableName);
+			this.objectClass = objectClass;
+			this.propertyIndex = PropertyIndex.of(objectClass);
+			this.objectFieldName = stringHasValue(objectFieldName) ? objectFieldName : StringUtils
+					.uncapitalize(objectClass.getSimpleName());
+		}
 
-	@Getter(AccessLevel.PACKAGE)
-	private Set<String> includes = new HashSet<>();
-	@Getter(AccessLevel.PACKAGE)
-	private Set<String> excludes = new HashSet<>();
+		Class<?> getObjectClass() {
+			return objectClass;
+		}
 
-	@Getter(AccessLevel.PACKAGE)
-	private String objectFieldName;
+		String getObjectFieldName() {
+			return objectFieldName;
+		}
+
+		Set<String> getGettersToWrap() {
+			return gettersToWrap;
+		}
+
+		Set<String> getSettersToWrap() {
+			return settersToWrap;
+		}
+
+		Map<String, String> getWrappedGetters() {
+			return wrappedGetters;
+		}
+	}
 
 	@Getter(AccessLevel.PACKAGE)
-	private Set<String> gettersToWrap = new HashSet<>();
-	@Getter(AccessLevel.PACKAGE)
-	private Set<String> settersToWrap = new HashSet<>();
+	private List<WrappedObject> wrappedObjects = new ArrayList<>();
 
 	@Getter(AccessLevel.PACKAGE)
-	private Map<String, String> wrappedGetters = new HashMap<>();
+	private Set<String> includes = new HashSet<>();
+	@Getter(AccessLevel.PACKAGE)
+	private Set<String> excludes = new HashSet<>();
 
 	@Override
 	public boolean validate(List<String> warnings) {
-		tableName = properties.getProperty(TABLE_NAME);
+		String tableName = properties.getProperty(TABLE_NAME);
 		String objectClassName = properties.getProperty(OBJECT_CLASS);
+		String objectFieldName = properties.getProperty(OBJECT_FIELD_NAME);
 
+		// Additional mappings are set as objectClass.<fullyQualifiedTableName>
+		Set<String> mappedTables = new TreeSet<>();
+		for (String key : properties.stringPropertyNames()) {
+			if (key.startsWith(OBJECT_CLASS + ".")) {
+				mappedTables.add(key.substring(OBJECT_CLASS.length() + 1));
+			}
+		}
+
+		boolean valid = true;
 		String warning = "Property %s not set for plugin %s";
-		if (!stringHasValue(tableName)) {
-			warnings.add(String.format(warning, TABLE_NAME, this.getClass().getSimpleName()));
+		if (mappedTables.isEmpty() || stringHasValue(tableName) || stringHasValue(objectClassName)) {
+			if (!stringHasValue(tableName)) {
+				warnings.add(String.format(warning, TABLE_NAME, this.getClass().getSimpleName()));
+				valid = false;
+			}
+			if (!stringHasValue(objectClassName)) {
+				warnings.add(String.format(warning, OBJECT_CLASS, this.getClass().getSimpleName()));
+				valid = false;
+			}
+			valid &= addWrappedObject(tableName, objectClassName, objectFieldName, warnings);
 		}
-		if (!stringHasValue(objectClassName)) {
-			warnings.add(String.format(warning, OBJECT_CLASS, this.getClass().getSimpleName()));
-		} else {
-			try {
-				objectClass = Class.forName(objectClassName);
-			} catch (ClassNotFoundException ex) {
-				warnings.add(String.format("Could not load class %s in plugin %s", objectClassName, this.getClass()
-						.getSimpleName()));
+
+		for (String mappedTable : mappedTables) {
+			String mappedClassName = properties.getProperty(OBJECT_CLASS + "." + mappedTable);
+			String mappedFieldName = properties.getProperty(OBJECT_FIELD_NAME + "." + mappedTable, objectFieldName);
+			if (!stringHasValue(mappedTable) || !stringHasValue(mappedClassName)) {
+				warnings.add(String.format(warning, OBJECT_CLASS + "." + mappedTable, this.getClass().getSimpleName()));
+				valid = false;
+			} else {
+				valid &= addWrappedObject(mappedTable, mappedClassName, mappedFieldName, warnings);
 			}
 		}
 
@@ -83,25 +137,47 @@ public class WrapObjectPlugin extends PluginAdapter {
 			}
 		}
 
-		objectFieldName = properties.getProperty(OBJECT_FIELD_NAME);
-		if (!stringHasValue(objectFieldName) && objectClass != null) {
-			objectFieldName = StringUtils.uncapitalize(objectClass.getSimpleName());
+		return valid;
+	}
+
+	private boolean addWrappedObject(String tableName, String objectClassName, String objectFieldName,
+			List<String> warnings) {
+		if (!stringHasValue(objectClassName)) {
+			return false;
+		}
+
+		Class<?> objectClass;
+		try {
+			objectClass = Class.forName(objectClassName);
+		} catch (ClassNotFoundException ex) {
+			warnings.add(String.format("Could not load class %s in plugin %s", objectClassName, this.getClass()
+					.getSimpleName()));
+			return false;
 		}
 
-		return stringHasValue(tableName) && objectClass != null;
+		if (stringHasValue(tableName)) {
+			wrappedObjects.add(new WrappedObject(tableName, objectClass, objectFieldName));
+		}
+		return true;
 	}
 
-	private boolean tableMatches(IntrospectedTable introspectedTable) {
-		return tableName.equals(introspectedTable.getFullyQualifiedTableNameAtRuntime());
+	private WrappedObject wrappedObject(IntrospectedTable introspectedTable) {
+		for (WrappedObject wrappedObject : wrappedObjects) {
+			if (wrappedObject.tableMatcher.matches(introspectedTable)) {
+				return wrappedObject;
+			}
+		}
+		return null;
 	}
 
 	@Override
 	public boolean modelBaseRecordClassGenerated(TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
-		if (tableMatches(introspectedTable)) {
-			FullyQualifiedJavaType type = new FullyQualifiedJavaType(objectClass.getName());
-			Field field = new Field(objectFieldName, type);
+		WrappedObject wrappedObject = wrappedObject(introspectedTable);
+		if (wrappedObject != null) {
+			FullyQualifiedJavaType type = new FullyQualifiedJavaType(wrappedObject.objectClass.getName());
+			Field field = new Field(wrappedObject.objectFieldName, type);
 			field.setVisibility(JavaVisibility.PROTECTED);
-			field.setInitializationString(String.format("new %s()", objectClass.getSimpleName()));
+			field.setInitializationString(String.format("new %s()", wrappedObject.objectClass.getSimpleName()));
 
 			field.addJavaDocLine("/**");
 			field.addJavaDocLine(" * This field was generated by MyBatis Generator.");
@@ -120,7 +196,8 @@ public class WrapObjectPlugin extends PluginAdapter {
 	@Override
 	public boolean modelFieldGenerated(Field field, TopLevelClass topLevelClass, IntrospectedColumn introspectedColumn,
 			IntrospectedTable introspectedTable, ModelClassType modelClassType) {
-		if (tableMatches(introspectedTable) && wrapField(field)) {
+		WrappedObject wrappedObject = wrappedObject(introspectedTable);
+		if (wrappedObject != null && wrapField(wrappedObject, field)) {
 			topLevelClass.addImportedType(field.getType());
 			return false;
 		}
@@ -128,61 +205,42 @@ public class WrapObjectPlugin extends PluginAdapter {
 		return true;
 	}
 
-	private boolean wrapField(Field field) {
+	private boolean wrapField(WrappedObject wrappedObject, Field field) {
 		if (includes.contains(field.getName()) || (includes.isEmpty() && !excludes.contains(field.getName()))) {
-			return objectClassHasFieldGetter(field);
+			return objectClassHasFieldAccessors(wrappedObject, field);
 		}
 
 		return false;
 	}
 
-	private boolean objectClassHasFieldGetter(Field field) {
+	/**
+	 * The field is removed from the model, the wrapped object must have both its getter and its setter.
+	 */
+	private boolean objectClassHasFieldAccessors(WrappedObject wrappedObject, Field field) {
+		String wrappedGetter = wrappedObject.propertyIndex.getterOf(field.getName(), field.getType());
+		if (wrappedGetter == null || wrappedObject.propertyIndex.setterOf(field.getName(), field.getType()) == null) {
+			return false;
+		}
+
 		FullyQualifiedJavaType type = field.getType();
 		String prefix = type.isPrimitive() && type.getShortName().equals("boolean") ? "is" : "get";
-
 		String capitalized = StringUtils.capitalize(field.getName());
 		String getterName = prefix + capitalized;
-		String setterName = "set" + capitalized;
-		String wrappedGetter = getterName;
-
-		if (hasGetter(getterName)) {
-			gettersToWrap.add(getterName);
-			settersToWrap.add(setterName);
-			wrappedGetters.put(getterName, wrappedGetter);
-			return true;
-		}
 
-		// Check for possibility of boolean mismatch field (Boolean/boolean)
-		if (type.isPrimitive() && type.getShortName().equals("boolean") && hasGetter("get" + capitalized)) {
-			gettersToWrap.add(getterName);
-			settersToWrap.add(setterName);
-			wrappedGetters.put(getterName, "get" + capitalized);
-			return true;
-		} else if (!type.isPrimitive() && type.getFullyQualifiedName().equals("java.lang.Boolean") && hasGetter("is" + capitalized)) {
-			gettersToWrap.add(getterName);
-			settersToWrap.add(setterName);
-			wrappedGetters.put(getterName, "is" + capitalized);
-			return true;
-		}
-
-		return false;
-	}
-
-	private boolean hasGetter(String getterName) {
-		try {
-			objectClass.getMethod(getterName);
-			return true;
-		} catch (NoSuchMethodException ex) {
-			return false;
-		}
+		wrappedObject.gettersToWrap.add(getterName);
+		wrappedObject.settersToWrap.add("set" + capitalized);
+		wrappedObject.wrappedGetters.put(getterName, wrappedGetter);
+		return true;
 	}
 
 	@Override
 	public boolean modelGetterMethodGenerated(Method method, TopLevelClass topLevelClass,
 			IntrospectedColumn introspectedColumn, IntrospectedTable introspectedTable, ModelClassType modelClassType) {
-		if (tableMatches(introspectedTable) && gettersToWrap.contains(method.getName())) {
+		WrappedObject wrappedObject = wrappedObject(introspectedTable);
+		if (wrappedObject != null && wrappedObject.gettersToWrap.contains(method.getName())) {
 			method.getBodyLines().clear();
-			method.addBodyLine(String.format("return this.%s.%s();", objectFieldName, wrappedGetters.get(method.getName())));
+			method.addBodyLine(String.format("return this.%s.%s();", wrappedObject.objectFieldName,
+					wrappedObject.wrappedGetters.get(method.getName())));
 		}
 
 		return true;
@@ -191,9 +249,10 @@ public class WrapObjectPlugin extends PluginAdapter {
 	@Override
 	public boolean modelSetterMethodGenerated(Method method, TopLevelClass topLevelClass,
 			IntrospectedColumn introspectedColumn, IntrospectedTable introspectedTable, ModelClassType modelClassType) {
-		if (tableMatches(introspectedTable) && settersToWrap.contains(method.getName())) {
+		WrappedObject wrappedObject = wrappedObject(introspectedTable);
+		if (wrappedObject != null && wrappedObject.settersToWrap.contains(method.getName())) {
 			method.getBodyLines().clear();
-			method.addBodyLine(String.format("this.%s.%s(%s);", objectFieldName, method.getName(), method
+			method.addBodyLine(String.format("this.%s.%s(%s);", wrappedObject.objectFieldName, method.getName(), method
 					.getParameters().get(0).getName()));
 		}
 
@@ -150,6 +150,26 @@ public class AlterResultMapPluginTest {
 		assertThat(attributes.get(1).getValue()).isEqualTo(RESULT_MAP_ID);
 	}
 
+	@Test
+	public void shouldAcceptRegexValueForTableName() {
+		String resultMapId = "someId";
+		List<Attribute> attributes = new ArrayList<>();
+		attributes.add(new Attribute(AlterResultMapPlugin.RESULT_MAP_ATTRIBUTE, resultMapId));
+
+		// Given
+		given(introspectedTable.getFullyQualifiedTableNameAtRuntime()).willReturn(TABLE_NAME);
+		given(element.getAttributes()).willReturn(attributes);
+		plugin.getProperties().put(AlterResultMapPlugin.TABLE_NAME, TABLE_NAME.substring(0, 3) + ".*");
+		plugin.validate(new ArrayList<String>());
+
+		// When
+		plugin.renameResultMapAttribute(element, introspectedTable);
+
+		// Then
+		assertThat(attributes).hasSize(1);
+		assertThat(attributes.get(0).getValue()).isEqualTo(RESULT_MAP_ID);
+	}
+
 	@Test
 	public void shouldHandleEmptyAttributeList() {
 		List<Attribute> attributes = new ArrayList<>();
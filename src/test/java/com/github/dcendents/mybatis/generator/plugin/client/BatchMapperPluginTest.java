@@ -0,0 +1,203 @@
+package com.github.dcendents.mybatis.generator.plugin.client;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mybatis.generator.api.CommentGenerator;
+import org.mybatis.generator.api.GeneratedJavaFile;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.java.TopLevelClass;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.JavaClientGeneratorConfiguration;
+
+/**
+ * Tests for the class BatchMapperPlugin.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class BatchMapperPluginTest {
+
+	private BatchMapperPlugin plugin;
+	private Interface interfaze;
+
+	@Mock
+	private Context context;
+	@Mock
+	private CommentGenerator commentGenerator;
+	@Mock
+	private JavaClientGeneratorConfiguration javaClientGeneratorConfiguration;
+	@Mock
+	private IntrospectedTable introspectedTable;
+
+	@Before
+	public void init() throws Exception {
+		given(context.getCommentGenerator()).willReturn(commentGenerator);
+		given(context.getJavaClientGeneratorConfiguration()).willReturn(javaClientGeneratorConfiguration);
+		given(javaClientGeneratorConfiguration.getTargetProject()).willReturn("src/main/java");
+
+		FullyQualifiedJavaType record = new FullyQualifiedJavaType("some.model.TableName");
+		interfaze = new Interface("some.mapper.TableNameMapper");
+		interfaze.addMethod(method("insert", new Parameter(record, "record")));
+		interfaze.addMethod(method("updateByPrimaryKeySelective", new Parameter(record, "record")));
+		interfaze.addMethod(method("updateByPrimaryKey", new Parameter(record, "record")));
+		interfaze.addMethod(method("deleteByPrimaryKey", new Parameter(FullyQualifiedJavaType.getIntInstance(),
+				"id")));
+
+		plugin = new BatchMapperPlugin();
+		plugin.setContext(context);
+		plugin.getProperties().put(BatchMapperPlugin.FLUSH_SIZE, "50");
+		plugin.validate(new ArrayList<String>());
+	}
+
+	private Method method(String name, Parameter... parameters) {
+		Method method = new Method(name);
+		method.setReturnType(FullyQualifiedJavaType.getIntInstance());
+		for (Parameter parameter : parameters) {
+			method.addParameter(parameter);
+		}
+		return method;
+	}
+
+	private Method findMethod(TopLevelClass topLevelClass, String name) {
+		for (Method method : topLevelClass.getMethods()) {
+			if (method.getName().equals(name)) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	@Test
+	public void shouldBeInvalidWithInvalidFlushSize() throws Exception {
+		// Given
+		BatchMapperPlugin instance = new BatchMapperPlugin();
+		instance.getProperties().put(BatchMapperPlugin.FLUSH_SIZE, "-1");
+
+		// When
+		List<String> warnings = new ArrayList<>();
+		boolean ok = instance.validate(warnings);
+
+		// Then
+		then(ok).isFalse();
+		then(warnings).hasSize(1);
+	}
+
+	@Test
+	public void shouldGenerateBatchClassOnce() throws Exception {
+		// Given
+		plugin.clientGenerated(interfaze, introspectedTable);
+
+		// When
+		List<GeneratedJavaFile> files = plugin.contextGenerateAdditionalJavaFiles(introspectedTable);
+
+		// Then
+		then(files).hasSize(1);
+		then(files.get(0).getFileName()).isEqualTo("TableNameMapperBatch.java");
+		then(plugin.contextGenerateAdditionalJavaFiles(introspectedTable)).isEmpty();
+	}
+
+	@Test
+	public void shouldGenerateBatchMethods() throws Exception {
+		// Given
+		plugin.clientGenerated(interfaze, introspectedTable);
+
+		// When
+		TopLevelClass batchClass = (TopLevelClass) plugin.contextGenerateAdditionalJavaFiles(introspectedTable).get(0)
+				.getCompilationUnit();
+
+		// Then
+		then(batchClass.getType().getFullyQualifiedName()).isEqualTo("some.mapper.TableNameMapperBatch");
+		then(findMethod(batchClass, "updateByPrimaryKeySelective")).isNull();
+		then(findMethod(batchClass, "insert").getParameters().get(0).getType().getShortName()).isEqualTo(
+				"Iterable<TableName>");
+		then(findMethod(batchClass, "deleteByPrimaryKey").getParameters().get(0).getType().getShortName())
+				.isEqualTo("Iterable<Integer>");
+
+		Method insert = findMethod(batchClass, "insert");
+		then(insert.getBodyLines()).contains(
+				"try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH)) {",
+				"TableNameMapper mapper = session.getMapper(TableNameMapper.class);", "mapper.insert(element);",
+				"if (++pending == flushSize) {", "count += updateCount(session.flushStatements());",
+				"session.commit();");
+		then(batchClass.getMethods().get(0).getBodyLines()).containsExactly("this(sqlSessionFactory, 50);");
+	}
+
+	@Test
+	public void shouldSkipMethodsWithSeveralParameters() throws Exception {
+		// Given
+		interfaze = new Interface("some.mapper.TableNameMapper");
+		interfaze.addMethod(method("deleteByPrimaryKey", new Parameter(FullyQualifiedJavaType.getIntInstance(),
+				"id1"), new Parameter(FullyQualifiedJavaType.getIntInstance(), "id2")));
+
+		// When
+		plugin.clientGenerated(interfaze, introspectedTable);
+		List<GeneratedJavaFile> files = plugin.contextGenerateAdditionalJavaFiles(introspectedTable);
+
+		// Then
+		then(files).isEmpty();
+	}
+
+	@Test
+	public void shouldUseRecordMethodsOfDynamicSqlMapper() throws Exception {
+		// Given
+		FullyQualifiedJavaType record = new FullyQualifiedJavaType("some.model.TableName");
+		FullyQualifiedJavaType insertProvider = new FullyQualifiedJavaType(
+				"org.mybatis.dynamic.sql.insert.render.InsertStatementProvider");
+		insertProvider.addTypeArgument(record);
+		FullyQualifiedJavaType updateProvider = new FullyQualifiedJavaType(
+				"org.mybatis.dynamic.sql.update.render.UpdateStatementProvider");
+		FullyQualifiedJavaType deleteProvider = new FullyQualifiedJavaType(
+				"org.mybatis.dynamic.sql.delete.render.DeleteStatementProvider");
+
+		interfaze = new Interface("some.mapper.TableNameMapper");
+		interfaze.addMethod(method("deleteByPrimaryKey", new Parameter(deleteProvider, "deleteStatement")));
+		interfaze.addMethod(method("insert", new Parameter(insertProvider, "insertStatement")));
+		interfaze.addMethod(method("updateByPrimaryKey", new Parameter(updateProvider, "updateStatement")));
+		interfaze.addMethod(method("deleteByPrimaryKey", new Parameter(FullyQualifiedJavaType.getIntInstance(),
+				"id_")));
+		interfaze.addMethod(method("insert", new Parameter(record, "record")));
+		interfaze.addMethod(method("updateByPrimaryKey", new Parameter(record, "record")));
+
+		// When
+		plugin.clientGenerated(interfaze, introspectedTable);
+		TopLevelClass batchClass = (TopLevelClass) plugin.contextGenerateAdditionalJavaFiles(introspectedTable).get(0)
+				.getCompilationUnit();
+
+		// Then
+		then(findMethod(batchClass, "insert").getParameters().get(0).getType().getShortName()).isEqualTo(
+				"Iterable<TableName>");
+		then(findMethod(batchClass, "updateByPrimaryKey").getParameters().get(0).getType().getShortName())
+				.isEqualTo("Iterable<TableName>");
+		then(findMethod(batchClass, "deleteByPrimaryKey").getParameters().get(0).getType().getShortName())
+				.isEqualTo("Iterable<Integer>");
+	}
+
+	@Test
+	public void shouldSkipDynamicSqlMapperWithoutRecordMethods() throws Exception {
+		// Given
+		FullyQualifiedJavaType insertProvider = new FullyQualifiedJavaType(
+				"org.mybatis.dynamic.sql.insert.render.InsertStatementProvider");
+		insertProvider.addTypeArgument(new FullyQualifiedJavaType("some.model.TableName"));
+		interfaze = new Interface("some.mapper.TableNameMapper");
+		interfaze.addMethod(method("insert", new Parameter(insertProvider, "insertStatement")));
+
+		// When
+		plugin.clientGenerated(interfaze, introspectedTable);
+		List<GeneratedJavaFile> files = plugin.contextGenerateAdditionalJavaFiles(introspectedTable);
+
+		// Then
+		then(files).isEmpty();
+	}
+
+}
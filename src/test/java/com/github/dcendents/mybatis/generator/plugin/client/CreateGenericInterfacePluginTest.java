@@ -150,6 +150,49 @@ public class CreateGenericInterfacePluginTest {
 		then(fullyQualifiedJavaTypeCaptor.getValue().getFullyQualifiedNameWithoutTypeParameters()).isEqualTo(INTERFACE);
 	}
 
+	@Test
+	public void shouldAddSelectByPrimaryKeysMethod() {
+		Method selectByPrimaryKeys = new Method(SelectByPrimaryKeysPlugin.METHOD_NAME);
+		selectByPrimaryKeys.addParameter(new Parameter(new FullyQualifiedJavaType("java.util.Collection<Integer>"),
+				"keys"));
+
+		// Given
+		CreateGenericInterfacePlugin plugin = spy(this.plugin);
+		given(interfaze.getMethods()).willReturn(Arrays.asList(selectByPrimaryKeys));
+
+		// When
+		boolean ok = plugin.clientGenerated(interfaze, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		verify(plugin, times(1)).addGenericMethod(eq(selectByPrimaryKeys), any(FullyQualifiedJavaType.class),
+				Matchers.<FullyQualifiedJavaType>anyVararg());
+		then(selectByPrimaryKeys.getAnnotations()).containsExactly("@Override");
+	}
+
+	@Test
+	public void shouldAddExistsMethods() {
+		Method existsByExample = new Method(ExistsByExamplePlugin.EXISTS_BY_EXAMPLE);
+		existsByExample.addParameter(new Parameter(new FullyQualifiedJavaType("some.model.TableNameExample"),
+				"example"));
+		Method existsByPrimaryKey = new Method(ExistsByExamplePlugin.EXISTS_BY_PRIMARY_KEY);
+		existsByPrimaryKey.addParameter(new Parameter(new FullyQualifiedJavaType("java.lang.Integer"), "id"));
+
+		// Given
+		CreateGenericInterfacePlugin plugin = spy(this.plugin);
+		given(interfaze.getMethods()).willReturn(Arrays.asList(existsByExample, existsByPrimaryKey));
+
+		// When
+		boolean ok = plugin.clientGenerated(interfaze, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		verify(plugin, times(1)).addGenericMethod(eq(existsByExample),
+				eq(FullyQualifiedJavaType.getBooleanPrimitiveInstance()), Matchers.<FullyQualifiedJavaType>anyVararg());
+		verify(plugin, times(1)).addGenericMethod(eq(existsByPrimaryKey),
+				eq(FullyQualifiedJavaType.getBooleanPrimitiveInstance()), Matchers.<FullyQualifiedJavaType>anyVararg());
+	}
+
 	@Test
 	public void shouldAddClientCountByExampleMethod() {
 		// Given
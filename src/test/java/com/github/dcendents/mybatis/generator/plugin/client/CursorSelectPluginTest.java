@@ -0,0 +1,274 @@
+package com.github.dcendents.mybatis.generator.plugin.client;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.IntrospectedTable.TargetRuntime;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.Document;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+
+/**
+ * Tests for the class CursorSelectPlugin.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CursorSelectPluginTest {
+
+	private CursorSelectPlugin plugin;
+	private Interface interfaze;
+
+	@Mock
+	private IntrospectedTable introspectedTable;
+	@Mock
+	private Document document;
+
+	@Before
+	public void init() throws Exception {
+		given(introspectedTable.getTargetRuntime()).willReturn(TargetRuntime.MYBATIS3);
+
+		interfaze = new Interface("some.mapper.TableNameMapper");
+
+		plugin = new CursorSelectPlugin();
+		plugin.getProperties().put(CursorSelectPlugin.FETCH_SIZE, "500");
+		plugin.validate(new ArrayList<String>());
+	}
+
+	private Method selectByExample() {
+		Method method = new Method("selectByExample");
+		method.setReturnType(new FullyQualifiedJavaType("java.util.List<some.model.TableName>"));
+		method.addParameter(new Parameter(new FullyQualifiedJavaType("some.model.TableNameExample"), "example"));
+		return method;
+	}
+
+	private Method method(String name) {
+		for (Method method : interfaze.getMethods()) {
+			if (method.getName().equals(name)) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	@Test
+	public void shouldBeInvalidWithInvalidFetchSize() throws Exception {
+		// Given
+		CursorSelectPlugin instance = new CursorSelectPlugin();
+		instance.getProperties().put(CursorSelectPlugin.FETCH_SIZE, "0");
+
+		// When
+		List<String> warnings = new ArrayList<>();
+		boolean ok = instance.validate(warnings);
+
+		// Then
+		then(ok).isFalse();
+		then(warnings).hasSize(1);
+	}
+
+	@Test
+	public void shouldUseTableFetchSize() throws Exception {
+		// Given
+		given(introspectedTable.getTableConfigurationProperty(CursorSelectPlugin.TABLE_FETCH_SIZE)).willReturn("50");
+
+		// When
+		int fetchSize = plugin.fetchSize(introspectedTable);
+
+		// Then
+		then(fetchSize).isEqualTo(50);
+	}
+
+	@Test
+	public void shouldAddCursorMethodForXmlMapper() throws Exception {
+		// Given
+
+		// When
+		boolean ok = plugin.clientSelectByExampleWithoutBLOBsMethodGenerated(selectByExample(), interfaze,
+				introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		Method method = method("selectByExampleCursor");
+		then(method.getReturnType().getShortName()).isEqualTo("Cursor<TableName>");
+		then(method.getAnnotations()).isEmpty();
+		then(interfaze.getImportedTypes()).extracting("fullyQualifiedName").contains("org.apache.ibatis.cursor.Cursor");
+	}
+
+	@Test
+	public void shouldAddCursorElementToXmlMapper() throws Exception {
+		XmlElement root = new XmlElement("mapper");
+		XmlElement element = new XmlElement("select");
+		element.addAttribute(new Attribute("id", "selectByExample"));
+
+		// Given
+		given(document.getRootElement()).willReturn(root);
+		plugin.sqlMapSelectByExampleWithoutBLOBsElementGenerated(element, introspectedTable);
+
+		// When
+		boolean ok = plugin.sqlMapDocumentGenerated(document, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(root.getElements()).hasSize(2);
+		then(root.getElements().get(0).getFormattedContent(0)).isEqualTo(
+				"<select id=\"selectByExampleCursor\" fetchSize=\"500\" resultSetType=\"FORWARD_ONLY\" />");
+		then(root.getElements().get(1).getFormattedContent(0)).isEqualTo(
+				"<select id=\"selectByExampleWithResultHandler\" fetchSize=\"500\" resultSetType=\"FORWARD_ONLY\" />");
+		then(element.getAttributes()).hasSize(1);
+	}
+
+	@Test
+	public void shouldReplaceStatementOptionsOfCopiedElement() throws Exception {
+		// Given
+		XmlElement root = new XmlElement("mapper");
+		XmlElement element = new XmlElement("select");
+		element.addAttribute(new Attribute("id", "selectByExample"));
+		given(document.getRootElement()).willReturn(root);
+		given(introspectedTable.getFullyQualifiedTableNameAtRuntime()).willReturn("public.audit_log");
+
+		StatementOptionsPlugin statementOptions = new StatementOptionsPlugin();
+		statementOptions.getProperties().put(StatementOptionsPlugin.TABLE_NAME, "public.audit_log");
+		statementOptions.getProperties().put(StatementOptionsPlugin.FETCH_SIZE, "1000");
+		statementOptions.getProperties().put(StatementOptionsPlugin.TIMEOUT, "30");
+		statementOptions.getProperties().put(StatementOptionsPlugin.RESULT_SET_TYPE, "SCROLL_INSENSITIVE");
+		statementOptions.validate(new ArrayList<String>());
+
+		// When
+		statementOptions.sqlMapSelectByExampleWithoutBLOBsElementGenerated(element, introspectedTable);
+		plugin.sqlMapSelectByExampleWithoutBLOBsElementGenerated(element, introspectedTable);
+		plugin.sqlMapDocumentGenerated(document, introspectedTable);
+
+		// Then
+		then(root.getElements()).hasSize(2);
+		then(root.getElements().get(0).getFormattedContent(0)).isEqualTo(
+				"<select id=\"selectByExampleCursor\" timeout=\"30\" fetchSize=\"500\" resultSetType=\"FORWARD_ONLY\" />");
+		then(root.getElements().get(1).getFormattedContent(0)).isEqualTo(
+				"<select id=\"selectByExampleWithResultHandler\" timeout=\"30\" fetchSize=\"500\" resultSetType=\"FORWARD_ONLY\" />");
+		then(element.getFormattedContent(0)).isEqualTo(
+				"<select id=\"selectByExample\" fetchSize=\"1000\" timeout=\"30\" resultSetType=\"SCROLL_INSENSITIVE\" />");
+	}
+
+	@Test
+	public void shouldAddSelectManyCursorForDynamicSql() throws Exception {
+		Method selectMany = new Method("selectMany");
+		selectMany.setReturnType(new FullyQualifiedJavaType("java.util.List<some.model.TableName>"));
+		selectMany.addAnnotation("@SelectProvider(type=SqlProviderAdapter.class, method=\"select\")");
+		selectMany.addAnnotation("@Results(id=\"TableNameResult\", value={");
+		selectMany.addAnnotation("    @Result(column=\"id\", property=\"id\", jdbcType=JdbcType.INTEGER, id=true)");
+		selectMany.addAnnotation("})");
+
+		// Given
+		given(introspectedTable.getTargetRuntime()).willReturn(TargetRuntime.MYBATIS3_DSQL);
+
+		// When
+		boolean ok = plugin.clientBasicSelectManyMethodGenerated(selectMany, interfaze, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(method("selectManyCursor").getAnnotations()).containsExactly(
+				"@SelectProvider(type=SqlProviderAdapter.class, method=\"select\")",
+				"@ResultMap(\"TableNameResult\")",
+				"@Options(fetchSize=500, resultSetType=ResultSetType.FORWARD_ONLY)");
+	}
+
+	@Test
+	public void shouldAddSelectByExampleCursorForDynamicSql() throws Exception {
+		Method method = new Method("selectByExample");
+		method.setReturnType(new FullyQualifiedJavaType(
+				"QueryExpressionDSL<MyBatis3SelectModelAdapter<List<TableName>>>"));
+		method.addBodyLine("return SelectDSL.selectWithMapper(this::selectMany, id, name)");
+		method.addBodyLine("        .from(tableName);");
+
+		// Given
+		given(introspectedTable.getTargetRuntime()).willReturn(TargetRuntime.MYBATIS3_DSQL);
+
+		// When
+		plugin.clientSelectByExampleWithBLOBsMethodGenerated(method, interfaze, introspectedTable);
+
+		// Then
+		Method cursorMethod = method("selectByExampleCursor");
+		then(cursorMethod.getReturnType().getShortName()).isEqualTo(
+				"QueryExpressionDSL<MyBatis3SelectModelAdapter<Cursor<TableName>>>");
+		then(cursorMethod.getBodyLines()).containsExactly(
+				"return SelectDSL.selectWithMapper(this::selectManyCursor, id, name)", "        .from(tableName);");
+	}
+
+	@Test
+	public void shouldAddResultHandlerMethodForXmlMapper() throws Exception {
+		// Given
+
+		// When
+		plugin.clientSelectByExampleWithBLOBsMethodGenerated(selectByExample(), interfaze, introspectedTable);
+
+		// Then
+		Method method = method("selectByExampleWithResultHandler");
+		then(method.getReturnType()).isNull();
+		then(method.getParameters()).extracting("name").containsExactly("example", "handler");
+		then(method.getParameters().get(1).getType().getShortName()).isEqualTo("ResultHandler<TableName>");
+	}
+
+	@Test
+	public void shouldAddResultHandlerMethodsForDynamicSql() throws Exception {
+		Method selectMany = new Method("selectMany");
+		selectMany.setReturnType(new FullyQualifiedJavaType("java.util.List<some.model.TableName>"));
+		selectMany.addAnnotation("@SelectProvider(type=SqlProviderAdapter.class, method=\"select\")");
+		Method selectByExample = new Method("selectByExample");
+		selectByExample.setReturnType(new FullyQualifiedJavaType(
+				"QueryExpressionDSL<MyBatis3SelectModelAdapter<List<some.model.TableName>>>"));
+		selectByExample.addBodyLine("return SelectDSL.selectWithMapper(this::selectMany, id, name)");
+		selectByExample.addBodyLine("        .from(tableName);");
+
+		// Given
+		given(introspectedTable.getTargetRuntime()).willReturn(TargetRuntime.MYBATIS3_DSQL);
+
+		// When
+		plugin.clientBasicSelectManyMethodGenerated(selectMany, interfaze, introspectedTable);
+		plugin.clientSelectByExampleWithBLOBsMethodGenerated(selectByExample, interfaze, introspectedTable);
+
+		// Then
+		Method handlerSelectMany = method("selectManyWithResultHandler");
+		then(handlerSelectMany.getReturnType()).isNull();
+		then(handlerSelectMany.getAnnotations()).containsExactly(
+				"@SelectProvider(type=SqlProviderAdapter.class, method=\"select\")",
+				"@Options(fetchSize=500, resultSetType=ResultSetType.FORWARD_ONLY)");
+
+		Method handlerSelectByExample = method("selectByExampleWithResultHandler");
+		then(handlerSelectByExample.getReturnType().getShortName()).isEqualTo(
+				"QueryExpressionDSL<MyBatis3SelectModelAdapter<Void>>");
+		then(handlerSelectByExample.getParameters().get(0).getType().getShortName()).isEqualTo(
+				"ResultHandler<TableName>");
+		then(handlerSelectByExample.getBodyLines()).startsWith(
+				"return SelectDSL.selectWithMapper(selectStatement -> { selectManyWithResultHandler(selectStatement, handler); return null; }, id, name)");
+	}
+
+	@Test
+	public void shouldReplaceOptionsOfCopiedMethod() throws Exception {
+		Method selectMany = new Method("selectMany");
+		selectMany.setReturnType(new FullyQualifiedJavaType("java.util.List<some.model.TableName>"));
+		selectMany.addAnnotation("@SelectProvider(type=SqlProviderAdapter.class, method=\"select\")");
+		selectMany.addAnnotation("@Options(timeout=30)");
+
+		// Given
+		given(introspectedTable.getTargetRuntime()).willReturn(TargetRuntime.MYBATIS3_DSQL);
+
+		// When
+		plugin.clientBasicSelectManyMethodGenerated(selectMany, interfaze, introspectedTable);
+
+		// Then
+		then(method("selectManyCursor").getAnnotations()).containsExactly(
+				"@SelectProvider(type=SqlProviderAdapter.class, method=\"select\")",
+				"@Options(fetchSize=500, resultSetType=ResultSetType.FORWARD_ONLY)");
+	}
+
+}
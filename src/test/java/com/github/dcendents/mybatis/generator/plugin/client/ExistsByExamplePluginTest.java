@@ -0,0 +1,246 @@
+package com.github.dcendents.mybatis.generator.plugin.client;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mybatis.generator.api.CommentGenerator;
+import org.mybatis.generator.api.FullyQualifiedTable;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.IntrospectedTable.TargetRuntime;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.xml.Document;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.JavaClientGeneratorConfiguration;
+import org.mybatis.generator.internal.rules.Rules;
+
+/**
+ * Tests for the class ExistsByExamplePlugin.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ExistsByExamplePluginTest {
+
+	private ExistsByExamplePlugin plugin;
+	private Interface interfaze;
+
+	@Mock
+	private Context context;
+	@Mock
+	private CommentGenerator commentGenerator;
+	@Mock
+	private JavaClientGeneratorConfiguration javaClientGeneratorConfiguration;
+	@Mock
+	private IntrospectedTable introspectedTable;
+	@Mock
+	private FullyQualifiedTable fullyQualifiedTable;
+	@Mock
+	private Rules rules;
+	@Mock
+	private Document document;
+
+	@Mock
+	private IntrospectedColumn id;
+	@Mock
+	private IntrospectedColumn version;
+
+	@Before
+	public void init() throws Exception {
+		given(context.getCommentGenerator()).willReturn(commentGenerator);
+
+		given(introspectedTable.getTargetRuntime()).willReturn(TargetRuntime.MYBATIS3);
+		given(introspectedTable.getPrimaryKeyColumns()).willReturn(Arrays.asList(id));
+
+		interfaze = new Interface("some.mapper.TableNameMapper");
+
+		plugin = new ExistsByExamplePlugin();
+		plugin.setContext(context);
+		plugin.getProperties().put(ExistsByExamplePlugin.PAGINATION_DIALECT, "postgresql");
+		plugin.validate(new ArrayList<String>());
+	}
+
+	private Method method(String name) {
+		for (Method method : interfaze.getMethods()) {
+			if (method.getName().equals(name)) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	private List<String> selectElements() {
+		XmlElement root = new XmlElement("mapper");
+		given(document.getRootElement()).willReturn(root);
+		given(introspectedTable.getRules()).willReturn(rules);
+		given(introspectedTable.getExampleType()).willReturn("some.model.TableNameExample");
+		given(introspectedTable.getExampleWhereClauseId()).willReturn("Example_Where_Clause");
+		given(introspectedTable.getAliasedFullyQualifiedTableNameAtRuntime()).willReturn("public.table_name");
+		given(rules.generateCountByExample()).willReturn(true);
+		given(rules.generateSelectByPrimaryKey()).willReturn(true);
+		given(id.getActualColumnName()).willReturn("id");
+		given(id.getJavaProperty(null)).willReturn("id");
+		given(id.getJdbcTypeName()).willReturn("INTEGER");
+		given(id.getFullyQualifiedJavaType()).willReturn(new FullyQualifiedJavaType("java.lang.Integer"));
+		plugin.sqlMapDocumentGenerated(document, introspectedTable);
+
+		List<String> elements = new ArrayList<>();
+		for (int i = 0; i < root.getElements().size(); i++) {
+			elements.add(root.getElements().get(i).getFormattedContent(0));
+		}
+		return elements;
+	}
+
+	@Test
+	public void shouldBeInvalidWithoutDialect() throws Exception {
+		// Given
+		ExistsByExamplePlugin instance = new ExistsByExamplePlugin();
+
+		// When
+		List<String> warnings = new ArrayList<>();
+		boolean ok = instance.validate(warnings);
+
+		// Then
+		then(ok).isFalse();
+		then(warnings).hasSize(1);
+	}
+
+	@Test
+	public void shouldBeInvalidWithUnknownDialect() throws Exception {
+		// Given
+		ExistsByExamplePlugin instance = new ExistsByExamplePlugin();
+		instance.getProperties().put(ExistsByExamplePlugin.PAGINATION_DIALECT, "db2");
+
+		// When
+		List<String> warnings = new ArrayList<>();
+		boolean ok = instance.validate(warnings);
+
+		// Then
+		then(ok).isFalse();
+		then(warnings).hasSize(1);
+	}
+
+	@Test
+	public void shouldAddExistsMethodsForXmlMapper() throws Exception {
+		Method countByExample = new Method("countByExample");
+		countByExample.addParameter(new Parameter(new FullyQualifiedJavaType("some.model.TableNameExample"), "example"));
+		Method selectByPrimaryKey = new Method("selectByPrimaryKey");
+		selectByPrimaryKey.addParameter(new Parameter(new FullyQualifiedJavaType("java.lang.Integer"), "id"));
+
+		// Given
+
+		// When
+		boolean ok1 = plugin.clientCountByExampleMethodGenerated(countByExample, interfaze, introspectedTable);
+		boolean ok2 = plugin.clientSelectByPrimaryKeyMethodGenerated(selectByPrimaryKey, interfaze, introspectedTable);
+
+		// Then
+		then(ok1).isTrue();
+		then(ok2).isTrue();
+		Method existsByExample = method(ExistsByExamplePlugin.EXISTS_BY_EXAMPLE);
+		then(existsByExample.getReturnType().getShortName()).isEqualTo("boolean");
+		then(existsByExample.getParameters().get(0).getName()).isEqualTo("example");
+		Method existsByPrimaryKey = method(ExistsByExamplePlugin.EXISTS_BY_PRIMARY_KEY);
+		then(existsByPrimaryKey.getReturnType().getShortName()).isEqualTo("boolean");
+		then(existsByPrimaryKey.getParameters().get(0).getName()).isEqualTo("id");
+	}
+
+	@Test
+	public void shouldLimitExistsByExampleToOneRow() throws Exception {
+		// Given
+
+		// When
+		List<String> elements = selectElements();
+
+		// Then
+		then(elements).hasSize(2);
+		then(elements.get(0))
+				.contains("<select id=\"existsByExample\" parameterType=\"some.model.TableNameExample\" resultType=\"boolean\">")
+				.contains("select count(*) from (").contains("select 1 as found from public.table_name")
+				.contains("<include refid=\"Example_Where_Clause\" />").contains("limit 1 offset 0")
+				.contains(") existing_row");
+		then(elements.get(1))
+				.contains("<select id=\"existsByPrimaryKey\" parameterType=\"java.lang.Integer\" resultType=\"boolean\">")
+				.contains("select count(*)").contains("where id = #{id,jdbcType=INTEGER}");
+	}
+
+	@Test
+	public void shouldOrderSqlServerSubQuery() throws Exception {
+		// Given
+		plugin.getProperties().put(ExistsByExamplePlugin.PAGINATION_DIALECT, "sqlserver");
+		plugin.validate(new ArrayList<String>());
+		given(introspectedTable.getPrimaryKeyColumns()).willReturn(Arrays.asList(id, version));
+		given(version.getActualColumnName()).willReturn("version");
+		given(version.getJavaProperty(null)).willReturn("version");
+		given(version.getJdbcTypeName()).willReturn("INTEGER");
+
+		// When
+		List<String> elements = selectElements();
+
+		// Then
+		then(elements.get(0)).contains("order by (select null)").contains("offset 0 rows fetch next 1 rows only");
+		then(elements.get(1)).contains("parameterType=\"map\"").contains("where id = #{id,jdbcType=INTEGER}")
+				.contains("and version = #{version,jdbcType=INTEGER}");
+	}
+
+	@Test
+	public void shouldAddExistsMethodsForDynamicSql() throws Exception {
+		Method selectByPrimaryKey = new Method("selectByPrimaryKey");
+		selectByPrimaryKey.addParameter(new Parameter(new FullyQualifiedJavaType("java.lang.Integer"), "id_"));
+
+		// Given
+		given(introspectedTable.getTargetRuntime()).willReturn(TargetRuntime.MYBATIS3_DSQL);
+		given(introspectedTable.getFullyQualifiedTable()).willReturn(fullyQualifiedTable);
+		given(introspectedTable.getBaseRecordType()).willReturn("some.model.TableName");
+		given(fullyQualifiedTable.getDomainObjectName()).willReturn("TableName");
+		given(id.getJavaProperty()).willReturn("id");
+
+		// When
+		plugin.clientCountByExampleMethodGenerated(new Method("countByExample"), interfaze, introspectedTable);
+		plugin.clientSelectByPrimaryKeyMethodGenerated(selectByPrimaryKey, interfaze, introspectedTable);
+
+		// Then
+		then(method(ExistsByExamplePlugin.EXISTS_METHOD_NAME).getAnnotations()).contains(
+				"@SelectProvider(type=SqlProviderAdapter.class, method=\"select\")");
+		Method existsByExample = method(ExistsByExamplePlugin.EXISTS_BY_EXAMPLE);
+		then(existsByExample.isDefault()).isTrue();
+		then(existsByExample.getReturnType().getShortName()).isEqualTo(
+				"QueryExpressionDSL<MyBatis3SelectModelAdapter<Boolean>>");
+		then(existsByExample.getBodyLines()).contains(
+				"return \"select count(*) from (\" + selectStatement.getSelectStatement() + \" limit 1 offset 0) existing_row\";",
+				"}), TableNameDynamicSqlSupport.id).from(TableNameDynamicSqlSupport.tableName);");
+		then(method(ExistsByExamplePlugin.EXISTS_BY_PRIMARY_KEY).getBodyLines()).containsExactly(
+				"return existsByExample().where(TableNameDynamicSqlSupport.id, SqlBuilder.isEqualTo(id_)).build().execute();");
+	}
+
+	@Test
+	public void shouldIgnoreAnnotatedMapper() throws Exception {
+		// Given
+		given(context.getJavaClientGeneratorConfiguration()).willReturn(javaClientGeneratorConfiguration);
+		given(javaClientGeneratorConfiguration.getConfigurationType()).willReturn("ANNOTATEDMAPPER");
+
+		// When
+		boolean ok1 = plugin.clientCountByExampleMethodGenerated(new Method("countByExample"), interfaze,
+				introspectedTable);
+		boolean ok2 = plugin.sqlMapDocumentGenerated(document, introspectedTable);
+
+		// Then
+		then(ok1).isTrue();
+		then(ok2).isTrue();
+		then(interfaze.getMethods()).isEmpty();
+		verify(document, never()).getRootElement();
+	}
+
+}
@@ -0,0 +1,244 @@
+package com.github.dcendents.mybatis.generator.plugin.client;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mybatis.generator.api.CommentGenerator;
+import org.mybatis.generator.api.FullyQualifiedTable;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.IntrospectedTable.TargetRuntime;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.xml.Document;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.JavaClientGeneratorConfiguration;
+import org.mybatis.generator.internal.rules.Rules;
+
+/**
+ * Tests for the class InsertMultiplePlugin.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class InsertMultiplePluginTest {
+
+	private InsertMultiplePlugin plugin;
+	private Interface interfaze;
+
+	@Mock
+	private Context context;
+	@Mock
+	private CommentGenerator commentGenerator;
+	@Mock
+	private JavaClientGeneratorConfiguration javaClientGeneratorConfiguration;
+	@Mock
+	private IntrospectedTable introspectedTable;
+	@Mock
+	private FullyQualifiedTable fullyQualifiedTable;
+	@Mock
+	private Rules rules;
+	@Mock
+	private Method method;
+	@Mock
+	private Document document;
+
+	@Mock
+	private IntrospectedColumn id;
+	@Mock
+	private IntrospectedColumn name;
+	@Mock
+	private IntrospectedColumn description;
+
+	@Before
+	public void init() throws Exception {
+		given(context.getCommentGenerator()).willReturn(commentGenerator);
+
+		given(introspectedTable.getTargetRuntime()).willReturn(TargetRuntime.MYBATIS3);
+		given(introspectedTable.getFullyQualifiedTableNameAtRuntime()).willReturn("public.table_name");
+		given(introspectedTable.getRules()).willReturn(rules);
+		given(introspectedTable.getAllColumns()).willReturn(Arrays.asList(id, name, description));
+		given(rules.calculateAllFieldsClass()).willReturn(new FullyQualifiedJavaType("some.model.TableName"));
+
+		given(id.isIdentity()).willReturn(true);
+		given(name.getActualColumnName()).willReturn("name");
+		given(name.getJavaProperty("record.")).willReturn("record.name");
+		given(name.getJdbcTypeName()).willReturn("VARCHAR");
+		given(description.getActualColumnName()).willReturn("description");
+		given(description.getJavaProperty("record.")).willReturn("record.description");
+		given(description.getJdbcTypeName()).willReturn("VARCHAR");
+
+		interfaze = new Interface("some.mapper.TableNameMapper");
+
+		plugin = new InsertMultiplePlugin();
+		plugin.setContext(context);
+		plugin.getProperties().put(InsertMultiplePlugin.MAX_ROWS, "100");
+		plugin.getProperties().put(InsertMultiplePlugin.MAX_PARAMETERS, "11");
+		plugin.validate(new ArrayList<String>());
+	}
+
+	private Method method(String name) {
+		for (Method method : interfaze.getMethods()) {
+			if (method.getName().equals(name)) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	@Test
+	public void shouldBeValidWithoutAnyPropertyConfigured() throws Exception {
+		// Given
+		InsertMultiplePlugin instance = new InsertMultiplePlugin();
+
+		// When
+		List<String> warnings = new ArrayList<>();
+		boolean ok = instance.validate(warnings);
+
+		// Then
+		then(ok).isTrue();
+		then(warnings).isEmpty();
+		then(instance.rowsPerStatement(1)).isEqualTo(InsertMultiplePlugin.DEFAULT_MAX_ROWS);
+	}
+
+	@Test
+	public void shouldBeInvalidWithInvalidLimits() throws Exception {
+		// Given
+		InsertMultiplePlugin instance = new InsertMultiplePlugin();
+		instance.getProperties().put(InsertMultiplePlugin.MAX_ROWS, "0");
+		instance.getProperties().put(InsertMultiplePlugin.MAX_PARAMETERS, "none");
+
+		// When
+		List<String> warnings = new ArrayList<>();
+		boolean ok = instance.validate(warnings);
+
+		// Then
+		then(ok).isFalse();
+		then(warnings).hasSize(2);
+	}
+
+	@Test
+	public void shouldLimitRowsByParameterCount() throws Exception {
+		// Given
+
+		// When
+		int rowsForTwoColumns = plugin.rowsPerStatement(2);
+		int rowsForOneColumn = plugin.rowsPerStatement(1);
+		int rowsForManyColumns = plugin.rowsPerStatement(50);
+
+		// Then
+		then(rowsForTwoColumns).isEqualTo(5);
+		then(rowsForOneColumn).isEqualTo(11);
+		then(rowsForManyColumns).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldAddChunkedInsertForXmlMapper() throws Exception {
+		// Given
+
+		// When
+		boolean ok = plugin.clientInsertMethodGenerated(method, interfaze, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		Method chunk = method(InsertMultiplePlugin.CHUNK_METHOD_NAME);
+		then(chunk.getAnnotations()).isEmpty();
+		then(chunk.getParameters().get(0).getAnnotations()).containsExactly("@Param(\"records\")");
+
+		Method insertMultiple = method(InsertMultiplePlugin.METHOD_NAME);
+		then(insertMultiple.isDefault()).isTrue();
+		then(insertMultiple.getBodyLines()).contains("int rows = 5;",
+				"count += insertMultipleChunk(records.subList(i, Math.min(i + rows, records.size())));");
+	}
+
+	@Test
+	public void shouldAddInsertElementToXmlMapper() throws Exception {
+		XmlElement root = new XmlElement("mapper");
+
+		// Given
+		given(document.getRootElement()).willReturn(root);
+
+		// When
+		boolean ok = plugin.sqlMapDocumentGenerated(document, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(root.getElements()).hasSize(1);
+		String content = root.getElements().get(0).getFormattedContent(0);
+		then(content).contains("<insert id=\"insertMultipleChunk\" parameterType=\"map\">")
+				.contains("insert into public.table_name (name, description)")
+				.contains("<foreach collection=\"records\" item=\"record\" separator=\",\">")
+				.contains("(#{record.name,jdbcType=VARCHAR}, #{record.description,jdbcType=VARCHAR})")
+				.doesNotContain("record.id");
+	}
+
+	@Test
+	public void shouldUseScriptAnnotationForAnnotatedMapper() throws Exception {
+		// Given
+		given(context.getJavaClientGeneratorConfiguration()).willReturn(javaClientGeneratorConfiguration);
+		given(javaClientGeneratorConfiguration.getConfigurationType()).willReturn("ANNOTATEDMAPPER");
+
+		// When
+		plugin.clientInsertMethodGenerated(method, interfaze, introspectedTable);
+		boolean ok = plugin.sqlMapDocumentGenerated(document, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(method(InsertMultiplePlugin.CHUNK_METHOD_NAME).getAnnotations()).contains("@Insert({",
+				"    \"<script>\",", "    \"insert into public.table_name (name, description)\",",
+				"    \"</script>\"");
+		verify(document, never()).getRootElement();
+	}
+
+	@Test
+	public void shouldAddChunkedInsertForDynamicSql() throws Exception {
+		// Given
+		given(introspectedTable.getTargetRuntime()).willReturn(TargetRuntime.MYBATIS3_DSQL);
+		given(introspectedTable.getFullyQualifiedTable()).willReturn(fullyQualifiedTable);
+		given(introspectedTable.getBaseRecordType()).willReturn("some.model.TableName");
+		given(fullyQualifiedTable.getDomainObjectName()).willReturn("TableName");
+		given(name.getJavaProperty()).willReturn("name");
+		given(description.getJavaProperty()).willReturn("description");
+
+		// When
+		boolean ok = plugin.clientInsertMethodGenerated(method, interfaze, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(method(InsertMultiplePlugin.CHUNK_METHOD_NAME).getAnnotations())
+				.containsExactly("@InsertProvider(type=SqlProviderAdapter.class, method=\"insertMultiple\")");
+		then(method(InsertMultiplePlugin.METHOD_NAME).getBodyLines()).contains(
+				"count += insertMultipleChunk(SqlBuilder.insertMultiple(records.subList(i, Math.min(i + rows, records.size())))"
+						+ ".into(TableNameDynamicSqlSupport.tableName)"
+						+ ".map(TableNameDynamicSqlSupport.name).toProperty(\"name\")"
+						+ ".map(TableNameDynamicSqlSupport.description).toProperty(\"description\")"
+						+ ".build().render(RenderingStrategy.MYBATIS3));");
+		then(interfaze.getImportedTypes()).extracting("fullyQualifiedName")
+				.contains("some.mapper.TableNameDynamicSqlSupport");
+	}
+
+	@Test
+	public void shouldIgnoreTableWithoutInsertColumns() throws Exception {
+		// Given
+		given(introspectedTable.getAllColumns()).willReturn(Arrays.asList(id));
+
+		// When
+		boolean ok = plugin.clientInsertMethodGenerated(method, interfaze, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(interfaze.getMethods()).isEmpty();
+	}
+
+}
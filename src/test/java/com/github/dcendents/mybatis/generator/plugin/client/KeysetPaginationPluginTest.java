@@ -0,0 +1,215 @@
+package com.github.dcendents.mybatis.generator.plugin.client;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mybatis.generator.api.CommentGenerator;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.IntrospectedTable.TargetRuntime;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.xml.Document;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.JavaClientGeneratorConfiguration;
+import org.mybatis.generator.internal.rules.Rules;
+
+/**
+ * Tests for the class KeysetPaginationPlugin.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class KeysetPaginationPluginTest {
+
+	private KeysetPaginationPlugin plugin;
+	private Interface interfaze;
+
+	@Mock
+	private Context context;
+	@Mock
+	private CommentGenerator commentGenerator;
+	@Mock
+	private JavaClientGeneratorConfiguration javaClientGeneratorConfiguration;
+	@Mock
+	private IntrospectedTable introspectedTable;
+	@Mock
+	private Rules rules;
+	@Mock
+	private Document document;
+
+	@Mock
+	private IntrospectedColumn id;
+	@Mock
+	private IntrospectedColumn version;
+
+	@Before
+	public void init() throws Exception {
+		given(context.getCommentGenerator()).willReturn(commentGenerator);
+		given(context.getJavaClientGeneratorConfiguration()).willReturn(javaClientGeneratorConfiguration);
+		given(javaClientGeneratorConfiguration.getConfigurationType()).willReturn("XMLMAPPER");
+
+		given(introspectedTable.getTargetRuntime()).willReturn(TargetRuntime.MYBATIS3);
+		given(introspectedTable.getRules()).willReturn(rules);
+		given(introspectedTable.getBaseRecordType()).willReturn("some.model.TableName");
+		given(introspectedTable.getPrimaryKeyColumns()).willReturn(Arrays.asList(id));
+		given(introspectedTable.getBaseResultMapId()).willReturn("BaseResultMap");
+		given(introspectedTable.getBaseColumnListId()).willReturn("Base_Column_List");
+		given(introspectedTable.getMyBatis3UpdateByExampleWhereClauseId()).willReturn("Update_By_Example_Where_Clause");
+		given(introspectedTable.getAliasedFullyQualifiedTableNameAtRuntime()).willReturn("public.table_name");
+		given(rules.generateBaseRecordClass()).willReturn(true);
+		given(rules.generateSelectByExampleWithoutBLOBs()).willReturn(true);
+
+		given(id.getActualColumnName()).willReturn("id");
+		given(id.getJavaProperty()).willReturn("id");
+		given(id.getJavaProperty("lastKey.")).willReturn("lastKey.id");
+		given(id.getJdbcTypeName()).willReturn("INTEGER");
+		given(id.getFullyQualifiedJavaType()).willReturn(new FullyQualifiedJavaType("java.lang.Integer"));
+		given(version.getActualColumnName()).willReturn("version");
+		given(version.getJavaProperty()).willReturn("version");
+		given(version.getJavaProperty("lastKey.")).willReturn("lastKey.version");
+		given(version.getJdbcTypeName()).willReturn("INTEGER");
+		given(version.getFullyQualifiedJavaType()).willReturn(new FullyQualifiedJavaType("java.lang.Integer"));
+
+		interfaze = new Interface("some.mapper.TableNameMapper");
+
+		plugin = new KeysetPaginationPlugin();
+		plugin.setContext(context);
+		plugin.getProperties().put(KeysetPaginationPlugin.PAGINATION_DIALECT, "postgresql");
+		plugin.validate(new ArrayList<String>());
+	}
+
+	private Method selectByExample() {
+		Method method = new Method("selectByExample");
+		method.setReturnType(new FullyQualifiedJavaType(
+				"QueryExpressionDSL<MyBatis3SelectModelAdapter<List<TableName>>>"));
+		method.addParameter(new Parameter(new FullyQualifiedJavaType("some.model.TableNameExample"), "example"));
+		method.addBodyLine("return SelectDSL.selectWithMapper(this::selectMany, id, version, name)");
+		method.addBodyLine("        .from(tableName);");
+		return method;
+	}
+
+	private Method method(String name) {
+		for (Method method : interfaze.getMethods()) {
+			if (method.getName().equals(name)) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	@Test
+	public void shouldBeInvalidWithoutDialect() throws Exception {
+		// Given
+		KeysetPaginationPlugin instance = new KeysetPaginationPlugin();
+
+		// When
+		List<String> warnings = new ArrayList<>();
+		boolean ok = instance.validate(warnings);
+
+		// Then
+		then(ok).isFalse();
+		then(warnings).hasSize(1);
+	}
+
+	@Test
+	public void shouldAddMethodForXmlMapper() throws Exception {
+		// Given
+
+		// When
+		boolean ok = plugin.clientSelectByExampleWithoutBLOBsMethodGenerated(selectByExample(), interfaze,
+				introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		Method method = method(KeysetPaginationPlugin.METHOD_NAME);
+		then(method.isDefault()).isFalse();
+		then(method.getReturnType().getShortName()).isEqualTo("List<TableName>");
+		then(method.getParameters()).extracting("name").containsExactly("lastKey", "limit", "example");
+		then(method.getParameters().get(2).getAnnotations()).containsExactly("@Param(\"example\")");
+	}
+
+	@Test
+	public void shouldIgnoreTableWithoutPrimaryKey() throws Exception {
+		// Given
+		given(introspectedTable.getPrimaryKeyColumns()).willReturn(Collections.<IntrospectedColumn> emptyList());
+
+		// When
+		plugin.clientSelectByExampleWithoutBLOBsMethodGenerated(selectByExample(), interfaze, introspectedTable);
+		boolean ok = plugin.sqlMapDocumentGenerated(document, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(interfaze.getMethods()).isEmpty();
+	}
+
+	@Test
+	public void shouldAddSelectElementWithRowValueComparison() throws Exception {
+		XmlElement root = new XmlElement("mapper");
+
+		// Given
+		given(document.getRootElement()).willReturn(root);
+		given(introspectedTable.getPrimaryKeyColumns()).willReturn(Arrays.asList(id, version));
+
+		// When
+		boolean ok = plugin.sqlMapDocumentGenerated(document, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		String content = root.getElements().get(0).getFormattedContent(0);
+		then(content).contains("<select id=\"selectPageAfter\" parameterType=\"map\" resultMap=\"BaseResultMap\">")
+				.contains("<include refid=\"Update_By_Example_Where_Clause\" />")
+				.contains("and (id, version) &gt; (#{lastKey.id,jdbcType=INTEGER}, #{lastKey.version,jdbcType=INTEGER})")
+				.contains("order by id, version").contains("limit #{limit} offset 0");
+	}
+
+	@Test
+	public void shouldExpandComparisonWithoutRowValues() throws Exception {
+		// Given
+		plugin.getProperties().put(KeysetPaginationPlugin.PAGINATION_DIALECT, "sqlserver");
+		plugin.validate(new ArrayList<String>());
+
+		// When
+		String predicate = plugin.keyPredicate(Arrays.asList(id, version));
+
+		// Then
+		then(predicate).isEqualTo("(id &gt; #{lastKey.id,jdbcType=INTEGER} or (id = #{lastKey.id,jdbcType=INTEGER} "
+				+ "and version &gt; #{lastKey.version,jdbcType=INTEGER}))");
+	}
+
+	@Test
+	public void shouldAddMethodsForDynamicSql() throws Exception {
+		// Given
+		given(introspectedTable.getTargetRuntime()).willReturn(TargetRuntime.MYBATIS3_DSQL);
+		given(introspectedTable.getPrimaryKeyColumns()).willReturn(Arrays.asList(id, version));
+
+		// When
+		boolean ok = plugin.clientSelectByExampleWithBLOBsMethodGenerated(selectByExample(), interfaze,
+				introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(method(KeysetPaginationPlugin.LIMIT_METHOD_NAME).getBodyLines()).contains(
+				"return selectStatement.getSelectStatement() + \" limit \" + limit + \" offset 0\";");
+		then(method(KeysetPaginationPlugin.METHOD_NAME).getBodyLines()).contains(
+				"QueryExpressionDSL<MyBatis3SelectModelAdapter<List<TableName>>> select = "
+						+ "SelectDSL.selectWithMapper(selectManyWithLimit(limit), id, version, name).from(tableName);",
+				"subCriteria.add(SqlBuilder.and(TableNameDynamicSqlSupport.id, SqlBuilder.isGreaterThan(lastKey.getId()), "
+						+ "SqlBuilder.or(TableNameDynamicSqlSupport.version, SqlBuilder.isGreaterThan(lastKey.getVersion()))));",
+				"return select.where(TableNameDynamicSqlSupport.id, SqlBuilder.isGreaterThanOrEqualTo(lastKey.getId()), "
+						+ "subCriteria.toArray(new SqlCriterion<?>[0]))"
+						+ ".orderBy(TableNameDynamicSqlSupport.id, TableNameDynamicSqlSupport.version).build().execute();");
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.github.dcendents.mybatis.generator.plugin.client;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.JavaClientGeneratorConfiguration;
+
+/**
+ * Tests for the class MapperSupport.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class MapperSupportTest {
+
+	@Mock
+	private Context context;
+	@Mock
+	private JavaClientGeneratorConfiguration javaClientGeneratorConfiguration;
+	@Mock
+	private IntrospectedTable introspectedTable;
+
+	@Test
+	public void shouldDetectAnnotatedMapper() throws Exception {
+		// Given
+		given(context.getJavaClientGeneratorConfiguration()).willReturn(javaClientGeneratorConfiguration);
+		given(javaClientGeneratorConfiguration.getConfigurationType()).willReturn("ANNOTATEDMAPPER");
+
+		// When
+		boolean annotated = MapperSupport.isAnnotatedMapper(context);
+
+		// Then
+		then(annotated).isTrue();
+	}
+
+	@Test
+	public void shouldNotDetectAnnotatedMapperWithoutJavaClient() throws Exception {
+		// Given
+		given(context.getJavaClientGeneratorConfiguration()).willReturn(null);
+
+		// When
+		boolean annotated = MapperSupport.isAnnotatedMapper(context);
+
+		// Then
+		then(annotated).isFalse();
+	}
+
+	@Test
+	public void shouldNotDetectXmlMapper() throws Exception {
+		// Given
+		given(context.getJavaClientGeneratorConfiguration()).willReturn(javaClientGeneratorConfiguration);
+		given(javaClientGeneratorConfiguration.getConfigurationType()).willReturn("XMLMAPPER");
+
+		// When
+		boolean annotated = MapperSupport.isAnnotatedMapper(context);
+
+		// Then
+		then(annotated).isFalse();
+	}
+
+	@Test
+	public void shouldNameDynamicSqlSupportAfterRecordInMapperPackage() throws Exception {
+		// Given
+		given(introspectedTable.getBaseRecordType()).willReturn("some.model.TableName");
+
+		// When
+		FullyQualifiedJavaType type = MapperSupport.dynamicSqlSupportType(new Interface(
+				"some.mapper.TableNameMapper"), introspectedTable);
+
+		// Then
+		then(type.getFullyQualifiedName()).isEqualTo("some.mapper.TableNameDynamicSqlSupport");
+	}
+
+}
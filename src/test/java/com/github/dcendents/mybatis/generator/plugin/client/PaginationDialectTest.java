@@ -0,0 +1,54 @@
+package com.github.dcendents.mybatis.generator.plugin.client;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+import org.junit.Test;
+
+/**
+ * Tests for the class PaginationDialect.
+ */
+public class PaginationDialectTest {
+
+	@Test
+	public void shouldFindDialectIgnoringCase() throws Exception {
+		// Given
+
+		// When
+		PaginationDialect dialect = PaginationDialect.of(" SqlServer ");
+
+		// Then
+		then(dialect).isEqualTo(PaginationDialect.SQLSERVER);
+		then(dialect.requiresOrderBy()).isTrue();
+		then(PaginationDialect.of("sybase")).isNull();
+		then(PaginationDialect.of(null)).isNull();
+	}
+
+	@Test
+	public void shouldBuildLimitOffsetClause() throws Exception {
+		// Given
+		PaginationDialect dialect = PaginationDialect.POSTGRESQL;
+
+		// When
+		String clause = dialect.clause("10", "20");
+		String javaClause = dialect.javaClause("limit", "offset");
+
+		// Then
+		then(clause).isEqualTo("limit 10 offset 20");
+		then(javaClause).isEqualTo("\" limit \" + limit + \" offset \" + offset");
+	}
+
+	@Test
+	public void shouldBuildOffsetFetchClause() throws Exception {
+		// Given
+		PaginationDialect dialect = PaginationDialect.ORACLE;
+
+		// When
+		String clause = dialect.clause("10", "20");
+		String javaClause = dialect.javaClause("limit", "offset");
+
+		// Then
+		then(clause).isEqualTo("offset 20 rows fetch next 10 rows only");
+		then(javaClause).isEqualTo("\" offset \" + offset + \" rows fetch next \" + limit + \" rows only\"");
+	}
+
+}
@@ -0,0 +1,280 @@
+package com.github.dcendents.mybatis.generator.plugin.client;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mybatis.generator.api.CommentGenerator;
+import org.mybatis.generator.api.FullyQualifiedTable;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.IntrospectedTable.TargetRuntime;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.java.TopLevelClass;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.Document;
+import org.mybatis.generator.api.dom.xml.TextElement;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.config.Context;
+
+/**
+ * Tests for the class RowBoundsAndCustomSelectPlugin.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RowBoundsAndCustomSelectPluginTest {
+
+	private RowBoundsAndCustomSelectPlugin plugin;
+
+	@Mock
+	private IntrospectedTable introspectedTable;
+	@Mock
+	private FullyQualifiedTable fullyQualifiedTable;
+	@Mock
+	private Document document;
+	@Mock
+	private Context context;
+	@Mock
+	private CommentGenerator commentGenerator;
+
+	@Before
+	public void init() throws Exception {
+		given(introspectedTable.getTargetRuntime()).willReturn(TargetRuntime.MYBATIS3);
+		given(introspectedTable.getFullyQualifiedTable()).willReturn(fullyQualifiedTable);
+
+		plugin = new RowBoundsAndCustomSelectPlugin();
+		plugin.validate(new ArrayList<String>());
+	}
+
+	private RowBoundsAndCustomSelectPlugin paginatedPlugin(String dialect) {
+		given(context.getCommentGenerator()).willReturn(commentGenerator);
+
+		RowBoundsAndCustomSelectPlugin instance = new RowBoundsAndCustomSelectPlugin();
+		instance.setContext(context);
+		instance.getProperties().put(RowBoundsAndCustomSelectPlugin.PAGINATION_DIALECT, dialect);
+		instance.validate(new ArrayList<String>());
+		return instance;
+	}
+
+	private Method selectByExampleMethod() {
+		Method method = new Method("selectByExample");
+		method.setReturnType(new FullyQualifiedJavaType("java.util.List<some.model.TableName>"));
+		method.addParameter(new Parameter(new FullyQualifiedJavaType("some.model.TableNameExample"), "example"));
+		method.addAnnotation("@SelectProvider(type=TableNameSqlProvider.class, method=\"selectByExample\")");
+		return method;
+	}
+
+	private Method findMethod(List<Method> methods, String name) {
+		for (Method method : methods) {
+			if (method.getName().equals(name)) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	private XmlElement selectElement(String content) {
+		XmlElement element = new XmlElement("select");
+		element.addAttribute(new Attribute("id", "selectByExample"));
+		element.addElement(new TextElement(content));
+		return element;
+	}
+
+	@Test
+	public void shouldAddCopiedElementsToTheDocument() throws Exception {
+		XmlElement root = new XmlElement("mapper");
+
+		// Given
+		given(document.getRootElement()).willReturn(root);
+		plugin.sqlMapSelectByExampleWithoutBLOBsElementGenerated(selectElement("select 1"), introspectedTable);
+		plugin.sqlMapSelectByExampleWithBLOBsElementGenerated(selectElement("select 2"), introspectedTable);
+
+		// When
+		boolean ok = plugin.sqlMapDocumentGenerated(document, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(root.getElements()).hasSize(2);
+		XmlElement copy = (XmlElement) root.getElements().get(0);
+		then(copy.getAttributes()).extracting("value").containsExactly("selectByExampleWithRowbounds");
+	}
+
+	@Test
+	public void shouldReleaseCopiedElementsOnceTheDocumentIsGenerated() throws Exception {
+		// Given
+		given(document.getRootElement()).willReturn(new XmlElement("mapper"));
+		plugin.sqlMapSelectByExampleWithoutBLOBsElementGenerated(selectElement("select 1"), introspectedTable);
+
+		// When
+		plugin.sqlMapDocumentGenerated(document, introspectedTable);
+		XmlElement root = new XmlElement("mapper");
+		given(document.getRootElement()).willReturn(root);
+		plugin.sqlMapDocumentGenerated(document, introspectedTable);
+
+		// Then
+		then(plugin.pendingTables()).isZero();
+		then(root.getElements()).isEmpty();
+	}
+
+	@Test
+	public void shouldReleaseBothCopiedElementsOfTheTable() throws Exception {
+		// Given
+		given(document.getRootElement()).willReturn(new XmlElement("mapper"));
+		plugin.sqlMapSelectByExampleWithoutBLOBsElementGenerated(selectElement("select 1"), introspectedTable);
+		plugin.sqlMapSelectByExampleWithBLOBsElementGenerated(selectElement("select 2"), introspectedTable);
+
+		// When
+		plugin.sqlMapDocumentGenerated(document, introspectedTable);
+
+		// Then
+		then(plugin.pendingTables()).isZero();
+	}
+
+	@Test
+	public void shouldBeInvalidWithUnknownDialect() throws Exception {
+		// Given
+		RowBoundsAndCustomSelectPlugin instance = new RowBoundsAndCustomSelectPlugin();
+		instance.getProperties().put(RowBoundsAndCustomSelectPlugin.PAGINATION_DIALECT, "sybase");
+
+		// When
+		List<String> warnings = new ArrayList<>();
+		boolean ok = instance.validate(warnings);
+
+		// Then
+		then(ok).isFalse();
+		then(warnings).hasSize(1);
+	}
+
+	@Test
+	public void shouldAppendLimitToSelectElement() throws Exception {
+		XmlElement element = selectElement("select 1");
+
+		// Given
+		plugin = paginatedPlugin("postgresql");
+
+		// When
+		boolean ok = plugin.sqlMapSelectByExampleWithoutBLOBsElementGenerated(element, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(plugin.pendingTables()).isZero();
+		then(element.getFormattedContent(0)).contains("<if test=\"limit != null\">")
+				.contains("limit #{limit} offset #{offset}");
+	}
+
+	@Test
+	public void shouldAddOrderByForSqlServer() throws Exception {
+		XmlElement element = selectElement("select 1");
+
+		// Given
+		plugin = paginatedPlugin("sqlserver");
+
+		// When
+		plugin.sqlMapSelectByExampleWithBLOBsElementGenerated(element, introspectedTable);
+
+		// Then
+		then(element.getFormattedContent(0)).contains("<if test=\"orderByClause == null\">")
+				.contains("order by (select null)").contains("offset #{offset} rows fetch next #{limit} rows only");
+	}
+
+	@Test
+	public void shouldAddLimitAndOffsetToExampleClass() throws Exception {
+		TopLevelClass topLevelClass = new TopLevelClass("some.model.TableNameExample");
+		Method clear = new Method("clear");
+		clear.addBodyLine("orderByClause = null;");
+		topLevelClass.addMethod(clear);
+
+		// Given
+		plugin = paginatedPlugin("h2");
+
+		// When
+		boolean ok = plugin.modelExampleClassGenerated(topLevelClass, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(topLevelClass.getFields()).extracting("name").containsExactly("limit", "offset");
+		then(topLevelClass.getMethods()).extracting("name").contains("setLimit", "getLimit", "setOffset",
+				"getOffset");
+		then(clear.getBodyLines()).containsExactly("orderByClause = null;", "limit = null;", "offset = 0;");
+	}
+
+	@Test
+	public void shouldAddDefaultRowBoundsMethodSettingTheLimit() throws Exception {
+		Interface interfaze = new Interface("some.mapper.TableNameMapper");
+
+		// Given
+		plugin = paginatedPlugin("mysql");
+
+		// When
+		boolean ok = plugin.clientSelectByExampleWithoutBLOBsMethodGenerated(selectByExampleMethod(), interfaze,
+				introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		Method method = findMethod(interfaze.getMethods(), "selectByExampleWithRowbounds");
+		then(method.isDefault()).isTrue();
+		then(method.getAnnotations()).isEmpty();
+		then(method.getBodyLines()).contains("example.setOffset(rowBounds.getOffset());",
+				"return selectByExample(example);", "example.setLimit(limit);");
+	}
+
+	@Test
+	public void shouldAppendLimitToProviderStatement() throws Exception {
+		Method method = selectByExampleMethod();
+		method.addBodyLine("SQL sql = new SQL();");
+		method.addBodyLine("return sql.toString();");
+
+		// Given
+		plugin = paginatedPlugin("oracle");
+
+		// When
+		boolean ok = plugin.providerSelectByExampleWithoutBLOBsMethodGenerated(method, null, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(method.getBodyLines()).containsExactly("SQL sql = new SQL();", "String statement = sql.toString();",
+				"if (example != null && example.getLimit() != null) {",
+				"statement += \" offset \" + example.getOffset() + \" rows fetch next \" + example.getLimit() + \" rows only\";",
+				"}", "return statement;");
+	}
+
+	@Test
+	public void shouldPushRowBoundsToDynamicSqlStatement() throws Exception {
+		Interface interfaze = new Interface("some.mapper.TableNameMapper");
+		Method method = new Method("selectMany");
+		method.setReturnType(new FullyQualifiedJavaType("java.util.List<some.model.TableName>"));
+		method.addParameter(new Parameter(
+				new FullyQualifiedJavaType("org.mybatis.dynamic.sql.select.render.SelectStatementProvider"),
+				"selectStatement"));
+
+		// Given
+		given(introspectedTable.getTargetRuntime()).willReturn(TargetRuntime.MYBATIS3_DSQL);
+		plugin = paginatedPlugin("postgresql");
+
+		// When
+		boolean ok = plugin.clientBasicSelectManyMethodGenerated(method, interfaze, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		Method function = null;
+		for (Method candidate : interfaze.getMethods()) {
+			if (candidate.isDefault()) {
+				function = candidate;
+			}
+		}
+		then(function.getName()).isEqualTo("selectManyWithRowbounds");
+		then(function.getBodyLines()).contains("return selectMany(selectStatement);",
+				"String statement = select + \" limit \" + rowBounds.getLimit() + \" offset \" + rowBounds.getOffset();",
+				"return statement;");
+		then(interfaze.getImportedTypes()).extracting("fullyQualifiedName").contains("java.util.Map");
+	}
+
+}
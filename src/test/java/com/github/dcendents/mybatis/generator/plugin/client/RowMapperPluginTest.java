@@ -0,0 +1,361 @@
+package com.github.dcendents.mybatis.generator.plugin.client;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.mybatis.generator.api.CommentGenerator;
+import org.mybatis.generator.api.GeneratedJavaFile;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.IntrospectedTable.TargetRuntime;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.java.TopLevelClass;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.Document;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.JavaClientGeneratorConfiguration;
+import org.mybatis.generator.internal.rules.Rules;
+
+import com.github.dcendents.mybatis.generator.plugin.model.DirtyTrackingModelPlugin;
+
+/**
+ * Tests for the class RowMapperPlugin.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RowMapperPluginTest {
+
+	private RowMapperPlugin plugin;
+	private Interface interfaze;
+
+	@Mock
+	private Context context;
+	@Mock
+	private CommentGenerator commentGenerator;
+	@Mock
+	private JavaClientGeneratorConfiguration javaClientGeneratorConfiguration;
+	@Mock
+	private IntrospectedTable introspectedTable;
+	@Mock
+	private Rules rules;
+	@Mock
+	private Document document;
+
+	@Mock
+	private IntrospectedColumn id;
+	@Mock
+	private IntrospectedColumn name;
+	@Mock
+	private IntrospectedColumn created;
+	@Mock
+	private IntrospectedColumn status;
+
+	private static final String RECORD_TYPE = "some.model.TableName";
+
+	@Before
+	public void init() throws Exception {
+		given(context.getCommentGenerator()).willReturn(commentGenerator);
+
+		given(introspectedTable.getTargetRuntime()).willReturn(TargetRuntime.MYBATIS3);
+		given(introspectedTable.getBaseRecordType()).willReturn(RECORD_TYPE);
+		given(introspectedTable.getMyBatis3JavaMapperType()).willReturn("some.mapper.TableNameMapper");
+		given(introspectedTable.getRules()).willReturn(rules);
+		given(rules.calculateAllFieldsClass()).willReturn(new FullyQualifiedJavaType(RECORD_TYPE));
+		given(introspectedTable.getAllColumns()).willReturn(Arrays.asList(id, name, created, status));
+
+		given(id.getActualColumnName()).willReturn("id");
+		given(id.getJavaProperty()).willReturn("id");
+		given(id.getFullyQualifiedJavaType()).willReturn(new FullyQualifiedJavaType("java.lang.Long"));
+		given(name.getActualColumnName()).willReturn("name");
+		given(name.getJavaProperty()).willReturn("name");
+		given(name.getFullyQualifiedJavaType()).willReturn(FullyQualifiedJavaType.getStringInstance());
+		given(created.getActualColumnName()).willReturn("created");
+		given(created.getJavaProperty()).willReturn("created");
+		given(created.getFullyQualifiedJavaType()).willReturn(FullyQualifiedJavaType.getDateInstance());
+		given(status.getActualColumnName()).willReturn("status");
+		given(status.getJavaProperty()).willReturn("status");
+		given(status.getFullyQualifiedJavaType()).willReturn(new FullyQualifiedJavaType("some.model.Status"));
+		given(status.getTypeHandler()).willReturn("some.handler.StatusTypeHandler");
+
+		interfaze = new Interface("some.mapper.TableNameMapper");
+
+		plugin = new RowMapperPlugin();
+		plugin.setContext(context);
+		plugin.validate(new ArrayList<String>());
+	}
+
+	private Method selectByExample() {
+		Method method = new Method("selectByExample");
+		method.setReturnType(new FullyQualifiedJavaType("java.util.List<some.model.TableName>"));
+		method.addParameter(new Parameter(new FullyQualifiedJavaType("some.model.TableNameExample"), "example"));
+		return method;
+	}
+
+	private List<GeneratedJavaFile> additionalJavaFiles() {
+		given(context.getJavaClientGeneratorConfiguration()).willReturn(javaClientGeneratorConfiguration);
+		given(javaClientGeneratorConfiguration.getTargetProject()).willReturn("src/main/java");
+		return plugin.contextGenerateAdditionalJavaFiles(introspectedTable);
+	}
+
+	private Method method(List<Method> methods, String name) {
+		for (Method method : methods) {
+			if (method.getName().equals(name)) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	@Test
+	public void shouldUseClassSuffix() throws Exception {
+		// Given
+		plugin.getProperties().put(RowMapperPlugin.CLASS_SUFFIX, "Reader");
+		plugin.validate(new ArrayList<String>());
+
+		// When
+		FullyQualifiedJavaType type = plugin.rowMapperType(introspectedTable);
+
+		// Then
+		then(type.getFullyQualifiedName()).isEqualTo("some.mapper.TableNameReader");
+	}
+
+	@Test
+	public void shouldNotSupportHierarchicalModel() throws Exception {
+		// Given
+		given(rules.calculateAllFieldsClass()).willReturn(new FullyQualifiedJavaType("some.model.TableNameWithBLOBs"));
+
+		// When
+		boolean ok = plugin.clientSelectByExampleWithBLOBsMethodGenerated(selectByExample(), interfaze,
+				introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(interfaze.getMethods()).isEmpty();
+		then(plugin.contextGenerateAdditionalJavaFiles(introspectedTable)).isEmpty();
+	}
+
+	@Test
+	public void shouldNotAddMethodsWithoutBLOBsWhenTableHasBLOBs() throws Exception {
+		// Given
+		given(introspectedTable.hasBLOBColumns()).willReturn(true);
+
+		// When
+		boolean ok = plugin.clientSelectByExampleWithoutBLOBsMethodGenerated(selectByExample(), interfaze,
+				introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(interfaze.getMethods()).isEmpty();
+	}
+
+	@Test
+	public void shouldNotAddMethodsToAnnotatedMapper() throws Exception {
+		// Given
+		given(context.getJavaClientGeneratorConfiguration()).willReturn(javaClientGeneratorConfiguration);
+		given(javaClientGeneratorConfiguration.getConfigurationType()).willReturn("ANNOTATEDMAPPER");
+
+		// When
+		boolean ok = plugin.clientSelectByExampleWithoutBLOBsMethodGenerated(selectByExample(), interfaze,
+				introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(interfaze.getMethods()).isEmpty();
+	}
+
+	@Test
+	public void shouldAddRowMapperMethodsForXmlMapper() throws Exception {
+		// Given
+
+		// When
+		boolean ok = plugin.clientSelectByExampleWithoutBLOBsMethodGenerated(selectByExample(), interfaze,
+				introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		Method rows = method(interfaze.getMethods(), RowMapperPlugin.ROWS_METHOD_NAME);
+		then(rows.getReturnType()).isNull();
+		then(rows.getParameters()).extracting("name").containsExactly("example", "handler");
+		then(rows.getParameters().get(1).getType().getShortName()).isEqualTo("ResultHandler<Row>");
+
+		Method select = method(interfaze.getMethods(), RowMapperPlugin.METHOD_NAME);
+		then(select.isDefault()).isTrue();
+		then(select.getBodyLines()).containsExactly("List<TableName> records = new ArrayList<>();",
+				"selectByExampleRows(example, context -> records.add(context.getResultObject().getRecord()));",
+				"return records;");
+		then(interfaze.getImportedTypes()).extracting("fullyQualifiedName").contains(
+				"some.mapper.TableNameRowMapper.Row", "org.apache.ibatis.session.ResultHandler");
+
+		List<GeneratedJavaFile> files = additionalJavaFiles();
+		then(files).hasSize(1);
+		then(files.get(0).getCompilationUnit().getType().getFullyQualifiedName()).isEqualTo(
+				"some.mapper.TableNameRowMapper");
+	}
+
+	@Test
+	public void shouldMapColumnsByIndex() throws Exception {
+		// Given
+
+		// When
+		TopLevelClass rowMapper = plugin.createRowMapperClass(introspectedTable);
+
+		// Then
+		then(rowMapper.getSuperInterfaceTypes()).extracting("shortName").containsExactly("TypeHandler<TableName>");
+		then(method(rowMapper.getMethods(), "map").getBodyLines()).containsExactly(
+				"TableName record = new TableName();",
+				"long idValue = rs.getLong(first);",
+				"record.setId(rs.wasNull() ? null : idValue);",
+				"record.setName(rs.getString(first + 1));",
+				"java.sql.Timestamp createdValue = rs.getTimestamp(first + 2);",
+				"record.setCreated(createdValue == null ? null : new java.util.Date(createdValue.getTime()));",
+				"record.setStatus(statusHandler.getResult(rs, first + 3));",
+				"return record;");
+		then(rowMapper.getFields()).extracting("name").containsExactly("statusHandler");
+		then(rowMapper.getFields().get(0).getInitializationString()).isEqualTo("new StatusTypeHandler()");
+		then(rowMapper.getInnerClasses()).hasSize(1);
+		then(rowMapper.getInnerClasses().get(0).getType().getShortName()).isEqualTo(RowMapperPlugin.ROW_CLASS_NAME);
+	}
+
+	@Test
+	public void shouldClearRecordsOfTrackedModels() throws Exception {
+		final Map<String, Object> attributes = new HashMap<>();
+		DirtyTrackingModelPlugin dirtyTracking = new DirtyTrackingModelPlugin();
+		dirtyTracking.setContext(context);
+		dirtyTracking.getProperties().put(DirtyTrackingModelPlugin.TABLE_NAME, "TABLE_NAME");
+		dirtyTracking.validate(new ArrayList<String>());
+
+		// Given
+		given(introspectedTable.getFullyQualifiedTableNameAtRuntime()).willReturn("TABLE_NAME");
+		given(introspectedTable.getPrimaryKeyColumns()).willReturn(Arrays.asList(id));
+		given(introspectedTable.getNonPrimaryKeyColumns()).willReturn(Arrays.asList(name, created, status));
+		willAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				attributes.put(invocation.getArgumentAt(0, String.class), invocation.getArgumentAt(1, Object.class));
+				return null;
+			}
+		}).given(introspectedTable).setAttribute(anyString(), any());
+		given(introspectedTable.getAttribute(anyString())).willAnswer(new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+				return attributes.get(invocation.getArgumentAt(0, String.class));
+			}
+		});
+		dirtyTracking.initialized(introspectedTable);
+
+		// When
+		TopLevelClass rowMapper = plugin.createRowMapperClass(introspectedTable);
+
+		// Then
+		List<String> lines = method(rowMapper.getMethods(), "map").getBodyLines();
+		then(lines.subList(lines.size() - 2, lines.size())).containsExactly("record.clearDirty();", "return record;");
+	}
+
+	@Test
+	public void shouldReadUnknownTypesAsObjects() throws Exception {
+		// Given
+		given(status.getTypeHandler()).willReturn(null);
+		given(status.getFullyQualifiedJavaType()).willReturn(new FullyQualifiedJavaType("java.time.LocalDate"));
+
+		// When
+		TopLevelClass rowMapper = plugin.createRowMapperClass(introspectedTable);
+
+		// Then
+		then(method(rowMapper.getMethods(), "map").getBodyLines()).contains(
+				"record.setStatus(rs.getObject(first + 3, LocalDate.class));");
+	}
+
+	@Test
+	public void shouldAddRowsElementToXmlMapper() throws Exception {
+		XmlElement root = new XmlElement("mapper");
+		XmlElement element = new XmlElement("select");
+		element.addAttribute(new Attribute("id", "selectByExample"));
+		element.addAttribute(new Attribute("resultMap", "BaseResultMap"));
+
+		// Given
+		given(document.getRootElement()).willReturn(root);
+		plugin.sqlMapSelectByExampleWithoutBLOBsElementGenerated(element, introspectedTable);
+
+		// When
+		boolean ok = plugin.sqlMapDocumentGenerated(document, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(root.getElements()).hasSize(2);
+		String resultMap = root.getElements().get(0).getFormattedContent(0);
+		then(resultMap).startsWith(
+				"<resultMap id=\"RowMapperResultMap\" type=\"some.mapper.TableNameRowMapper$Row\" autoMapping=\"false\">");
+		then(resultMap).contains("<result column=\"id\" property=\"record\" javaType=\"some.model.TableName\" "
+				+ "typeHandler=\"some.mapper.TableNameRowMapper\" />");
+		then(root.getElements().get(1).getFormattedContent(0)).isEqualTo(
+				"<select id=\"selectByExampleRows\" resultMap=\"RowMapperResultMap\" />");
+		then(element.getAttributes()).extracting("value").containsExactly("selectByExample", "BaseResultMap");
+	}
+
+	@Test
+	public void shouldAddRowMapperMethodsForDynamicSql() throws Exception {
+		Method method = new Method("selectByExample");
+		method.setReturnType(new FullyQualifiedJavaType(
+				"QueryExpressionDSL<MyBatis3SelectModelAdapter<List<TableName>>>"));
+		method.addBodyLine("return SelectDSL.selectWithMapper(this::selectMany, id, name, created, status)");
+		method.addBodyLine("        .from(tableName);");
+
+		// Given
+		given(introspectedTable.getTargetRuntime()).willReturn(TargetRuntime.MYBATIS3_DSQL);
+
+		// When
+		boolean ok = plugin.clientSelectByExampleWithBLOBsMethodGenerated(method, interfaze, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(method(interfaze.getMethods(), RowMapperPlugin.DSQL_ROWS_METHOD_NAME).getAnnotations()).containsExactly(
+				"@SelectProvider(type=SqlProviderAdapter.class, method=\"select\")",
+				"@Results(id=\"TableNameRowMapperResultMap\", value={",
+				"    @Result(column=\"id\", property=\"record\", javaType=TableName.class, typeHandler=TableNameRowMapper.class)",
+				"})");
+		then(method(interfaze.getMethods(), RowMapperPlugin.DSQL_METHOD_NAME).getBodyLines()).contains(
+				"selectManyRows(selectStatement, context -> records.add(context.getResultObject().getRecord()));");
+		then(method(interfaze.getMethods(), RowMapperPlugin.METHOD_NAME).getBodyLines()).containsExactly(
+				"return SelectDSL.selectWithMapper(this::selectManyWithRowMapper, id, name, created, status)",
+				"        .from(tableName);");
+		then(additionalJavaFiles()).hasSize(1);
+	}
+
+	@Test
+	public void shouldNotAddRowMapperForSelectDistinct() throws Exception {
+		Method method = new Method("selectByExample");
+		method.setReturnType(new FullyQualifiedJavaType(
+				"QueryExpressionDSL<MyBatis3SelectModelAdapter<List<TableName>>>"));
+		method.addBodyLine("return SelectDSL.selectDistinctWithMapper(this::selectMany, id, name, created, status)");
+
+		// Given
+		given(introspectedTable.getTargetRuntime()).willReturn(TargetRuntime.MYBATIS3_DSQL);
+
+		// When
+		boolean ok = plugin.clientSelectByExampleWithBLOBsMethodGenerated(method, interfaze, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(interfaze.getMethods()).isEmpty();
+	}
+
+}
@@ -0,0 +1,229 @@
+package com.github.dcendents.mybatis.generator.plugin.client;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mybatis.generator.api.CommentGenerator;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.IntrospectedTable.TargetRuntime;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.xml.Document;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.internal.rules.Rules;
+
+/**
+ * Tests for the class SelectByPrimaryKeysPlugin.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SelectByPrimaryKeysPluginTest {
+
+	private SelectByPrimaryKeysPlugin plugin;
+	private Interface interfaze;
+
+	@Mock
+	private Context context;
+	@Mock
+	private CommentGenerator commentGenerator;
+	@Mock
+	private IntrospectedTable introspectedTable;
+	@Mock
+	private Rules rules;
+	@Mock
+	private Document document;
+
+	@Mock
+	private IntrospectedColumn id;
+	@Mock
+	private IntrospectedColumn version;
+
+	@Before
+	public void init() throws Exception {
+		given(context.getCommentGenerator()).willReturn(commentGenerator);
+
+		given(introspectedTable.getTargetRuntime()).willReturn(TargetRuntime.MYBATIS3);
+		given(introspectedTable.getRules()).willReturn(rules);
+		given(introspectedTable.getPrimaryKeyColumns()).willReturn(Arrays.asList(id));
+
+		given(id.getActualColumnName()).willReturn("id");
+		given(id.getJdbcTypeName()).willReturn("INTEGER");
+
+		interfaze = new Interface("some.mapper.TableNameMapper");
+
+		plugin = new SelectByPrimaryKeysPlugin();
+		plugin.setContext(context);
+		plugin.getProperties().put(SelectByPrimaryKeysPlugin.MAX_IN_LIST_SIZE, "100");
+		plugin.validate(new ArrayList<String>());
+	}
+
+	private Method selectByPrimaryKey(Parameter... parameters) {
+		Method method = new Method("selectByPrimaryKey");
+		method.setReturnType(new FullyQualifiedJavaType("some.model.TableName"));
+		for (Parameter parameter : parameters) {
+			method.addParameter(parameter);
+		}
+		return method;
+	}
+
+	private Method method(String name) {
+		for (Method method : interfaze.getMethods()) {
+			if (method.getName().equals(name)) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	private void givenCompositeKey() {
+		given(introspectedTable.getPrimaryKeyColumns()).willReturn(Arrays.asList(id, version));
+		given(id.getJavaProperty("key.")).willReturn("key.id");
+		given(version.getActualColumnName()).willReturn("version");
+		given(version.getJavaProperty("key.")).willReturn("key.version");
+		given(version.getJdbcTypeName()).willReturn("INTEGER");
+	}
+
+	private String selectElement() {
+		XmlElement root = new XmlElement("mapper");
+		given(document.getRootElement()).willReturn(root);
+		given(introspectedTable.getBaseResultMapId()).willReturn("BaseResultMap");
+		given(introspectedTable.getBaseColumnListId()).willReturn("Base_Column_List");
+		given(introspectedTable.getAliasedFullyQualifiedTableNameAtRuntime()).willReturn("public.table_name");
+		given(rules.generateSelectByPrimaryKey()).willReturn(true);
+		plugin.sqlMapDocumentGenerated(document, introspectedTable);
+		return root.getElements().get(0).getFormattedContent(0);
+	}
+
+	@Test
+	public void shouldBeInvalidWithInvalidInListSize() throws Exception {
+		// Given
+		SelectByPrimaryKeysPlugin instance = new SelectByPrimaryKeysPlugin();
+		instance.getProperties().put(SelectByPrimaryKeysPlugin.MAX_IN_LIST_SIZE, "0");
+
+		// When
+		List<String> warnings = new ArrayList<>();
+		boolean ok = instance.validate(warnings);
+
+		// Then
+		then(ok).isFalse();
+		then(warnings).hasSize(1);
+	}
+
+	@Test
+	public void shouldAddChunkedSelectForXmlMapper() throws Exception {
+		// Given
+
+		// When
+		boolean ok = plugin.clientSelectByPrimaryKeyMethodGenerated(selectByPrimaryKey(new Parameter(
+				new FullyQualifiedJavaType("java.lang.Integer"), "id")), interfaze, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(method(SelectByPrimaryKeysPlugin.CHUNK_METHOD_NAME).getParameters().get(0).getAnnotations())
+				.containsExactly("@Param(\"keys\")");
+		Method method = method(SelectByPrimaryKeysPlugin.METHOD_NAME);
+		then(method.isDefault()).isTrue();
+		then(method.getParameters().get(0).getType().getShortName()).isEqualTo("Collection<Integer>");
+		then(method.getBodyLines()).contains(
+				"List<Integer> distinctKeys = new ArrayList<>(new LinkedHashSet<>(keys));",
+				"List<Integer> chunk = distinctKeys.subList(i, Math.min(i + 100, distinctKeys.size()));",
+				"records.addAll(selectByPrimaryKeysChunk(chunk));");
+	}
+
+	@Test
+	public void shouldSelectSingleColumnKeysWithInList() throws Exception {
+		// Given
+
+		// When
+		String content = selectElement();
+
+		// Then
+		then(content).contains("<select id=\"selectByPrimaryKeysChunk\" parameterType=\"map\" resultMap=\"BaseResultMap\">")
+				.contains("where id in")
+				.contains("<foreach collection=\"keys\" item=\"key\" open=\"(\" separator=\",\" close=\")\">")
+				.contains("#{key,jdbcType=INTEGER}");
+	}
+
+	@Test
+	public void shouldSelectCompositeKeysWithOrConditions() throws Exception {
+		// Given
+		givenCompositeKey();
+
+		// When
+		String content = selectElement();
+
+		// Then
+		then(content).contains("<foreach collection=\"keys\" item=\"key\" open=\"(\" separator=\"or\" close=\")\">")
+				.contains("(id = #{key.id,jdbcType=INTEGER} and version = #{key.version,jdbcType=INTEGER})");
+	}
+
+	@Test
+	public void shouldSelectCompositeKeysWithRowValues() throws Exception {
+		// Given
+		givenCompositeKey();
+		plugin.getProperties().put(SelectByPrimaryKeysPlugin.ROW_VALUES, "true");
+		plugin.validate(new ArrayList<String>());
+
+		// When
+		String content = selectElement();
+
+		// Then
+		then(content).contains("where (id, version) in").contains(
+				"(#{key.id,jdbcType=INTEGER}, #{key.version,jdbcType=INTEGER})");
+	}
+
+	@Test
+	public void shouldAddCompositeKeySelectForDynamicSql() throws Exception {
+		// Given
+		given(introspectedTable.getTargetRuntime()).willReturn(TargetRuntime.MYBATIS3_DSQL);
+		given(introspectedTable.getPrimaryKeyColumns()).willReturn(Arrays.asList(id, version));
+		given(introspectedTable.getBaseRecordType()).willReturn("some.model.TableName");
+		given(id.getJavaProperty()).willReturn("id");
+		given(id.getFullyQualifiedJavaType()).willReturn(new FullyQualifiedJavaType("java.lang.Integer"));
+		given(version.getJavaProperty()).willReturn("version");
+		given(version.getFullyQualifiedJavaType()).willReturn(new FullyQualifiedJavaType("java.lang.Integer"));
+
+		// When
+		plugin.clientSelectByPrimaryKeyMethodGenerated(selectByPrimaryKey(new Parameter(new FullyQualifiedJavaType(
+				"java.lang.Integer"), "id_"), new Parameter(new FullyQualifiedJavaType("java.lang.Integer"),
+				"version_")), interfaze, introspectedTable);
+
+		// Then
+		then(method(SelectByPrimaryKeysPlugin.CHUNK_METHOD_NAME)).isNull();
+		Method method = method(SelectByPrimaryKeysPlugin.METHOD_NAME);
+		then(method.getParameters().get(0).getType().getShortName()).isEqualTo("Collection<TableName>");
+		then(method.getBodyLines()).contains(
+				"criteria.add(SqlBuilder.and(TableNameDynamicSqlSupport.version, SqlBuilder.isEqualTo(chunk.get(0).getVersion())));",
+				"for (TableName key : chunk.subList(1, chunk.size())) {",
+				"criteria.add(SqlBuilder.or(TableNameDynamicSqlSupport.id, SqlBuilder.isEqualTo(key.getId()), "
+						+ "SqlBuilder.and(TableNameDynamicSqlSupport.version, SqlBuilder.isEqualTo(key.getVersion()))));",
+				"records.addAll(selectByExample().where(TableNameDynamicSqlSupport.id, SqlBuilder.isEqualTo(chunk.get(0)"
+						+ ".getId()), criteria.toArray(new SqlCriterion<?>[0])).build().execute());");
+	}
+
+	@Test
+	public void shouldIgnoreOtherMethods() throws Exception {
+		// Given
+		Method method = new Method("selectDistinctByExample");
+
+		// When
+		boolean ok = plugin.clientSelectByPrimaryKeyMethodGenerated(method, interfaze, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(interfaze.getMethods()).isEmpty();
+	}
+
+}
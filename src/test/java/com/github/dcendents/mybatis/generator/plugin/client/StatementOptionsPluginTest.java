@@ -0,0 +1,183 @@
+package com.github.dcendents.mybatis.generator.plugin.client;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+
+/**
+ * Tests for the class StatementOptionsPlugin.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class StatementOptionsPluginTest {
+
+	private StatementOptionsPlugin plugin;
+	private Interface interfaze;
+
+	@Mock
+	private IntrospectedTable introspectedTable;
+
+	@Before
+	public void init() throws Exception {
+		given(introspectedTable.getFullyQualifiedTableNameAtRuntime()).willReturn("public.audit_log");
+
+		interfaze = new Interface("some.mapper.AuditLogMapper");
+
+		plugin = new StatementOptionsPlugin();
+		plugin.getProperties().put(StatementOptionsPlugin.TABLE_NAME, "public\\.audit_.*");
+		plugin.getProperties().put(StatementOptionsPlugin.FETCH_SIZE, "1000");
+		plugin.getProperties().put(StatementOptionsPlugin.TIMEOUT, "30");
+		plugin.getProperties().put(StatementOptionsPlugin.RESULT_SET_TYPE, "FORWARD_ONLY");
+		plugin.validate(new ArrayList<String>());
+	}
+
+	private XmlElement selectElement() {
+		XmlElement element = new XmlElement("select");
+		element.addAttribute(new Attribute("id", "selectByPrimaryKey"));
+		return element;
+	}
+
+	@Test
+	public void shouldBeInvalidWithoutAnyOption() throws Exception {
+		// Given
+		StatementOptionsPlugin instance = new StatementOptionsPlugin();
+		instance.getProperties().put(StatementOptionsPlugin.TABLE_NAME, "public.audit_log");
+
+		// When
+		List<String> warnings = new ArrayList<>();
+		boolean ok = instance.validate(warnings);
+
+		// Then
+		then(ok).isFalse();
+		then(warnings).hasSize(1);
+	}
+
+	@Test
+	public void shouldBeInvalidWithInvalidOptions() throws Exception {
+		// Given
+		StatementOptionsPlugin instance = new StatementOptionsPlugin();
+		instance.getProperties().put(StatementOptionsPlugin.FETCH_SIZE, "-5");
+		instance.getProperties().put(StatementOptionsPlugin.RESULT_SET_TYPE, "BACKWARD");
+
+		// When
+		List<String> warnings = new ArrayList<>();
+		boolean ok = instance.validate(warnings);
+
+		// Then
+		then(ok).isFalse();
+		then(warnings).hasSize(3);
+	}
+
+	@Test
+	public void shouldAddAttributesToSelectElement() throws Exception {
+		XmlElement element = selectElement();
+
+		// Given
+
+		// When
+		boolean ok = plugin.sqlMapSelectByPrimaryKeyElementGenerated(element, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(element.getFormattedContent(0)).isEqualTo(
+				"<select id=\"selectByPrimaryKey\" fetchSize=\"1000\" timeout=\"30\" resultSetType=\"FORWARD_ONLY\" />");
+	}
+
+	@Test
+	public void shouldKeepExistingAttributes() throws Exception {
+		XmlElement element = selectElement();
+		element.addAttribute(new Attribute("fetchSize", "10"));
+
+		// Given
+
+		// When
+		plugin.sqlMapSelectAllElementGenerated(element, introspectedTable);
+
+		// Then
+		then(element.getAttributes()).extracting("name").containsExactly("id", "fetchSize", "timeout",
+				"resultSetType");
+		then(element.getAttributes()).extracting("value").contains("10");
+	}
+
+	@Test
+	public void shouldIgnoreOtherTables() throws Exception {
+		XmlElement element = selectElement();
+		IntrospectedTable otherTable = mock(IntrospectedTable.class);
+
+		// Given
+		given(otherTable.getFullyQualifiedTableNameAtRuntime()).willReturn("public.country");
+
+		// When
+		plugin.sqlMapSelectByExampleWithoutBLOBsElementGenerated(element, otherTable);
+
+		// Then
+		then(element.getAttributes()).hasSize(1);
+	}
+
+	@Test
+	public void shouldAddOptionsToAnnotatedMethod() throws Exception {
+		Method method = new Method("selectMany");
+		method.addAnnotation("@SelectProvider(type=SqlProviderAdapter.class, method=\"select\")");
+
+		// Given
+
+		// When
+		boolean ok = plugin.clientBasicSelectManyMethodGenerated(method, interfaze, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(method.getAnnotations()).containsExactly(
+				"@SelectProvider(type=SqlProviderAdapter.class, method=\"select\")",
+				"@Options(fetchSize=1000, timeout=30, resultSetType=ResultSetType.FORWARD_ONLY)");
+		then(interfaze.getImportedTypes()).extracting("fullyQualifiedName").contains(
+				"org.apache.ibatis.annotations.Options", "org.apache.ibatis.mapping.ResultSetType");
+	}
+
+	@Test
+	public void shouldNotAnnotateXmlAndDefaultMethods() throws Exception {
+		Method xmlMethod = new Method("selectByExample");
+		Method defaultMethod = new Method("selectByExample");
+		defaultMethod.setDefault(true);
+		defaultMethod.addAnnotation("@Generated(\"org.mybatis.generator.api.MyBatisGenerator\")");
+
+		// Given
+
+		// When
+		plugin.clientSelectByExampleWithoutBLOBsMethodGenerated(xmlMethod, interfaze, introspectedTable);
+		plugin.clientSelectByExampleWithBLOBsMethodGenerated(defaultMethod, interfaze, introspectedTable);
+
+		// Then
+		then(xmlMethod.getAnnotations()).isEmpty();
+		then(defaultMethod.getAnnotations()).hasSize(1);
+	}
+
+	@Test
+	public void shouldCompleteExistingOptions() throws Exception {
+		Method method = new Method("selectByPrimaryKey");
+		method.addAnnotation("@Select({\"select * from public.audit_log\"})");
+		method.addAnnotation("@Options(timeout=5)");
+
+		// Given
+
+		// When
+		plugin.clientSelectByPrimaryKeyMethodGenerated(method, interfaze, introspectedTable);
+
+		// Then
+		then(method.getAnnotations()).containsExactly("@Select({\"select * from public.audit_log\"})",
+				"@Options(timeout=5, fetchSize=1000, resultSetType=ResultSetType.FORWARD_ONLY)");
+	}
+
+}
@@ -0,0 +1,357 @@
+package com.github.dcendents.mybatis.generator.plugin.client;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mybatis.generator.api.CommentGenerator;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.IntrospectedTable.TargetRuntime;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.xml.Document;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.internal.rules.Rules;
+
+/**
+ * Tests for the class UpsertPlugin.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class UpsertPluginTest {
+
+	private UpsertPlugin plugin;
+	private Interface interfaze;
+
+	@Mock
+	private Context context;
+	@Mock
+	private CommentGenerator commentGenerator;
+	@Mock
+	private IntrospectedTable introspectedTable;
+	@Mock
+	private Rules rules;
+	@Mock
+	private Method method;
+	@Mock
+	private Document document;
+
+	@Mock
+	private IntrospectedColumn id;
+	@Mock
+	private IntrospectedColumn name;
+	@Mock
+	private IntrospectedColumn code;
+
+	@Before
+	public void init() throws Exception {
+		given(context.getCommentGenerator()).willReturn(commentGenerator);
+
+		given(introspectedTable.getTargetRuntime()).willReturn(TargetRuntime.MYBATIS3);
+		given(introspectedTable.getFullyQualifiedTableNameAtRuntime()).willReturn("public.table_name");
+		given(introspectedTable.getAllColumns()).willReturn(Arrays.asList(id, name, code));
+		given(introspectedTable.getPrimaryKeyColumns()).willReturn(Arrays.asList(id));
+
+		given(id.getActualColumnName()).willReturn("id");
+		given(id.getJavaProperty("record.")).willReturn("record.id");
+		given(id.getJdbcTypeName()).willReturn("INTEGER");
+		given(name.getActualColumnName()).willReturn("name");
+		given(name.getJavaProperty("record.")).willReturn("record.name");
+		given(name.getJdbcTypeName()).willReturn("VARCHAR");
+		given(code.getActualColumnName()).willReturn("code");
+		given(code.getJavaProperty("record.")).willReturn("record.code");
+		given(code.getJdbcTypeName()).willReturn("VARCHAR");
+
+		interfaze = new Interface("some.mapper.TableNameMapper");
+
+		plugin = new UpsertPlugin();
+		plugin.setContext(context);
+		plugin.getProperties().put(UpsertPlugin.UPSERT_DIALECT, "postgresql");
+		plugin.getProperties().put(UpsertPlugin.MAX_PARAMETERS, "30");
+		plugin.validate(new ArrayList<String>());
+	}
+
+	private Method method(String name) {
+		for (Method method : interfaze.getMethods()) {
+			if (method.getName().equals(name)) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	private boolean upsertMethods() {
+		given(introspectedTable.getRules()).willReturn(rules);
+		given(rules.calculateAllFieldsClass()).willReturn(new FullyQualifiedJavaType("some.model.TableName"));
+		given(id.getJavaProperty()).willReturn("id");
+		given(id.getFullyQualifiedJavaType()).willReturn(new FullyQualifiedJavaType("java.lang.Integer"));
+		return plugin.clientInsertMethodGenerated(method, interfaze, introspectedTable);
+	}
+
+	private String upsertElement(String dialect) {
+		plugin.getProperties().put(UpsertPlugin.UPSERT_DIALECT, dialect);
+		plugin.validate(new ArrayList<String>());
+		given(introspectedTable.getRules()).willReturn(rules);
+		given(rules.generateInsert()).willReturn(true);
+
+		XmlElement root = new XmlElement("mapper");
+		given(document.getRootElement()).willReturn(root);
+		plugin.sqlMapDocumentGenerated(document, introspectedTable);
+		return root.getElements().get(0).getFormattedContent(0);
+	}
+
+	@Test
+	public void shouldBeInvalidWithInvalidProperties() throws Exception {
+		// Given
+		UpsertPlugin instance = new UpsertPlugin();
+		instance.getProperties().put(UpsertPlugin.UPSERT_DIALECT, "sqlite");
+		instance.getProperties().put(UpsertPlugin.MAX_ROWS, "0");
+
+		// When
+		List<String> warnings = new ArrayList<>();
+		boolean ok = instance.validate(warnings);
+
+		// Then
+		then(ok).isFalse();
+		then(warnings).hasSize(2);
+	}
+
+	@Test
+	public void shouldBeInvalidWithoutDialect() throws Exception {
+		// Given
+		UpsertPlugin instance = new UpsertPlugin();
+
+		// When
+		List<String> warnings = new ArrayList<>();
+		boolean ok = instance.validate(warnings);
+
+		// Then
+		then(ok).isFalse();
+		then(warnings).hasSize(1);
+	}
+
+	@Test
+	public void shouldAddUpsertMethodsForXmlMapper() throws Exception {
+		// Given
+
+		// When
+		boolean ok = upsertMethods();
+
+		// Then
+		then(ok).isTrue();
+		Method chunk = method(UpsertPlugin.CHUNK_METHOD_NAME);
+		then(chunk.getAnnotations()).isEmpty();
+		then(chunk.getParameters().get(0).getAnnotations()).containsExactly("@Param(\"records\")");
+		then(method(UpsertPlugin.METHOD_NAME).getBodyLines()).containsExactly(
+				"return upsertMultipleChunk(Collections.singletonList(record));");
+		then(method(UpsertPlugin.MULTIPLE_METHOD_NAME).getBodyLines()).contains(
+				"Map<Object, TableName> unique = new LinkedHashMap<>();", "Object key = record.getId();",
+				"unique.put(key == null ? new Object() : key, record);",
+				"List<TableName> distinct = new ArrayList<>(unique.values());", "int rows = 10;",
+				"count += upsertMultipleChunk(distinct.subList(i, Math.min(i + rows, distinct.size())));");
+	}
+
+	@Test
+	public void shouldDeduplicateRecordsByCompositeKey() throws Exception {
+		// Given
+		given(introspectedTable.getTableConfigurationProperty(UpsertPlugin.TABLE_KEY_COLUMNS)).willReturn("name, code");
+		given(name.getJavaProperty()).willReturn("name");
+		given(name.getFullyQualifiedJavaType()).willReturn(FullyQualifiedJavaType.getStringInstance());
+		given(code.getJavaProperty()).willReturn("code");
+		given(code.getFullyQualifiedJavaType()).willReturn(FullyQualifiedJavaType.getStringInstance());
+
+		// When
+		upsertMethods();
+
+		// Then
+		then(method(UpsertPlugin.MULTIPLE_METHOD_NAME).getBodyLines()).contains(
+				"List<Object> key = Arrays.asList(record.getName(), record.getCode());",
+				"unique.put(key.contains(null) ? new Object() : key, record);");
+		then(interfaze.getImportedTypes()).contains(new FullyQualifiedJavaType("java.util.Arrays"));
+	}
+
+	@Test
+	public void shouldPassRecordsWithNullKeyThroughDeduplication() throws Exception {
+		// Given
+
+		// When
+		upsertMethods();
+
+		// Then
+		List<String> lines = method(UpsertPlugin.MULTIPLE_METHOD_NAME).getBodyLines();
+		int put = lines.indexOf("unique.put(key == null ? new Object() : key, record);");
+		then(put).isPositive();
+		then(lines.get(put - 1)).isEqualTo("Object key = record.getId();");
+		then(lines.get(put + 2)).isEqualTo("List<TableName> distinct = new ArrayList<>(unique.values());");
+	}
+
+	@Test
+	public void shouldDeduplicateRecordsByPrimitiveKeyWithoutNullCheck() throws Exception {
+		// Given
+		given(introspectedTable.getRules()).willReturn(rules);
+		given(rules.calculateAllFieldsClass()).willReturn(new FullyQualifiedJavaType("some.model.TableName"));
+		given(id.getJavaProperty()).willReturn("id");
+		given(id.getFullyQualifiedJavaType()).willReturn(FullyQualifiedJavaType.getIntInstance());
+
+		// When
+		plugin.clientInsertMethodGenerated(method, interfaze, introspectedTable);
+
+		// Then
+		then(method(UpsertPlugin.MULTIPLE_METHOD_NAME).getBodyLines()).contains("unique.put(record.getId(), record);")
+				.doesNotContain("Object key = record.getId();");
+	}
+
+	@Test
+	public void shouldUseOnConflictForPostgresql() throws Exception {
+		// Given
+
+		// When
+		String content = upsertElement("postgresql");
+
+		// Then
+		then(content).contains("<insert id=\"upsertMultipleChunk\" parameterType=\"map\">")
+				.contains("insert into public.table_name (id, name, code)")
+				.contains("<foreach collection=\"records\" item=\"record\" separator=\",\">")
+				.contains("(#{record.id,jdbcType=INTEGER}, #{record.name,jdbcType=VARCHAR}, #{record.code,jdbcType=VARCHAR})")
+				.contains("on conflict (id) do update set name = excluded.name, code = excluded.code");
+	}
+
+	@Test
+	public void shouldUseOnDuplicateKeyForMysql() throws Exception {
+		// Given
+
+		// When
+		String content = upsertElement("mysql");
+
+		// Then
+		then(content).contains("on duplicate key update name = values(name), code = values(code)");
+	}
+
+	@Test
+	public void shouldUseMergeWithValuesSource() throws Exception {
+		// Given
+
+		// When
+		String content = upsertElement("merge");
+
+		// Then
+		then(content).contains("merge into public.table_name target").contains("using (values")
+				.contains(") as source (id, name, code)").contains("on (target.id = source.id)")
+				.contains("when matched then update set name = source.name, code = source.code")
+				.contains("when not matched then insert (id, name, code) values (source.id, source.name, source.code);");
+	}
+
+	@Test
+	public void shouldUseMergeWithDualSourceForOracle() throws Exception {
+		// Given
+
+		// When
+		String content = upsertElement("oracle");
+
+		// Then
+		then(content).contains("<foreach collection=\"records\" item=\"record\" separator=\"union all\">")
+				.contains("select #{record.id,jdbcType=INTEGER} as id, #{record.name,jdbcType=VARCHAR} as name, "
+						+ "#{record.code,jdbcType=VARCHAR} as code from dual")
+				.contains(") source")
+				.contains("when not matched then insert (id, name, code) values (source.id, source.name, source.code)")
+				.doesNotContain("source.code);");
+	}
+
+	@Test
+	public void shouldUseConfiguredKeyColumns() throws Exception {
+		// Given
+		given(introspectedTable.getTableConfigurationProperty(UpsertPlugin.TABLE_KEY_COLUMNS)).willReturn(
+				"NAME, code");
+
+		// When
+		String content = upsertElement("postgresql");
+
+		// Then
+		then(content).contains("on conflict (name, code) do update set id = excluded.id");
+	}
+
+	@Test
+	public void shouldDoNothingWhenOnlyKeyColumns() throws Exception {
+		// Given
+		given(introspectedTable.getAllColumns()).willReturn(Arrays.asList(id));
+
+		// When
+		String content = upsertElement("postgresql");
+
+		// Then
+		then(content).contains("on conflict (id) do nothing");
+	}
+
+	@Test
+	public void shouldUseScriptAnnotationForDynamicSql() throws Exception {
+		// Given
+		given(introspectedTable.getTargetRuntime()).willReturn(TargetRuntime.MYBATIS3_DSQL);
+
+		// When
+		upsertMethods();
+		boolean ok = plugin.sqlMapDocumentGenerated(document, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(method(UpsertPlugin.CHUNK_METHOD_NAME).getAnnotations()).contains("@Insert({", "    \"<script>\",",
+				"    \"insert into public.table_name (id, name, code)\",",
+				"    \"<foreach collection=\\\"records\\\" item=\\\"record\\\" separator=\\\",\\\">\",",
+				"    \"on conflict (id) do update set name = excluded.name, code = excluded.code\",",
+				"    \"</script>\"", "})");
+		verify(document, never()).getRootElement();
+	}
+
+	@Test
+	public void shouldIgnoreTableKeyedByIdentityColumn() throws Exception {
+		// Given
+		given(id.isIdentity()).willReturn(true);
+
+		// When
+		boolean ok = plugin.clientInsertMethodGenerated(method, interfaze, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(interfaze.getMethods()).isEmpty();
+	}
+
+	@Test
+	public void shouldLeaveIdentityColumnToDatabase() throws Exception {
+		// Given
+		given(id.isIdentity()).willReturn(true);
+		given(introspectedTable.getTableConfigurationProperty(UpsertPlugin.TABLE_KEY_COLUMNS)).willReturn("code");
+
+		// When
+		String content = upsertElement("postgresql");
+
+		// Then
+		then(content).contains("insert into public.table_name (name, code)")
+				.contains("on conflict (code) do update set name = excluded.name");
+	}
+
+	@Test
+	public void shouldIgnoreTableWithoutKey() throws Exception {
+		// Given
+		given(introspectedTable.getPrimaryKeyColumns()).willReturn(Collections.<IntrospectedColumn> emptyList());
+
+		// When
+		boolean ok = plugin.clientInsertMethodGenerated(method, interfaze, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(interfaze.getMethods()).isEmpty();
+	}
+
+}
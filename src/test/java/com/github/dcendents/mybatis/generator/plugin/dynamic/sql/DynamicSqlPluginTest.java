@@ -5,7 +5,9 @@ import static org.mockito.BDDMockito.given;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import org.junit.Before;
@@ -18,7 +20,9 @@ import org.mybatis.generator.api.FullyQualifiedTable;
 import org.mybatis.generator.api.GeneratedJavaFile;
 import org.mybatis.generator.api.IntrospectedColumn;
 import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.dom.java.Field;
 import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.TopLevelClass;
 import org.mybatis.generator.config.Context;
 import org.mybatis.generator.config.JavaClientGeneratorConfiguration;
 
@@ -33,6 +37,8 @@ public class DynamicSqlPluginTest {
 	@Mock
 	private IntrospectedTable table;
 	@Mock
+	private IntrospectedTable otherTable;
+	@Mock
 	private FullyQualifiedTable tableName;
 
 	@Mock
@@ -130,4 +136,93 @@ public class DynamicSqlPluginTest {
 		then(files).hasSize(1);
 	}
 
+	@Test
+	public void shouldGenerateStaticSelectListsAndColumnNames() throws Exception {
+		// Given
+		given(column1.getJavaProperty()).willReturn("id");
+		given(column1.getActualColumnName()).willReturn("id");
+		given(column2.getJavaProperty()).willReturn("createdAt");
+		given(column2.getActualColumnName()).willReturn("created_at");
+		given(table.getNonBLOBColumns()).willReturn(Arrays.asList(column1));
+
+		// When
+		List<GeneratedJavaFile> files = plugin.contextGenerateAdditionalJavaFiles(table);
+
+		// Then
+		TopLevelClass topLevelClass = (TopLevelClass) files.get(0).getCompilationUnit();
+		Map<String, Field> fields = new HashMap<>();
+		for (Field field : topLevelClass.getFields()) {
+			fields.put(field.getName(), field);
+		}
+
+		then(fields.get(DynamicSqlSupportClassGenerator.ALL_COLUMNS).getInitializationString())
+				.isEqualTo("new BasicColumn[] { id, createdAt }");
+		then(fields.get(DynamicSqlSupportClassGenerator.NON_BLOB_COLUMNS).getInitializationString())
+				.isEqualTo("new BasicColumn[] { id }");
+		then(fields.get(DynamicSqlSupportClassGenerator.ALL_COLUMN_NAMES).getInitializationString())
+				.isEqualTo("Collections.unmodifiableList(Arrays.asList(\"id\", \"created_at\"))");
+		then(fields.get(DynamicSqlSupportClassGenerator.NON_BLOB_COLUMN_NAMES).getInitializationString())
+				.isEqualTo("Collections.unmodifiableList(Arrays.asList(\"id\"))");
+		then(fields.get(DynamicSqlSupportClassGenerator.ALL_COLUMNS).isStatic()).isTrue();
+		then(fields.get(DynamicSqlSupportClassGenerator.ALL_COLUMNS).isFinal()).isTrue();
+
+		// the select lists reference the columns, they must be declared after them
+		List<Field> fieldList = topLevelClass.getFields();
+		then(fieldList.indexOf(fields.get(DynamicSqlSupportClassGenerator.ALL_COLUMNS)))
+				.isGreaterThan(fieldList.indexOf(fields.get("createdAt")));
+	}
+
+	@Test
+	public void shouldBeInvalidWithInvalidGenerationThreads() {
+		// Given
+		plugin.getProperties().put(DynamicSqlPlugin.GENERATION_THREADS, "none");
+
+		// When
+		List<String> warnings = new ArrayList<>();
+		boolean ok = plugin.validate(warnings);
+
+		// Then
+		then(ok).isFalse();
+		then(warnings).hasSize(1);
+	}
+
+	@Test
+	public void shouldNotGenerateFilesAtEndOfContextWhenNotParallel() throws Exception {
+		// Given
+		plugin.contextGenerateAdditionalJavaFiles(table);
+
+		// When
+		List<GeneratedJavaFile> files = plugin.contextGenerateAdditionalJavaFiles();
+
+		// Then
+		then(files).isEmpty();
+	}
+
+	@Test
+	public void shouldGenerateAllFilesInOrderAtEndOfContextWhenParallel() throws Exception {
+		// Given
+		plugin.getProperties().put(DynamicSqlPlugin.PARALLEL_GENERATION, "true");
+		plugin.getProperties().put(DynamicSqlPlugin.GENERATION_THREADS, "2");
+		plugin.validate(new ArrayList<String>());
+
+		given(otherTable.getFullyQualifiedTable()).willReturn(tableName);
+		given(otherTable.getFullyQualifiedTableNameAtRuntime()).willReturn("other_table");
+		given(otherTable.getMyBatis3JavaMapperType()).willReturn("some.package.OtherMapperType");
+		given(otherTable.getBaseRecordType()).willReturn("some.package.OtherRecordType");
+		given(otherTable.getAllColumns()).willReturn(Arrays.asList(column1));
+
+		// When
+		List<GeneratedJavaFile> tableFiles = plugin.contextGenerateAdditionalJavaFiles(table);
+		List<GeneratedJavaFile> otherTableFiles = plugin.contextGenerateAdditionalJavaFiles(otherTable);
+		List<GeneratedJavaFile> files = plugin.contextGenerateAdditionalJavaFiles();
+
+		// Then
+		then(tableFiles).isEmpty();
+		then(otherTableFiles).isEmpty();
+		then(files).hasSize(2);
+		then(files.get(0).getFileName()).isEqualTo("BaseRecordTypeDynamicSqlSupport.java");
+		then(files.get(1).getFileName()).isEqualTo("OtherRecordTypeDynamicSqlSupport.java");
+		then(plugin.contextGenerateAdditionalJavaFiles()).isEmpty();
+	}
+
 }
@@ -0,0 +1,252 @@
+package com.github.dcendents.mybatis.generator.plugin.incremental;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mybatis.generator.api.GeneratedJavaFile;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.JavaModelGeneratorConfiguration;
+
+/**
+ * Tests for the class ContentIndex.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ContentIndexTest {
+
+	private static final String CONTENT = "package some.pkg;\n\npublic class Table {\n}\n";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private ContentIndex index;
+	private Properties properties;
+	private File target;
+
+	@Mock
+	private Context context;
+	@Mock
+	private JavaModelGeneratorConfiguration javaModelGeneratorConfiguration;
+	@Mock
+	private GeneratedJavaFile file;
+	@Mock
+	private FingerprintCache fingerprints;
+
+	@Before
+	public void init() throws Exception {
+		given(context.getId()).willReturn("contextId");
+		given(context.getJavaModelGeneratorConfiguration()).willReturn(javaModelGeneratorConfiguration);
+		given(javaModelGeneratorConfiguration.getTargetProject()).willReturn(folder.getRoot().getPath());
+
+		given(file.getTargetProject()).willReturn(folder.getRoot().getPath());
+		given(file.getTargetPackage()).willReturn("some.pkg");
+		given(file.getFileName()).willReturn("Table.java");
+		given(file.getFileEncoding()).willReturn("UTF-8");
+		given(file.getFormattedContent()).willReturn(CONTENT);
+
+		target = new File(new File(new File(folder.getRoot(), "some"), "pkg"), "Table.java");
+
+		properties = new Properties();
+		properties.put(ContentIndex.SKIP_UNCHANGED_FILES, "true");
+
+		index = new ContentIndex();
+	}
+
+	private void write(String content) throws Exception {
+		Files.createDirectories(target.getParentFile().toPath());
+		Files.write(target.toPath(), content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void shouldReturnSameFilesWhenDisabled() throws Exception {
+		// Given
+		index.validate(context, new Properties(), "Plugin");
+		List<GeneratedJavaFile> files = Arrays.asList(file);
+
+		// When
+		List<GeneratedJavaFile> changed = index.changed(files);
+
+		// Then
+		then(index.isEnabled()).isFalse();
+		then(changed).isSameAs(files);
+	}
+
+	@Test
+	public void shouldUseDefaultIndexFileInTargetProject() throws Exception {
+		// Given
+
+		// When
+		index.validate(context, properties, "Plugin");
+
+		// Then
+		then(index.getIndexFile()).isEqualTo(new File(new File(folder.getRoot(),
+				FingerprintCache.DEFAULT_CACHE_DIRECTORY), "Plugin-contextId-content.properties"));
+	}
+
+	@Test
+	public void shouldResolveTargetFile() throws Exception {
+		// Given
+
+		// When
+		File resolved = ContentIndex.targetFile(file);
+
+		// Then
+		then(resolved).isEqualTo(target);
+	}
+
+	@Test
+	public void shouldKeepNewFile() throws Exception {
+		// Given
+		index.validate(context, properties, "Plugin");
+
+		// When
+		List<GeneratedJavaFile> changed = index.changed(Arrays.asList(file));
+
+		// Then
+		then(changed).containsExactly(file);
+	}
+
+	@Test
+	public void shouldDropUnchangedFileAfterSave() throws Exception {
+		// Given
+		index.validate(context, properties, "Plugin");
+		index.changed(Arrays.asList(file));
+		index.save();
+		write(CONTENT);
+
+		// When
+		ContentIndex nextRun = new ContentIndex();
+		nextRun.validate(context, properties, "Plugin");
+		List<GeneratedJavaFile> changed = nextRun.changed(Arrays.asList(file));
+
+		// Then
+		then(nextRun.getIndexFile()).exists();
+		then(changed).isEmpty();
+	}
+
+	@Test
+	public void shouldKeepFileWithNewContent() throws Exception {
+		// Given
+		index.validate(context, properties, "Plugin");
+		index.changed(Arrays.asList(file));
+		index.save();
+		write(CONTENT);
+		given(file.getFormattedContent()).willReturn(CONTENT + "\n");
+
+		// When
+		ContentIndex nextRun = new ContentIndex();
+		nextRun.validate(context, properties, "Plugin");
+		List<GeneratedJavaFile> changed = nextRun.changed(Arrays.asList(file));
+
+		// Then
+		then(changed).containsExactly(file);
+	}
+
+	@Test
+	public void shouldKeepFileModifiedOrDeletedOnDisk() throws Exception {
+		// Given
+		index.validate(context, properties, "Plugin");
+		index.changed(Arrays.asList(file));
+		index.save();
+		write(CONTENT + "// edited\n");
+
+		// When
+		ContentIndex nextRun = new ContentIndex();
+		nextRun.validate(context, properties, "Plugin");
+		List<GeneratedJavaFile> edited = nextRun.changed(Arrays.asList(file));
+		Files.delete(target.toPath());
+		List<GeneratedJavaFile> deleted = nextRun.changed(Arrays.asList(file));
+
+		// Then
+		then(edited).containsExactly(file);
+		then(deleted).containsExactly(file);
+	}
+
+	@Test
+	public void shouldKeepFileEditedWithSameSize() throws Exception {
+		// Given
+		index.validate(context, properties, "Plugin");
+		index.changed(Arrays.asList(file));
+		index.save();
+		write(CONTENT);
+
+		ContentIndex secondRun = new ContentIndex();
+		secondRun.validate(context, properties, "Plugin");
+		secondRun.changed(Arrays.asList(file));
+		secondRun.save();
+		write(CONTENT.replace("Table", "Other"));
+		target.setLastModified(target.lastModified() + 2000L);
+
+		// When
+		ContentIndex thirdRun = new ContentIndex();
+		thirdRun.validate(context, properties, "Plugin");
+		List<GeneratedJavaFile> changed = thirdRun.changed(Arrays.asList(file));
+
+		// Then
+		then(changed).containsExactly(file);
+	}
+
+	@Test
+	public void shouldKeepFileNotWrittenAfterSave() throws Exception {
+		// Given
+		write(CONTENT.replace("Table", "Other"));
+		index.validate(context, properties, "Plugin");
+		index.changed(Arrays.asList(file));
+		index.save();
+
+		// When
+		ContentIndex nextRun = new ContentIndex();
+		nextRun.validate(context, properties, "Plugin");
+		List<GeneratedJavaFile> changed = nextRun.changed(Arrays.asList(file));
+
+		// Then
+		then(changed).containsExactly(file);
+	}
+
+	@Test
+	public void shouldDropFileIdenticalOnDiskWithoutIndex() throws Exception {
+		// Given
+		write(CONTENT);
+		index.validate(context, properties, "Plugin");
+
+		// When
+		List<GeneratedJavaFile> changed = index.changed(Arrays.asList(file));
+
+		// Then
+		then(changed).isEmpty();
+	}
+
+	@Test
+	public void shouldConfirmDroppedFileInFingerprintCache() throws Exception {
+		// Given
+		index.validate(context, properties, "Plugin");
+		index.changed(Arrays.asList(file));
+		index.save();
+		write(CONTENT);
+
+		ContentIndex nextRun = new ContentIndex();
+		nextRun.validate(context, properties, "Plugin");
+
+		// When
+		List<GeneratedJavaFile> changed = nextRun.changed(Arrays.asList(file), fingerprints);
+
+		// Then
+		then(changed).isEmpty();
+		verify(fingerprints).confirm(target);
+	}
+
+}
@@ -0,0 +1,364 @@
+package com.github.dcendents.mybatis.generator.plugin.incremental;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.JavaModelGeneratorConfiguration;
+import org.mybatis.generator.config.ModelType;
+import org.mybatis.generator.config.PluginConfiguration;
+
+/**
+ * Tests for the class FingerprintCache.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class FingerprintCacheTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private FingerprintCache cache;
+	private Properties properties;
+	private File output;
+
+	@Spy
+	private Context context = new Context(ModelType.FLAT);
+	@Mock
+	private JavaModelGeneratorConfiguration javaModelGeneratorConfiguration;
+	@Mock
+	private IntrospectedTable table;
+	@Mock
+	private IntrospectedColumn column;
+
+	@Before
+	public void init() throws Exception {
+		given(context.getId()).willReturn("contextId");
+		given(context.getTargetRuntime()).willReturn("MyBatis3");
+		given(context.getJavaModelGeneratorConfiguration()).willReturn(javaModelGeneratorConfiguration);
+		given(javaModelGeneratorConfiguration.getTargetProject()).willReturn(folder.getRoot().getPath());
+
+		given(table.getFullyQualifiedTableNameAtRuntime()).willReturn("table_name");
+		given(table.getAllColumns()).willReturn(Arrays.asList(column));
+		given(table.getPrimaryKeyColumns()).willReturn(Arrays.asList(column));
+
+		given(column.getActualColumnName()).willReturn("id");
+		given(column.getJdbcTypeName()).willReturn("INTEGER");
+		given(column.getFullyQualifiedJavaType()).willReturn(new FullyQualifiedJavaType("java.lang.Integer"));
+
+		properties = new Properties();
+		properties.put(FingerprintCache.INCREMENTAL, "true");
+
+		output = new File(folder.getRoot(), "Output.java");
+
+		cache = new FingerprintCache();
+	}
+
+	@Test
+	public void shouldBeDisabledByDefault() throws Exception {
+		// Given
+
+		// When
+		cache.validate(context, new Properties(), "Plugin", new ArrayList<String>());
+
+		// Then
+		then(cache.isEnabled()).isFalse();
+		then(cache.isUnchanged(table, output)).isFalse();
+	}
+
+	@Test
+	public void shouldUseDefaultCacheFileInTargetProject() throws Exception {
+		// Given
+
+		// When
+		cache.validate(context, properties, "Plugin", new ArrayList<String>());
+
+		// Then
+		then(cache.isEnabled()).isTrue();
+		then(cache.getCacheFile()).isEqualTo(
+				new File(new File(folder.getRoot(), FingerprintCache.DEFAULT_CACHE_DIRECTORY), "Plugin-contextId.properties"));
+	}
+
+	@Test
+	public void shouldUseConfiguredCacheFile() throws Exception {
+		// Given
+		File file = new File(folder.getRoot(), "cache.properties");
+		properties.put(FingerprintCache.CACHE_FILE, file.getPath());
+
+		// When
+		cache.validate(context, properties, "Plugin", new ArrayList<String>());
+
+		// Then
+		then(cache.getCacheFile()).isEqualTo(file);
+	}
+
+	@Test
+	public void shouldDetectNewTable() throws Exception {
+		// Given
+		cache.validate(context, properties, "Plugin", new ArrayList<String>());
+
+		// When
+		boolean unchanged = cache.isUnchanged(table, output);
+
+		// Then
+		then(unchanged).isFalse();
+	}
+
+	@Test
+	public void shouldDetectUnchangedTableAfterSave() throws Exception {
+		// Given
+		cache.validate(context, properties, "Plugin", new ArrayList<String>());
+		cache.isUnchanged(table, output);
+		cache.save();
+		output.createNewFile();
+
+		// When
+		FingerprintCache nextRun = new FingerprintCache();
+		nextRun.validate(context, properties, "Plugin", new ArrayList<String>());
+
+		// Then
+		then(nextRun.getCacheFile()).exists();
+		then(nextRun.isUnchanged(table, output)).isTrue();
+	}
+
+	@Test
+	public void shouldDetectChangedColumn() throws Exception {
+		// Given
+		cache.validate(context, properties, "Plugin", new ArrayList<String>());
+		cache.isUnchanged(table, output);
+		cache.save();
+		output.createNewFile();
+		given(column.getTypeHandler()).willReturn("type.Handler");
+
+		// When
+		FingerprintCache nextRun = new FingerprintCache();
+		nextRun.validate(context, properties, "Plugin", new ArrayList<String>());
+
+		// Then
+		then(nextRun.isUnchanged(table, output)).isFalse();
+	}
+
+	@Test
+	public void shouldDetectChangedPluginProperties() throws Exception {
+		// Given
+		cache.validate(context, properties, "Plugin", new ArrayList<String>());
+		cache.isUnchanged(table, output);
+		cache.save();
+		output.createNewFile();
+		properties.put("otherProperty", "value");
+
+		// When
+		FingerprintCache nextRun = new FingerprintCache();
+		nextRun.validate(context, properties, "Plugin", new ArrayList<String>());
+
+		// Then
+		then(nextRun.isUnchanged(table, output)).isFalse();
+	}
+
+	@Test
+	public void shouldDropTablesNotSeenDuringTheRun() throws Exception {
+		// Given
+		cache.validate(context, properties, "Plugin", new ArrayList<String>());
+		cache.isUnchanged(table, output);
+		cache.save();
+		output.createNewFile();
+
+		FingerprintCache secondRun = new FingerprintCache();
+		secondRun.validate(context, properties, "Plugin", new ArrayList<String>());
+		secondRun.save();
+
+		// When
+		FingerprintCache thirdRun = new FingerprintCache();
+		thirdRun.validate(context, properties, "Plugin", new ArrayList<String>());
+
+		// Then
+		then(thirdRun.isUnchanged(table, output)).isFalse();
+	}
+
+	@Test
+	public void shouldDetectDeletedFile() throws Exception {
+		// Given
+		cache.validate(context, properties, "Plugin", new ArrayList<String>());
+		cache.isUnchanged(table, output);
+		cache.save();
+		output.createNewFile();
+		output.delete();
+
+		// When
+		FingerprintCache nextRun = new FingerprintCache();
+		nextRun.validate(context, properties, "Plugin", new ArrayList<String>());
+
+		// Then
+		then(nextRun.isUnchanged(table, output)).isFalse();
+	}
+
+	@Test
+	public void shouldDetectFileNotWrittenAfterSave() throws Exception {
+		// Given
+		output.createNewFile();
+		output.setLastModified(0L);
+		cache.validate(context, properties, "Plugin", new ArrayList<String>());
+		cache.isUnchanged(table, output);
+		cache.save();
+
+		// When
+		FingerprintCache nextRun = new FingerprintCache();
+		nextRun.validate(context, properties, "Plugin", new ArrayList<String>());
+
+		// Then
+		then(nextRun.isUnchanged(table, output)).isFalse();
+	}
+
+	@Test
+	public void shouldKeepFileConfirmedAsIdentical() throws Exception {
+		// Given
+		output.createNewFile();
+		output.setLastModified(0L);
+		cache.validate(context, properties, "Plugin", new ArrayList<String>());
+		cache.isUnchanged(table, output);
+		cache.confirm(output);
+		cache.save();
+
+		// When
+		FingerprintCache nextRun = new FingerprintCache();
+		nextRun.validate(context, properties, "Plugin", new ArrayList<String>());
+
+		// Then
+		then(nextRun.isUnchanged(table, output)).isTrue();
+	}
+
+	@Test
+	public void shouldDetectChangedGeneratorConfiguration() throws Exception {
+		// Given
+		cache.validate(context, properties, "Plugin", new ArrayList<String>());
+		cache.isUnchanged(table, output);
+		cache.save();
+		output.createNewFile();
+		given(javaModelGeneratorConfiguration.getTargetPackage()).willReturn("other.model");
+
+		// When
+		FingerprintCache nextRun = new FingerprintCache();
+		nextRun.validate(context, properties, "Plugin", new ArrayList<String>());
+
+		// Then
+		then(nextRun.isUnchanged(table, output)).isFalse();
+	}
+
+	@Test
+	public void shouldDetectChangedTypes() throws Exception {
+		// Given
+		cache.validate(context, properties, "Plugin", new ArrayList<String>());
+		cache.isUnchanged(table, output);
+		cache.save();
+		output.createNewFile();
+		given(table.getBaseRecordType()).willReturn("model.sub.TableGen");
+
+		// When
+		FingerprintCache nextRun = new FingerprintCache();
+		nextRun.validate(context, properties, "Plugin", new ArrayList<String>());
+
+		// Then
+		then(nextRun.isUnchanged(table, output)).isFalse();
+	}
+
+	@Test
+	public void shouldNotSkipFilesWhenDisabled() throws Exception {
+		// Given
+		cache.validate(context, properties, "Plugin", new ArrayList<String>());
+		cache.isUnchanged(table, output);
+		cache.save();
+		output.createNewFile();
+
+		FingerprintCache nextRun = new FingerprintCache();
+		nextRun.validate(context, properties, "Plugin", new ArrayList<String>());
+
+		// When
+		nextRun.disable();
+
+		// Then
+		then(nextRun.isEnabled()).isFalse();
+		then(nextRun.isUnchanged(table, output)).isFalse();
+	}
+
+	@Test
+	public void shouldDetectLastPlugin() throws Exception {
+		// Given
+		Context realContext = new Context(ModelType.FLAT);
+		PluginConfiguration first = new PluginConfiguration();
+		first.setConfigurationType(String.class.getName());
+		PluginConfiguration last = new PluginConfiguration();
+		last.setConfigurationType(FingerprintCache.class.getName());
+
+		// When
+		realContext.addPluginConfiguration(first);
+		realContext.addPluginConfiguration(last);
+
+		// Then
+		then(FingerprintCache.isLastPlugin(realContext, FingerprintCache.class)).isTrue();
+		then(FingerprintCache.isLastPlugin(realContext, String.class)).isFalse();
+		then(FingerprintCache.isLastPlugin(new Context(ModelType.FLAT), String.class)).isFalse();
+	}
+
+	@Test
+	public void shouldDisableWhenPluginConfigurationsCannotBeRead() throws Exception {
+		// Given
+		Context unreadable = mock(Context.class);
+		given(unreadable.getId()).willReturn("contextId");
+		given(unreadable.getJavaModelGeneratorConfiguration()).willReturn(javaModelGeneratorConfiguration);
+		List<String> warnings = new ArrayList<>();
+
+		// When
+		cache.validate(unreadable, properties, "Plugin", warnings);
+
+		// Then
+		then(cache.isEnabled()).isFalse();
+		then(cache.isUnchanged(table, output)).isFalse();
+		then(warnings).hasSize(1);
+		then(warnings.get(0)).contains("contextId").contains(FingerprintCache.INCREMENTAL);
+		then(FingerprintCache.isLastPlugin(unreadable, FingerprintCache.class)).isFalse();
+	}
+
+	@Test
+	public void shouldComputeJavaFile() throws Exception {
+		// Given
+
+		// When
+		File file = FingerprintCache.javaFile("project", "some.pkg.Type");
+
+		// Then
+		then(file).isEqualTo(new File(new File(new File(new File("project"), "some"), "pkg"), "Type.java"));
+	}
+
+	@Test
+	public void shouldComputeStableFingerprint() throws Exception {
+		// Given
+		given(table.getPrimaryKeyColumns()).willReturn(Collections.<IntrospectedColumn> emptyList());
+
+		// When
+		String first = FingerprintCache.fingerprint(table, "settings");
+		String second = FingerprintCache.fingerprint(table, "settings");
+
+		// Then
+		then(first).hasSize(64).isEqualTo(second);
+		then(FingerprintCache.fingerprint(table, "other")).isNotEqualTo(first);
+	}
+
+}
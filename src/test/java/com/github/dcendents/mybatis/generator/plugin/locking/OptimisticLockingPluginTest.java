@@ -19,12 +19,18 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mybatis.generator.api.CommentGenerator;
+import org.mybatis.generator.api.FullyQualifiedTable;
 import org.mybatis.generator.api.IntrospectedColumn;
 import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.IntrospectedTable.TargetRuntime;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
 import org.mybatis.generator.api.dom.java.Interface;
 import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
 import org.mybatis.generator.api.dom.java.TopLevelClass;
 import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.config.Context;
 
 /**
  * Tests for the class OptimisticLockingPlugin.
@@ -46,6 +52,12 @@ public class OptimisticLockingPluginTest {
 	private TopLevelClass topLevelClass;
 	@Mock
 	private Interface interfaze;
+	@Mock
+	private Context context;
+	@Mock
+	private CommentGenerator commentGenerator;
+	@Mock
+	private FullyQualifiedTable fullyQualifiedTable;
 
 	@Mock
 	private IntrospectedColumn id;
@@ -69,8 +81,10 @@ public class OptimisticLockingPluginTest {
 		given(introspectedTable.getAllColumns()).willReturn(Arrays.asList(id, other, modificationDate));
 
 		given(method.getName()).willReturn("methodName");
+		given(context.getCommentGenerator()).willReturn(commentGenerator);
 
 		plugin = new OptimisticLockingPlugin();
+		plugin.setContext(context);
 		plugin.getProperties().put(OptimisticLockingPlugin.TABLE_NAME, TABLE_NAME);
 		plugin.getProperties().put(OptimisticLockingPlugin.LOCK_COLUMN, LOCK_COLUMN);
 		plugin.getProperties().put(OptimisticLockingPlugin.LOCK_COLUMN_FUNCTION, LOCK_COLUMN_FUNCTION);
@@ -241,6 +255,225 @@ public class OptimisticLockingPluginTest {
 		then(newMethod.getAnnotations().get(5)).contains(typeHandler);
 	}
 
+	@Test
+	public void shouldBeInvalidWithInvalidBatchSize() {
+		// Given
+		OptimisticLockingPlugin instance = new OptimisticLockingPlugin();
+		instance.getProperties().put(OptimisticLockingPlugin.TABLE_NAME, TABLE_NAME);
+		instance.getProperties().put(OptimisticLockingPlugin.LOCK_COLUMN, LOCK_COLUMN);
+		instance.getProperties().put(OptimisticLockingPlugin.BATCH_SIZE, "0");
+
+		// When
+		List<String> warnings = new ArrayList<>();
+		boolean ok = instance.validate(warnings);
+
+		// Then
+		assertThat(ok).isFalse();
+		assertThat(warnings).hasSize(1);
+	}
+
+	@Test
+	public void shouldIncrementNumericLockColumn() {
+		// Given
+		given(modificationDate.getFullyQualifiedJavaType()).willReturn(new FullyQualifiedJavaType("java.lang.Long"));
+
+		Method realMethod = new Method("methodName");
+		realMethod.addAnnotation("@Update({");
+		realMethod.addAnnotation("    \"update schema.table_name\",");
+		realMethod.addAnnotation("    \"set other_column = #{other,jdbcType=INT},\",");
+		realMethod.addAnnotation("      \"modification_date = #{modificationDate,jdbcType=BIGINT}\",");
+		realMethod.addAnnotation("    \"where id = #{id,jdbcType=BIGINT}\"");
+		realMethod.addAnnotation("})");
+
+		// When
+		Method newMethod = plugin.addMethod(realMethod, introspectedTable);
+
+		// Then
+		then(newMethod.getAnnotations().get(2)).isEqualTo(realMethod.getAnnotations().get(2));
+		then(newMethod.getAnnotations().get(3)).isEqualTo(
+				"      \"modification_date = modification_date + 1\",");
+		then(newMethod.getAnnotations().get(5)).contains(String.format("and %s = ", LOCK_COLUMN_FUNCTION));
+	}
+
+	@Test
+	public void shouldWarnOnceWhenLockColumnIsNeverUpdated() {
+		// Given
+		List<String> warnings = new ArrayList<>();
+		plugin.validate(warnings);
+
+		// When
+		plugin.addMethod(new Method("methodName"), introspectedTable);
+		plugin.addMethod(new Method("otherMethodName"), introspectedTable);
+
+		// Then
+		then(warnings).hasSize(1);
+		then(warnings.get(0)).contains(LOCK_COLUMN).contains(TABLE_NAME).contains(
+				OptimisticLockingPlugin.LOCK_COLUMN_UPDATE);
+	}
+
+	@Test
+	public void shouldNotWarnWhenLockColumnIsUpdated() {
+		// Given
+		List<String> warnings = new ArrayList<>();
+		plugin.getProperties().put(OptimisticLockingPlugin.LOCK_COLUMN_UPDATE, "current_timestamp");
+		plugin.validate(warnings);
+
+		// When
+		plugin.addMethod(new Method("methodName"), introspectedTable);
+
+		// Then
+		then(warnings).isEmpty();
+	}
+
+	@Test
+	public void shouldSetConfiguredLockColumnUpdate() {
+		// Given
+		plugin.getProperties().put(OptimisticLockingPlugin.LOCK_COLUMN_UPDATE, "current_timestamp");
+		plugin.validate(new ArrayList<String>());
+
+		Method realMethod = new Method("methodName");
+		realMethod.addAnnotation("@Update({");
+		realMethod.addAnnotation("    \"update schema.table_name\",");
+		realMethod.addAnnotation("    \"set modification_date = #{modificationDate,jdbcType=TIMESTAMP}\",");
+		realMethod.addAnnotation("    \"where id = #{id,jdbcType=BIGINT}\"");
+		realMethod.addAnnotation("})");
+
+		// When
+		Method newMethod = plugin.addMethod(realMethod, introspectedTable);
+
+		// Then
+		then(newMethod.getAnnotations().get(2)).isEqualTo("    \"set modification_date = current_timestamp\",");
+	}
+
+	@Test
+	public void shouldAddBatchMethod() {
+		// Given
+		Interface mapper = new Interface("some.mapper.TableNameMapper");
+		Method withLock = new Method("updateByPrimaryKey" + OptimisticLockingPlugin.METHOD_SUFFIX);
+		withLock.setReturnType(FullyQualifiedJavaType.getIntInstance());
+		withLock.addParameter(new Parameter(new FullyQualifiedJavaType("some.model.TableName"), "record"));
+
+		// When
+		plugin.addBatchMethods(withLock, mapper, introspectedTable);
+
+		// Then
+		then(mapper.getMethods()).hasSize(2);
+		Method flush = mapper.getMethods().get(0);
+		then(flush.getName()).isEqualTo(OptimisticLockingPlugin.FLUSH_METHOD_NAME);
+		then(flush.getAnnotations()).containsExactly("@Flush");
+
+		Method batch = mapper.getMethods().get(1);
+		then(batch.getName()).isEqualTo("updateByPrimaryKeyWithOptimisticLockingBatch");
+		then(batch.isDefault()).isTrue();
+		then(batch.getReturnType().getShortName()).isEqualTo("List<TableName>");
+		then(batch.getBodyLines()).contains(
+				"for (TableName record : records.subList(i, Math.min(i + 1000, records.size()))) {",
+				"if (updateByPrimaryKeyWithOptimisticLocking(record) == 0) {",
+				"for (BatchResult result : flushStatements()) {",
+				"if (result.getMappedStatement().getId().endsWith(\".updateByPrimaryKeyWithOptimisticLocking\")) {",
+				"conflicts.add((TableName) result.getParameterObjects().get(j));", "return conflicts;");
+		then(batch.getJavaDocLines()).contains(
+				" * before the call are discarded: flush them with {@link #flushStatements()} first");
+	}
+
+	@Test
+	public void shouldAddFlushMethodOnce() {
+		Interface mapper = new Interface("some.mapper.TableNameMapper");
+		Method flush = new Method(OptimisticLockingPlugin.FLUSH_METHOD_NAME);
+		mapper.addMethod(flush);
+		Method withLock = new Method("updateByPrimaryKey" + OptimisticLockingPlugin.METHOD_SUFFIX);
+		withLock.addParameter(new Parameter(new FullyQualifiedJavaType("some.model.TableName"), "record"));
+
+		// Given
+
+		// When
+		plugin.addBatchMethods(withLock, mapper, introspectedTable);
+
+		// Then
+		then(mapper.getMethods()).hasSize(2);
+		then(mapper.getMethods().get(0)).isSameAs(flush);
+	}
+
+	private Method findMethod(Interface mapper, String name) {
+		for (Method method : mapper.getMethods()) {
+			if (method.getName().equals(name)) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	private Interface dynamicSqlMapper() {
+		given(introspectedTable.getTargetRuntime()).willReturn(TargetRuntime.MYBATIS3_DSQL);
+		given(introspectedTable.getBaseRecordType()).willReturn("some.model.TableName");
+		given(introspectedTable.getFullyQualifiedTable()).willReturn(fullyQualifiedTable);
+		given(introspectedTable.getPrimaryKeyColumns()).willReturn(Arrays.asList(id));
+		given(introspectedTable.getNonPrimaryKeyColumns()).willReturn(Arrays.asList(other, modificationDate));
+		given(fullyQualifiedTable.getDomainObjectName()).willReturn("TableName");
+		given(id.getJavaProperty()).willReturn("id");
+		given(id.getFullyQualifiedJavaType()).willReturn(new FullyQualifiedJavaType("java.lang.Long"));
+		given(other.getJavaProperty()).willReturn("otherColumn");
+		given(other.getFullyQualifiedJavaType()).willReturn(new FullyQualifiedJavaType("java.lang.String"));
+		given(modificationDate.getJavaProperty()).willReturn("modificationDate");
+		given(modificationDate.getFullyQualifiedJavaType()).willReturn(new FullyQualifiedJavaType("java.util.Date"));
+
+		return new Interface("some.mapper.TableNameMapper");
+	}
+
+	@Test
+	public void shouldAddDynamicSqlMethods() {
+		// Given
+		Interface mapper = dynamicSqlMapper();
+		plugin.getProperties().put(OptimisticLockingPlugin.LOCK_COLUMN_UPDATE, "current_timestamp");
+		plugin.validate(new ArrayList<String>());
+
+		// When
+		boolean ok1 = plugin.clientUpdateByPrimaryKeyWithBLOBsMethodGenerated(method, mapper, introspectedTable);
+		boolean ok2 = plugin.clientUpdateByPrimaryKeyWithoutBLOBsMethodGenerated(method, mapper, introspectedTable);
+
+		// Then
+		then(ok1).isTrue();
+		then(ok2).isTrue();
+		then(mapper.getMethods()).hasSize(4);
+		then(findMethod(mapper, OptimisticLockingPlugin.DYNAMIC_SQL_METHOD_NAME).getBodyLines()).containsExactly(
+				"return UpdateDSL.updateWithMapper(this::update, TableNameDynamicSqlSupport.tableName)",
+				".set(TableNameDynamicSqlSupport.otherColumn).equalTo(record::getOtherColumn)",
+				".set(TableNameDynamicSqlSupport.modificationDate).equalToConstant(\"current_timestamp\")",
+				".where(TableNameDynamicSqlSupport.id, SqlBuilder.isEqualTo(record::getId))",
+				".and(TableNameDynamicSqlSupport.modificationDate, SqlBuilder.isEqualTo(record::getModificationDate))",
+				".build()", ".execute();");
+		then(findMethod(mapper, OptimisticLockingPlugin.DYNAMIC_SQL_SELECTIVE_METHOD_NAME).getBodyLines()).contains(
+				".set(TableNameDynamicSqlSupport.otherColumn).equalToWhenPresent(record::getOtherColumn)");
+		then(findMethod(mapper, "updateByPrimaryKeyWithOptimisticLockingBatch").getBodyLines()).contains(
+				"flushStatements();", "conflicts.add(chunk.get(index));");
+	}
+
+	@Test
+	public void shouldSetDynamicSqlLockColumnFromRecordWhenNotNumeric() {
+		// Given
+		Interface mapper = dynamicSqlMapper();
+
+		// When
+		plugin.addDynamicSqlMethods(mapper, introspectedTable);
+
+		// Then
+		then(findMethod(mapper, OptimisticLockingPlugin.DYNAMIC_SQL_METHOD_NAME).getBodyLines()).contains(
+				".set(TableNameDynamicSqlSupport.modificationDate).equalTo(record::getModificationDate)");
+	}
+
+	@Test
+	public void shouldIgnoreDynamicSqlTableWithoutLockColumn() {
+		// Given
+		Interface mapper = dynamicSqlMapper();
+		given(introspectedTable.getAllColumns()).willReturn(Arrays.asList(id, other));
+
+		// When
+		plugin.addDynamicSqlMethods(mapper, introspectedTable);
+
+		// Then
+		then(mapper.getMethods()).isEmpty();
+	}
+
 	@Test
 	public void shouldIgnoreMissingColumn() {
 		// Given
@@ -0,0 +1,387 @@
+package com.github.dcendents.mybatis.generator.plugin.model;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mybatis.generator.api.CommentGenerator;
+import org.mybatis.generator.api.FullyQualifiedTable;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.IntrospectedTable.TargetRuntime;
+import org.mybatis.generator.api.Plugin.ModelClassType;
+import org.mybatis.generator.api.dom.java.Field;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.JavaVisibility;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.TopLevelClass;
+import org.mybatis.generator.api.dom.xml.Document;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.JavaClientGeneratorConfiguration;
+import org.mybatis.generator.internal.rules.Rules;
+
+/**
+ * Tests for the class DirtyTrackingModelPlugin.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DirtyTrackingModelPluginTest {
+
+	private DirtyTrackingModelPlugin plugin;
+	private Interface interfaze;
+	private TopLevelClass topLevelClass;
+
+	@Mock
+	private Context context;
+	@Mock
+	private CommentGenerator commentGenerator;
+	@Mock
+	private JavaClientGeneratorConfiguration javaClientGeneratorConfiguration;
+	@Mock
+	private IntrospectedTable introspectedTable;
+	@Mock
+	private FullyQualifiedTable fullyQualifiedTable;
+	@Mock
+	private Rules rules;
+	@Mock
+	private Method method;
+	@Mock
+	private Document document;
+
+	@Mock
+	private IntrospectedColumn id;
+	@Mock
+	private IntrospectedColumn name;
+	@Mock
+	private IntrospectedColumn code;
+
+	private static final String TABLE_NAME = "table_name";
+	private static final String RECORD_TYPE = "some.model.TableName";
+
+	@Before
+	public void init() throws Exception {
+		given(context.getCommentGenerator()).willReturn(commentGenerator);
+		given(context.getJavaClientGeneratorConfiguration()).willReturn(javaClientGeneratorConfiguration);
+		given(javaClientGeneratorConfiguration.getConfigurationType()).willReturn("XMLMAPPER");
+
+		given(introspectedTable.getTargetRuntime()).willReturn(TargetRuntime.MYBATIS3);
+		given(introspectedTable.getFullyQualifiedTableNameAtRuntime()).willReturn(TABLE_NAME);
+		given(introspectedTable.getFullyQualifiedTable()).willReturn(fullyQualifiedTable);
+		given(fullyQualifiedTable.getDomainObjectName()).willReturn("TableName");
+		given(introspectedTable.getBaseRecordType()).willReturn(RECORD_TYPE);
+		given(introspectedTable.getRules()).willReturn(rules);
+		given(rules.calculateAllFieldsClass()).willReturn(new FullyQualifiedJavaType(RECORD_TYPE));
+		given(introspectedTable.getPrimaryKeyColumns()).willReturn(Arrays.asList(id));
+		given(introspectedTable.getNonPrimaryKeyColumns()).willReturn(Arrays.asList(name, code));
+
+		given(id.getActualColumnName()).willReturn("id");
+		given(id.getJavaProperty()).willReturn("id");
+		given(id.getJavaProperty(null)).willReturn("id");
+		given(id.getJdbcTypeName()).willReturn("INTEGER");
+		given(id.getFullyQualifiedJavaType()).willReturn(FullyQualifiedJavaType.getIntInstance());
+		given(name.getActualColumnName()).willReturn("name");
+		given(name.getJavaProperty()).willReturn("name");
+		given(name.getJavaProperty(null)).willReturn("name");
+		given(name.getJdbcTypeName()).willReturn("VARCHAR");
+		given(name.getFullyQualifiedJavaType()).willReturn(FullyQualifiedJavaType.getStringInstance());
+		given(code.getActualColumnName()).willReturn("code");
+		given(code.getJavaProperty()).willReturn("code");
+		given(code.getJavaProperty(null)).willReturn("code");
+		given(code.getJdbcTypeName()).willReturn("VARCHAR");
+		given(code.getFullyQualifiedJavaType()).willReturn(FullyQualifiedJavaType.getStringInstance());
+
+		interfaze = new Interface("some.mapper.TableNameMapper");
+		topLevelClass = new TopLevelClass(RECORD_TYPE);
+
+		plugin = new DirtyTrackingModelPlugin();
+		plugin.setContext(context);
+		plugin.getProperties().put(DirtyTrackingModelPlugin.TABLE_NAME, TABLE_NAME);
+		plugin.validate(new ArrayList<String>());
+	}
+
+	private Method method(List<Method> methods, String name) {
+		for (Method method : methods) {
+			if (method.getName().equals(name)) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	@Test
+	public void shouldBeInvalidWithoutTableName() throws Exception {
+		// Given
+		DirtyTrackingModelPlugin instance = new DirtyTrackingModelPlugin();
+
+		// When
+		List<String> warnings = new ArrayList<>();
+		boolean ok = instance.validate(warnings);
+
+		// Then
+		then(ok).isFalse();
+		then(warnings).hasSize(1);
+	}
+
+	@Test
+	public void shouldNotTrackTableWithoutPrimaryKey() throws Exception {
+		// Given
+		given(introspectedTable.getPrimaryKeyColumns()).willReturn(new ArrayList<IntrospectedColumn>());
+
+		// When
+		boolean ok = plugin.modelBaseRecordClassGenerated(topLevelClass, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(topLevelClass.getFields()).isEmpty();
+		then(topLevelClass.getMethods()).isEmpty();
+	}
+
+	@Test
+	public void shouldNotTrackHierarchicalModel() throws Exception {
+		// Given
+		given(rules.calculateAllFieldsClass()).willReturn(new FullyQualifiedJavaType("some.model.TableNameWithBLOBs"));
+
+		// When
+		boolean ok = plugin.modelBaseRecordClassGenerated(topLevelClass, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(topLevelClass.getFields()).isEmpty();
+	}
+
+	@Test
+	public void shouldFlagTrackedTable() throws Exception {
+		// When
+		plugin.initialized(introspectedTable);
+
+		// Then
+		verify(introspectedTable).setAttribute(DirtyTrackingModelPlugin.TRACKED_ATTRIBUTE, Boolean.TRUE);
+	}
+
+	@Test
+	public void shouldNotFlagUntrackedTable() throws Exception {
+		// Given
+		given(introspectedTable.getPrimaryKeyColumns()).willReturn(new ArrayList<IntrospectedColumn>());
+
+		// When
+		plugin.initialized(introspectedTable);
+
+		// Then
+		verify(introspectedTable, never()).setAttribute(DirtyTrackingModelPlugin.TRACKED_ATTRIBUTE, Boolean.TRUE);
+	}
+
+	@Test
+	public void shouldAddLongMaskToModel() throws Exception {
+		// When
+		boolean ok = plugin.modelBaseRecordClassGenerated(topLevelClass, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(topLevelClass.getFields()).hasSize(1);
+		Field field = topLevelClass.getFields().get(0);
+		then(field.getName()).isEqualTo(DirtyTrackingModelPlugin.FIELD_NAME);
+		then(field.getType().getFullyQualifiedName()).isEqualTo("long");
+		then(method(topLevelClass.getMethods(), "hasDirtyColumns").getBodyLines()).containsExactly(
+				"return dirtyColumns != 0;");
+		then(method(topLevelClass.getMethods(), "isDirtyColumn").getBodyLines()).containsExactly(
+				"return (dirtyColumns & 1L << index) != 0;");
+		then(method(topLevelClass.getMethods(), "clearDirty").getBodyLines()).containsExactly("dirtyColumns = 0;");
+		Method loaded = method(topLevelClass.getMethods(), "setDirtyColumnsLoaded");
+		then(loaded.getVisibility()).isEqualTo(JavaVisibility.PRIVATE);
+		then(loaded.getBodyLines()).containsExactly("clearDirty();");
+	}
+
+	@Test
+	public void shouldAddBitSetToModelWithManyColumns() throws Exception {
+		// Given
+		List<IntrospectedColumn> columns = new ArrayList<>();
+		for (int i = 0; i <= DirtyTrackingModelPlugin.MASK_SIZE; i++) {
+			columns.add(name);
+		}
+		given(introspectedTable.getNonPrimaryKeyColumns()).willReturn(columns);
+
+		// When
+		boolean ok = plugin.modelBaseRecordClassGenerated(topLevelClass, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		Field field = topLevelClass.getFields().get(0);
+		then(field.getType().getFullyQualifiedName()).isEqualTo("java.util.BitSet");
+		then(field.getInitializationString()).isEqualTo("new BitSet()");
+		then(method(topLevelClass.getMethods(), "clearDirty").getBodyLines()).containsExactly("dirtyColumns.clear();");
+	}
+
+	@Test
+	public void shouldMarkColumnDirtyInSetter() throws Exception {
+		// Given
+		Method setter = new Method("setCode");
+
+		// When
+		boolean ok = plugin.modelSetterMethodGenerated(setter, topLevelClass, code, introspectedTable,
+				ModelClassType.BASE_RECORD);
+
+		// Then
+		then(ok).isTrue();
+		then(setter.getBodyLines()).containsExactly("dirtyColumns |= 1L << 1;");
+	}
+
+	@Test
+	public void shouldNotMarkPrimaryKeyDirty() throws Exception {
+		// Given
+		Method setter = new Method("setId");
+
+		// When
+		boolean ok = plugin.modelSetterMethodGenerated(setter, topLevelClass, id, introspectedTable,
+				ModelClassType.BASE_RECORD);
+
+		// Then
+		then(ok).isTrue();
+		then(setter.getBodyLines()).isEmpty();
+	}
+
+	@Test
+	public void shouldAddUpdateChangedMethodsToXmlMapper() throws Exception {
+		// When
+		boolean ok = plugin.clientUpdateByPrimaryKeySelectiveMethodGenerated(method, interfaze, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(method(interfaze.getMethods(), DirtyTrackingModelPlugin.STATEMENT_METHOD_NAME).isDefault()).isFalse();
+		Method update = method(interfaze.getMethods(), DirtyTrackingModelPlugin.METHOD_NAME);
+		then(update.isDefault()).isTrue();
+		then(update.getBodyLines()).contains("int rows = updateChangedByPrimaryKeyStatement(record);",
+				"record.clearDirty();");
+	}
+
+	@Test
+	public void shouldNotAddUpdateChangedMethodsToAnnotatedMapper() throws Exception {
+		// Given
+		given(javaClientGeneratorConfiguration.getConfigurationType()).willReturn("ANNOTATEDMAPPER");
+
+		// When
+		boolean ok = plugin.clientUpdateByPrimaryKeySelectiveMethodGenerated(method, interfaze, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(interfaze.getMethods()).isEmpty();
+	}
+
+	@Test
+	public void shouldAddUpdateChangedElementToXml() throws Exception {
+		// Given
+		XmlElement root = new XmlElement("mapper");
+		given(document.getRootElement()).willReturn(root);
+
+		// When
+		boolean ok = plugin.sqlMapDocumentGenerated(document, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		String sql = root.getElements().get(0).getFormattedContent(0);
+		then(sql).contains("<update id=\"updateChangedByPrimaryKeyStatement\" parameterType=\"" + RECORD_TYPE
+				+ "\">");
+		then(sql).contains("<if test=\"_parameter.isDirtyColumn(0)\">");
+		then(sql).contains("name = #{name,jdbcType=VARCHAR},");
+		then(sql).contains("<if test=\"_parameter.isDirtyColumn(1)\">");
+		then(sql).contains("code = #{code,jdbcType=VARCHAR},");
+		then(sql).contains("where id = #{id,jdbcType=INTEGER}");
+	}
+
+	@Test
+	public void shouldAddDynamicSqlUpdateChangedMethod() throws Exception {
+		// Given
+		given(introspectedTable.getTargetRuntime()).willReturn(TargetRuntime.MYBATIS3_DSQL);
+
+		// When
+		boolean ok = plugin.clientUpdateByPrimaryKeySelectiveMethodGenerated(method, interfaze, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(interfaze.getMethods()).hasSize(1);
+		Method update = interfaze.getMethods().get(0);
+		then(update.getName()).isEqualTo(DirtyTrackingModelPlugin.METHOD_NAME);
+		then(update.getBodyLines()).contains(
+				"UpdateDSL<MyBatis3UpdateModelAdapter<Integer>> update = UpdateDSL.updateWithMapper(this::update, TableNameDynamicSqlSupport.tableName);",
+				"if (record.isDirtyColumn(0)) {",
+				"update.set(TableNameDynamicSqlSupport.name).equalTo(record::getName);",
+				"int rows = update.where(TableNameDynamicSqlSupport.id, SqlBuilder.isEqualTo(record::getId)).build().execute();");
+	}
+
+	@Test
+	public void shouldNotAddXmlElementForDynamicSql() throws Exception {
+		// Given
+		given(introspectedTable.getTargetRuntime()).willReturn(TargetRuntime.MYBATIS3_DSQL);
+
+		// When
+		boolean ok = plugin.sqlMapDocumentGenerated(document, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		verify(document, never()).getRootElement();
+	}
+
+	@Test
+	public void shouldClearMaskAfterXmlResultMap() throws Exception {
+		// Given
+		XmlElement resultMap = new XmlElement("resultMap");
+		resultMap.addElement(new XmlElement("id"));
+
+		// When
+		boolean ok = plugin.sqlMapResultMapWithoutBLOBsElementGenerated(resultMap, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(resultMap.getElements()).hasSize(2);
+		then(resultMap.getElements().get(1).getFormattedContent(0)).isEqualTo(
+				"<result column=\"id\" property=\"dirtyColumnsLoaded\" />");
+	}
+
+	@Test
+	public void shouldNotClearMaskInResultMapExtendingBaseResultMap() throws Exception {
+		// Given
+		XmlElement resultMap = new XmlElement("resultMap");
+		given(rules.generateBaseResultMap()).willReturn(true);
+
+		// When
+		boolean ok = plugin.sqlMapResultMapWithBLOBsElementGenerated(resultMap, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(resultMap.getElements()).isEmpty();
+	}
+
+	@Test
+	public void shouldClearMaskAfterDynamicSqlResults() throws Exception {
+		// Given
+		given(introspectedTable.getTargetRuntime()).willReturn(TargetRuntime.MYBATIS3_DSQL);
+		Method selectMany = new Method("selectMany");
+		selectMany.addAnnotation("@SelectProvider(type=SqlProviderAdapter.class, method=\"select\")");
+		selectMany.addAnnotation("@Results(id=\"TableNameResult\", value={");
+		selectMany.addAnnotation("    @Result(column=\"id\", property=\"id\", jdbcType=JdbcType.INTEGER, id=true)");
+		selectMany.addAnnotation("})");
+
+		// When
+		boolean ok = plugin.clientBasicSelectManyMethodGenerated(selectMany, interfaze, introspectedTable);
+
+		// Then
+		then(ok).isTrue();
+		then(selectMany.getAnnotations()).containsExactly(
+				"@SelectProvider(type=SqlProviderAdapter.class, method=\"select\")",
+				"@Results(id=\"TableNameResult\", value={",
+				"    @Result(column=\"id\", property=\"id\", jdbcType=JdbcType.INTEGER, id=true),",
+				"    @Result(column=\"id\", property=\"dirtyColumnsLoaded\", javaType=Object.class)",
+				"})");
+	}
+
+}
@@ -0,0 +1,169 @@
+package com.github.dcendents.mybatis.generator.plugin.profiling;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.Plugin;
+import org.mybatis.generator.api.dom.java.TopLevelClass;
+import org.mybatis.generator.config.Context;
+
+/**
+ * Tests for the class HookProfiler.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class HookProfilerTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private HookProfiler profiler;
+
+	@Mock
+	private Plugin plugin;
+	@Mock
+	private Context context;
+	@Mock
+	private TopLevelClass topLevelClass;
+	@Mock
+	private IntrospectedTable introspectedTable;
+
+	@Before
+	public void init() throws Exception {
+		profiler = new HookProfiler();
+	}
+
+	@Test
+	public void shouldShareProfilerPerContext() throws Exception {
+		// Given
+
+		// When
+		HookProfiler first = HookProfiler.of(context);
+		HookProfiler second = HookProfiler.of(context);
+
+		// Then
+		then(first).isSameAs(second);
+	}
+
+	@Test
+	public void shouldDelegateAndRecordHooks() throws Exception {
+		// Given
+		given(plugin.modelBaseRecordClassGenerated(topLevelClass, introspectedTable)).willReturn(true);
+		Plugin instrumented = profiler.instrument(plugin, "Plugin");
+
+		// When
+		boolean ok1 = instrumented.modelBaseRecordClassGenerated(topLevelClass, introspectedTable);
+		boolean ok2 = instrumented.modelBaseRecordClassGenerated(topLevelClass, introspectedTable);
+		instrumented.initialized(introspectedTable);
+
+		// Then
+		then(ok1).isTrue();
+		then(ok2).isTrue();
+		verify(plugin).initialized(introspectedTable);
+
+		List<HookStatistics> statistics = profiler.getStatistics();
+		then(statistics).hasSize(2);
+		then(statistics.get(0).getPlugin()).isEqualTo("Plugin");
+		then(statistics.get(0).getHook()).isEqualTo(
+				"modelBaseRecordClassGenerated(TopLevelClass, IntrospectedTable)");
+		then(statistics.get(0).getCalls()).isEqualTo(2);
+		then(statistics.get(0).getWallTimeNanos()).isGreaterThanOrEqualTo(0);
+		then(statistics.get(1).getHook()).isEqualTo("initialized(IntrospectedTable)");
+		then(statistics.get(1).getCalls()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldRecordOverloadsSeparately() throws Exception {
+		// Given
+		Plugin instrumented = profiler.instrument(plugin, "Plugin");
+
+		// When
+		instrumented.contextGenerateAdditionalJavaFiles();
+		instrumented.contextGenerateAdditionalJavaFiles(introspectedTable);
+		instrumented.contextGenerateAdditionalJavaFiles(introspectedTable);
+
+		// Then
+		List<HookStatistics> statistics = profiler.getStatistics();
+		then(statistics).extracting("hook").containsExactly("contextGenerateAdditionalJavaFiles()",
+				"contextGenerateAdditionalJavaFiles(IntrospectedTable)");
+		then(statistics).extracting("calls").containsExactly(1L, 2L);
+	}
+
+	@Test
+	public void shouldRethrowHookException() throws Exception {
+		// Given
+		IllegalStateException exception = new IllegalStateException("failure");
+		given(plugin.modelBaseRecordClassGenerated(topLevelClass, introspectedTable)).willThrow(exception);
+		Plugin instrumented = profiler.instrument(plugin, "Plugin");
+
+		// When
+		Throwable thrown = null;
+		try {
+			instrumented.modelBaseRecordClassGenerated(topLevelClass, introspectedTable);
+		} catch (IllegalStateException ex) {
+			thrown = ex;
+		}
+
+		// Then
+		then(thrown).isSameAs(exception);
+		then(profiler.getStatistics()).hasSize(1);
+	}
+
+	@Test
+	public void shouldWriteCsv() throws Exception {
+		// Given
+		profiler.record("Plugin", "hook", 10, 20);
+		profiler.record("Plugin", "hook", 1, 2);
+
+		// When
+		StringWriter writer = new StringWriter();
+		profiler.writeCsv(writer);
+
+		// Then
+		then(writer.toString()).startsWith("plugin,hook,calls,wallTimeNanos,allocatedBytes\n")
+				.contains("Plugin,hook,2,11,22");
+	}
+
+	@Test
+	public void shouldQuoteHookWithSeveralParametersInCsv() throws Exception {
+		// Given
+		profiler.record("Plugin", "hook(Method, Interface)", 10, 20);
+
+		// When
+		StringWriter writer = new StringWriter();
+		profiler.writeCsv(writer);
+
+		// Then
+		then(writer.toString()).contains("Plugin,\"hook(Method, Interface)\",1,10,20");
+	}
+
+	@Test
+	public void shouldWriteJsonReportFile() throws Exception {
+		// Given
+		profiler.record("Plugin", "hook", 10, 20);
+		File reportFile = new File(folder.getRoot(), "sub/report.json");
+
+		// When
+		profiler.writeReport(reportFile);
+
+		// Then
+		String json = new String(Files.readAllBytes(reportFile.toPath()), StandardCharsets.UTF_8);
+		then(json).startsWith("[").contains(
+				"{\"plugin\": \"Plugin\", \"hook\": \"hook\", \"calls\": 1, \"wallTimeNanos\": 10, \"allocatedBytes\": 20}");
+	}
+
+}
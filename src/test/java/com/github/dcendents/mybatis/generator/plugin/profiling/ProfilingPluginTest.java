@@ -0,0 +1,113 @@
+package com.github.dcendents.mybatis.generator.plugin.profiling;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.dom.java.TopLevelClass;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.JavaModelGeneratorConfiguration;
+import org.mybatis.generator.internal.PluginAggregator;
+
+import com.github.dcendents.mybatis.generator.plugin.model.AlterModelPlugin;
+
+/**
+ * Tests for the class ProfilingPlugin.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ProfilingPluginTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private ProfilingPlugin plugin;
+	private PluginAggregator aggregator;
+
+	@Mock
+	private Context context;
+	@Mock
+	private JavaModelGeneratorConfiguration javaModelGeneratorConfiguration;
+	@Mock
+	private TopLevelClass topLevelClass;
+	@Mock
+	private IntrospectedTable introspectedTable;
+
+	@Before
+	public void init() throws Exception {
+		aggregator = new PluginAggregator();
+
+		given(context.getId()).willReturn("contextId");
+		given(context.getPlugins()).willReturn(aggregator);
+		given(context.getJavaModelGeneratorConfiguration()).willReturn(javaModelGeneratorConfiguration);
+		given(javaModelGeneratorConfiguration.getTargetProject()).willReturn(folder.getRoot().getPath());
+		given(introspectedTable.getFullyQualifiedTableNameAtRuntime()).willReturn("other_table");
+
+		plugin = new ProfilingPlugin();
+		plugin.setContext(context);
+		plugin.getProperties().put(ProfilingPlugin.PLUGIN, AlterModelPlugin.class.getName());
+		plugin.getProperties().put(AlterModelPlugin.TABLE_NAME, "table_name");
+		plugin.getProperties().put(AlterModelPlugin.ADD_INTERFACES, "java.io.Serializable");
+	}
+
+	@Test
+	public void shouldNotBeValidWithoutPlugin() throws Exception {
+		// Given
+		plugin.getProperties().remove(ProfilingPlugin.PLUGIN);
+
+		// When
+		List<String> warnings = new ArrayList<>();
+		boolean ok = plugin.validate(warnings);
+
+		// Then
+		then(ok).isFalse();
+		then(warnings).hasSize(1);
+	}
+
+	@Test
+	public void shouldNotBeValidWhenPluginIsNotValid() throws Exception {
+		// Given
+		plugin.getProperties().remove(AlterModelPlugin.TABLE_NAME);
+
+		// When
+		List<String> warnings = new ArrayList<>();
+		boolean ok = plugin.validate(warnings);
+
+		// Then
+		then(ok).isFalse();
+		then(warnings).isNotEmpty();
+	}
+
+	@Test
+	public void shouldInstrumentPluginAndWriteReport() throws Exception {
+		// Given
+		List<String> warnings = new ArrayList<>();
+		boolean ok = plugin.validate(warnings);
+
+		// When
+		boolean generated = aggregator.modelBaseRecordClassGenerated(topLevelClass, introspectedTable);
+		plugin.contextGenerateAdditionalXmlFiles();
+
+		// Then
+		then(ok).isTrue();
+		then(warnings).isEmpty();
+		then(generated).isTrue();
+
+		File reportFile = new File(new File(folder.getRoot(), ProfilingPlugin.DEFAULT_REPORT_DIRECTORY),
+				"profile-contextId.csv");
+		then(reportFile).exists();
+		then(HookProfiler.of(context).getStatistics()).extracting("hook").contains(
+				"modelBaseRecordClassGenerated(TopLevelClass, IntrospectedTable)");
+	}
+
+}
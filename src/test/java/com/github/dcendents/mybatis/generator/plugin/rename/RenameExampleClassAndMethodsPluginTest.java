@@ -6,7 +6,6 @@ import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.BDDMockito.willReturn;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
-import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isNull;
 import static org.mockito.Mockito.mock;
@@ -16,6 +15,7 @@ import static org.mockito.Mockito.verify;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Pattern;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -307,7 +307,7 @@ public class RenameExampleClassAndMethodsPluginTest {
 		RenameExampleClassAndMethodsPlugin plugin = spy(this.plugin);
 
 		// Given
-		willDoNothing().given(plugin).removeIdColumns(anyListOf(String.class), any(Element.class),
+		willDoNothing().given(plugin).removeIdColumns(any(Pattern.class), any(Element.class),
 				any(XmlElement.class), anyInt());
 		given(introspectedTable.getPrimaryKeyColumns()).willReturn(new ArrayList<IntrospectedColumn>());
 
@@ -315,11 +315,10 @@ public class RenameExampleClassAndMethodsPluginTest {
 		plugin.removeIdColumns(introspectedTable, element);
 
 		// Then
-		verify(plugin, times(0)).removeIdColumns(anyListOf(String.class), any(Element.class),
+		verify(plugin, times(0)).removeIdColumns(any(Pattern.class), any(Element.class),
 				any(XmlElement.class), anyInt());
 	}
 
-	@SuppressWarnings({ "unchecked", "rawtypes" })
 	@Test
 	public void shouldRemoveIdColumnsFromUpdateStatements() throws Exception {
 		RenameExampleClassAndMethodsPlugin plugin = spy(this.plugin);
@@ -333,7 +332,7 @@ public class RenameExampleClassAndMethodsPluginTest {
 		columns.add(column);
 
 		// Given
-		willDoNothing().given(plugin).removeIdColumns(anyListOf(String.class), any(Element.class),
+		willDoNothing().given(plugin).removeIdColumns(any(Pattern.class), any(Element.class),
 				any(XmlElement.class), anyInt());
 		given(introspectedTable.getPrimaryKeyColumns()).willReturn(columns);
 		given(tableConfiguration.getAlias()).willReturn("alias");
@@ -342,15 +341,37 @@ public class RenameExampleClassAndMethodsPluginTest {
 		plugin.removeIdColumns(introspectedTable, element);
 
 		// Then
-		ArgumentCaptor<List> updatesCaptor = ArgumentCaptor.forClass(List.class);
+		ArgumentCaptor<Pattern> updatesCaptor = ArgumentCaptor.forClass(Pattern.class);
 
 		verify(plugin, times(1)).removeIdColumns(updatesCaptor.capture(), eq(element),
 				isNull(XmlElement.class), eq(-1));
 
-		List<String> updates = updatesCaptor.getValue();
+		List<String> updates = plugin.idColumnUpdates(introspectedTable);
 		assertThat(updates).hasSameSizeAs(columns);
 		String update = updates.get(0);
 		assertThat(update).isEqualTo("alias.actual_name = #{record.someProperty,jdbcType=DOUBLE},");
+		assertThat(updatesCaptor.getValue().matcher(update).matches()).isTrue();
+	}
+
+	@Test
+	public void shouldCompileUpdatesOncePerTable() throws Exception {
+		RenameExampleClassAndMethodsPlugin plugin = spy(this.plugin);
+
+		List<IntrospectedColumn> columns = new ArrayList<>();
+		columns.add(new IntrospectedColumn());
+
+		// Given
+		willDoNothing().given(plugin).removeIdColumns(any(Pattern.class), any(Element.class),
+				any(XmlElement.class), anyInt());
+		given(introspectedTable.getPrimaryKeyColumns()).willReturn(columns);
+
+		// When
+		plugin.removeIdColumns(introspectedTable, element);
+		plugin.removeIdColumns(introspectedTable, element);
+
+		// Then
+		verify(plugin, times(1)).idColumnUpdates(introspectedTable);
+		verify(plugin, times(2)).removeIdColumns(any(Pattern.class), eq(element), isNull(XmlElement.class), eq(-1));
 	}
 
 	@Test
@@ -369,10 +390,10 @@ public class RenameExampleClassAndMethodsPluginTest {
 		// Given
 
 		// When
-		plugin.removeIdColumns(new ArrayList<String>(), textElement, element, 1);
+		Pattern updates = RenameExampleClassAndMethodsPlugin.compileUpdates(new ArrayList<String>());
 
 		// Then
-		verify(element, times(0)).getElements();
+		assertThat(updates).isNull();
 	}
 
 	@Test
@@ -384,7 +405,7 @@ public class RenameExampleClassAndMethodsPluginTest {
 		given(textElement.getContent()).willReturn("some content");
 
 		// When
-		plugin.removeIdColumns(updates, textElement, element, 1);
+		plugin.removeIdColumns(RenameExampleClassAndMethodsPlugin.compileUpdates(updates), textElement, element, 1);
 
 		// Then
 		verify(element, times(0)).getElements();
@@ -406,7 +427,7 @@ public class RenameExampleClassAndMethodsPluginTest {
 		given(element.getElements()).willReturn(elements);
 
 		// When
-		plugin.removeIdColumns(updates, textElement, element, 0);
+		plugin.removeIdColumns(RenameExampleClassAndMethodsPlugin.compileUpdates(updates), textElement, element, 0);
 
 		// Then
 		verify(element, times(1)).getElements();
@@ -417,19 +438,42 @@ public class RenameExampleClassAndMethodsPluginTest {
 		assertThat(newTextElement.getContent()).isEqualTo("some content with  and some more");
 	}
 
+	@Test
+	public void shouldRemoveAllIdUpdatesFromTheSameTextElement() throws Exception {
+		String update1 = "alias.id1 = #{record.id1,jdbcType=INTEGER},";
+		String update2 = "alias.id2 = #{record.id2,jdbcType=VARCHAR},";
+		List<String> updates = new ArrayList<>();
+		updates.add(update1);
+		updates.add(update2);
+
+		List<Element> elements = new ArrayList<>();
+		elements.add(textElement);
+
+		// Given
+		given(textElement.getContent()).willReturn("set " + update1 + " " + update2 + " other = 1");
+		given(element.getElements()).willReturn(elements);
+
+		// When
+		plugin.removeIdColumns(RenameExampleClassAndMethodsPlugin.compileUpdates(updates), textElement, element, 0);
+
+		// Then
+		TextElement newTextElement = (TextElement) elements.get(0);
+		assertThat(newTextElement.getContent()).isEqualTo("set   other = 1");
+	}
+
 	@Test
 	public void shouldHandleElementWithoutChildren() throws Exception {
 		RenameExampleClassAndMethodsPlugin plugin = spy(this.plugin);
 
 		// Given
-		willDoNothing().given(plugin).removeIdColumns(anyListOf(String.class), any(Element.class),
+		willDoNothing().given(plugin).removeIdColumns(any(Pattern.class), any(Element.class),
 				eq(element), anyInt());
 
 		// When
 		plugin.removeIdColumns(null, element, null, -1);
 
 		// Then
-		verify(plugin, times(0)).removeIdColumns(anyListOf(String.class), any(Element.class),
+		verify(plugin, times(0)).removeIdColumns(any(Pattern.class), any(Element.class),
 				eq(element), anyInt());
 	}
 
@@ -441,7 +485,7 @@ public class RenameExampleClassAndMethodsPluginTest {
 		elements.add(textElement);
 
 		// Given
-		willDoNothing().given(plugin).removeIdColumns(anyListOf(String.class), any(Element.class),
+		willDoNothing().given(plugin).removeIdColumns(any(Pattern.class), any(Element.class),
 				eq(element), anyInt());
 		given(element.getElements()).willReturn(elements);
 
@@ -449,7 +493,7 @@ public class RenameExampleClassAndMethodsPluginTest {
 		plugin.removeIdColumns(null, element, null, -1);
 
 		// Then
-		verify(plugin, times(1)).removeIdColumns(anyListOf(String.class), eq(textElement),
+		verify(plugin, times(1)).removeIdColumns(any(Pattern.class), eq(textElement),
 				eq(element), eq(0));
 	}
 
@@ -5,6 +5,7 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willReturn;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -235,8 +236,38 @@ public class CreateSubPackagePluginTest {
 		assertThat(ok).isTrue();
 		assertThat(annotations).hasSize(annotationsSize);
 
-		verify(modelProperties).renameAnnotations(eq(annotations));
-		verify(mapperProperties).renameAnnotations(eq(annotations));
+		verify(modelProperties, never()).renameAnnotations(eq(annotations));
+		verify(mapperProperties, never()).renameAnnotations(eq(annotations));
+	}
+
+	@Test
+	public void shouldRenameModelAndMapperTypesInAnnotations() throws Exception {
+		CreateSubPackagePlugin plugin = new CreateSubPackagePlugin();
+		plugin.getProperties().put(CreateSubPackagePlugin.MODEL_PACKAGE_PROPERTY, MODEL_PACKAGE);
+		plugin.getProperties().put(CreateSubPackagePlugin.MAPPER_PACKAGE_PROPERTY, MAPPER_PACKAGE);
+		plugin.validate(new ArrayList<String>());
+
+		List<String> annotations = new ArrayList<>();
+		annotations.add("@Results(id=\"some.gen1.Actor\")");
+		annotations.add("@SelectProvider(type=some.gen3.ActorMapper.class, some.gen1.Actor)");
+		annotations.add("\"	line3\",");
+		String unchanged = annotations.get(2);
+
+		// Given
+		given(introspectedTable.getBaseRecordType()).willReturn("some.Actor");
+		given(introspectedTable.getMyBatis3JavaMapperType()).willReturn("some.ActorMapper");
+		given(method.getAnnotations()).willReturn(annotations);
+		given(method.getReturnType()).willReturn(new FullyQualifiedJavaType("int"));
+		plugin.initialized(introspectedTable);
+
+		// When
+		boolean ok = plugin.renameMethod(method);
+
+		// Then
+		assertThat(ok).isTrue();
+		assertThat(annotations).containsExactly("@Results(id=\"some.Actor\")",
+				"@SelectProvider(type=some.ActorMapper.class, some.Actor)", "\"	line3\",");
+		assertThat(annotations.get(2)).isSameAs(unchanged);
 	}
 
 	@Test
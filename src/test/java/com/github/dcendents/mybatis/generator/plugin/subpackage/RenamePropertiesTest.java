@@ -246,4 +246,21 @@ public class RenamePropertiesTest {
 		assertThat(annotations.get(2)).contains(ORIGINAL_TYPE);
 		assertThat(annotations.get(5)).contains(ORIGINAL_TYPE);
 	}
+
+	@Test
+	public void shouldRenameAnnotationsWithChangedTypes() throws Exception {
+		// Given
+		List<String> annotations = new ArrayList<>();
+		annotations.add("@SingleLine(\"" + NEW_TYPE + "\")");
+		allSet.renameAnnotations(annotations);
+		String newType = allSet.setTypes("some.package.Other");
+		annotations.add("@SingleLine(\"" + newType + "\")");
+
+		// When
+		allSet.renameAnnotations(annotations);
+
+		// Then
+		assertThat(annotations).containsExactly("@SingleLine(\"" + ORIGINAL_TYPE + "\")",
+				"@SingleLine(\"some.package.Other\")");
+	}
 }
@@ -0,0 +1,134 @@
+package com.github.dcendents.mybatis.generator.plugin.subpackage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the class TypeRewriter.
+ */
+public class TypeRewriterTest {
+
+	private RenameProperties model;
+	private RenameProperties mapper;
+	private RenameProperties disabled;
+
+	@Before
+	public void init() throws Exception {
+		model = new RenameProperties();
+		model.validate("sub", null);
+		model.setTypes("some.package.Type");
+
+		mapper = new RenameProperties();
+		mapper.validate("sub", null);
+		mapper.setTypes("some.package.TypeMapper");
+
+		disabled = new RenameProperties();
+	}
+
+	@Test
+	public void shouldReturnSameTextWhenNothingMatches() throws Exception {
+		// Given
+		TypeRewriter rewriter = TypeRewriter.of(model, mapper);
+		String text = "@Select(\"some.package.Other\")";
+
+		// When
+		String rewritten = rewriter.rewrite(text);
+
+		// Then
+		assertThat(rewritten).isSameAs(text);
+	}
+
+	@Test
+	public void shouldHandleNullAndEmptyRewriter() throws Exception {
+		// Given
+		TypeRewriter rewriter = TypeRewriter.of(disabled);
+		String text = "some.package.sub.Type";
+
+		// When
+		String rewritten = rewriter.rewrite(text);
+
+		// Then
+		assertThat(rewritten).isSameAs(text);
+		assertThat(rewriter.rewrite((String) null)).isNull();
+		rewriter.rewrite((List<String>) null);
+	}
+
+	@Test
+	public void shouldReplaceAllTypesInOnePass() throws Exception {
+		// Given
+		TypeRewriter rewriter = TypeRewriter.of(model, mapper);
+
+		// When
+		String rewritten = rewriter.rewrite(
+				"some.package.sub.Type x some.package.sub.TypeMapper y some.package.sub.TypeOther some.package.sub.Type");
+
+		// Then
+		assertThat(rewritten).isEqualTo(
+				"some.package.Type x some.package.TypeMapper y some.package.TypeOther some.package.Type");
+	}
+
+	@Test
+	public void shouldPreferLongestTypeAtSamePosition() throws Exception {
+		// Given
+		TypeRewriter rewriter = TypeRewriter.of(mapper, model);
+
+		// When
+		String rewritten = rewriter.rewrite("some.package.sub.TypeMapper");
+
+		// Then
+		assertThat(rewritten).isEqualTo("some.package.TypeMapper");
+	}
+
+	@Test
+	public void shouldHandleOverlappingPrefixes() throws Exception {
+		// Given
+		TypeRewriter rewriter = TypeRewriter.of(model, mapper);
+
+		// When
+		String rewritten = rewriter.rewrite("some.package.sub.some.package.sub.TypeMappe");
+
+		// Then
+		assertThat(rewritten).isEqualTo("some.package.sub.some.package.TypeMappe");
+	}
+
+	@Test
+	public void shouldOnlySetModifiedLines() throws Exception {
+		// Given
+		TypeRewriter rewriter = TypeRewriter.of(model, mapper);
+		List<String> lines = new ArrayList<>();
+		lines.add("unchanged");
+		lines.add("\"some.package.sub.TypeMapper.some.package.sub.Type\"");
+		String unchanged = lines.get(0);
+
+		// When
+		rewriter.rewrite(lines);
+
+		// Then
+		assertThat(lines).containsExactly("unchanged", "\"some.package.TypeMapper.some.package.Type\"");
+		assertThat(lines.get(0)).isSameAs(unchanged);
+	}
+
+	@Test
+	public void shouldMatchTypesAddedInAnyOrder() throws Exception {
+		// Given
+		RenameProperties zebra = new RenameProperties();
+		zebra.validate("sub", null);
+		zebra.setTypes("some.package.Zebra");
+		RenameProperties alpha = new RenameProperties();
+		alpha.validate("sub", null);
+		alpha.setTypes("some.package.Alpha");
+		TypeRewriter rewriter = TypeRewriter.of(zebra, mapper, alpha, model);
+
+		// When
+		String rewritten = rewriter.rewrite("some.package.sub.Alpha some.package.sub.Zebra some.package.sub.Type");
+
+		// Then
+		assertThat(rewritten).isEqualTo("some.package.Alpha some.package.Zebra some.package.Type");
+	}
+
+}
@@ -0,0 +1,107 @@
+package com.github.dcendents.mybatis.generator.plugin.table;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mybatis.generator.api.IntrospectedTable;
+
+/**
+ * Tests for the class TableMatcher.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class TableMatcherTest {
+
+	@Mock
+	private IntrospectedTable introspectedTable;
+
+	@Test
+	public void shouldShareMatchersWithTheSameExpression() {
+		// Given
+
+		// When
+		TableMatcher matcher1 = TableMatcher.of("public.table_name");
+		TableMatcher matcher2 = TableMatcher.of("public.table_name");
+
+		// Then
+		then(matcher1).isSameAs(matcher2);
+		then(matcher1.getExpression()).isEqualTo("public.table_name");
+	}
+
+	@Test
+	public void shouldMatchExactTableName() {
+		// Given
+		TableMatcher matcher = TableMatcher.of("public.table_name");
+
+		// When
+		boolean match = matcher.matches("public.table_name");
+		boolean noMatch = matcher.matches("public.other_table");
+
+		// Then
+		then(match).isTrue();
+		then(noMatch).isFalse();
+	}
+
+	@Test
+	public void shouldMatchRegexExpression() {
+		// Given
+		TableMatcher matcher = TableMatcher.of("public\\.tab.*");
+
+		// When
+		boolean match = matcher.matches("public.table_name");
+		boolean noMatch = matcher.matches("other.table_name");
+
+		// Then
+		then(match).isTrue();
+		then(noMatch).isFalse();
+	}
+
+	@Test
+	public void shouldMatchExactTableNameWhenExpressionIsNotARegex() {
+		// Given
+		TableMatcher matcher = TableMatcher.of("public.[table");
+
+		// When
+		boolean match = matcher.matches("public.[table");
+		boolean noMatch = matcher.matches("public.table");
+
+		// Then
+		then(matcher.getPattern()).isNull();
+		then(match).isTrue();
+		then(noMatch).isFalse();
+	}
+
+	@Test
+	public void shouldNotMatchNullTableName() {
+		// Given
+		TableMatcher matcher = TableMatcher.of(".*");
+
+		// When
+		boolean match = matcher.matches((String) null);
+
+		// Then
+		then(match).isFalse();
+	}
+
+	@Test
+	public void shouldRememberResultForEachTable() {
+		// Given
+		TableMatcher matcher = TableMatcher.of("remembered_.*");
+		given(introspectedTable.getFullyQualifiedTableNameAtRuntime()).willReturn("remembered_table");
+
+		// When
+		boolean match1 = matcher.matches(introspectedTable);
+		boolean match2 = matcher.matches(introspectedTable);
+
+		// Then
+		then(match1).isTrue();
+		then(match2).isTrue();
+		verify(introspectedTable, times(1)).getFullyQualifiedTableNameAtRuntime();
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.github.dcendents.mybatis.generator.plugin.wrap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+
+/**
+ * Tests for the class PropertyIndex.
+ */
+public class PropertyIndexTest {
+
+	@Test
+	public void shouldShareIndexPerClass() throws Exception {
+		// Given
+
+		// When
+		PropertyIndex first = PropertyIndex.of(ClassDTO.class);
+		PropertyIndex second = PropertyIndex.of(ClassDTO.class);
+
+		// Then
+		assertThat(first).isSameAs(second);
+	}
+
+	@Test
+	public void shouldIndexInheritedGettersOnly() throws Exception {
+		// Given
+
+		// When
+		PropertyIndex index = PropertyIndex.of(ClassDTO.class);
+
+		// Then
+		assertThat(index.hasGetter("getName")).isTrue();
+		assertThat(index.hasGetter("getStreet")).isTrue();
+		assertThat(index.hasGetter("setCity")).isFalse();
+		assertThat(index.hasGetter("getAddress")).isFalse();
+	}
+
+	@Test
+	public void shouldResolveBooleanVariants() throws Exception {
+		FullyQualifiedJavaType primitive = FullyQualifiedJavaType.getBooleanPrimitiveInstance();
+		FullyQualifiedJavaType object = new FullyQualifiedJavaType(Boolean.class.getName());
+
+		// Given
+		PropertyIndex index = PropertyIndex.of(ClassDTO.class);
+
+		// When
+
+		// Then
+		assertThat(index.getterOf("homeAddress", primitive)).isEqualTo("isHomeAddress");
+		assertThat(index.getterOf("homeAddress", object)).isEqualTo("isHomeAddress");
+		assertThat(index.getterOf("workAddress", object)).isEqualTo("getWorkAddress");
+		assertThat(index.getterOf("workAddress", primitive)).isEqualTo("getWorkAddress");
+		assertThat(index.getterOf("country", FullyQualifiedJavaType.getStringInstance())).isNull();
+	}
+
+	@Test
+	public void shouldResolveSettersOfMatchingType() throws Exception {
+		FullyQualifiedJavaType primitive = FullyQualifiedJavaType.getBooleanPrimitiveInstance();
+		FullyQualifiedJavaType object = new FullyQualifiedJavaType(Boolean.class.getName());
+		FullyQualifiedJavaType string = FullyQualifiedJavaType.getStringInstance();
+
+		// Given
+		PropertyIndex index = PropertyIndex.of(ClassDTO.class);
+
+		// When
+
+		// Then
+		assertThat(index.hasSetter("setName")).isTrue();
+		assertThat(index.hasSetter("setStreet")).isFalse();
+		assertThat(index.setterOf("city", string)).isEqualTo("setCity");
+		assertThat(index.setterOf("street", string)).isNull();
+		assertThat(index.setterOf("city", object)).isNull();
+		assertThat(index.setterOf("homeAddress", primitive)).isEqualTo("setHomeAddress");
+		assertThat(index.setterOf("homeAddress", object)).isEqualTo("setHomeAddress");
+		assertThat(index.setterOf("workAddress", object)).isEqualTo("setWorkAddress");
+		assertThat(index.setterOf("workAddress", primitive)).isEqualTo("setWorkAddress");
+	}
+
+}
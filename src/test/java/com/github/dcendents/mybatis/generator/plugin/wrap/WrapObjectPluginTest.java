@@ -6,6 +6,7 @@ import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -29,6 +30,8 @@ import org.mybatis.generator.api.dom.java.Method;
 import org.mybatis.generator.api.dom.java.Parameter;
 import org.mybatis.generator.api.dom.java.TopLevelClass;
 
+import com.github.dcendents.mybatis.generator.plugin.wrap.WrapObjectPlugin.WrappedObject;
+
 /**
  * Tests for the class WrapObjectPlugin.
  */
@@ -93,6 +96,10 @@ public class WrapObjectPluginTest {
 		}).given(method).addBodyLine(anyString());
 	}
 
+	private WrappedObject wrappedObject() {
+		return plugin.getWrappedObjects().get(0);
+	}
+
 	@Test
 	public void shouldHaveDefaultConstructor() throws Exception {
 		// Given
@@ -218,7 +225,72 @@ public class WrapObjectPluginTest {
 		// Then
 		assertThat(ok).isTrue();
 		assertThat(warnings).isEmpty();
-		assertThat(instance.getObjectFieldName()).isEqualTo(objectFieldName);
+		assertThat(instance.getWrappedObjects().get(0).getObjectFieldName()).isEqualTo(objectFieldName);
+	}
+
+	@Test
+	public void shouldAcceptSeveralTableMappings() throws Exception {
+		// Given
+		WrapObjectPlugin instance = new WrapObjectPlugin();
+		instance.getProperties().put(WrapObjectPlugin.OBJECT_CLASS + ".other_table", BaseClassDTO.class.getName());
+		instance.getProperties().put(WrapObjectPlugin.OBJECT_CLASS + "." + TABLE_NAME, OBJECT_CLASS);
+		instance.getProperties().put(WrapObjectPlugin.OBJECT_FIELD_NAME + "." + TABLE_NAME, OBJECT_FIELD_NAME);
+
+		// When
+		List<String> warnings = new ArrayList<>();
+		boolean ok = instance.validate(warnings);
+
+		// Then
+		assertThat(ok).isTrue();
+		assertThat(warnings).isEmpty();
+		assertThat(instance.getWrappedObjects()).extracting("objectClass").containsExactly(BaseClassDTO.class,
+				ClassDTO.class);
+		assertThat(instance.getWrappedObjects()).extracting("objectFieldName").containsExactly("baseClassDTO",
+				OBJECT_FIELD_NAME);
+	}
+
+	@Test
+	public void shouldBeUnvalidIfMappedObjectClassCannotBeLoaded() throws Exception {
+		// Given
+		WrapObjectPlugin instance = new WrapObjectPlugin();
+		instance.getProperties().put(WrapObjectPlugin.OBJECT_CLASS + "." + TABLE_NAME, "class.does.not.Exists");
+
+		// When
+		List<String> warnings = new ArrayList<>();
+		boolean ok = instance.validate(warnings);
+
+		// Then
+		assertThat(ok).isFalse();
+		assertThat(warnings).hasSize(1);
+	}
+
+	@Test
+	public void shouldWrapEachTableWithItsMappedClass() throws Exception {
+		FullyQualifiedJavaType type = new FullyQualifiedJavaType(String.class.getName());
+
+		// Given
+		WrapObjectPlugin instance = new WrapObjectPlugin();
+		instance.getProperties().put(WrapObjectPlugin.OBJECT_CLASS + ".other_table", BaseClassDTO.class.getName());
+		instance.getProperties().put(WrapObjectPlugin.OBJECT_CLASS + "." + TABLE_NAME, OBJECT_CLASS);
+		instance.validate(new ArrayList<String>());
+		IntrospectedTable otherTable = mock(IntrospectedTable.class);
+		given(otherTable.getFullyQualifiedTableNameAtRuntime()).willReturn("other_table");
+		given(introspectedTable.getFullyQualifiedTableNameAtRuntime()).willReturn(TABLE_NAME);
+		given(field.getName()).willReturn("city");
+		given(field.getType()).willReturn(type);
+
+		// When
+		boolean okOther = instance.modelFieldGenerated(field, topLevelClass, introspectedColumn, otherTable, null);
+		boolean okTable = instance.modelFieldGenerated(field, topLevelClass, introspectedColumn, introspectedTable,
+				null);
+
+		// Then
+		assertThat(okOther).isTrue();
+		assertThat(okTable).isFalse();
+		assertThat(instance.getWrappedObjects().get(0).getObjectClass()).isEqualTo(BaseClassDTO.class);
+		assertThat(instance.getWrappedObjects().get(0).getGettersToWrap()).isEmpty();
+		assertThat(instance.getWrappedObjects().get(1).getGettersToWrap()).containsExactly("getCity");
+		assertThat(instance.getWrappedObjects().get(1).getObjectClass()).isEqualTo(ClassDTO.class);
 	}
 
 	@Test
@@ -319,6 +391,39 @@ public class WrapObjectPluginTest {
 		assertThat(ok).isTrue();
 	}
 
+	@Test
+	public void shouldKeepFieldIfItHasNoSetter() throws Exception {
+		FullyQualifiedJavaType type = new FullyQualifiedJavaType(String.class.getName());
+
+		// Given
+		given(introspectedTable.getFullyQualifiedTableNameAtRuntime()).willReturn(TABLE_NAME);
+		given(field.getName()).willReturn("street");
+		given(field.getType()).willReturn(type);
+
+		// When
+		boolean ok = plugin.modelFieldGenerated(field, topLevelClass, introspectedColumn, introspectedTable, null);
+
+		// Then
+		assertThat(ok).isTrue();
+		assertThat(wrappedObject().getSettersToWrap()).isEmpty();
+	}
+
+	@Test
+	public void shouldKeepFieldIfSetterTypeDiffers() throws Exception {
+		FullyQualifiedJavaType type = new FullyQualifiedJavaType(Integer.class.getName());
+
+		// Given
+		given(introspectedTable.getFullyQualifiedTableNameAtRuntime()).willReturn(TABLE_NAME);
+		given(field.getName()).willReturn("name");
+		given(field.getType()).willReturn(type);
+
+		// When
+		boolean ok = plugin.modelFieldGenerated(field, topLevelClass, introspectedColumn, introspectedTable, null);
+
+		// Then
+		assertThat(ok).isTrue();
+	}
+
 	@Test
 	public void shouldNotGeneratedFieldIfItIsWrapped() throws Exception {
 		FullyQualifiedJavaType type = new FullyQualifiedJavaType(String.class.getName());
@@ -423,8 +528,8 @@ public class WrapObjectPluginTest {
 	public void shouldNotModifyGetterWhenPropertyIsNotWrapped() throws Exception {
 		// Given
 		given(introspectedTable.getFullyQualifiedTableNameAtRuntime()).willReturn(TABLE_NAME);
-		plugin.getGettersToWrap().clear();
-		plugin.getWrappedGetters().clear();
+		wrappedObject().getGettersToWrap().clear();
+		wrappedObject().getWrappedGetters().clear();
 
 		// When
 		boolean ok = plugin.modelGetterMethodGenerated(method, topLevelClass, introspectedColumn, introspectedTable, null);
@@ -441,8 +546,8 @@ public class WrapObjectPluginTest {
 		// Given
 		given(introspectedTable.getFullyQualifiedTableNameAtRuntime()).willReturn(TABLE_NAME);
 		given(method.getName()).willReturn("getName");
-		plugin.getGettersToWrap().add("getName");
-		plugin.getWrappedGetters().put("getName", "getName");
+		wrappedObject().getGettersToWrap().add("getName");
+		wrappedObject().getWrappedGetters().put("getName", "getName");
 
 		// When
 		boolean ok = plugin.modelGetterMethodGenerated(method, topLevelClass, introspectedColumn, introspectedTable, null);
@@ -473,7 +578,7 @@ public class WrapObjectPluginTest {
 	public void shouldNotModifySetterWhenPropertyIsNotWrapped() throws Exception {
 		// Given
 		given(introspectedTable.getFullyQualifiedTableNameAtRuntime()).willReturn(TABLE_NAME);
-		plugin.getSettersToWrap().clear();
+		wrappedObject().getSettersToWrap().clear();
 
 		// When
 		boolean ok = plugin.modelSetterMethodGenerated(method, topLevelClass, introspectedColumn, introspectedTable, null);
@@ -495,7 +600,7 @@ public class WrapObjectPluginTest {
 		given(introspectedTable.getFullyQualifiedTableNameAtRuntime()).willReturn(TABLE_NAME);
 		given(method.getName()).willReturn("setName");
 		given(method.getParameters()).willReturn(parameters);
-		plugin.getSettersToWrap().add("setName");
+		wrappedObject().getSettersToWrap().add("setName");
 
 		// When
 		boolean ok = plugin.modelSetterMethodGenerated(method, topLevelClass, introspectedColumn, introspectedTable, null);